@@ -0,0 +1,12 @@
+package com.ecommerce.common.exception;
+
+/**
+ * Thrown when a request is well-formed but conflicts with the current state of a resource, such as
+ * reserving more stock than is available; mapped to HTTP 409.
+ */
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+}
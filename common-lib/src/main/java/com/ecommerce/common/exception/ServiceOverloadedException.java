@@ -0,0 +1,21 @@
+package com.ecommerce.common.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a bounded resource rejects work instead of queueing it; mapped to HTTP 503 with
+ * {@code Retry-After}.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ServiceOverloadedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
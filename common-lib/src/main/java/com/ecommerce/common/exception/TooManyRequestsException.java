@@ -0,0 +1,20 @@
+package com.ecommerce.common.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a caller exceeds a rate or attempt limit; mapped to HTTP 429 with {@code Retry-After}.
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public TooManyRequestsException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,47 @@
+package com.ecommerce.common.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Pulls revocation deltas from the issuer's {@code /revocations?since=} endpoint.
+ */
+public class HttpRevocationFeed implements RevocationFeed {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final String uri;
+    private final Duration fetchTimeout;
+    private final HttpClient httpClient;
+
+    public HttpRevocationFeed(SecurityProperties securityProperties) {
+        SecurityProperties.Revocation properties = securityProperties.getRevocation();
+        if (properties.getUri() == null || properties.getUri().isBlank()) {
+            throw new IllegalArgumentException("security.jwt.revocation.uri must be set to sync revocations");
+        }
+        this.uri = properties.getUri();
+        this.fetchTimeout = properties.getFetchTimeout();
+        this.httpClient = HttpClient.newBuilder().connectTimeout(fetchTimeout).build();
+    }
+
+    @Override
+    public RevocationDelta fetchSince(long cursor) throws IOException, InterruptedException {
+        URI target = URI.create(uri + (uri.contains("?") ? "&" : "?") + "since=" + cursor);
+        HttpRequest request = HttpRequest.newBuilder(target)
+                .timeout(fetchTimeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IOException("Revocation endpoint " + target + " returned HTTP " + response.statusCode());
+        }
+        return objectMapper.readValue(response.body(), RevocationDelta.class);
+    }
+}
@@ -0,0 +1,136 @@
+package com.ecommerce.common.security;
+
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.Key;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code kid}-indexed cache of the issuer's public keys, loaded from its JWKS endpoint.
+ * <p>
+ * Lookups only ever read an immutable in-memory map. Keys are refreshed in the background on a fixed
+ * interval, and an unknown {@code kid} schedules an early refresh (at most once per minimum refresh interval)
+ * instead of blocking the request. A failed refresh keeps serving the last good key set.
+ */
+public class JwksKeyCache implements JwtKeySource, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwksKeyCache.class);
+
+    private final URI jwksUri;
+    private final Duration fetchTimeout;
+    private final long minimumRefreshNanos;
+    private final HttpClient httpClient;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final AtomicLong lastRefreshAttempt = new AtomicLong(System.nanoTime() - Long.MAX_VALUE / 2);
+
+    private volatile Map<String, PublicKey> keys = Map.of();
+
+    public JwksKeyCache(SecurityProperties securityProperties) {
+        SecurityProperties.Jwks properties = securityProperties.getJwks();
+        if (properties.getUri() == null || properties.getUri().isBlank()) {
+            throw new IllegalArgumentException("security.jwt.jwks.uri must be set to verify asymmetric tokens");
+        }
+        this.jwksUri = URI.create(properties.getUri());
+        this.fetchTimeout = properties.getFetchTimeout();
+        this.minimumRefreshNanos = properties.getMinimumRefreshInterval().toNanos();
+        this.httpClient = HttpClient.newBuilder().connectTimeout(fetchTimeout).build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jwks-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long interval = properties.getRefreshInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::refreshSafely, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public SigningKey signingKey() {
+        throw new IllegalStateException("This service verifies tokens against " + jwksUri + " and cannot issue them");
+    }
+
+    @Override
+    public Key verificationKey(String kid) {
+        PublicKey key = keys.get(kid);
+        if (key == null) {
+            requestRefresh();
+        }
+        return key;
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    /**
+     * Fetches the key set synchronously. Used by the background refresh; never called on the request path.
+     */
+    public void refresh() throws IOException, InterruptedException {
+        lastRefreshAttempt.set(System.nanoTime());
+        HttpRequest request = HttpRequest.newBuilder(jwksUri)
+                .timeout(fetchTimeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("JWKS endpoint " + jwksUri + " returned HTTP " + response.statusCode());
+        }
+
+        JwkSet jwkSet = Jwks.setParser().ignoreUnsupported(true).build().parse(response.body());
+        Map<String, PublicKey> loaded = new HashMap<>();
+        for (Jwk<?> jwk : jwkSet) {
+            if (jwk.getId() != null && jwk.toKey() instanceof PublicKey publicKey) {
+                loaded.put(jwk.getId(), publicKey);
+            }
+        }
+        keys = Map.copyOf(loaded);
+        logger.debug("Loaded {} verification keys from {}", loaded.size(), jwksUri);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    private void requestRefresh() {
+        long sinceLast = System.nanoTime() - lastRefreshAttempt.get();
+        if (sinceLast >= minimumRefreshNanos && !refreshing.get()) {
+            scheduler.execute(this::refreshSafely);
+        }
+    }
+
+    private void refreshSafely() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refresh();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.warn("Failed to refresh JWKS from {}, keeping {} cached keys: {}", jwksUri, keys.size(), e.getMessage());
+        } finally {
+            refreshing.set(false);
+        }
+    }
+}
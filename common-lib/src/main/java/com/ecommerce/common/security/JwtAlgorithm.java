@@ -0,0 +1,20 @@
+package com.ecommerce.common.security;
+
+/**
+ * Signature algorithms supported for access tokens.
+ */
+public enum JwtAlgorithm {
+
+    /** HMAC-SHA256 with the shared {@code security.jwt.secret}. */
+    HS256,
+
+    /** RSASSA-PKCS1-v1_5 with SHA-256 and a 2048-bit rotating key pair. */
+    RS256,
+
+    /** Ed25519 with a rotating key pair. */
+    EdDSA;
+
+    public boolean isAsymmetric() {
+        return this != HS256;
+    }
+}
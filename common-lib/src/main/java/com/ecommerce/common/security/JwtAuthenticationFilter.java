@@ -6,8 +6,10 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -15,6 +17,8 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -22,11 +26,34 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
     private static final String BEARER_PREFIX = "Bearer ";
     private static final String AUTHORIZATION_HEADER = "Authorization";
+    private static final String ROLE_PREFIX = "ROLE_";
+    private static final String DEFAULT_ROLE = "ROLE_USER";
 
     private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache tokenCache;
+    private final TrustedIdentityHeaders trustedIdentityHeaders;
+    private final RevocationList revocationList;
 
     public JwtAuthenticationFilter(JwtUtil jwtUtil) {
+        this(jwtUtil, VerifiedTokenCache.disabled());
+    }
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, VerifiedTokenCache tokenCache) {
+        this(jwtUtil, tokenCache, new TrustedIdentityHeaders(new SecurityProperties()));
+    }
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, VerifiedTokenCache tokenCache,
+                                   TrustedIdentityHeaders trustedIdentityHeaders) {
+        this(jwtUtil, tokenCache, trustedIdentityHeaders, RevocationList.empty());
+    }
+
+    @Autowired
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, VerifiedTokenCache tokenCache,
+                                   TrustedIdentityHeaders trustedIdentityHeaders, RevocationList revocationList) {
         this.jwtUtil = jwtUtil;
+        this.tokenCache = tokenCache;
+        this.trustedIdentityHeaders = trustedIdentityHeaders;
+        this.revocationList = revocationList;
     }
 
     @Override
@@ -35,20 +62,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     @NonNull FilterChain filterChain) throws ServletException, IOException {
         
         try {
-            String token = extractTokenFromRequest(request);
+            Optional<VerifiedToken> gatewayIdentity = trustedIdentityHeaders.resolve(request::getHeader);
             
-            if (token != null && jwtUtil.isTokenValid(token) && !jwtUtil.isTokenExpired(token)) {
-                String username = jwtUtil.extractUsername(token);
+            if (gatewayIdentity.isPresent()) {
+                // The gateway checked the token when it was forwarded; a revocation since then still applies.
+                gatewayIdentity.filter(verified -> !revocationList.isRevoked(verified))
+                        .ifPresent(this::authenticate);
+            } else {
+                String token = extractTokenFromRequest(request);
                 
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            username, 
-                            null, 
-                            Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"))
-                    );
-                    
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                    logger.debug("JWT authentication successful for user: {}", username);
+                if (token != null) {
+                    tokenCache.getOrVerify(token, jwtUtil::validateToken)
+                            .filter(verified -> !revocationList.isRevoked(verified))
+                            .ifPresent(this::authenticate);
                 }
             }
         } catch (Exception e) {
@@ -59,6 +85,31 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private void authenticate(VerifiedToken verifiedToken) {
+        String username = verifiedToken.subject();
+        
+        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    username, 
+                    null, 
+                    toAuthorities(verifiedToken.roles())
+            );
+            
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+            logger.debug("JWT authentication successful for user: {}", username);
+        }
+    }
+
+    private static List<GrantedAuthority> toAuthorities(List<String> roles) {
+        if (roles.isEmpty()) {
+            return Collections.singletonList(new SimpleGrantedAuthority(DEFAULT_ROLE));
+        }
+        return roles.stream()
+                .map(role -> role.startsWith(ROLE_PREFIX) ? role : ROLE_PREFIX + role)
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+    }
+
     private String extractTokenFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader(AUTHORIZATION_HEADER);
         
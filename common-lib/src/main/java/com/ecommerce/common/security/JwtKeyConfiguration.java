@@ -0,0 +1,25 @@
+package com.ecommerce.common.security;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Chooses where asymmetric token keys come from: the issuer generates and rotates its own key pairs, every
+ * other service reads the issuer's JWKS endpoint. Nothing is registered for the default HS256 setup.
+ */
+@Configuration
+public class JwtKeyConfiguration {
+
+    @Bean
+    @ConditionalOnExpression("'${security.jwt.algorithm:HS256}' != 'HS256' and '${security.jwt.jwks.issuer:false}' == 'true'")
+    public RotatingKeyPairManager rotatingKeyPairManager(SecurityProperties securityProperties) {
+        return new RotatingKeyPairManager(securityProperties);
+    }
+
+    @Bean
+    @ConditionalOnExpression("'${security.jwt.algorithm:HS256}' != 'HS256' and '${security.jwt.jwks.issuer:false}' != 'true'")
+    public JwksKeyCache jwksKeyCache(SecurityProperties securityProperties) {
+        return new JwksKeyCache(securityProperties);
+    }
+}
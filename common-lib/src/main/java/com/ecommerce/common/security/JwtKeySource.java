@@ -0,0 +1,25 @@
+package com.ecommerce.common.security;
+
+import java.security.Key;
+import java.security.PrivateKey;
+
+/**
+ * Supplies asymmetric keys to {@link JwtUtil}, indexed by JWS {@code kid}.
+ */
+public interface JwtKeySource {
+
+    /**
+     * Returns the key new tokens are signed with.
+     *
+     * @throws IllegalStateException if this service only verifies tokens
+     */
+    SigningKey signingKey();
+
+    /**
+     * Returns the public key for {@code kid} without blocking, or {@code null} if it is not known (yet).
+     */
+    Key verificationKey(String kid);
+
+    record SigningKey(String kid, PrivateKey privateKey) {
+    }
+}
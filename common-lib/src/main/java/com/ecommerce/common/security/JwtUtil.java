@@ -1,65 +1,122 @@
 package com.ecommerce.common.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.security.Key;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
-    
+
     private static final Logger logger = LoggerFactory.getLogger(JwtUtil.class);
-    
+
+    public static final String ROLES_CLAIM = "roles";
+    public static final String ROLE_CLAIM = "role";
+
+    private static final Set<String> REGISTERED_CLAIMS = Set.of(
+            Claims.SUBJECT, Claims.ISSUED_AT, Claims.EXPIRATION, Claims.NOT_BEFORE,
+            Claims.ISSUER, Claims.AUDIENCE);
+
     private final SecurityProperties securityProperties;
-    
+    private final SecretKey signingKey;
+    private final JwtKeySource keySource;
+    private final JwtParser parser;
+
     public JwtUtil(SecurityProperties securityProperties) {
-        this.securityProperties = securityProperties;
+        this(securityProperties, (JwtKeySource) null);
+    }
+
+    @Autowired
+    public JwtUtil(SecurityProperties securityProperties, ObjectProvider<JwtKeySource> keySources) {
+        this(securityProperties, securityProperties.getAlgorithm().isAsymmetric() ? keySources.getObject() : null);
     }
-    
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(securityProperties.getSecret().getBytes());
+
+    /**
+     * Creates a JwtUtil that signs with the current key of {@code keySource} and verifies against the key
+     * named by each token's {@code kid} header. A {@code null} source selects HS256 with the shared secret.
+     */
+    public JwtUtil(SecurityProperties securityProperties, JwtKeySource keySource) {
+        this.securityProperties = securityProperties;
+        this.keySource = keySource;
+        if (keySource == null) {
+            this.signingKey = Keys.hmacShaKeyFor(securityProperties.getSecret().getBytes());
+            this.parser = Jwts.parser()
+                    .verifyWith(signingKey)
+                    .build();
+        } else {
+            this.signingKey = null;
+            this.parser = Jwts.parser()
+                    .keyLocator(new KeyIdLocator(keySource))
+                    .build();
+        }
     }
-    
+
     public String generateToken(String username) {
         return generateToken(username, new HashMap<>());
     }
-    
+
     public String generateToken(String username, Map<String, Object> extraClaims) {
         Instant now = Instant.now();
         Instant expiration = now.plus(securityProperties.getExpiration(), ChronoUnit.SECONDS);
-        
-        return Jwts.builder()
+
+        JwtBuilder builder = Jwts.builder()
                 .claims(extraClaims)
                 .subject(username)
+                .id(UUID.randomUUID().toString())
                 .issuedAt(Date.from(now))
-                .expiration(Date.from(expiration))
-                .signWith(getSigningKey())
+                .expiration(Date.from(expiration));
+
+        if (keySource == null) {
+            return builder.signWith(signingKey).compact();
+        }
+        JwtKeySource.SigningKey key = keySource.signingKey();
+        return builder.header().keyId(key.kid()).and()
+                .signWith(key.privateKey())
                 .compact();
     }
-    
-    public boolean isTokenValid(String token) {
+
+    /**
+     * Verifies the signature and expiry of {@code token} exactly once and returns its claims.
+     *
+     * @return the verified claims, or empty if the token is malformed, forged or expired
+     */
+    public Optional<VerifiedToken> validateToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            return Optional.of(toVerifiedToken(extractAllClaims(token)));
         } catch (JwtException | IllegalArgumentException e) {
             logger.debug("Invalid JWT token: {}", e.getMessage());
-            return false;
+            return Optional.empty();
         }
     }
-    
+
+    public boolean isTokenValid(String token) {
+        return validateToken(token).isPresent();
+    }
+
     public String extractUsername(String token) {
         try {
             Claims claims = extractAllClaims(token);
@@ -69,7 +126,7 @@ public class JwtUtil {
             return null;
         }
     }
-    
+
     public Date extractExpiration(String token) {
         try {
             Claims claims = extractAllClaims(token);
@@ -79,17 +136,66 @@ public class JwtUtil {
             return null;
         }
     }
-    
+
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
-    
+
     public boolean isTokenExpired(String token) {
         Date expiration = extractExpiration(token);
         return expiration != null && expiration.before(new Date());
     }
-}
\ No newline at end of file
+
+    private static VerifiedToken toVerifiedToken(Claims claims) {
+        Map<String, Object> extraClaims = new HashMap<>();
+        claims.forEach((name, value) -> {
+            if (!REGISTERED_CLAIMS.contains(name) && value != null) {
+                extraClaims.put(name, value);
+            }
+        });
+        return new VerifiedToken(
+                claims.getSubject(),
+                toInstant(claims.getIssuedAt()),
+                toInstant(claims.getExpiration()),
+                extractRoles(claims),
+                extraClaims);
+    }
+
+    private static List<String> extractRoles(Claims claims) {
+        List<String> roles = new ArrayList<>();
+        Object multiple = claims.get(ROLES_CLAIM);
+        if (multiple instanceof Collection<?> values) {
+            values.stream().filter(v -> v != null).map(Object::toString).forEach(roles::add);
+        } else if (multiple instanceof String value && !value.isBlank()) {
+            roles.add(value);
+        }
+        Object single = claims.get(ROLE_CLAIM);
+        if (single instanceof String value && !value.isBlank() && !roles.contains(value)) {
+            roles.add(value);
+        }
+        return roles;
+    }
+
+    private static Instant toInstant(Date date) {
+        return date == null ? null : date.toInstant();
+    }
+
+    private static final class KeyIdLocator extends LocatorAdapter<Key> {
+
+        private final JwtKeySource keySource;
+
+        private KeyIdLocator(JwtKeySource keySource) {
+            this.keySource = keySource;
+        }
+
+        @Override
+        protected Key locate(JwsHeader header) {
+            String kid = header.getKeyId();
+            Key key = kid == null ? null : keySource.verificationKey(kid);
+            if (key == null) {
+                throw new UnsupportedJwtException("Unknown signing key id: " + kid);
+            }
+            return key;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.common.security;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Starts revocation syncing when {@code security.jwt.revocation.enabled} is set. A {@link RevocationFeed} bean
+ * (the issuer's own store) takes precedence over pulling from {@code security.jwt.revocation.uri}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "security.jwt.revocation.enabled", havingValue = "true")
+public class RevocationConfiguration {
+
+    @Bean
+    public RevocationSync revocationSync(RevocationList revocationList,
+                                         ObjectProvider<RevocationFeed> feeds,
+                                         SecurityProperties securityProperties) {
+        RevocationFeed feed = feeds.getIfAvailable(() -> new HttpRevocationFeed(securityProperties));
+        return new RevocationSync(revocationList, feed, securityProperties);
+    }
+}
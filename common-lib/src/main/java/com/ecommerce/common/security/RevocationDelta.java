@@ -0,0 +1,21 @@
+package com.ecommerce.common.security;
+
+import java.util.List;
+
+/**
+ * Page of revocations issued after a cursor.
+ *
+ * @param cursor  value to pass as {@code since} on the next pull; never moves past entries that may still be
+ *                committing, so a page can repeat entries already seen
+ * @param entries revoked token ids with their expiry in epoch seconds
+ * @param hasMore whether another page is immediately available
+ */
+public record RevocationDelta(long cursor, List<Entry> entries, boolean hasMore) {
+
+    public RevocationDelta {
+        entries = entries == null ? List.of() : List.copyOf(entries);
+    }
+
+    public record Entry(String tokenId, long expiresAt) {
+    }
+}
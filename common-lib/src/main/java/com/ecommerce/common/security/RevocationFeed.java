@@ -0,0 +1,12 @@
+package com.ecommerce.common.security;
+
+import java.io.IOException;
+
+/**
+ * Source of revocation deltas for {@link RevocationSync}. The issuer reads its own store; every other
+ * service pulls from the issuer over HTTP.
+ */
+public interface RevocationFeed {
+
+    RevocationDelta fetchSince(long cursor) throws IOException, InterruptedException;
+}
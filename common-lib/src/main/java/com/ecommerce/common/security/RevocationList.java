@@ -0,0 +1,123 @@
+package com.ecommerce.common.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory view of revoked access tokens, checked on every authenticated request.
+ * <p>
+ * A Bloom filter answers "definitely not revoked" for almost every token with a handful of bit reads and no
+ * allocation; only filter hits fall through to the exact set of revoked {@code jti}s. Entries are dropped
+ * once the token they revoke has expired, and the filter is rebuilt from the exact set after each prune, so
+ * memory tracks the number of live revocations. Writes are serialised; reads never block.
+ */
+@Component
+public class RevocationList {
+
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final LongAdder filterRejections = new LongAdder();
+    private final LongAdder exactLookups = new LongAdder();
+
+    private volatile BloomFilter filter;
+
+    @Autowired
+    public RevocationList(SecurityProperties securityProperties) {
+        this(securityProperties.getRevocation().getExpectedEntries(),
+                securityProperties.getRevocation().getFalsePositiveRate());
+    }
+
+    public RevocationList(int expectedEntries, double falsePositiveRate) {
+        this.expectedEntries = Math.max(1, expectedEntries);
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = BloomFilter.create(this.expectedEntries, falsePositiveRate);
+    }
+
+    public static RevocationList empty() {
+        return new RevocationList(1, 0.01);
+    }
+
+    public boolean isRevoked(VerifiedToken token) {
+        return isRevoked(token.tokenId());
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        if (!filter.mightContain(tokenId)) {
+            filterRejections.increment();
+            return false;
+        }
+        exactLookups.increment();
+        return revoked.containsKey(tokenId);
+    }
+
+    public synchronized void add(String tokenId, Instant expiresAt) {
+        if (tokenId == null || expiresAt == null || !expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+        if (revoked.put(tokenId, expiresAt.getEpochSecond()) == null) {
+            if (revoked.size() > capacity()) {
+                rebuild();
+            } else {
+                filter.add(tokenId);
+            }
+        }
+    }
+
+    public synchronized void apply(RevocationDelta delta) {
+        for (RevocationDelta.Entry entry : delta.entries()) {
+            add(entry.tokenId(), Instant.ofEpochSecond(entry.expiresAt()));
+        }
+    }
+
+    /**
+     * Forgets revocations of tokens that expired before {@code now} and shrinks the filter accordingly.
+     *
+     * @return the number of entries removed
+     */
+    public synchronized int prune(Instant now) {
+        long nowSeconds = now.getEpochSecond();
+        int before = revoked.size();
+        revoked.values().removeIf(expiresAt -> expiresAt <= nowSeconds);
+        int removed = before - revoked.size();
+        if (removed > 0) {
+            rebuild();
+        }
+        return removed;
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    public long getFilterRejections() {
+        return filterRejections.sum();
+    }
+
+    public long getExactLookups() {
+        return exactLookups.sum();
+    }
+
+    private int capacity() {
+        return Math.max(expectedEntries, (int) Math.min(Integer.MAX_VALUE, filter.bitCount() / bitsPerEntry()));
+    }
+
+    private double bitsPerEntry() {
+        return -Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+    }
+
+    private void rebuild() {
+        int size = Math.max(expectedEntries, revoked.size() * 2);
+        BloomFilter rebuilt = BloomFilter.create(size, falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::add);
+        filter = rebuilt;
+    }
+}
@@ -0,0 +1,77 @@
+package com.ecommerce.common.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a {@link RevocationList} current by pulling deltas from a {@link RevocationFeed} on a fixed interval.
+ * <p>
+ * Each round drains all available pages, then prunes expired entries. A failed round keeps the last known
+ * list and resumes from the same cursor, so the request path is never affected by the issuer being down.
+ */
+public class RevocationSync implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevocationSync.class);
+    private static final int MAX_PAGES_PER_ROUND = 100;
+
+    private final RevocationList revocationList;
+    private final RevocationFeed feed;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile long cursor;
+
+    public RevocationSync(RevocationList revocationList, RevocationFeed feed, SecurityProperties securityProperties) {
+        this.revocationList = revocationList;
+        this.feed = feed;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "revocation-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long interval = securityProperties.getRevocation().getSyncInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::syncSafely, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Pulls every available page synchronously. Used by the background schedule; never called on the request
+     * path.
+     */
+    public void sync() throws Exception {
+        for (int page = 0; page < MAX_PAGES_PER_ROUND; page++) {
+            RevocationDelta delta = feed.fetchSince(cursor);
+            revocationList.apply(delta);
+            cursor = Math.max(cursor, delta.cursor());
+            if (!delta.hasMore()) {
+                break;
+            }
+        }
+        revocationList.prune(Instant.now());
+    }
+
+    public long getCursor() {
+        return cursor;
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    private void syncSafely() {
+        try {
+            sync();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.warn("Failed to sync revocations at cursor {}, keeping {} entries: {}",
+                    cursor, revocationList.size(), e.getMessage());
+        }
+    }
+}
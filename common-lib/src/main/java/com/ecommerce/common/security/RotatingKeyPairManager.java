@@ -0,0 +1,167 @@
+package com.ecommerce.common.security;
+
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.Jwks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Owns the asymmetric key pairs of the token issuer and rotates them on a fixed interval.
+ * <p>
+ * The key that will be used next is generated and published one rotation ahead, so verifiers pick it up on
+ * their regular JWKS refresh before any token is signed with it. Retired keys stay published for one token
+ * lifetime so tokens issued just before a rotation keep verifying.
+ */
+public class RotatingKeyPairManager implements JwtKeySource, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(RotatingKeyPairManager.class);
+
+    private final JwtAlgorithm algorithm;
+    private final Duration tokenLifetime;
+    private final Clock clock;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile KeyRing keyRing;
+
+    public RotatingKeyPairManager(SecurityProperties securityProperties) {
+        this(securityProperties, Clock.systemUTC(), true);
+    }
+
+    RotatingKeyPairManager(SecurityProperties securityProperties, Clock clock, boolean scheduleRotation) {
+        if (!securityProperties.getAlgorithm().isAsymmetric()) {
+            throw new IllegalArgumentException("Key rotation requires an asymmetric algorithm, got "
+                    + securityProperties.getAlgorithm());
+        }
+        this.algorithm = securityProperties.getAlgorithm();
+        this.tokenLifetime = Duration.ofSeconds(securityProperties.getExpiration());
+        this.clock = clock;
+        this.keyRing = new KeyRing(newKey(), newKey(), List.of());
+
+        Duration interval = securityProperties.getJwks().getRotationInterval();
+        if (scheduleRotation) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "jwt-key-rotation");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleAtFixedRate(this::rotateSafely, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    @Override
+    public SigningKey signingKey() {
+        ManagedKey current = keyRing.current();
+        return new SigningKey(current.kid(), current.keyPair().getPrivate());
+    }
+
+    @Override
+    public Key verificationKey(String kid) {
+        return keyRing.publicKeys().get(kid);
+    }
+
+    /**
+     * Promotes the pre-published key to signing key, generates the next one and drops keys whose tokens
+     * can no longer be valid.
+     */
+    public synchronized void rotate() {
+        KeyRing ring = keyRing;
+        Instant now = clock.instant();
+        List<ManagedKey> retired = new ArrayList<>();
+        for (ManagedKey key : ring.retired()) {
+            if (key.retiredAt().plus(tokenLifetime).isAfter(now)) {
+                retired.add(key);
+            }
+        }
+        retired.add(ring.current().retire(now));
+        keyRing = new KeyRing(ring.next(), newKey(), List.copyOf(retired));
+        logger.info("Rotated JWT signing key to {}", ring.next().kid());
+    }
+
+    /**
+     * Returns the public half of every published key as a JWK Set document.
+     */
+    public Map<String, Object> jwkSet() {
+        List<Map<String, Object>> keys = new ArrayList<>();
+        for (Map.Entry<String, PublicKey> entry : keyRing.publicKeys().entrySet()) {
+            Jwk<?> jwk = Jwks.builder().key(entry.getValue()).id(entry.getKey()).algorithm(algorithm.name()).build();
+            keys.add(Map.copyOf(jwk));
+        }
+        return Map.of("keys", keys);
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void rotateSafely() {
+        try {
+            rotate();
+        } catch (RuntimeException e) {
+            logger.error("JWT signing key rotation failed, keeping current key", e);
+        }
+    }
+
+    private ManagedKey newKey() {
+        try {
+            KeyPairGenerator generator = switch (algorithm) {
+                case RS256 -> {
+                    KeyPairGenerator rsa = KeyPairGenerator.getInstance("RSA");
+                    rsa.initialize(2048);
+                    yield rsa;
+                }
+                case EdDSA -> KeyPairGenerator.getInstance("Ed25519");
+                case HS256 -> throw new IllegalStateException("HS256 does not use key pairs");
+            };
+            return new ManagedKey(UUID.randomUUID().toString(), generator.generateKeyPair(), null);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to generate " + algorithm + " key pair", e);
+        }
+    }
+
+    private record ManagedKey(String kid, KeyPair keyPair, Instant retiredAt) {
+
+        ManagedKey retire(Instant at) {
+            return new ManagedKey(kid, keyPair, at);
+        }
+    }
+
+    private record KeyRing(ManagedKey current, ManagedKey next, List<ManagedKey> retired,
+                           Map<String, PublicKey> publicKeys) {
+
+        KeyRing(ManagedKey current, ManagedKey next, List<ManagedKey> retired) {
+            this(current, next, retired, index(current, next, retired));
+        }
+
+        private static Map<String, PublicKey> index(ManagedKey current, ManagedKey next, List<ManagedKey> retired) {
+            Map<String, PublicKey> keys = new LinkedHashMap<>();
+            keys.put(current.kid(), current.keyPair().getPublic());
+            keys.put(next.kid(), next.keyPair().getPublic());
+            retired.forEach(key -> keys.put(key.kid(), key.keyPair().getPublic()));
+            return Collections.unmodifiableMap(keys);
+        }
+    }
+}
@@ -6,6 +6,6 @@ import org.springframework.context.annotation.Configuration;
 
 @Configuration
 @ComponentScan(basePackages = "com.ecommerce.common.security")
-@EnableConfigurationProperties(SecurityProperties.class)
+@EnableConfigurationProperties({SecurityProperties.class, PasswordHashingProperties.class})
 public class SecurityAutoConfiguration {
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package com.ecommerce.common.security;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
 
 @ConfigurationProperties(prefix = "security.jwt")
 public class SecurityProperties {
@@ -8,6 +11,11 @@ public class SecurityProperties {
     private boolean enabled = true;
     private String secret = "defaultSecretKeyThatIsAtLeast256BitsLongForHS256AlgorithmSecurity";
     private long expiration = 86400;
+    private JwtAlgorithm algorithm = JwtAlgorithm.HS256;
+    private final Cache cache = new Cache();
+    private final Gateway gateway = new Gateway();
+    private final Jwks jwks = new Jwks();
+    private final Revocation revocation = new Revocation();
     
     public boolean isEnabled() {
         return enabled;
@@ -32,4 +40,217 @@ public class SecurityProperties {
     public void setExpiration(long expiration) {
         this.expiration = expiration;
     }
-}
\ No newline at end of file
+
+    public JwtAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public void setAlgorithm(JwtAlgorithm algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public Jwks getJwks() {
+        return jwks;
+    }
+
+    public Revocation getRevocation() {
+        return revocation;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Gateway getGateway() {
+        return gateway;
+    }
+
+    /**
+     * Settings for the in-memory cache of verified tokens ({@code security.jwt.cache.*}).
+     */
+    public static class Cache {
+
+        private boolean enabled = false;
+        private long maximumSize = 10_000;
+        private DataSize maximumMemory = DataSize.ofMegabytes(16);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public DataSize getMaximumMemory() {
+            return maximumMemory;
+        }
+
+        public void setMaximumMemory(DataSize maximumMemory) {
+            this.maximumMemory = maximumMemory;
+        }
+    }
+
+    /**
+     * Settings for identity headers that the gateway forwards after verifying a token ({@code security.jwt.gateway.*}).
+     */
+    public static class Gateway {
+
+        private boolean trustHeaders = false;
+        private String identitySecret;
+
+        public boolean isTrustHeaders() {
+            return trustHeaders;
+        }
+
+        public void setTrustHeaders(boolean trustHeaders) {
+            this.trustHeaders = trustHeaders;
+        }
+
+        /**
+         * Secret shared by the gateway and the services to sign and check identity headers. It has no default:
+         * the gateway and any service that trusts the headers refuse to start without one.
+         */
+        public String getIdentitySecret() {
+            return identitySecret;
+        }
+
+        public void setIdentitySecret(String identitySecret) {
+            this.identitySecret = identitySecret;
+        }
+    }
+
+    /**
+     * Settings for asymmetric signing keys and their JWKS distribution ({@code security.jwt.jwks.*}).
+     * Only used when {@link #getAlgorithm() algorithm} is not {@link JwtAlgorithm#HS256}.
+     */
+    public static class Jwks {
+
+        private boolean issuer = false;
+        private String uri;
+        private Duration rotationInterval = Duration.ofHours(24);
+        private Duration refreshInterval = Duration.ofMinutes(5);
+        private Duration minimumRefreshInterval = Duration.ofSeconds(30);
+        private Duration fetchTimeout = Duration.ofSeconds(5);
+
+        public boolean isIssuer() {
+            return issuer;
+        }
+
+        public void setIssuer(boolean issuer) {
+            this.issuer = issuer;
+        }
+
+        public String getUri() {
+            return uri;
+        }
+
+        public void setUri(String uri) {
+            this.uri = uri;
+        }
+
+        public Duration getRotationInterval() {
+            return rotationInterval;
+        }
+
+        public void setRotationInterval(Duration rotationInterval) {
+            this.rotationInterval = rotationInterval;
+        }
+
+        public Duration getRefreshInterval() {
+            return refreshInterval;
+        }
+
+        public void setRefreshInterval(Duration refreshInterval) {
+            this.refreshInterval = refreshInterval;
+        }
+
+        public Duration getMinimumRefreshInterval() {
+            return minimumRefreshInterval;
+        }
+
+        public void setMinimumRefreshInterval(Duration minimumRefreshInterval) {
+            this.minimumRefreshInterval = minimumRefreshInterval;
+        }
+
+        public Duration getFetchTimeout() {
+            return fetchTimeout;
+        }
+
+        public void setFetchTimeout(Duration fetchTimeout) {
+            this.fetchTimeout = fetchTimeout;
+        }
+    }
+
+    public static class Revocation {
+
+        private boolean enabled = false;
+        private String uri;
+        private Duration syncInterval = Duration.ofSeconds(10);
+        private Duration fetchTimeout = Duration.ofSeconds(5);
+        private int expectedEntries = 10_000;
+        private double falsePositiveRate = 0.001;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * Delta endpoint of the issuer's revocation list; unused where a local feed bean is present.
+         */
+        public String getUri() {
+            return uri;
+        }
+
+        public void setUri(String uri) {
+            this.uri = uri;
+        }
+
+        public Duration getSyncInterval() {
+            return syncInterval;
+        }
+
+        public void setSyncInterval(Duration syncInterval) {
+            this.syncInterval = syncInterval;
+        }
+
+        public Duration getFetchTimeout() {
+            return fetchTimeout;
+        }
+
+        public void setFetchTimeout(Duration fetchTimeout) {
+            this.fetchTimeout = fetchTimeout;
+        }
+
+        /**
+         * Number of live revocations the Bloom filter is sized for; it is rebuilt larger when exceeded.
+         */
+        public int getExpectedEntries() {
+            return expectedEntries;
+        }
+
+        public void setExpectedEntries(int expectedEntries) {
+            this.expectedEntries = expectedEntries;
+        }
+
+        public double getFalsePositiveRate() {
+            return falsePositiveRate;
+        }
+
+        public void setFalsePositiveRate(double falsePositiveRate) {
+            this.falsePositiveRate = falsePositiveRate;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.ecommerce.common.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Identity headers the gateway forwards after it has verified a bearer token, so downstream services can
+ * authenticate the request without verifying the JWT again.
+ * <p>
+ * The headers are bound together by an HMAC-SHA256 over a few dozen bytes with a secret shared between the
+ * gateway and the services, which is far cheaper than a full JWT parse and keeps clients from forging them.
+ * Services only honour the headers when {@code security.jwt.gateway.trust-headers} is enabled.
+ */
+@Component
+public class TrustedIdentityHeaders {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrustedIdentityHeaders.class);
+
+    public static final String SUBJECT_HEADER = "X-Auth-Subject";
+    public static final String ROLES_HEADER = "X-Auth-Roles";
+    public static final String EXPIRES_HEADER = "X-Auth-Expires";
+    public static final String TOKEN_ID_HEADER = "X-Auth-Token-Id";
+    public static final String SIGNATURE_HEADER = "X-Auth-Signature";
+    public static final List<String> HEADER_NAMES = List.of(SUBJECT_HEADER, ROLES_HEADER, EXPIRES_HEADER,
+            TOKEN_ID_HEADER, SIGNATURE_HEADER);
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32;
+
+    private final boolean trustHeaders;
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> mac;
+
+    public TrustedIdentityHeaders(SecurityProperties securityProperties) {
+        SecurityProperties.Gateway properties = securityProperties.getGateway();
+        this.trustHeaders = properties.isTrustHeaders();
+        String secret = properties.getIdentitySecret();
+        if (secret == null || secret.isBlank()) {
+            if (trustHeaders) {
+                throw new IllegalStateException("security.jwt.gateway.identity-secret must be set when "
+                        + "security.jwt.gateway.trust-headers is enabled");
+            }
+            this.key = null;
+        } else {
+            byte[] secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+            if (secretBytes.length < MIN_SECRET_BYTES) {
+                throw new IllegalStateException("security.jwt.gateway.identity-secret must be at least "
+                        + MIN_SECRET_BYTES + " bytes");
+            }
+            this.key = new SecretKeySpec(secretBytes, HMAC_ALGORITHM);
+        }
+        this.mac = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public boolean isTrustHeaders() {
+        return trustHeaders;
+    }
+
+    /**
+     * Whether an identity secret is configured, i.e. whether {@link #sign} can be used.
+     */
+    public boolean canSign() {
+        return key != null;
+    }
+
+    /**
+     * Builds the signed header set describing {@code token}, in a stable order. The token's {@code jti} is
+     * included so services can still check the identity against the {@link RevocationList}.
+     */
+    public Map<String, String> sign(VerifiedToken token) {
+        if (key == null) {
+            throw new IllegalStateException("security.jwt.gateway.identity-secret must be set to sign identity headers");
+        }
+        String roles = String.join(",", token.roles());
+        String expires = Long.toString(token.expiration().getEpochSecond());
+        String tokenId = token.tokenId() == null ? "" : token.tokenId();
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put(SUBJECT_HEADER, token.subject());
+        headers.put(ROLES_HEADER, roles);
+        headers.put(EXPIRES_HEADER, expires);
+        headers.put(TOKEN_ID_HEADER, tokenId);
+        headers.put(SIGNATURE_HEADER, signature(token.subject(), roles, expires, tokenId));
+        return headers;
+    }
+
+    /**
+     * Reads the identity forwarded by the gateway.
+     *
+     * @param headers looks up a request header by name
+     * @return the identity, or empty if trust is disabled, headers are missing, the signature is wrong or the
+     *         identity has expired
+     */
+    public Optional<VerifiedToken> resolve(Function<String, String> headers) {
+        if (!trustHeaders) {
+            return Optional.empty();
+        }
+        String subject = headers.apply(SUBJECT_HEADER);
+        String roles = headers.apply(ROLES_HEADER);
+        String expires = headers.apply(EXPIRES_HEADER);
+        String tokenId = headers.apply(TOKEN_ID_HEADER);
+        String signature = headers.apply(SIGNATURE_HEADER);
+        if (subject == null || expires == null || signature == null) {
+            return Optional.empty();
+        }
+        roles = roles == null ? "" : roles;
+        tokenId = tokenId == null ? "" : tokenId;
+
+        byte[] expected = signature(subject, roles, expires, tokenId).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII))) {
+            logger.debug("Rejected gateway identity headers for {}: signature mismatch", subject);
+            return Optional.empty();
+        }
+
+        Instant expiration;
+        try {
+            expiration = Instant.ofEpochSecond(Long.parseLong(expires));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+        VerifiedToken token = new VerifiedToken(subject, null, expiration, parseRoles(roles),
+                tokenId.isEmpty() ? Map.of() : Map.of(VerifiedToken.TOKEN_ID_CLAIM, tokenId));
+        return token.isExpired(Instant.now()) ? Optional.empty() : Optional.of(token);
+    }
+
+    private String signature(String subject, String roles, String expires, String tokenId) {
+        String payload = subject + '\n' + roles + '\n' + expires + '\n' + tokenId;
+        byte[] digest = mac.get().doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+
+    private static List<String> parseRoles(String roles) {
+        if (roles.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(roles.split(",")).filter(role -> !role.isBlank()).toList();
+    }
+
+    private Mac newMac() {
+        try {
+            Mac instance = Mac.getInstance(HMAC_ALGORITHM);
+            instance.init(key);
+            return instance;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to initialise " + HMAC_ALGORITHM, e);
+        }
+    }
+}
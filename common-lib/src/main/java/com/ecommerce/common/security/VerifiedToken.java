@@ -0,0 +1,39 @@
+package com.ecommerce.common.security;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable result of a single signature-verified parse of a JWT.
+ * Everything the request path needs is read from here instead of re-parsing the token.
+ */
+public record VerifiedToken(
+        String subject,
+        Instant issuedAt,
+        Instant expiration,
+        List<String> roles,
+        Map<String, Object> claims) {
+
+    public static final String TOKEN_ID_CLAIM = "jti";
+
+    public VerifiedToken {
+        roles = roles == null ? List.of() : List.copyOf(roles);
+        claims = claims == null ? Map.of() : Map.copyOf(claims);
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiration != null && !expiration.isAfter(now);
+    }
+
+    public Object claim(String name) {
+        return claims.get(name);
+    }
+
+    /**
+     * Returns the token's {@code jti}, the identifier used for revocation, or {@code null} if it has none.
+     */
+    public String tokenId() {
+        return claims.get(TOKEN_ID_CLAIM) instanceof String id ? id : null;
+    }
+}
@@ -0,0 +1,163 @@
+package com.ecommerce.common.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of tokens that already passed signature verification, keyed by the SHA-256 of the raw token.
+ * <p>
+ * Entries expire at the token's own {@code exp}; size and memory are capped together through a weigher, so
+ * Caffeine's W-TinyLFU policy decides what to keep once either bound is reached. A hit returns the previously
+ * verified claims without any HMAC or JSON work. Only successful verifications are cached.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    private final Cache<TokenKey, VerifiedToken> cache;
+
+    public VerifiedTokenCache(SecurityProperties securityProperties) {
+        SecurityProperties.Cache properties = securityProperties.getCache();
+        this.cache = properties.isEnabled() ? buildCache(properties) : null;
+    }
+
+    public static VerifiedTokenCache disabled() {
+        return new VerifiedTokenCache(new SecurityProperties());
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Returns the cached claims for {@code token}, calling {@code verifier} only on a miss.
+     * Concurrent misses for the same token are coalesced into a single verification.
+     */
+    public Optional<VerifiedToken> getOrVerify(String token, Function<String, Optional<VerifiedToken>> verifier) {
+        if (cache == null || token == null || token.isEmpty()) {
+            return verifier.apply(token);
+        }
+        TokenKey tokenKey = TokenKey.of(token);
+        VerifiedToken verified = cache.get(tokenKey, key -> verifier.apply(token).orElse(null));
+        if (verified != null && verified.isExpired(Instant.now())) {
+            cache.invalidate(tokenKey);
+            return Optional.empty();
+        }
+        return Optional.ofNullable(verified);
+    }
+
+    public void invalidate(String token) {
+        if (cache != null && token != null) {
+            cache.invalidate(TokenKey.of(token));
+        }
+    }
+
+    public long getHitCount() {
+        return stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return stats().missCount();
+    }
+
+    public long getEvictionCount() {
+        return stats().evictionCount();
+    }
+
+    public long getEstimatedSize() {
+        return cache == null ? 0 : cache.estimatedSize();
+    }
+
+    void cleanUp() {
+        if (cache != null) {
+            cache.cleanUp();
+        }
+    }
+
+    private CacheStats stats() {
+        return cache == null ? CacheStats.empty() : cache.stats();
+    }
+
+    private static Cache<TokenKey, VerifiedToken> buildCache(SecurityProperties.Cache properties) {
+        long maximumMemory = Math.max(1, properties.getMaximumMemory().toBytes());
+        long maximumSize = Math.max(1, properties.getMaximumSize());
+        // Every entry weighs at least its share of the memory budget, so the weight bound also caps the count.
+        long minimumWeight = Math.max(1, maximumMemory / maximumSize);
+
+        return Caffeine.newBuilder()
+                .maximumWeight(maximumMemory)
+                .weigher((TokenKey key, VerifiedToken value) ->
+                        (int) Math.min(Integer.MAX_VALUE, Math.max(minimumWeight, estimateBytes(value))))
+                .expireAfter(new TokenExpiry())
+                .scheduler(Scheduler.systemScheduler())
+                .recordStats()
+                .build();
+    }
+
+    private static long estimateBytes(VerifiedToken token) {
+        long bytes = ENTRY_OVERHEAD_BYTES;
+        if (token.subject() != null) {
+            bytes += 2L * token.subject().length();
+        }
+        for (String role : token.roles()) {
+            bytes += 48 + 2L * role.length();
+        }
+        for (Map.Entry<String, Object> claim : token.claims().entrySet()) {
+            bytes += 64 + 2L * claim.getKey().length() + 2L * String.valueOf(claim.getValue()).length();
+        }
+        return bytes;
+    }
+
+    private static final class TokenExpiry implements Expiry<TokenKey, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(TokenKey key, VerifiedToken value, long currentTime) {
+            if (value.expiration() == null) {
+                return 0;
+            }
+            long nanos = Duration.between(Instant.now(), value.expiration()).toNanos();
+            return Math.max(0, nanos);
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenKey key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenKey key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private record TokenKey(long a, long b, long c, long d) {
+
+        private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+            try {
+                return MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        });
+
+        static TokenKey of(String token) {
+            ByteBuffer digest = ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+            return new TokenKey(digest.getLong(), digest.getLong(), digest.getLong(), digest.getLong());
+        }
+    }
+}
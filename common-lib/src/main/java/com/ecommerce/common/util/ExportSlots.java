@@ -0,0 +1,50 @@
+package com.ecommerce.common.util;
+
+import com.ecommerce.common.exception.ServiceOverloadedException;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Bounds how many streaming exports run at once. An export holds a pooled database connection and an open
+ * transaction until its client has read the last row, so a few slow clients could otherwise take the whole pool
+ * from ordinary requests. An export beyond the limit is refused with {@link ServiceOverloadedException} rather
+ * than queued.
+ */
+public class ExportSlots {
+
+    /**
+     * A taken slot; closing it frees the slot.
+     */
+    @FunctionalInterface
+    public interface Slot extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    private final Semaphore slots;
+    private final Duration retryAfter;
+
+    public ExportSlots(int maxConcurrent, Duration retryAfter) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("maxConcurrent must be positive");
+        }
+        this.slots = new Semaphore(maxConcurrent);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * @throws ServiceOverloadedException if every slot is taken
+     */
+    public Slot acquire() {
+        if (!slots.tryAcquire()) {
+            throw new ServiceOverloadedException("Too many exports in progress", retryAfter);
+        }
+        return slots::release;
+    }
+
+    public int available() {
+        return slots.availablePermits();
+    }
+}
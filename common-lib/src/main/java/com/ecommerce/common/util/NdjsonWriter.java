@@ -0,0 +1,58 @@
+package com.ecommerce.common.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes rows as newline-delimited JSON ({@code application/x-ndjson}) straight to a response stream, one line
+ * per row, so a listing can be sent while it is still being read instead of being collected first.
+ * <p>
+ * Output is flushed every {@code flushEvery} rows. Pass the fetch size of the cursor feeding the writer, so each
+ * batch the database hands over is on the wire before the next one is fetched and the first rows reach the
+ * client without waiting for the last. Closing the writer flushes the rest but leaves the stream open.
+ */
+public class NdjsonWriter implements Closeable {
+
+    private final ObjectWriter rowWriter;
+    private final JsonGenerator generator;
+    private final int flushEvery;
+    private long count;
+
+    public NdjsonWriter(ObjectMapper objectMapper, OutputStream output, int flushEvery) throws IOException {
+        if (flushEvery < 1) {
+            throw new IllegalArgumentException("flushEvery must be positive");
+        }
+        // The mapper would otherwise flush after every row, sending each one as its own chunk.
+        this.rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.generator = objectMapper.getFactory().createGenerator(output)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.setRootValueSeparator(null);
+        this.flushEvery = flushEvery;
+    }
+
+    public void write(Object row) throws IOException {
+        rowWriter.writeValue(generator, row);
+        generator.writeRaw('\n');
+        if (++count % flushEvery == 0) {
+            generator.flush();
+        }
+    }
+
+    /**
+     * The number of rows written so far.
+     */
+    public long count() {
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
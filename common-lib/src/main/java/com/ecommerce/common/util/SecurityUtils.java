@@ -3,6 +3,10 @@ package com.ecommerce.common.util;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+/**
+ * Synchronous helpers for tests and tooling. Request paths should hash through
+ * {@link com.ecommerce.common.security.PasswordHashingService}, which keeps BCrypt off the servlet threads.
+ */
 public class SecurityUtils {
     
     private static final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
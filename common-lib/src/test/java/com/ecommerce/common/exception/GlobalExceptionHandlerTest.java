@@ -5,10 +5,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.when;
 
@@ -130,4 +134,63 @@ class GlobalExceptionHandlerTest {
         assertEquals(requestPath, errorResponse.getInstance());
         assertNotNull(errorResponse.getTimestamp());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testHandleServiceOverloadedException() {
+        String requestUri = "/login";
+        ServiceOverloadedException exception = new ServiceOverloadedException("Busy", Duration.ofMillis(1500));
+
+        when(webRequest.getDescription(false)).thenReturn("uri=" + requestUri);
+
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleServiceOverloaded(exception, webRequest);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("2", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals("Service Unavailable", response.getBody().getTitle());
+        assertEquals(503, response.getBody().getStatus());
+        assertEquals("Busy", response.getBody().getDetail());
+        assertEquals(requestUri, response.getBody().getInstance());
+    }
+
+    @Test
+    void testHandleTooManyRequestsException() {
+        String requestUri = "/login";
+        TooManyRequestsException exception = new TooManyRequestsException("Slow down", Duration.ofSeconds(30));
+
+        when(webRequest.getDescription(false)).thenReturn("uri=" + requestUri);
+
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleTooManyRequests(exception, webRequest);
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("30", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals("Too Many Requests", response.getBody().getTitle());
+        assertEquals(429, response.getBody().getStatus());
+        assertEquals("Slow down", response.getBody().getDetail());
+    }
+
+    @Test
+    void testHandleBadCredentialsException() {
+        when(webRequest.getDescription(false)).thenReturn("uri=/login");
+
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleBadCredentials(
+            new BadCredentialsException("Invalid username or password"), webRequest);
+
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        assertEquals("Unauthorized", response.getBody().getTitle());
+        assertEquals(401, response.getBody().getStatus());
+        assertEquals("/login", response.getBody().getInstance());
+    }
+
+    @Test
+    void testHandleConflictException() {
+        when(webRequest.getDescription(false)).thenReturn("uri=/inventory/reservations");
+
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleConflict(
+            new ConflictException("Insufficient stock"), webRequest);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("Conflict", response.getBody().getTitle());
+        assertEquals(409, response.getBody().getStatus());
+        assertEquals("Insufficient stock", response.getBody().getDetail());
+    }
+}
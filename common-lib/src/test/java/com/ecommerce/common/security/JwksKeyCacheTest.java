@@ -0,0 +1,135 @@
+package com.ecommerce.common.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+
+class JwksKeyCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private HttpServer server;
+    private RotatingKeyPairManager issuerKeys;
+    private JwtUtil issuer;
+    private AtomicInteger fetches;
+    private volatile int status;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        SecurityProperties issuerProperties = RotatingKeyPairManagerTest.properties(JwtAlgorithm.RS256);
+        issuerKeys = new RotatingKeyPairManager(issuerProperties, Clock.systemUTC(), false);
+        issuer = new JwtUtil(issuerProperties, issuerKeys);
+        fetches = new AtomicInteger();
+        status = 200;
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/.well-known/jwks.json", exchange -> {
+            fetches.incrementAndGet();
+            byte[] body = objectMapper.writeValueAsBytes(issuerKeys.jwkSet());
+            exchange.sendResponseHeaders(status, status == 200 ? body.length : -1);
+            if (status == 200) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void verificationKey_AfterRefresh_ShouldVerifyIssuedTokens() throws Exception {
+        JwksKeyCache cache = newCache(Duration.ofMinutes(5));
+        try {
+            cache.refresh();
+            JwtUtil verifier = new JwtUtil(verifierProperties(), cache);
+
+            assertEquals("testuser", verifier.validateToken(issuer.generateToken("testuser")).orElseThrow().subject());
+        } finally {
+            cache.destroy();
+        }
+    }
+
+    @Test
+    void verificationKey_WithUnknownKid_ShouldNotBlockAndShouldRefreshInBackground() throws Exception {
+        JwksKeyCache cache = newCache(Duration.ZERO);
+        try {
+            cache.refresh();
+            JwtUtil verifier = new JwtUtil(verifierProperties(), cache);
+            issuerKeys.rotate();
+            issuerKeys.rotate();
+            String token = issuer.generateToken("testuser");
+
+            assertTrue(verifier.validateToken(token).isEmpty());
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (verifier.validateToken(token).isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+            assertTrue(verifier.validateToken(token).isPresent());
+        } finally {
+            cache.destroy();
+        }
+    }
+
+    @Test
+    void refresh_WhenEndpointFails_ShouldKeepServingStaleKeys() throws Exception {
+        JwksKeyCache cache = newCache(Duration.ofMinutes(5));
+        try {
+            cache.refresh();
+            int loaded = cache.size();
+            status = 503;
+
+            assertThrows(java.io.IOException.class, cache::refresh);
+            assertEquals(loaded, cache.size());
+            assertTrue(new JwtUtil(verifierProperties(), cache).validateToken(issuer.generateToken("testuser")).isPresent());
+        } finally {
+            cache.destroy();
+        }
+    }
+
+    @Test
+    void signingKey_ShouldNotBeAvailableToVerifiers() throws Exception {
+        JwksKeyCache cache = newCache(Duration.ofMinutes(5));
+        try {
+            assertThrows(IllegalStateException.class, cache::signingKey);
+            assertNull(cache.verificationKey("missing"));
+        } finally {
+            cache.destroy();
+        }
+    }
+
+    private JwksKeyCache newCache(Duration minimumRefreshInterval) {
+        SecurityProperties properties = verifierProperties();
+        properties.getJwks().setMinimumRefreshInterval(minimumRefreshInterval);
+        return new JwksKeyCache(properties);
+    }
+
+    private SecurityProperties verifierProperties() {
+        SecurityProperties properties = new SecurityProperties();
+        properties.setAlgorithm(JwtAlgorithm.RS256);
+        properties.getJwks().setUri("http://127.0.0.1:" + server.getAddress().getPort() + "/.well-known/jwks.json");
+        properties.getJwks().setRefreshInterval(Duration.ofHours(1));
+        return properties;
+    }
+}
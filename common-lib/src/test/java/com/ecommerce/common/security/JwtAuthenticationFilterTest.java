@@ -10,6 +10,10 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -58,9 +62,7 @@ class JwtAuthenticationFilterTest {
         String username = "testuser";
         request.addHeader("Authorization", "Bearer " + token);
         
-        when(jwtUtil.isTokenValid(token)).thenReturn(true);
-        when(jwtUtil.isTokenExpired(token)).thenReturn(false);
-        when(jwtUtil.extractUsername(token)).thenReturn(username);
+        when(jwtUtil.validateToken(token)).thenReturn(Optional.of(verifiedToken(username)));
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
@@ -80,7 +82,7 @@ class JwtAuthenticationFilterTest {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         assertNull(authentication);
         
-        verify(jwtUtil, never()).isTokenValid(anyString());
+        verify(jwtUtil, never()).validateToken(anyString());
         verify(filterChain, times(1)).doFilter(request, response);
     }
 
@@ -93,7 +95,7 @@ class JwtAuthenticationFilterTest {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         assertNull(authentication);
         
-        verify(jwtUtil, never()).isTokenValid(anyString());
+        verify(jwtUtil, never()).validateToken(anyString());
         verify(filterChain, times(1)).doFilter(request, response);
     }
 
@@ -102,15 +104,14 @@ class JwtAuthenticationFilterTest {
         String token = "invalid-jwt-token";
         request.addHeader("Authorization", "Bearer " + token);
         
-        when(jwtUtil.isTokenValid(token)).thenReturn(false);
+        when(jwtUtil.validateToken(token)).thenReturn(Optional.empty());
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         assertNull(authentication);
 
-        verify(jwtUtil, times(1)).isTokenValid(token);
-        verify(jwtUtil, never()).extractUsername(anyString());
+        verify(jwtUtil, times(1)).validateToken(token);
         verify(filterChain, times(1)).doFilter(request, response);
     }
 
@@ -119,17 +120,14 @@ class JwtAuthenticationFilterTest {
         String token = "expired-jwt-token";
         request.addHeader("Authorization", "Bearer " + token);
         
-        when(jwtUtil.isTokenValid(token)).thenReturn(true);
-        when(jwtUtil.isTokenExpired(token)).thenReturn(true);
+        when(jwtUtil.validateToken(token)).thenReturn(Optional.empty());
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         assertNull(authentication);
         
-        verify(jwtUtil, times(1)).isTokenValid(token);
-        verify(jwtUtil, times(1)).isTokenExpired(token);
-        verify(jwtUtil, never()).extractUsername(anyString());
+        verify(jwtUtil, times(1)).validateToken(token);
         verify(filterChain, times(1)).doFilter(request, response);
     }
 
@@ -138,18 +136,14 @@ class JwtAuthenticationFilterTest {
         String token = "valid-jwt-token-no-username";
         request.addHeader("Authorization", "Bearer " + token);
         
-        when(jwtUtil.isTokenValid(token)).thenReturn(true);
-        when(jwtUtil.isTokenExpired(token)).thenReturn(false);
-        when(jwtUtil.extractUsername(token)).thenReturn(null);
+        when(jwtUtil.validateToken(token)).thenReturn(Optional.of(verifiedToken(null)));
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         assertNull(authentication);
         
-        verify(jwtUtil, times(1)).isTokenValid(token);
-        verify(jwtUtil, times(1)).isTokenExpired(token);
-        verify(jwtUtil, times(1)).extractUsername(token);
+        verify(jwtUtil, times(1)).validateToken(token);
         verify(filterChain, times(1)).doFilter(request, response);
     }
 
@@ -163,9 +157,7 @@ class JwtAuthenticationFilterTest {
                 "existinguser", null, java.util.Collections.emptyList());
         SecurityContextHolder.getContext().setAuthentication(existingAuth);
         
-        when(jwtUtil.isTokenValid(token)).thenReturn(true);
-        when(jwtUtil.isTokenExpired(token)).thenReturn(false);
-        when(jwtUtil.extractUsername(token)).thenReturn(username);
+        when(jwtUtil.validateToken(token)).thenReturn(Optional.of(verifiedToken(username)));
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
@@ -173,9 +165,7 @@ class JwtAuthenticationFilterTest {
         assertNotNull(authentication);
         assertEquals("existinguser", authentication.getName()); // Should remain unchanged
         
-        verify(jwtUtil, times(1)).isTokenValid(token);
-        verify(jwtUtil, times(1)).isTokenExpired(token);
-        verify(jwtUtil, times(1)).extractUsername(token);
+        verify(jwtUtil, times(1)).validateToken(token);
         verify(filterChain, times(1)).doFilter(request, response);
     }
 
@@ -184,7 +174,7 @@ class JwtAuthenticationFilterTest {
         String token = "problematic-jwt-token";
         request.addHeader("Authorization", "Bearer " + token);
         
-        when(jwtUtil.isTokenValid(token)).thenThrow(new RuntimeException("JWT processing error"));
+        when(jwtUtil.validateToken(token)).thenThrow(new RuntimeException("JWT processing error"));
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
@@ -198,14 +188,14 @@ class JwtAuthenticationFilterTest {
     void doFilterInternal_WithEmptyBearerToken_ShouldNotSetAuthentication() throws ServletException, IOException {
         request.addHeader("Authorization", "Bearer ");
         
-        when(jwtUtil.isTokenValid("")).thenReturn(false);
+        when(jwtUtil.validateToken("")).thenReturn(Optional.empty());
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         assertNull(authentication);
         
-        verify(jwtUtil, times(1)).isTokenValid("");
+        verify(jwtUtil, times(1)).validateToken("");
         verify(filterChain, times(1)).doFilter(request, response);
     }
 
@@ -218,7 +208,7 @@ class JwtAuthenticationFilterTest {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         assertNull(authentication);
         
-        verify(jwtUtil, never()).isTokenValid(anyString());
+        verify(jwtUtil, never()).validateToken(anyString());
         verify(filterChain, times(1)).doFilter(request, response);
     }
 
@@ -227,14 +217,14 @@ class JwtAuthenticationFilterTest {
         String token = "   ";
         request.addHeader("Authorization", "Bearer " + token);
         
-        when(jwtUtil.isTokenValid(token)).thenReturn(false);
+        when(jwtUtil.validateToken(token)).thenReturn(Optional.empty());
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         assertNull(authentication);
         
-        verify(jwtUtil, times(1)).isTokenValid(token);
+        verify(jwtUtil, times(1)).validateToken(token);
         verify(filterChain, times(1)).doFilter(request, response);
     }
 
@@ -243,13 +233,11 @@ class JwtAuthenticationFilterTest {
         String expectedToken = "valid-jwt-token";
         request.addHeader("Authorization", "Bearer " + expectedToken);
         
-        when(jwtUtil.isTokenValid(expectedToken)).thenReturn(true);
-        when(jwtUtil.isTokenExpired(expectedToken)).thenReturn(false);
-        when(jwtUtil.extractUsername(expectedToken)).thenReturn("testuser");
+        when(jwtUtil.validateToken(expectedToken)).thenReturn(Optional.of(verifiedToken("testuser")));
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
-        verify(jwtUtil, times(1)).isTokenValid(expectedToken);
+        verify(jwtUtil, times(1)).validateToken(expectedToken);
     }
 
     @Test
@@ -261,7 +249,139 @@ class JwtAuthenticationFilterTest {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         assertNull(authentication);
         
-        verify(jwtUtil, never()).isTokenValid(anyString());
+        verify(jwtUtil, never()).validateToken(anyString());
         verify(filterChain, times(1)).doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    @Test
+    void doFilterInternal_WithValidToken_ShouldVerifyTokenOnlyOnce() throws ServletException, IOException {
+        String token = "valid-jwt-token";
+        request.addHeader("Authorization", "Bearer " + token);
+
+        when(jwtUtil.validateToken(token)).thenReturn(Optional.of(verifiedToken("testuser")));
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        verify(jwtUtil, times(1)).validateToken(token);
+        verify(jwtUtil, never()).isTokenValid(anyString());
+        verify(jwtUtil, never()).isTokenExpired(anyString());
+        verify(jwtUtil, never()).extractUsername(anyString());
+    }
+
+    @Test
+    void doFilterInternal_WithRolesClaim_ShouldMapRolesToAuthorities() throws ServletException, IOException {
+        String token = "admin-jwt-token";
+        request.addHeader("Authorization", "Bearer " + token);
+
+        VerifiedToken verifiedToken = new VerifiedToken("admin", Instant.now(), Instant.now().plusSeconds(60),
+                List.of("ADMIN", "ROLE_USER"), Map.of());
+        when(jwtUtil.validateToken(token)).thenReturn(Optional.of(verifiedToken));
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals(List.of("ROLE_ADMIN", "ROLE_USER"),
+                authentication.getAuthorities().stream().map(a -> a.getAuthority()).toList());
+    }
+
+    @Test
+    void doFilterInternal_WithCacheEnabled_ShouldVerifyRepeatedTokenOnce() throws ServletException, IOException {
+        SecurityProperties properties = new SecurityProperties();
+        properties.getCache().setEnabled(true);
+        VerifiedTokenCache tokenCache = new VerifiedTokenCache(properties);
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtUtil, tokenCache);
+        String token = "valid-jwt-token";
+        request.addHeader("Authorization", "Bearer " + token);
+
+        when(jwtUtil.validateToken(token)).thenReturn(Optional.of(verifiedToken("testuser")));
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+        SecurityContextHolder.clearContext();
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        assertEquals("testuser", SecurityContextHolder.getContext().getAuthentication().getName());
+        verify(jwtUtil, times(1)).validateToken(token);
+        assertEquals(1, tokenCache.getHitCount());
+    }
+
+    @Test
+    void doFilterInternal_WithTrustedGatewayHeaders_ShouldAuthenticateWithoutVerifyingJwt() throws ServletException, IOException {
+        SecurityProperties properties = new SecurityProperties();
+        properties.getGateway().setTrustHeaders(true);
+        properties.getGateway().setIdentitySecret("testGatewayIdentitySecretThatIsAtLeast256BitsLongForHmacSha256");
+        TrustedIdentityHeaders trustedIdentityHeaders = new TrustedIdentityHeaders(properties);
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtUtil, VerifiedTokenCache.disabled(), trustedIdentityHeaders);
+        trustedIdentityHeaders.sign(new VerifiedToken("gatewayuser", null, Instant.now().plusSeconds(60), List.of("ADMIN"), Map.of()))
+                .forEach(request::addHeader);
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals("gatewayuser", authentication.getName());
+        assertEquals("ROLE_ADMIN", authentication.getAuthorities().iterator().next().getAuthority());
+        verify(jwtUtil, never()).validateToken(anyString());
+    }
+
+    @Test
+    void doFilterInternal_WithForgedGatewayHeaders_ShouldFallBackToBearerToken() throws ServletException, IOException {
+        SecurityProperties properties = new SecurityProperties();
+        properties.getGateway().setTrustHeaders(true);
+        properties.getGateway().setIdentitySecret("testGatewayIdentitySecretThatIsAtLeast256BitsLongForHmacSha256");
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtUtil, VerifiedTokenCache.disabled(),
+                new TrustedIdentityHeaders(properties));
+        request.addHeader(TrustedIdentityHeaders.SUBJECT_HEADER, "admin");
+        request.addHeader(TrustedIdentityHeaders.EXPIRES_HEADER, String.valueOf(Instant.now().plusSeconds(60).getEpochSecond()));
+        request.addHeader(TrustedIdentityHeaders.SIGNATURE_HEADER, "forged");
+        request.addHeader("Authorization", "Bearer valid-jwt-token");
+
+        when(jwtUtil.validateToken("valid-jwt-token")).thenReturn(Optional.of(verifiedToken("testuser")));
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        assertEquals("testuser", SecurityContextHolder.getContext().getAuthentication().getName());
+    }
+
+    @Test
+    void doFilterInternal_WithRevokedToken_ShouldNotAuthenticate() throws ServletException, IOException {
+        RevocationList revocationList = new RevocationList(new SecurityProperties());
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtUtil, VerifiedTokenCache.disabled(),
+                new TrustedIdentityHeaders(new SecurityProperties()), revocationList);
+        VerifiedToken revoked = new VerifiedToken("testuser", Instant.now(), Instant.now().plusSeconds(3600),
+                List.of(), Map.of(VerifiedToken.TOKEN_ID_CLAIM, "revoked-id"));
+        revocationList.add("revoked-id", revoked.expiration());
+        request.addHeader("Authorization", "Bearer revoked-jwt-token");
+
+        when(jwtUtil.validateToken("revoked-jwt-token")).thenReturn(Optional.of(revoked));
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void doFilterInternal_WithTrustedGatewayHeadersForRevokedToken_ShouldNotAuthenticate() throws ServletException, IOException {
+        SecurityProperties properties = new SecurityProperties();
+        properties.getGateway().setTrustHeaders(true);
+        properties.getGateway().setIdentitySecret("testGatewayIdentitySecretThatIsAtLeast256BitsLongForHmacSha256");
+        TrustedIdentityHeaders trustedIdentityHeaders = new TrustedIdentityHeaders(properties);
+        RevocationList revocationList = new RevocationList(new SecurityProperties());
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtUtil, VerifiedTokenCache.disabled(),
+                trustedIdentityHeaders, revocationList);
+        VerifiedToken revoked = new VerifiedToken("gatewayuser", null, Instant.now().plusSeconds(60), List.of(),
+                Map.of(VerifiedToken.TOKEN_ID_CLAIM, "revoked-id"));
+        revocationList.add("revoked-id", revoked.expiration());
+        trustedIdentityHeaders.sign(revoked).forEach(request::addHeader);
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(filterChain).doFilter(request, response);
+    }
+
+    private static VerifiedToken verifiedToken(String username) {
+        return new VerifiedToken(username, Instant.now(), Instant.now().plusSeconds(3600), List.of(), Map.of());
+    }
+}
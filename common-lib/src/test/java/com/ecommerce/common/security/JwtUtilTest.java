@@ -6,12 +6,16 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
 
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -219,4 +223,64 @@ class JwtUtilTest {
         
         assertFalse(isValid);
     }
-}
\ No newline at end of file
+
+    @Test
+    void validateToken_WithValidToken_ShouldReturnVerifiedClaims() {
+        when(securityProperties.getExpiration()).thenReturn(3600L);
+        jwtUtil = new JwtUtil(securityProperties);
+
+        Map<String, Object> extraClaims = new HashMap<>();
+        extraClaims.put("roles", List.of("USER", "ADMIN"));
+        extraClaims.put("department", "IT");
+        String token = jwtUtil.generateToken("testuser", extraClaims);
+
+        Optional<VerifiedToken> verified = jwtUtil.validateToken(token);
+
+        assertTrue(verified.isPresent());
+        assertEquals("testuser", verified.get().subject());
+        assertEquals(List.of("USER", "ADMIN"), verified.get().roles());
+        assertEquals("IT", verified.get().claim("department"));
+        assertNotNull(verified.get().issuedAt());
+        assertTrue(verified.get().expiration().isAfter(Instant.now()));
+        assertFalse(verified.get().claims().containsKey("sub"));
+    }
+
+    @Test
+    void validateToken_WithSingleRoleClaim_ShouldExposeRole() {
+        when(securityProperties.getExpiration()).thenReturn(3600L);
+        jwtUtil = new JwtUtil(securityProperties);
+
+        String token = jwtUtil.generateToken("testuser", Map.of("role", "USER"));
+
+        assertEquals(List.of("USER"), jwtUtil.validateToken(token).orElseThrow().roles());
+    }
+
+    @Test
+    void validateToken_WithInvalidOrNullToken_ShouldReturnEmpty() {
+        assertTrue(jwtUtil.validateToken("invalid.jwt.token").isEmpty());
+        assertTrue(jwtUtil.validateToken(null).isEmpty());
+        assertTrue(jwtUtil.validateToken("").isEmpty());
+    }
+
+    @Test
+    void validateToken_WithExpiredToken_ShouldReturnEmpty() {
+        when(securityProperties.getExpiration()).thenReturn(-60L);
+        jwtUtil = new JwtUtil(securityProperties);
+
+        String token = jwtUtil.generateToken("testuser");
+
+        assertTrue(jwtUtil.validateToken(token).isEmpty());
+    }
+
+    @Test
+    void verifiedToken_ShouldBeImmutable() {
+        when(securityProperties.getExpiration()).thenReturn(3600L);
+        jwtUtil = new JwtUtil(securityProperties);
+
+        VerifiedToken verified = jwtUtil.validateToken(jwtUtil.generateToken("testuser", Map.of("role", "USER")))
+                .orElseThrow();
+
+        assertThrows(UnsupportedOperationException.class, () -> verified.roles().add("ADMIN"));
+        assertThrows(UnsupportedOperationException.class, () -> verified.claims().put("role", "ADMIN"));
+    }
+}
@@ -0,0 +1,100 @@
+package com.ecommerce.common.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.ecommerce.common.exception.ServiceOverloadedException;
+
+class PasswordHashingServiceTest {
+
+    private PasswordHashingService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.destroy();
+        }
+    }
+
+    @Test
+    void encode_ShouldProducePrefixedBcryptHashOffTheCallingThread() {
+        service = new PasswordHashingService(properties(4, 2, 16));
+        Thread caller = Thread.currentThread();
+        List<Thread> workers = new ArrayList<>();
+
+        String encoded = service.encode("myPassword123")
+                .whenComplete((hash, error) -> workers.add(Thread.currentThread()))
+                .join();
+
+        assertTrue(encoded.startsWith("{bcrypt}$2a$04$"));
+        assertFalse(workers.contains(caller));
+        assertTrue(service.matches("myPassword123", encoded).join());
+        assertFalse(service.matches("wrongPassword", encoded).join());
+    }
+
+    @Test
+    void matches_WithLegacyUnprefixedHash_ShouldMatchAndRequestUpgrade() {
+        service = new PasswordHashingService(properties(4, 1, 4));
+        String legacy = new BCryptPasswordEncoder(4).encode("legacyPassword");
+
+        assertTrue(service.matches("legacyPassword", legacy).join());
+        assertTrue(service.needsUpgrade(legacy));
+        assertFalse(service.needsUpgrade(service.encode("legacyPassword").join()));
+    }
+
+    @Test
+    void needsUpgrade_WithLowerCostThanConfigured_ShouldReturnTrue() {
+        PasswordHashingService weak = new PasswordHashingService(properties(4, 1, 4));
+        service = new PasswordHashingService(properties(6, 1, 4));
+        try {
+            assertTrue(service.needsUpgrade(weak.encode("password").join()));
+        } finally {
+            weak.destroy();
+        }
+    }
+
+    @Test
+    void matches_WithNullInput_ShouldReturnFalseWithoutQueueing() {
+        service = new PasswordHashingService(properties(4, 1, 1));
+
+        assertFalse(service.matches(null, "hash").join());
+        assertFalse(service.matches("password", null).join());
+    }
+
+    @Test
+    void encode_WhenPoolAndQueueAreFull_ShouldRejectImmediately() {
+        PasswordHashingProperties properties = properties(14, 1, 1);
+        properties.setRetryAfter(Duration.ofSeconds(3));
+        service = new PasswordHashingService(properties);
+
+        List<CompletableFuture<String>> accepted = new ArrayList<>();
+        ServiceOverloadedException rejection = assertThrows(ServiceOverloadedException.class, () -> {
+            for (int i = 0; i < 10; i++) {
+                accepted.add(service.encode("password" + i));
+            }
+        });
+
+        assertEquals(Duration.ofSeconds(3), rejection.getRetryAfter());
+        assertTrue(accepted.size() <= 2);
+        assertTrue(service.getQueuedTasks() <= 1);
+    }
+
+    private static PasswordHashingProperties properties(int strength, int threads, int queueCapacity) {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setStrength(strength);
+        properties.setThreads(threads);
+        properties.setQueueCapacity(queueCapacity);
+        return properties;
+    }
+}
@@ -0,0 +1,94 @@
+package com.ecommerce.common.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class RevocationListTest {
+
+    @Test
+    void isRevoked_WithAddedId_ShouldReturnTrue() {
+        RevocationList revocationList = new RevocationList(100, 0.001);
+
+        revocationList.add("jti-1", Instant.now().plusSeconds(60));
+
+        assertTrue(revocationList.isRevoked("jti-1"));
+        assertFalse(revocationList.isRevoked("jti-2"));
+        assertFalse(revocationList.isRevoked((String) null));
+    }
+
+    @Test
+    void isRevoked_ForUnrevokedTokens_ShouldMostlyStopAtBloomFilter() {
+        RevocationList revocationList = new RevocationList(1_000, 0.001);
+        for (int i = 0; i < 1_000; i++) {
+            revocationList.add("revoked-" + i, Instant.now().plusSeconds(600));
+        }
+
+        for (int i = 0; i < 100_000; i++) {
+            assertFalse(revocationList.isRevoked(UUID.randomUUID().toString()));
+        }
+
+        assertTrue(revocationList.getExactLookups() < 1_000, "false positives: " + revocationList.getExactLookups());
+        assertTrue(revocationList.getFilterRejections() > 99_000);
+    }
+
+    @Test
+    void add_BeyondExpectedEntries_ShouldRebuildAndKeepEveryEntry() {
+        RevocationList revocationList = new RevocationList(10, 0.01);
+
+        for (int i = 0; i < 1_000; i++) {
+            revocationList.add("revoked-" + i, Instant.now().plusSeconds(600));
+        }
+
+        assertEquals(1_000, revocationList.size());
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(revocationList.isRevoked("revoked-" + i));
+        }
+    }
+
+    @Test
+    void add_WithExpiredToken_ShouldIgnoreIt() {
+        RevocationList revocationList = new RevocationList(100, 0.001);
+
+        revocationList.add("expired", Instant.now().minusSeconds(1));
+
+        assertEquals(0, revocationList.size());
+        assertFalse(revocationList.isRevoked("expired"));
+    }
+
+    @Test
+    void prune_ShouldDropExpiredEntriesOnly() {
+        RevocationList revocationList = new RevocationList(100, 0.001);
+        Instant now = Instant.now();
+        revocationList.add("short", now.plusSeconds(5));
+        revocationList.add("long", now.plusSeconds(600));
+
+        int removed = revocationList.prune(now.plusSeconds(10));
+
+        assertEquals(1, removed);
+        assertFalse(revocationList.isRevoked("short"));
+        assertTrue(revocationList.isRevoked("long"));
+    }
+
+    @Test
+    void apply_ShouldAddEveryDeltaEntry() {
+        RevocationList revocationList = new RevocationList(100, 0.001);
+        long expiresAt = Instant.now().plusSeconds(60).getEpochSecond();
+
+        revocationList.apply(new RevocationDelta(2, List.of(
+                new RevocationDelta.Entry("a", expiresAt),
+                new RevocationDelta.Entry("b", expiresAt)), false));
+
+        VerifiedToken token = new VerifiedToken("user", Instant.now(), Instant.now().plusSeconds(60), List.of(),
+                Map.of(VerifiedToken.TOKEN_ID_CLAIM, "b"));
+        assertTrue(revocationList.isRevoked(token));
+        assertTrue(revocationList.isRevoked("a"));
+    }
+}
@@ -0,0 +1,94 @@
+package com.ecommerce.common.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+class RevocationSyncTest {
+
+    private HttpServer server;
+    private final List<String> queries = new ArrayList<>();
+    private SecurityProperties properties;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        long expiresAt = Instant.now().plusSeconds(600).getEpochSecond();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/revocations", exchange -> {
+            String query = exchange.getRequestURI().getQuery();
+            synchronized (queries) {
+                queries.add(query);
+            }
+            String body = switch (query) {
+                case "since=0" -> "{\"cursor\":2,\"entries\":[{\"tokenId\":\"a\",\"expiresAt\":" + expiresAt
+                        + "},{\"tokenId\":\"b\",\"expiresAt\":" + expiresAt + "}],\"hasMore\":true}";
+                case "since=2" -> "{\"cursor\":3,\"entries\":[{\"tokenId\":\"c\",\"expiresAt\":" + expiresAt
+                        + "}],\"hasMore\":false}";
+                default -> "{\"cursor\":3,\"entries\":[],\"hasMore\":false}";
+            };
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.close();
+        });
+        server.start();
+
+        properties = new SecurityProperties();
+        properties.getRevocation().setUri("http://localhost:" + server.getAddress().getPort() + "/revocations");
+        properties.getRevocation().setSyncInterval(Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void sync_ShouldDrainPagesAndAdvanceCursor() throws Exception {
+        RevocationList revocationList = new RevocationList(properties);
+        RevocationSync sync = new RevocationSync(revocationList, new HttpRevocationFeed(properties), properties);
+        try {
+            sync.sync();
+
+            assertEquals(3, sync.getCursor());
+            assertEquals(3, revocationList.size());
+            assertTrue(revocationList.isRevoked("a"));
+            assertTrue(revocationList.isRevoked("c"));
+        } finally {
+            sync.destroy();
+        }
+    }
+
+    @Test
+    void sync_WhenFeedFails_ShouldKeepCursorAndEntries() throws Exception {
+        RevocationList revocationList = new RevocationList(properties);
+        revocationList.add("existing", Instant.now().plusSeconds(60));
+        RevocationFeed failing = cursor -> {
+            throw new IOException("auth-service unavailable");
+        };
+        RevocationSync sync = new RevocationSync(revocationList, failing, properties);
+        try {
+            assertThrows(IOException.class, sync::sync);
+
+            assertEquals(0, sync.getCursor());
+            assertTrue(revocationList.isRevoked("existing"));
+        } finally {
+            sync.destroy();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.ecommerce.common.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class RotatingKeyPairManagerTest {
+
+    @ParameterizedTest
+    @EnumSource(value = JwtAlgorithm.class, names = {"RS256", "EdDSA"})
+    void generatedToken_ShouldVerifyWithPublishedKey(JwtAlgorithm algorithm) {
+        SecurityProperties properties = properties(algorithm);
+        RotatingKeyPairManager manager = new RotatingKeyPairManager(properties, Clock.systemUTC(), false);
+        JwtUtil jwtUtil = new JwtUtil(properties, manager);
+
+        String token = jwtUtil.generateToken("testuser", Map.of("role", "USER"));
+
+        VerifiedToken verified = jwtUtil.validateToken(token).orElseThrow();
+        assertEquals("testuser", verified.subject());
+        assertEquals(List.of("USER"), verified.roles());
+    }
+
+    @Test
+    void rotate_ShouldSignWithPrePublishedKeyAndKeepVerifyingOldTokens() {
+        SecurityProperties properties = properties(JwtAlgorithm.RS256);
+        RotatingKeyPairManager manager = new RotatingKeyPairManager(properties, Clock.systemUTC(), false);
+        JwtUtil jwtUtil = new JwtUtil(properties, manager);
+
+        String before = jwtUtil.generateToken("testuser");
+        String firstKid = manager.signingKey().kid();
+        List<?> publishedBefore = (List<?>) manager.jwkSet().get("keys");
+
+        manager.rotate();
+
+        String secondKid = manager.signingKey().kid();
+        assertNotEquals(firstKid, secondKid);
+        assertTrue(publishedBefore.stream().anyMatch(jwk -> secondKid.equals(((Map<?, ?>) jwk).get("kid"))));
+        assertTrue(jwtUtil.validateToken(before).isPresent());
+        assertTrue(jwtUtil.validateToken(jwtUtil.generateToken("testuser")).isPresent());
+        assertEquals(3, ((List<?>) manager.jwkSet().get("keys")).size());
+    }
+
+    @Test
+    void rotate_ShouldDropKeysOnceTheirTokensHaveExpired() {
+        SecurityProperties properties = properties(JwtAlgorithm.EdDSA);
+        MutableClock clock = new MutableClock();
+        RotatingKeyPairManager manager = new RotatingKeyPairManager(properties, clock, false);
+        String firstKid = manager.signingKey().kid();
+
+        manager.rotate();
+        assertNotNull(manager.verificationKey(firstKid));
+
+        clock.advance(Duration.ofSeconds(properties.getExpiration() + 1));
+        manager.rotate();
+
+        assertNull(manager.verificationKey(firstKid));
+    }
+
+    @Test
+    void constructor_WithSymmetricAlgorithm_ShouldFail() {
+        SecurityProperties properties = new SecurityProperties();
+
+        assertThrows(IllegalArgumentException.class, () -> new RotatingKeyPairManager(properties));
+    }
+
+    @Test
+    void tokenSignedWithSharedSecret_ShouldNotVerifyAgainstKeyPairs() {
+        SecurityProperties properties = properties(JwtAlgorithm.RS256);
+        JwtUtil asymmetric = new JwtUtil(properties, new RotatingKeyPairManager(properties, Clock.systemUTC(), false));
+
+        String hmacToken = new JwtUtil(properties).generateToken("testuser");
+
+        assertTrue(asymmetric.validateToken(hmacToken).isEmpty());
+    }
+
+    static SecurityProperties properties(JwtAlgorithm algorithm) {
+        SecurityProperties properties = new SecurityProperties();
+        properties.setAlgorithm(algorithm);
+        properties.setExpiration(900);
+        properties.getJwks().setIssuer(true);
+        return properties;
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.now();
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
 
 class SecurityPropertiesTest {
 
@@ -105,4 +106,22 @@ class SecurityPropertiesTest {
         securityProperties.setEnabled(true);
         assertTrue(securityProperties.isEnabled());
     }
-}
\ No newline at end of file
+
+    @Test
+    void cacheDefaults_ShouldBeDisabledAndBounded() {
+        assertFalse(securityProperties.getCache().isEnabled());
+        assertEquals(10_000, securityProperties.getCache().getMaximumSize());
+        assertEquals(DataSize.ofMegabytes(16), securityProperties.getCache().getMaximumMemory());
+    }
+
+    @Test
+    void cacheSettings_ShouldBeMutable() {
+        securityProperties.getCache().setEnabled(true);
+        securityProperties.getCache().setMaximumSize(500);
+        securityProperties.getCache().setMaximumMemory(DataSize.ofKilobytes(512));
+
+        assertTrue(securityProperties.getCache().isEnabled());
+        assertEquals(500, securityProperties.getCache().getMaximumSize());
+        assertEquals(DataSize.ofKilobytes(512), securityProperties.getCache().getMaximumMemory());
+    }
+}
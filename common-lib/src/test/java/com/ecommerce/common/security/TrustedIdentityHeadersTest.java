@@ -0,0 +1,140 @@
+package com.ecommerce.common.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TrustedIdentityHeadersTest {
+
+    private static final String SECRET = "testGatewayIdentitySecretThatIsAtLeast256BitsLongForHmacSha256";
+
+    private SecurityProperties securityProperties;
+    private TrustedIdentityHeaders trustedIdentityHeaders;
+
+    @BeforeEach
+    void setUp() {
+        securityProperties = new SecurityProperties();
+        securityProperties.getGateway().setTrustHeaders(true);
+        securityProperties.getGateway().setIdentitySecret(SECRET);
+        trustedIdentityHeaders = new TrustedIdentityHeaders(securityProperties);
+    }
+
+    @Test
+    void resolve_WithSignedHeaders_ShouldReturnIdentity() {
+        Map<String, String> headers = trustedIdentityHeaders.sign(token("testuser", 3600, "USER", "ADMIN"));
+
+        Optional<VerifiedToken> identity = trustedIdentityHeaders.resolve(headers::get);
+
+        assertTrue(identity.isPresent());
+        assertEquals("testuser", identity.get().subject());
+        assertEquals(List.of("USER", "ADMIN"), identity.get().roles());
+    }
+
+    @Test
+    void resolve_WithTamperedSubject_ShouldReturnEmpty() {
+        Map<String, String> headers = new HashMap<>(trustedIdentityHeaders.sign(token("testuser", 3600, "USER")));
+        headers.put(TrustedIdentityHeaders.SUBJECT_HEADER, "admin");
+
+        assertTrue(trustedIdentityHeaders.resolve(headers::get).isEmpty());
+    }
+
+    @Test
+    void resolve_WithEscalatedRoles_ShouldReturnEmpty() {
+        Map<String, String> headers = new HashMap<>(trustedIdentityHeaders.sign(token("testuser", 3600, "USER")));
+        headers.put(TrustedIdentityHeaders.ROLES_HEADER, "USER,ADMIN");
+
+        assertTrue(trustedIdentityHeaders.resolve(headers::get).isEmpty());
+    }
+
+    @Test
+    void resolve_WithTokenId_ShouldCarryItForRevocationChecks() {
+        VerifiedToken token = new VerifiedToken("testuser", Instant.now(), Instant.now().plusSeconds(3600),
+                List.of("USER"), Map.of(VerifiedToken.TOKEN_ID_CLAIM, "token-1"));
+
+        Optional<VerifiedToken> identity = trustedIdentityHeaders.resolve(trustedIdentityHeaders.sign(token)::get);
+
+        assertTrue(identity.isPresent());
+        assertEquals("token-1", identity.get().tokenId());
+    }
+
+    @Test
+    void resolve_WithSwappedTokenId_ShouldReturnEmpty() {
+        VerifiedToken token = new VerifiedToken("testuser", Instant.now(), Instant.now().plusSeconds(3600),
+                List.of("USER"), Map.of(VerifiedToken.TOKEN_ID_CLAIM, "revoked-id"));
+        Map<String, String> headers = new HashMap<>(trustedIdentityHeaders.sign(token));
+        headers.put(TrustedIdentityHeaders.TOKEN_ID_HEADER, "other-id");
+
+        assertTrue(trustedIdentityHeaders.resolve(headers::get).isEmpty());
+    }
+
+    @Test
+    void resolve_WithDifferentSecret_ShouldReturnEmpty() {
+        Map<String, String> headers = trustedIdentityHeaders.sign(token("testuser", 3600, "USER"));
+
+        SecurityProperties other = new SecurityProperties();
+        other.getGateway().setTrustHeaders(true);
+        other.getGateway().setIdentitySecret("anotherGatewayIdentitySecretThatIsAtLeast256BitsLongForHmac");
+
+        assertTrue(new TrustedIdentityHeaders(other).resolve(headers::get).isEmpty());
+    }
+
+    @Test
+    void resolve_WithExpiredIdentity_ShouldReturnEmpty() {
+        Map<String, String> headers = trustedIdentityHeaders.sign(token("testuser", -10, "USER"));
+
+        assertTrue(trustedIdentityHeaders.resolve(headers::get).isEmpty());
+    }
+
+    @Test
+    void resolve_WithTrustDisabled_ShouldIgnoreHeaders() {
+        Map<String, String> headers = trustedIdentityHeaders.sign(token("testuser", 3600, "USER"));
+
+        TrustedIdentityHeaders untrusting = new TrustedIdentityHeaders(new SecurityProperties());
+
+        assertFalse(untrusting.isTrustHeaders());
+        assertTrue(untrusting.resolve(headers::get).isEmpty());
+    }
+
+    @Test
+    void constructor_WithTrustEnabledAndNoSecret_ShouldFailFast() {
+        SecurityProperties properties = new SecurityProperties();
+        properties.getGateway().setTrustHeaders(true);
+
+        assertThrows(IllegalStateException.class, () -> new TrustedIdentityHeaders(properties));
+    }
+
+    @Test
+    void constructor_WithShortSecret_ShouldFailFast() {
+        SecurityProperties properties = new SecurityProperties();
+        properties.getGateway().setIdentitySecret("too-short");
+
+        assertThrows(IllegalStateException.class, () -> new TrustedIdentityHeaders(properties));
+    }
+
+    @Test
+    void sign_WithoutSecret_ShouldThrow() {
+        TrustedIdentityHeaders unsigned = new TrustedIdentityHeaders(new SecurityProperties());
+
+        assertFalse(unsigned.canSign());
+        assertThrows(IllegalStateException.class, () -> unsigned.sign(token("testuser", 3600, "USER")));
+    }
+
+    @Test
+    void resolve_WithMissingHeaders_ShouldReturnEmpty() {
+        assertTrue(trustedIdentityHeaders.resolve(name -> null).isEmpty());
+    }
+
+    private static VerifiedToken token(String subject, long expiresInSeconds, String... roles) {
+        return new VerifiedToken(subject, Instant.now(), Instant.now().plusSeconds(expiresInSeconds), List.of(roles), Map.of());
+    }
+}
@@ -0,0 +1,108 @@
+package com.ecommerce.common.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+class VerifiedTokenCacheTest {
+
+    private SecurityProperties securityProperties;
+    private AtomicInteger verifications;
+
+    @BeforeEach
+    void setUp() {
+        securityProperties = new SecurityProperties();
+        securityProperties.getCache().setEnabled(true);
+        verifications = new AtomicInteger();
+    }
+
+    @Test
+    void getOrVerify_WithRepeatedToken_ShouldVerifyOnlyOnce() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(securityProperties);
+        Function<String, Optional<VerifiedToken>> verifier = validFor(3600);
+
+        Optional<VerifiedToken> first = cache.getOrVerify("token-a", verifier);
+        Optional<VerifiedToken> second = cache.getOrVerify("token-a", verifier);
+
+        assertTrue(first.isPresent());
+        assertEquals(first, second);
+        assertEquals(1, verifications.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void getOrVerify_WithInvalidToken_ShouldNotCacheFailure() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(securityProperties);
+        Function<String, Optional<VerifiedToken>> verifier = token -> {
+            verifications.incrementAndGet();
+            return Optional.empty();
+        };
+
+        assertTrue(cache.getOrVerify("bad-token", verifier).isEmpty());
+        assertTrue(cache.getOrVerify("bad-token", verifier).isEmpty());
+
+        assertEquals(2, verifications.get());
+        assertEquals(0, cache.getEstimatedSize());
+    }
+
+    @Test
+    void getOrVerify_WithExpiredEntry_ShouldReverify() throws InterruptedException {
+        VerifiedTokenCache cache = new VerifiedTokenCache(securityProperties);
+
+        assertTrue(cache.getOrVerify("short-lived", validFor(1)).isPresent());
+        Thread.sleep(1100);
+
+        assertTrue(cache.getOrVerify("short-lived", token -> Optional.empty()).isEmpty());
+        cache.cleanUp();
+        assertEquals(0, cache.getEstimatedSize());
+        assertTrue(cache.getEvictionCount() >= 1);
+    }
+
+    @Test
+    void getOrVerify_BeyondMaximumSize_ShouldEvict() {
+        securityProperties.getCache().setMaximumSize(10);
+        securityProperties.getCache().setMaximumMemory(DataSize.ofMegabytes(1));
+        VerifiedTokenCache cache = new VerifiedTokenCache(securityProperties);
+
+        for (int i = 0; i < 100; i++) {
+            cache.getOrVerify("token-" + i, validFor(3600));
+        }
+        cache.cleanUp();
+
+        assertTrue(cache.getEstimatedSize() <= 10);
+        assertTrue(cache.getEvictionCount() >= 90);
+    }
+
+    @Test
+    void getOrVerify_WhenDisabled_ShouldAlwaysDelegate() {
+        VerifiedTokenCache cache = VerifiedTokenCache.disabled();
+        Function<String, Optional<VerifiedToken>> verifier = validFor(3600);
+
+        cache.getOrVerify("token-a", verifier);
+        cache.getOrVerify("token-a", verifier);
+
+        assertFalse(cache.isEnabled());
+        assertEquals(2, verifications.get());
+        assertEquals(0, cache.getHitCount());
+    }
+
+    private Function<String, Optional<VerifiedToken>> validFor(long seconds) {
+        return token -> {
+            verifications.incrementAndGet();
+            return Optional.of(new VerifiedToken("user-" + token, Instant.now(),
+                    Instant.now().plusSeconds(seconds), List.of("USER"), Map.of()));
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package com.ecommerce.common.util;
+
+import com.ecommerce.common.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExportSlotsTest {
+
+    @Test
+    void acquire_WhenAllSlotsTaken_ShouldRefuseUntilOneIsFreed() {
+        ExportSlots slots = new ExportSlots(2, Duration.ofSeconds(5));
+        ExportSlots.Slot first = slots.acquire();
+        try (ExportSlots.Slot ignored = slots.acquire()) {
+            ServiceOverloadedException thrown = assertThrows(ServiceOverloadedException.class, slots::acquire);
+            assertEquals(Duration.ofSeconds(5), thrown.getRetryAfter());
+        }
+
+        slots.acquire().close();
+        first.close();
+        assertEquals(2, slots.available());
+    }
+
+    @Test
+    void constructor_WithoutSlots_ShouldThrowIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> new ExportSlots(0, Duration.ofSeconds(1)));
+    }
+}
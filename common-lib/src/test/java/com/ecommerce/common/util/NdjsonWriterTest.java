@@ -0,0 +1,62 @@
+package com.ecommerce.common.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NdjsonWriterTest {
+
+    record Row(long id, String name) {
+    }
+
+    @Test
+    void write_ShouldPutOneObjectPerLine() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try (NdjsonWriter writer = new NdjsonWriter(new ObjectMapper(), output, 100)) {
+            writer.write(new Row(1, "lamp"));
+            writer.write(new Row(2, "desk\nchair"));
+            assertEquals(2, writer.count());
+        }
+
+        assertEquals("{\"id\":1,\"name\":\"lamp\"}\n{\"id\":2,\"name\":\"desk\\nchair\"}\n",
+                output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void write_ShouldFlushEveryBatch() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        NdjsonWriter writer = new NdjsonWriter(new ObjectMapper(), output, 2);
+
+        writer.write(new Row(1, "a"));
+        assertEquals(0, output.size());
+        writer.write(new Row(2, "b"));
+        assertEquals(2, output.toString(StandardCharsets.UTF_8).lines().count());
+    }
+
+    @Test
+    void close_ShouldLeaveTheStreamOpen() throws IOException {
+        boolean[] closed = {false};
+        ByteArrayOutputStream output = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+
+        new NdjsonWriter(new ObjectMapper(), output, 10).close();
+
+        assertFalse(closed[0]);
+    }
+
+    @Test
+    void constructor_WithNonPositiveFlushInterval_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new NdjsonWriter(new ObjectMapper(), new ByteArrayOutputStream(), 0));
+    }
+}
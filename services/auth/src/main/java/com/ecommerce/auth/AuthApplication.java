@@ -2,7 +2,11 @@ package com.ecommerce.auth;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+@EnableScheduling
+@ConfigurationPropertiesScan
 @SpringBootApplication(scanBasePackages = {"com.ecommerce.auth", "com.ecommerce.common"})
 public class AuthApplication {
 
@@ -0,0 +1,19 @@
+package com.ecommerce.auth.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "auth.refresh-token")
+public class RefreshTokenProperties {
+
+    private Duration expiration = Duration.ofDays(30);
+
+    public Duration getExpiration() {
+        return expiration;
+    }
+
+    public void setExpiration(Duration expiration) {
+        this.expiration = expiration;
+    }
+}
@@ -1,11 +1,37 @@
 package com.ecommerce.auth.controller;
 
+import com.ecommerce.auth.dto.LoginRequest;
+import com.ecommerce.auth.dto.RefreshRequest;
+import com.ecommerce.auth.dto.RegisterRequest;
+import com.ecommerce.auth.dto.TokenResponse;
+import com.ecommerce.auth.service.AuthService;
+import com.ecommerce.auth.throttle.LoginAttemptLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 public class AuthController {
 
+    private static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final AuthService authService;
+    private final LoginAttemptLimiter loginAttemptLimiter;
+
+    public AuthController(AuthService authService, LoginAttemptLimiter loginAttemptLimiter) {
+        this.authService = authService;
+        this.loginAttemptLimiter = loginAttemptLimiter;
+    }
+
     @GetMapping("/hello")
     public String hello() {
         return "Auth service is running!";
@@ -16,4 +42,34 @@ public class AuthController {
         throw new RuntimeException("Test exception for global error handling");
     }
 
+    @PostMapping("/login")
+    public CompletableFuture<TokenResponse> login(@RequestBody LoginRequest request, HttpServletRequest servletRequest) {
+        return authService.login(request, clientAddress(servletRequest));
+    }
+
+    @PostMapping("/register")
+    public CompletableFuture<ResponseEntity<TokenResponse>> register(@RequestBody RegisterRequest request,
+                                                                     HttpServletRequest servletRequest) {
+        return authService.register(request, clientAddress(servletRequest))
+                .thenApply(token -> ResponseEntity.status(HttpStatus.CREATED).body(token));
+    }
+
+    @PostMapping("/refresh")
+    public TokenResponse refresh(@RequestBody RefreshRequest request) {
+        return authService.refresh(request);
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody(required = false) RefreshRequest request,
+                                       @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        String accessToken = authorization != null && authorization.startsWith(BEARER_PREFIX)
+                ? authorization.substring(BEARER_PREFIX.length())
+                : null;
+        authService.logout(request, accessToken);
+        return ResponseEntity.noContent().build();
+    }
+
+    private String clientAddress(HttpServletRequest request) {
+        return loginAttemptLimiter.clientAddress(request.getRemoteAddr(), request.getHeader(FORWARDED_FOR_HEADER));
+    }
 }
@@ -0,0 +1,33 @@
+package com.ecommerce.auth.controller;
+
+import com.ecommerce.common.security.RotatingKeyPairManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+@RestController
+public class JwksController {
+
+    private final ObjectProvider<RotatingKeyPairManager> keyPairManager;
+
+    public JwksController(ObjectProvider<RotatingKeyPairManager> keyPairManager) {
+        this.keyPairManager = keyPairManager;
+    }
+
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Object>> jwks() {
+        RotatingKeyPairManager manager = keyPairManager.getIfAvailable();
+        if (manager == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(manager.jwkSet());
+    }
+}
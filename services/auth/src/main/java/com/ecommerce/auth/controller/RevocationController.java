@@ -0,0 +1,26 @@
+package com.ecommerce.auth.controller;
+
+import com.ecommerce.auth.service.RevocationService;
+import com.ecommerce.common.security.RevocationDelta;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class RevocationController {
+
+    private final RevocationService revocationService;
+
+    public RevocationController(RevocationService revocationService) {
+        this.revocationService = revocationService;
+    }
+
+    @GetMapping(value = "/revocations", produces = MediaType.APPLICATION_JSON_VALUE)
+    public RevocationDelta revocations(@RequestParam(defaultValue = "0") long since) {
+        if (since < 0) {
+            throw new IllegalArgumentException("since must not be negative");
+        }
+        return revocationService.fetchSince(since);
+    }
+}
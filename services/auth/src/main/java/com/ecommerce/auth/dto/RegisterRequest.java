@@ -0,0 +1,4 @@
+package com.ecommerce.auth.dto;
+
+public record RegisterRequest(String username, String password) {
+}
@@ -0,0 +1,8 @@
+package com.ecommerce.auth.dto;
+
+public record TokenResponse(String accessToken, String tokenType, long expiresIn, String refreshToken) {
+
+    public static TokenResponse bearer(String accessToken, long expiresIn, String refreshToken) {
+        return new TokenResponse(accessToken, "Bearer", expiresIn, refreshToken);
+    }
+}
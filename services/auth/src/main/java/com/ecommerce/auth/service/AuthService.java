@@ -0,0 +1,194 @@
+package com.ecommerce.auth.service;
+
+import com.ecommerce.auth.dto.LoginRequest;
+import com.ecommerce.auth.dto.RefreshRequest;
+import com.ecommerce.auth.dto.RegisterRequest;
+import com.ecommerce.auth.dto.TokenResponse;
+import com.ecommerce.auth.entity.User;
+import com.ecommerce.auth.repository.UserRepository;
+import com.ecommerce.auth.throttle.LoginAttemptLimiter;
+import com.ecommerce.common.security.JwtUtil;
+import com.ecommerce.common.security.PasswordHashingService;
+import com.ecommerce.common.security.SecurityProperties;
+import com.ecommerce.common.security.VerifiedToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.regex.Pattern;
+
+/**
+ * Registers users and exchanges credentials for short-lived access tokens plus a rotating refresh token.
+ * <p>
+ * Every login passes {@link LoginAttemptLimiter} before the user lookup or any hashing. Unknown usernames are
+ * still checked against a dummy hash so response time does not reveal which accounts exist. Hashing runs on
+ * {@link PasswordHashingService}; database writes that follow it are handed to the application task executor
+ * so the hashing threads stay CPU-only.
+ */
+@Service
+public class AuthService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
+
+    private static final Pattern USERNAME_PATTERN = Pattern.compile("[a-z0-9._-]{3,64}");
+    private static final int MAX_USERNAME_LENGTH = 64;
+    private static final int MIN_PASSWORD_LENGTH = 8;
+    private static final int MAX_PASSWORD_BYTES = 72;
+    private static final List<String> DEFAULT_ROLES = List.of("USER");
+    private static final String INVALID_CREDENTIALS = "Invalid username or password";
+
+    private final UserRepository userRepository;
+    private final PasswordHashingService passwordHashingService;
+    private final LoginAttemptLimiter loginAttemptLimiter;
+    private final RefreshTokenService refreshTokenService;
+    private final RevocationService revocationService;
+    private final JwtUtil jwtUtil;
+    private final long tokenExpiration;
+    private final Executor taskExecutor;
+    private final String dummyHash;
+
+    public AuthService(UserRepository userRepository,
+                       PasswordHashingService passwordHashingService,
+                       LoginAttemptLimiter loginAttemptLimiter,
+                       RefreshTokenService refreshTokenService,
+                       RevocationService revocationService,
+                       JwtUtil jwtUtil,
+                       SecurityProperties securityProperties,
+                       @Qualifier("applicationTaskExecutor") Executor taskExecutor) {
+        this.userRepository = userRepository;
+        this.passwordHashingService = passwordHashingService;
+        this.loginAttemptLimiter = loginAttemptLimiter;
+        this.refreshTokenService = refreshTokenService;
+        this.revocationService = revocationService;
+        this.jwtUtil = jwtUtil;
+        this.tokenExpiration = securityProperties.getExpiration();
+        this.taskExecutor = taskExecutor;
+        this.dummyHash = passwordHashingService.encode(UUID.randomUUID().toString()).join();
+    }
+
+    public CompletableFuture<TokenResponse> login(LoginRequest request, String clientAddress) {
+        if (request == null || isBlank(request.username()) || isBlank(request.password())) {
+            throw new IllegalArgumentException("Username and password are required");
+        }
+        String username = normalize(request.username());
+        if (username.length() > MAX_USERNAME_LENGTH) {
+            throw new BadCredentialsException(INVALID_CREDENTIALS);
+        }
+        loginAttemptLimiter.acquire(username, clientAddress);
+
+        Optional<User> user = userRepository.findByUsername(username);
+        String hash = user.map(User::getPasswordHash).orElse(dummyHash);
+        return passwordHashingService.matches(request.password(), hash).thenApplyAsync(matches -> {
+            if (!matches || user.isEmpty()) {
+                throw new BadCredentialsException(INVALID_CREDENTIALS);
+            }
+            loginAttemptLimiter.recordSuccess(username);
+            upgradeHashIfNeeded(user.get(), request.password());
+            return issueTokens(user.get(), refreshTokenService.issue(username));
+        }, taskExecutor);
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and its successor refresh token.
+     */
+    public TokenResponse refresh(RefreshRequest request) {
+        if (request == null || isBlank(request.refreshToken())) {
+            throw new IllegalArgumentException("Refresh token is required");
+        }
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.refreshToken());
+        User user = userRepository.findByUsername(rotation.username())
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+        return issueTokens(user, rotation.refreshToken());
+    }
+
+    /**
+     * Revokes the refresh token family and, if given, the access token presented with the request.
+     */
+    public void logout(RefreshRequest request, String accessToken) {
+        if (request != null) {
+            refreshTokenService.revoke(request.refreshToken());
+        }
+        if (accessToken != null) {
+            jwtUtil.validateToken(accessToken).ifPresent(revocationService::revoke);
+        }
+    }
+
+    public CompletableFuture<TokenResponse> register(RegisterRequest request, String clientAddress) {
+        if (request == null || isBlank(request.username()) || request.password() == null) {
+            throw new IllegalArgumentException("Username and password are required");
+        }
+        String username = normalize(request.username());
+        validate(username, request.password());
+        loginAttemptLimiter.acquireAddress(clientAddress);
+
+        if (userRepository.existsByUsername(username)) {
+            throw new IllegalArgumentException("Username is already taken");
+        }
+        return passwordHashingService.encode(request.password()).thenApplyAsync(hash -> {
+            User user;
+            try {
+                user = userRepository.save(new User(username, hash, DEFAULT_ROLES));
+            } catch (DataIntegrityViolationException e) {
+                throw new IllegalArgumentException("Username is already taken");
+            }
+            return issueTokens(user, refreshTokenService.issue(username));
+        }, taskExecutor);
+    }
+
+    private TokenResponse issueTokens(User user, String refreshToken) {
+        String token = jwtUtil.generateToken(user.getUsername(), Map.of(JwtUtil.ROLES_CLAIM, user.getRoles()));
+        return TokenResponse.bearer(token, tokenExpiration, refreshToken);
+    }
+
+    private void upgradeHashIfNeeded(User user, String rawPassword) {
+        if (!passwordHashingService.needsUpgrade(user.getPasswordHash())) {
+            return;
+        }
+        try {
+            passwordHashingService.encode(rawPassword)
+                    .thenAcceptAsync(hash -> {
+                        user.setPasswordHash(hash);
+                        userRepository.save(user);
+                    }, taskExecutor)
+                    .exceptionally(e -> {
+                        logger.warn("Failed to upgrade password hash for {}: {}", user.getUsername(), e.getMessage());
+                        return null;
+                    });
+        } catch (RuntimeException e) {
+            // Best effort: the login already succeeded and the upgrade is retried next time.
+            logger.debug("Skipped password hash upgrade for {}: {}", user.getUsername(), e.getMessage());
+        }
+    }
+
+    private static void validate(String username, String password) {
+        if (!USERNAME_PATTERN.matcher(username).matches()) {
+            throw new IllegalArgumentException(
+                    "Username must be 3-64 characters of letters, digits, '.', '_' or '-'");
+        }
+        if (password.length() < MIN_PASSWORD_LENGTH) {
+            throw new IllegalArgumentException("Password must be at least " + MIN_PASSWORD_LENGTH + " characters");
+        }
+        if (password.getBytes(StandardCharsets.UTF_8).length > MAX_PASSWORD_BYTES) {
+            throw new IllegalArgumentException("Password must be at most " + MAX_PASSWORD_BYTES + " bytes");
+        }
+    }
+
+    private static String normalize(String username) {
+        return username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,118 @@
+package com.ecommerce.auth.service;
+
+import com.ecommerce.auth.config.RefreshTokenProperties;
+import com.ecommerce.auth.entity.RefreshToken;
+import com.ecommerce.auth.repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Issues and rotates opaque refresh tokens.
+ * <p>
+ * Each use consumes the presented token and issues its successor in the same family. Presenting a token that
+ * was already used means it leaked, so the whole family is revoked and the caller has to log in again.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final int TOKEN_BYTES = 32;
+    private static final String INVALID_REFRESH_TOKEN = "Invalid refresh token";
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Duration expiration;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, RefreshTokenProperties properties) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.expiration = properties.getExpiration();
+    }
+
+    public record Rotation(String username, String refreshToken) {
+    }
+
+    @Transactional
+    public String issue(String username) {
+        return create(username, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Consumes {@code rawToken} and returns its successor.
+     *
+     * @throws BadCredentialsException if the token is unknown, expired, revoked or already used
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public Rotation rotate(String rawToken) {
+        RefreshToken current = find(rawToken);
+        Instant now = Instant.now();
+        if (current.getUsedAt() != null && current.getRevokedAt() == null) {
+            int revoked = refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            logger.warn("Refresh token reuse for {}; revoked {} tokens in family {}",
+                    current.getUsername(), revoked, current.getFamilyId());
+            throw new BadCredentialsException(INVALID_REFRESH_TOKEN);
+        }
+        if (!current.isActive(now)) {
+            throw new BadCredentialsException(INVALID_REFRESH_TOKEN);
+        }
+        current.setUsedAt(now);
+        return new Rotation(current.getUsername(), create(current.getUsername(), current.getFamilyId()));
+    }
+
+    /**
+     * Revokes the family of {@code rawToken}; unknown tokens are ignored so logout is idempotent.
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            return;
+        }
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), Instant.now()));
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${auth.token-cleanup-interval:1h}", initialDelayString = "${auth.token-cleanup-interval:1h}")
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(Instant.now());
+        logger.debug("Purged {} expired refresh tokens", deleted);
+    }
+
+    private RefreshToken find(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            throw new BadCredentialsException(INVALID_REFRESH_TOKEN);
+        }
+        return refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new BadCredentialsException(INVALID_REFRESH_TOKEN));
+    }
+
+    private String create(String username, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(new RefreshToken(hash(rawToken), username, familyId, Instant.now().plus(expiration)));
+        return rawToken;
+    }
+
+    static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.ecommerce.auth.service;
+
+import com.ecommerce.auth.entity.RevokedToken;
+import com.ecommerce.auth.repository.RevokedTokenRepository;
+import com.ecommerce.common.security.RevocationDelta;
+import com.ecommerce.common.security.RevocationFeed;
+import com.ecommerce.common.security.RevocationList;
+import com.ecommerce.common.security.VerifiedToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores access-token revocations and serves them to other services as ordered deltas.
+ * <p>
+ * Also acts as this service's own {@link RevocationFeed}, so auth-service keeps its {@link RevocationList}
+ * current straight from the database.
+ */
+@Service
+public class RevocationService implements RevocationFeed {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevocationService.class);
+
+    static final int PAGE_SIZE = 1000;
+    // Rows younger than this may sit behind a lower id that has not committed yet, so the cursor stops short.
+    static final Duration COMMIT_LAG = Duration.ofSeconds(5);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final RevocationList revocationList;
+
+    public RevocationService(RevokedTokenRepository revokedTokenRepository, RevocationList revocationList) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.revocationList = revocationList;
+    }
+
+    /**
+     * Revokes {@code token} until it expires. Tokens without a {@code jti} cannot be revoked and are ignored.
+     */
+    public void revoke(VerifiedToken token) {
+        String tokenId = token.tokenId();
+        if (tokenId == null || token.expiration() == null || token.isExpired(Instant.now())) {
+            return;
+        }
+        try {
+            if (!revokedTokenRepository.existsByTokenId(tokenId)) {
+                revokedTokenRepository.save(new RevokedToken(tokenId, token.expiration()));
+            }
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Token {} was revoked concurrently", tokenId);
+        }
+        revocationList.add(tokenId, token.expiration());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RevocationDelta fetchSince(long cursor) {
+        List<RevokedToken> rows = revokedTokenRepository.findByIdGreaterThanOrderByIdAsc(cursor, Limit.of(PAGE_SIZE));
+        Instant settled = Instant.now().minus(COMMIT_LAG);
+
+        long next = cursor;
+        boolean blocked = false;
+        List<RevocationDelta.Entry> entries = new ArrayList<>(rows.size());
+        for (RevokedToken row : rows) {
+            entries.add(new RevocationDelta.Entry(row.getTokenId(), row.getExpiresAt().getEpochSecond()));
+            blocked |= row.getRevokedAt().isAfter(settled);
+            if (!blocked) {
+                next = row.getId();
+            }
+        }
+        return new RevocationDelta(next, entries, rows.size() == PAGE_SIZE && !blocked);
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${auth.token-cleanup-interval:1h}", initialDelayString = "${auth.token-cleanup-interval:1h}")
+    public void purgeExpired() {
+        int deleted = revokedTokenRepository.deleteExpired(Instant.now());
+        logger.debug("Purged {} expired revocations", deleted);
+    }
+}
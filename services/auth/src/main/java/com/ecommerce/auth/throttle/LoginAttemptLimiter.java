@@ -0,0 +1,100 @@
+package com.ecommerce.auth.throttle;
+
+import com.ecommerce.common.exception.TooManyRequestsException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Admits login attempts per username and per client address before any password hashing happens.
+ * <p>
+ * A rejected attempt costs one striped-map lookup and throws {@link TooManyRequestsException}, so credential
+ * stuffing is turned away without a BCrypt round. A successful login clears the account window; the address
+ * window is left alone so one valid account cannot be used to reset an attacker's budget.
+ */
+@Component
+public class LoginAttemptLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginAttemptLimiter.class);
+
+    private final boolean enabled;
+    private final boolean trustForwardedFor;
+    private final SlidingWindowLimiter accounts;
+    private final SlidingWindowLimiter addresses;
+
+    @Autowired
+    public LoginAttemptLimiter(LoginThrottleProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    LoginAttemptLimiter(LoginThrottleProperties properties, Clock clock) {
+        this.enabled = properties.isEnabled();
+        this.trustForwardedFor = properties.isTrustForwardedFor();
+        this.accounts = limiter(properties.getAccount(), properties, clock);
+        this.addresses = limiter(properties.getAddress(), properties, clock);
+    }
+
+    /**
+     * Records a login attempt for {@code username} from {@code clientAddress}.
+     *
+     * @throws TooManyRequestsException if either the account or the address is over its limit
+     */
+    public void acquire(String username, String clientAddress) {
+        acquireAddress(clientAddress);
+        if (!enabled) {
+            return;
+        }
+        Duration retryAfter = accounts.tryAcquire(username);
+        if (!retryAfter.isZero()) {
+            logger.debug("Throttled login for account {}", username);
+            throw new TooManyRequestsException("Too many login attempts for this account, please retry later", retryAfter);
+        }
+    }
+
+    /**
+     * Records an attempt from {@code clientAddress} only, for endpoints that hash a password without an
+     * existing account.
+     *
+     * @throws TooManyRequestsException if the address is over its limit
+     */
+    public void acquireAddress(String clientAddress) {
+        if (!enabled) {
+            return;
+        }
+        Duration retryAfter = addresses.tryAcquire(clientAddress);
+        if (!retryAfter.isZero()) {
+            logger.debug("Throttled login from address {}", clientAddress);
+            throw new TooManyRequestsException("Too many login attempts from this address, please retry later", retryAfter);
+        }
+    }
+
+    public void recordSuccess(String username) {
+        if (enabled) {
+            accounts.reset(username);
+        }
+    }
+
+    /**
+     * Picks the address to throttle on: the last {@code X-Forwarded-For} hop when forwarded headers are trusted
+     * (that hop was appended by the gateway and cannot be chosen by the client), otherwise the peer address.
+     */
+    public String clientAddress(String remoteAddress, String forwardedFor) {
+        if (trustForwardedFor && forwardedFor != null && !forwardedFor.isBlank()) {
+            String lastHop = forwardedFor.substring(forwardedFor.lastIndexOf(',') + 1).trim();
+            if (!lastHop.isEmpty()) {
+                return lastHop;
+            }
+        }
+        return remoteAddress;
+    }
+
+    private static SlidingWindowLimiter limiter(LoginThrottleProperties.Limit limit,
+                                                LoginThrottleProperties properties, Clock clock) {
+        return new SlidingWindowLimiter(limit.getMaxAttempts(), limit.getWindow(),
+                properties.getStripes(), properties.getMaximumTrackedKeys(), clock);
+    }
+}
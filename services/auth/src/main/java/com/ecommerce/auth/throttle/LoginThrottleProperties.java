@@ -0,0 +1,92 @@
+package com.ecommerce.auth.throttle;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "auth.login.throttle")
+public class LoginThrottleProperties {
+
+    private boolean enabled = true;
+    private int stripes = 64;
+    private int maximumTrackedKeys = 100_000;
+    private boolean trustForwardedFor = false;
+    private final Limit account = new Limit(5, Duration.ofMinutes(15));
+    private final Limit address = new Limit(100, Duration.ofMinutes(1));
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Number of independently locked segments; rounded up to a power of two.
+     */
+    public int getStripes() {
+        return stripes;
+    }
+
+    public void setStripes(int stripes) {
+        this.stripes = stripes;
+    }
+
+    /**
+     * Upper bound on usernames or addresses tracked per limiter; the least recently seen are dropped first.
+     */
+    public int getMaximumTrackedKeys() {
+        return maximumTrackedKeys;
+    }
+
+    public void setMaximumTrackedKeys(int maximumTrackedKeys) {
+        this.maximumTrackedKeys = maximumTrackedKeys;
+    }
+
+    /**
+     * Whether to take the client address from the last {@code X-Forwarded-For} hop, as appended by the gateway.
+     */
+    public boolean isTrustForwardedFor() {
+        return trustForwardedFor;
+    }
+
+    public void setTrustForwardedFor(boolean trustForwardedFor) {
+        this.trustForwardedFor = trustForwardedFor;
+    }
+
+    public Limit getAccount() {
+        return account;
+    }
+
+    public Limit getAddress() {
+        return address;
+    }
+
+    public static class Limit {
+
+        private int maxAttempts;
+        private Duration window;
+
+        public Limit(int maxAttempts, Duration window) {
+            this.maxAttempts = maxAttempts;
+            this.window = window;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getWindow() {
+            return window;
+        }
+
+        public void setWindow(Duration window) {
+            this.window = window;
+        }
+    }
+}
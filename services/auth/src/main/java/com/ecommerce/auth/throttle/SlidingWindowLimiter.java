@@ -0,0 +1,143 @@
+package com.ecommerce.auth.throttle;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lock-striped sliding-window counter: at most {@code maxAttempts} acquisitions per key within any
+ * {@code window}.
+ * <p>
+ * Each key keeps the counts of the current and previous fixed window and weights the previous one by how much
+ * of it still overlaps the sliding window, so a key costs two ints and a timestamp regardless of traffic. Keys
+ * hash onto independently locked stripes holding a bounded LRU map, so a check is a hash, an uncontended lock
+ * and a few arithmetic operations.
+ */
+class SlidingWindowLimiter {
+
+    private final int maxAttempts;
+    private final long windowMillis;
+    private final Clock clock;
+    private final Stripe[] stripes;
+    private final int mask;
+
+    SlidingWindowLimiter(int maxAttempts, Duration window, int stripes, int maximumKeys, Clock clock) {
+        if (maxAttempts < 1 || window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("Limit needs at least one attempt and a positive window");
+        }
+        this.maxAttempts = maxAttempts;
+        this.windowMillis = window.toMillis();
+        this.clock = clock;
+
+        int count = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        int keysPerStripe = Math.max(16, maximumKeys / count);
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new Stripe(keysPerStripe);
+        }
+        this.mask = count - 1;
+    }
+
+    /**
+     * Records an attempt for {@code key} if it is within the limit.
+     *
+     * @return {@link Duration#ZERO} if the attempt was admitted, otherwise how long until it would be
+     */
+    Duration tryAcquire(String key) {
+        Stripe stripe = stripeFor(key);
+        long now = clock.millis();
+        stripe.lock.lock();
+        try {
+            Window window = stripe.windows.computeIfAbsent(key, k -> new Window(alignedStart(now)));
+            window.roll(alignedStart(now), windowMillis);
+            long elapsed = now - window.start;
+            double estimate = window.previous * (double) (windowMillis - elapsed) / windowMillis + window.current;
+            if (estimate < maxAttempts) {
+                window.current++;
+                return Duration.ZERO;
+            }
+            return Duration.ofMillis(retryAfterMillis(window, elapsed));
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    void reset(String key) {
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            stripe.windows.remove(key);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    int trackedKeys() {
+        int total = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                total += stripe.windows.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return total;
+    }
+
+    private long retryAfterMillis(Window window, long elapsed) {
+        if (window.current < maxAttempts) {
+            // Admitted again once the previous window's weight drops below the remaining headroom.
+            double fraction = 1.0 - (double) (maxAttempts - window.current) / window.previous;
+            return Math.max(1, (long) Math.ceil(windowMillis * fraction) - elapsed + 1);
+        }
+        double fraction = 1.0 - (double) maxAttempts / window.current;
+        return (windowMillis - elapsed) + (long) Math.ceil(windowMillis * fraction) + 1;
+    }
+
+    private long alignedStart(long now) {
+        return now - Math.floorMod(now, windowMillis);
+    }
+
+    private Stripe stripeFor(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & mask];
+    }
+
+    private static final class Window {
+
+        private long start;
+        private int previous;
+        private int current;
+
+        private Window(long start) {
+            this.start = start;
+        }
+
+        private void roll(long alignedNow, long windowMillis) {
+            if (alignedNow == start) {
+                return;
+            }
+            previous = alignedNow - start == windowMillis ? current : 0;
+            current = 0;
+            start = alignedNow;
+        }
+    }
+
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Window> windows;
+
+        private Stripe(int maximumKeys) {
+            this.windows = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Window> eldest) {
+                    return size() > maximumKeys;
+                }
+            };
+        }
+    }
+}
@@ -5,11 +5,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.hibernate.ddl-auto=none",
+        "auth.login.throttle.address.max-attempts=2"
+})
 class AuthControllerIntegrationTest {
 
     @LocalServerPort
@@ -34,4 +40,35 @@ class AuthControllerIntegrationTest {
         assertTrue(responseBody.contains("\"instance\":\"/error-endpoint\""));
         assertTrue(responseBody.contains("\"timestamp\""));
     }
-}
\ No newline at end of file
+
+    @Test
+    void should_ReturnBadRequest_When_LoginWithoutPassword() {
+        String url = "http://localhost:" + port + "/login";
+
+        ResponseEntity<String> response = restTemplate.postForEntity(url, json("{\"username\":\"alice\"}"), String.class);
+
+        assertEquals(400, response.getStatusCode().value());
+        assertTrue(response.getBody().contains("\"title\":\"Bad Request\""));
+    }
+
+    @Test
+    void should_ReturnTooManyRequests_When_AddressExceedsLoginLimit() {
+        String url = "http://localhost:" + port + "/login";
+        HttpEntity<String> request = json("{\"username\":\"mallory\",\"password\":\"guess\"}");
+
+        for (int i = 0; i < 2; i++) {
+            restTemplate.postForEntity(url, request, String.class);
+        }
+        ResponseEntity<String> response = restTemplate.postForEntity(url, request, String.class);
+
+        assertEquals(429, response.getStatusCode().value());
+        assertNotNull(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertTrue(response.getBody().contains("\"title\":\"Too Many Requests\""));
+    }
+
+    private static HttpEntity<String> json(String body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return new HttpEntity<>(body, headers);
+    }
+}
@@ -0,0 +1,72 @@
+package com.ecommerce.auth.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.ResponseEntity;
+
+import com.ecommerce.common.security.JwksKeyCache;
+import com.ecommerce.common.security.JwtAlgorithm;
+import com.ecommerce.common.security.JwtUtil;
+import com.ecommerce.common.security.SecurityProperties;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.hibernate.ddl-auto=none")
+class JwksControllerIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void should_PublishSigningKeys_When_JwksRequested() {
+        ResponseEntity<Map> response = restTemplate.getForEntity(jwksUri(), Map.class);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertNotNull(response.getHeaders().getCacheControl());
+        List<?> keys = (List<?>) response.getBody().get("keys");
+        assertEquals(2, keys.size());
+        Map<?, ?> key = (Map<?, ?>) keys.get(0);
+        assertEquals("RSA", key.get("kty"));
+        assertTrue(key.containsKey("kid"));
+        assertTrue(!key.containsKey("d"));
+    }
+
+    @Test
+    void should_VerifyIssuedToken_When_OtherServiceLoadsJwks() throws Exception {
+        SecurityProperties verifierProperties = new SecurityProperties();
+        verifierProperties.setAlgorithm(JwtAlgorithm.RS256);
+        verifierProperties.getJwks().setUri(jwksUri());
+        verifierProperties.getJwks().setRefreshInterval(Duration.ofHours(1));
+        JwksKeyCache keyCache = new JwksKeyCache(verifierProperties);
+        try {
+            keyCache.refresh();
+            JwtUtil verifier = new JwtUtil(verifierProperties, keyCache);
+
+            String token = jwtUtil.generateToken("testuser", Map.of("role", "USER"));
+
+            assertEquals("testuser", verifier.validateToken(token).orElseThrow().subject());
+        } finally {
+            keyCache.destroy();
+        }
+    }
+
+    private String jwksUri() {
+        return "http://localhost:" + port + "/.well-known/jwks.json";
+    }
+}
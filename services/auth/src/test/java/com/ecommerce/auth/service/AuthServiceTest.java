@@ -0,0 +1,178 @@
+package com.ecommerce.auth.service;
+
+import com.ecommerce.auth.dto.LoginRequest;
+import com.ecommerce.auth.dto.RefreshRequest;
+import com.ecommerce.auth.dto.RegisterRequest;
+import com.ecommerce.auth.dto.TokenResponse;
+import com.ecommerce.auth.entity.User;
+import com.ecommerce.auth.repository.UserRepository;
+import com.ecommerce.auth.throttle.LoginAttemptLimiter;
+import com.ecommerce.common.exception.TooManyRequestsException;
+import com.ecommerce.common.security.JwtUtil;
+import com.ecommerce.common.security.PasswordHashingProperties;
+import com.ecommerce.common.security.PasswordHashingService;
+import com.ecommerce.common.security.SecurityProperties;
+import com.ecommerce.common.security.VerifiedToken;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private LoginAttemptLimiter loginAttemptLimiter;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private RevocationService revocationService;
+
+    private PasswordHashingService passwordHashingService;
+    private JwtUtil jwtUtil;
+    private AuthService authService;
+
+    @BeforeEach
+    void setUp() {
+        PasswordHashingProperties hashingProperties = new PasswordHashingProperties();
+        hashingProperties.setStrength(4);
+        passwordHashingService = new PasswordHashingService(hashingProperties);
+        SecurityProperties securityProperties = new SecurityProperties();
+        jwtUtil = new JwtUtil(securityProperties);
+        authService = new AuthService(userRepository, passwordHashingService, loginAttemptLimiter,
+                refreshTokenService, revocationService, jwtUtil, securityProperties, Runnable::run);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingService.destroy();
+    }
+
+    @Test
+    void login_WithValidCredentials_ShouldIssueTokenAndClearThrottle() {
+        String hash = passwordHashingService.encode("correct-horse").join();
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(new User("alice", hash, List.of("USER"))));
+        when(refreshTokenService.issue("alice")).thenReturn("refresh-1");
+
+        TokenResponse response = authService.login(new LoginRequest(" Alice ", "correct-horse"), "10.0.0.1").join();
+
+        VerifiedToken token = jwtUtil.validateToken(response.accessToken()).orElseThrow();
+        assertEquals("alice", token.subject());
+        assertEquals(List.of("USER"), token.roles());
+        assertEquals("Bearer", response.tokenType());
+        assertEquals("refresh-1", response.refreshToken());
+        assertNotNull(token.tokenId());
+        verify(loginAttemptLimiter).acquire("alice", "10.0.0.1");
+        verify(loginAttemptLimiter).recordSuccess("alice");
+    }
+
+    @Test
+    void login_WithWrongPassword_ShouldFailWithBadCredentials() {
+        String hash = passwordHashingService.encode("correct-horse").join();
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(new User("alice", hash, List.of("USER"))));
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> authService.login(new LoginRequest("alice", "wrong-password"), "10.0.0.1").join());
+
+        assertInstanceOf(BadCredentialsException.class, exception.getCause());
+        verify(loginAttemptLimiter, never()).recordSuccess(anyString());
+    }
+
+    @Test
+    void login_WithUnknownUser_ShouldFailWithBadCredentials() {
+        when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> authService.login(new LoginRequest("ghost", "whatever"), "10.0.0.1").join());
+
+        assertInstanceOf(BadCredentialsException.class, exception.getCause());
+    }
+
+    @Test
+    void login_WhenThrottled_ShouldRejectBeforeLookupOrHashing() {
+        doThrow(new TooManyRequestsException("Too many", Duration.ofSeconds(30)))
+                .when(loginAttemptLimiter).acquire("alice", "10.0.0.1");
+
+        assertThrows(TooManyRequestsException.class,
+                () -> authService.login(new LoginRequest("alice", "whatever"), "10.0.0.1"));
+
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void register_WithNewUsername_ShouldStoreBcryptHashAndIssueToken() {
+        when(userRepository.existsByUsername("bob")).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(refreshTokenService.issue("bob")).thenReturn("refresh-1");
+
+        TokenResponse response = authService.register(new RegisterRequest("Bob", "s3cret-pass"), "10.0.0.1").join();
+
+        assertEquals("bob", jwtUtil.validateToken(response.accessToken()).orElseThrow().subject());
+        verify(loginAttemptLimiter).acquireAddress("10.0.0.1");
+        verify(userRepository).save(argThat(user ->
+                user.getPasswordHash().startsWith("{bcrypt}") && user.getRoles().equals(List.of("USER"))));
+    }
+
+    @Test
+    void register_WithTakenUsername_ShouldThrowIllegalArgument() {
+        when(userRepository.existsByUsername("bob")).thenReturn(true);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> authService.register(new RegisterRequest("bob", "s3cret-pass"), "10.0.0.1"));
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void register_WithShortPassword_ShouldThrowIllegalArgument() {
+        assertThrows(IllegalArgumentException.class,
+                () -> authService.register(new RegisterRequest("bob", "short"), "10.0.0.1"));
+        verifyNoInteractions(userRepository, loginAttemptLimiter);
+    }
+
+    @Test
+    void refresh_WithRotatedToken_ShouldIssueNewPair() {
+        when(refreshTokenService.rotate("refresh-1")).thenReturn(new RefreshTokenService.Rotation("alice", "refresh-2"));
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(new User("alice", "{bcrypt}x", List.of("USER"))));
+
+        TokenResponse response = authService.refresh(new RefreshRequest("refresh-1"));
+
+        assertEquals("refresh-2", response.refreshToken());
+        assertEquals("alice", jwtUtil.validateToken(response.accessToken()).orElseThrow().subject());
+    }
+
+    @Test
+    void refresh_WithRejectedToken_ShouldPropagateBadCredentials() {
+        when(refreshTokenService.rotate("reused")).thenThrow(new BadCredentialsException("Invalid refresh token"));
+
+        assertThrows(BadCredentialsException.class, () -> authService.refresh(new RefreshRequest("reused")));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void logout_ShouldRevokeRefreshFamilyAndAccessToken() {
+        String accessToken = jwtUtil.generateToken("alice");
+
+        authService.logout(new RefreshRequest("refresh-1"), accessToken);
+
+        verify(refreshTokenService).revoke("refresh-1");
+        verify(revocationService).revoke(argThat(token -> "alice".equals(token.subject()) && token.tokenId() != null));
+    }
+}
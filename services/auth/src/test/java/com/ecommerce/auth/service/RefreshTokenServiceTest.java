@@ -0,0 +1,90 @@
+package com.ecommerce.auth.service;
+
+import com.ecommerce.auth.config.RefreshTokenProperties;
+import com.ecommerce.auth.entity.RefreshToken;
+import com.ecommerce.auth.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, new RefreshTokenProperties());
+    }
+
+    @Test
+    void issue_ShouldStoreOnlyHashOfToken() {
+        String rawToken = refreshTokenService.issue("alice");
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertEquals(RefreshTokenService.hash(rawToken), saved.getValue().getTokenHash());
+        assertNotEquals(rawToken, saved.getValue().getTokenHash());
+        assertTrue(saved.getValue().getExpiresAt().isAfter(Instant.now().plusSeconds(29L * 24 * 3600)));
+    }
+
+    @Test
+    void rotate_WithActiveToken_ShouldConsumeItAndIssueSuccessorInSameFamily() {
+        RefreshToken current = new RefreshToken(RefreshTokenService.hash("raw"), "alice", "family-1",
+                Instant.now().plusSeconds(3600));
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("raw"))).thenReturn(Optional.of(current));
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate("raw");
+
+        assertEquals("alice", rotation.username());
+        assertNotEquals("raw", rotation.refreshToken());
+        assertNotNull(current.getUsedAt());
+        verify(refreshTokenRepository).save(argThat(token -> "family-1".equals(token.getFamilyId())));
+    }
+
+    @Test
+    void rotate_WithAlreadyUsedToken_ShouldRevokeFamily() {
+        RefreshToken used = new RefreshToken(RefreshTokenService.hash("raw"), "alice", "family-1",
+                Instant.now().plusSeconds(3600));
+        used.setUsedAt(Instant.now().minusSeconds(10));
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("raw"))).thenReturn(Optional.of(used));
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate("raw"));
+
+        verify(refreshTokenRepository).revokeFamily(eq("family-1"), any(Instant.class));
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void rotate_WithExpiredToken_ShouldReject() {
+        RefreshToken expired = new RefreshToken(RefreshTokenService.hash("raw"), "alice", "family-1",
+                Instant.now().minusSeconds(1));
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("raw"))).thenReturn(Optional.of(expired));
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate("raw"));
+        verify(refreshTokenRepository, never()).revokeFamily(anyString(), any());
+    }
+
+    @Test
+    void rotate_WithUnknownToken_ShouldReject() {
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate("unknown"));
+    }
+}
@@ -0,0 +1,92 @@
+package com.ecommerce.auth.service;
+
+import com.ecommerce.auth.entity.RevokedToken;
+import com.ecommerce.auth.repository.RevokedTokenRepository;
+import com.ecommerce.common.security.RevocationDelta;
+import com.ecommerce.common.security.RevocationList;
+import com.ecommerce.common.security.VerifiedToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RevocationServiceTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private RevocationList revocationList;
+    private RevocationService revocationService;
+
+    @BeforeEach
+    void setUp() {
+        revocationList = new RevocationList(100, 0.001);
+        revocationService = new RevocationService(revokedTokenRepository, revocationList);
+    }
+
+    @Test
+    void revoke_ShouldPersistAndApplyLocally() {
+        VerifiedToken token = token("jti-1");
+
+        revocationService.revoke(token);
+
+        verify(revokedTokenRepository).save(argThat(row -> "jti-1".equals(row.getTokenId())));
+        assertTrue(revocationList.isRevoked("jti-1"));
+    }
+
+    @Test
+    void revoke_WithoutTokenId_ShouldDoNothing() {
+        revocationService.revoke(new VerifiedToken("alice", Instant.now(), Instant.now().plusSeconds(60), List.of(), Map.of()));
+
+        verifyNoInteractions(revokedTokenRepository);
+    }
+
+    @Test
+    void fetchSince_ShouldStopCursorBeforeRecentRows() {
+        RevokedToken settled = row(11, "settled", Instant.now().minusSeconds(60));
+        RevokedToken recent = row(12, "recent", Instant.now());
+        RevokedToken after = row(13, "after", Instant.now().minusSeconds(60));
+        when(revokedTokenRepository.findByIdGreaterThanOrderByIdAsc(10, Limit.of(RevocationService.PAGE_SIZE)))
+                .thenReturn(List.of(settled, recent, after));
+
+        RevocationDelta delta = revocationService.fetchSince(10);
+
+        assertEquals(11, delta.cursor());
+        assertEquals(3, delta.entries().size());
+        assertFalse(delta.hasMore());
+    }
+
+    @Test
+    void fetchSince_WithNoRows_ShouldKeepCursor() {
+        when(revokedTokenRepository.findByIdGreaterThanOrderByIdAsc(any(Long.class), any(Limit.class))).thenReturn(List.of());
+
+        RevocationDelta delta = revocationService.fetchSince(42);
+
+        assertEquals(42, delta.cursor());
+        assertTrue(delta.entries().isEmpty());
+    }
+
+    private static VerifiedToken token(String tokenId) {
+        return new VerifiedToken("alice", Instant.now(), Instant.now().plusSeconds(600), List.of(),
+                Map.of(VerifiedToken.TOKEN_ID_CLAIM, tokenId));
+    }
+
+    private static RevokedToken row(long id, String tokenId, Instant revokedAt) {
+        RevokedToken row = new RevokedToken(tokenId, Instant.now().plusSeconds(600));
+        ReflectionTestUtils.setField(row, "id", id);
+        ReflectionTestUtils.setField(row, "revokedAt", revokedAt);
+        return row;
+    }
+}
@@ -0,0 +1,154 @@
+package com.ecommerce.auth.throttle;
+
+import com.ecommerce.common.exception.TooManyRequestsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginAttemptLimiterTest {
+
+    private LoginThrottleProperties properties;
+    private MutableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        properties = new LoginThrottleProperties();
+        properties.getAccount().setMaxAttempts(3);
+        properties.getAccount().setWindow(Duration.ofMinutes(1));
+        properties.getAddress().setMaxAttempts(10);
+        properties.getAddress().setWindow(Duration.ofMinutes(1));
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+    }
+
+    @Test
+    void acquire_BeyondAccountLimit_ShouldThrowWithRetryAfter() {
+        LoginAttemptLimiter limiter = new LoginAttemptLimiter(properties, clock);
+
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("alice", "10.0.0." + i);
+        }
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+                () -> limiter.acquire("alice", "10.0.0.99"));
+
+        assertTrue(exception.getRetryAfter().compareTo(Duration.ZERO) > 0);
+        assertTrue(exception.getRetryAfter().compareTo(Duration.ofMinutes(2)) <= 0);
+    }
+
+    @Test
+    void acquire_BeyondAddressLimit_ShouldThrowForAnyAccount() {
+        LoginAttemptLimiter limiter = new LoginAttemptLimiter(properties, clock);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire("user-" + i, "10.0.0.1");
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> limiter.acquire("someone-else", "10.0.0.1"));
+        assertDoesNotThrow(() -> limiter.acquire("someone-else", "10.0.0.2"));
+    }
+
+    @Test
+    void acquire_AfterWindowSlides_ShouldAdmitAgain() {
+        LoginAttemptLimiter limiter = new LoginAttemptLimiter(properties, clock);
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("alice", "10.0.0.1");
+        }
+        assertThrows(TooManyRequestsException.class, () -> limiter.acquire("alice", "10.0.0.1"));
+
+        clock.advance(Duration.ofMinutes(2));
+
+        assertDoesNotThrow(() -> limiter.acquire("alice", "10.0.0.1"));
+    }
+
+    @Test
+    void acquire_WithRetryAfterElapsed_ShouldAdmit() {
+        LoginAttemptLimiter limiter = new LoginAttemptLimiter(properties, clock);
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("alice", "10.0.0.1");
+        }
+        Duration retryAfter = assertThrows(TooManyRequestsException.class,
+                () -> limiter.acquire("alice", "10.0.0.1")).getRetryAfter();
+
+        clock.advance(retryAfter);
+
+        assertDoesNotThrow(() -> limiter.acquire("alice", "10.0.0.1"));
+    }
+
+    @Test
+    void recordSuccess_ShouldClearAccountWindow() {
+        LoginAttemptLimiter limiter = new LoginAttemptLimiter(properties, clock);
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("alice", "10.0.0.1");
+        }
+
+        limiter.recordSuccess("alice");
+
+        assertDoesNotThrow(() -> limiter.acquire("alice", "10.0.0.1"));
+    }
+
+    @Test
+    void acquire_WhenDisabled_ShouldNeverThrow() {
+        properties.setEnabled(false);
+        LoginAttemptLimiter limiter = new LoginAttemptLimiter(properties, clock);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.acquire("alice", "10.0.0.1");
+        }
+    }
+
+    @Test
+    void clientAddress_ShouldUseLastForwardedHopOnlyWhenTrusted() {
+        LoginAttemptLimiter untrusted = new LoginAttemptLimiter(properties, clock);
+        properties.setTrustForwardedFor(true);
+        LoginAttemptLimiter trusted = new LoginAttemptLimiter(properties, clock);
+
+        assertEquals("172.16.0.5", untrusted.clientAddress("172.16.0.5", "1.2.3.4, 203.0.113.7"));
+        assertEquals("203.0.113.7", trusted.clientAddress("172.16.0.5", "1.2.3.4, 203.0.113.7"));
+        assertEquals("172.16.0.5", trusted.clientAddress("172.16.0.5", null));
+    }
+
+    @Test
+    void slidingWindow_ShouldBoundTrackedKeys() {
+        SlidingWindowLimiter limiter = new SlidingWindowLimiter(1, Duration.ofMinutes(1), 4, 64, clock);
+
+        for (int i = 0; i < 10_000; i++) {
+            limiter.tryAcquire("key-" + i);
+        }
+
+        assertTrue(limiter.trackedKeys() <= 64);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+
+/**
+ * A stored {@code 200} response. {@code headers} are the upstream's end-to-end headers, including the
+ * {@code ETag} the gateway added if the upstream sent none; {@code storedAt} is a {@link System#nanoTime()}
+ * reading used for the {@code Age} header.
+ */
+record CachedResponse(HttpHeaders headers, byte[] body, String etag, Duration timeToLive, long storedAt) {
+
+    int weight() {
+        return body.length + headers.size() * 64;
+    }
+}
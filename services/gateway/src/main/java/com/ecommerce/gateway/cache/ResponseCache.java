@@ -0,0 +1,72 @@
+package com.ecommerce.gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The gateway's in-memory response store, shared by every route that uses the {@code ResponseCache} filter.
+ * <p>
+ * Entries are weighed by body size and evicted by Caffeine once {@code gateway.cache.max-size} is reached; each
+ * one expires after its own time to live. Misses are coalesced: the first request for a key becomes the
+ * {@linkplain #claim leader} and goes upstream, and requests for the same key that arrive meanwhile wait for its
+ * outcome instead of adding to the load on the upstream. Hit, miss and eviction counts are published as
+ * {@code cache.*} metrics tagged {@code cache=gateway.response}.
+ */
+@Component
+public class ResponseCache {
+
+    private final Cache<String, CachedResponse> entries;
+    private final ConcurrentMap<String, CompletableFuture<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final int maxEntrySize;
+
+    public ResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.maxEntrySize = (int) Math.min(Integer.MAX_VALUE, properties.getMaxEntrySize().toBytes());
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher((String key, CachedResponse response) -> response.weight())
+                .expireAfter(Expiry.creating((String key, CachedResponse response) -> response.timeToLive()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "gateway.response");
+    }
+
+    CachedResponse get(String key) {
+        return entries.getIfPresent(key);
+    }
+
+    /**
+     * Claims the upstream fetch for {@code key}.
+     *
+     * @return {@code null} if the caller is now the leader and must {@linkplain #complete complete} the key;
+     * otherwise the current leader's pending outcome, which completes with {@code null} if its response could not
+     * be stored
+     */
+    CompletableFuture<CachedResponse> claim(String key) {
+        return inFlight.putIfAbsent(key, new CompletableFuture<>());
+    }
+
+    /**
+     * Stores the leader's response, if any, and hands it to the requests waiting on {@code key}.
+     */
+    void complete(String key, CachedResponse response) {
+        if (response != null) {
+            entries.put(key, response);
+        }
+        CompletableFuture<CachedResponse> claim = inFlight.remove(key);
+        if (claim != null) {
+            claim.complete(response);
+        }
+    }
+
+    int maxEntrySize() {
+        return maxEntrySize;
+    }
+}
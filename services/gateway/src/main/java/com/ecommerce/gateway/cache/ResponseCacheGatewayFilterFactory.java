@@ -0,0 +1,324 @@
+package com.ecommerce.gateway.cache;
+
+import com.ecommerce.gateway.filter.JwtAuthenticationGlobalFilter;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Serves repeat {@code GET}s for a route from the gateway's {@link ResponseCache}, e.g.
+ * {@code filters[1]=ResponseCache=60s}.
+ * <p>
+ * Only {@code 200} responses are stored, and only when the upstream allows a shared cache to keep them: nothing
+ * marked {@code no-store}, {@code private} or {@code no-cache}, nothing that sets a cookie or varies on anything
+ * but {@code Accept-Encoding}, and, for a request that carried a verified token, only responses marked
+ * {@code public} or given an {@code s-maxage}. An entry lives for the upstream's {@code s-maxage} or
+ * {@code max-age}, capped by the route's {@code timeToLive}, which also applies when the upstream gives none.
+ * <p>
+ * Every stored response has an {@code ETag}; the gateway derives one from the body if the upstream sent none.
+ * A request whose {@code If-None-Match} matches is answered {@code 304} without a body, whether the entry was
+ * already cached or has just been fetched. Requests sent with {@code Cache-Control: no-cache} skip the lookup
+ * and refresh the entry; {@code no-store} bypasses the cache altogether. Responses carry {@code X-Cache: HIT}
+ * or {@code MISS}.
+ * <p>
+ * Unlike Spring Cloud Gateway's {@code LocalResponseCache}, concurrent misses for the same key are coalesced
+ * into one upstream request, so an entry expiring under load costs the upstream a single call.
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    public static final String CACHE_HEADER = "X-Cache";
+
+    // Must wrap the response before NettyWriteResponseFilter writes the upstream body to it.
+    static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+
+    // Hop-by-hop headers, and headers that describe this request rather than the resource: a hit must carry its
+    // own rate-limit state and date, not the ones the first requester was given.
+    private static final Set<String> UNSTORED_HEADERS = Set.of(HttpHeaders.CONTENT_LENGTH.toLowerCase(Locale.ROOT),
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(Locale.ROOT), HttpHeaders.CONNECTION.toLowerCase(Locale.ROOT),
+            HttpHeaders.DATE.toLowerCase(Locale.ROOT), HttpHeaders.RETRY_AFTER.toLowerCase(Locale.ROOT),
+            CACHE_HEADER.toLowerCase(Locale.ROOT));
+    private static final String RATE_LIMIT_HEADER_PREFIX = "x-ratelimit-";
+
+    private final ResponseCache cache;
+
+    public ResponseCacheGatewayFilterFactory(ResponseCache cache) {
+        super(Config.class);
+        this.cache = cache;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("timeToLive");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter((exchange, chain) -> filter(exchange, chain, config), ORDER);
+    }
+
+    private Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain, Config config) {
+        ServerHttpRequest request = exchange.getRequest();
+        List<String> directives = directives(request.getHeaders());
+        if (request.getMethod() != HttpMethod.GET || !config.getTimeToLive().isPositive()
+                || directives.contains("no-store")) {
+            return chain.filter(exchange);
+        }
+
+        String key = key(exchange);
+        if (!directives.contains("no-cache") && !directives.contains("max-age=0")) {
+            CachedResponse cached = cache.get(key);
+            if (cached != null) {
+                return serve(exchange, cached);
+            }
+        }
+
+        CompletableFuture<CachedResponse> leader = cache.claim(key);
+        if (leader == null) {
+            return fetch(exchange, chain, key, config);
+        }
+        // The leader's outcome is shared, so a waiter that goes away must not cancel it.
+        return Mono.fromFuture(leader, true)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(response -> response.isPresent()
+                        ? serve(exchange, response.get())
+                        : chain.filter(exchange));
+    }
+
+    /**
+     * Forwards the request as the leader for {@code key}, storing the response on the way back if it may be.
+     */
+    private Mono<Void> fetch(ServerWebExchange exchange, GatewayFilterChain chain, String key, Config config) {
+        AtomicBoolean completed = new AtomicBoolean();
+        StoringResponse response = new StoringResponse(exchange, config, stored -> {
+            if (completed.compareAndSet(false, true)) {
+                cache.complete(key, stored);
+            }
+        });
+        // The entry is stored whole; whether this client gets a 304 is decided here, not upstream.
+        ServerHttpRequest unconditional = exchange.getRequest().mutate()
+                .headers(headers -> {
+                    headers.remove(HttpHeaders.IF_NONE_MATCH);
+                    headers.remove(HttpHeaders.IF_MODIFIED_SINCE);
+                })
+                .build();
+        return chain.filter(exchange.mutate().request(unconditional).response(response).build())
+                .doFinally(signal -> response.outcome.accept(null));
+    }
+
+    static boolean stored(String header) {
+        String name = header.toLowerCase(Locale.ROOT);
+        return !UNSTORED_HEADERS.contains(name) && !name.startsWith(RATE_LIMIT_HEADER_PREFIX);
+    }
+
+    private static Mono<Void> serve(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.putAll(cached.headers());
+        headers.set(HttpHeaders.AGE, String.valueOf(
+                Duration.ofNanos(System.nanoTime() - cached.storedAt()).toSeconds()));
+        headers.set(CACHE_HEADER, "HIT");
+        if (notModified(exchange.getRequest(), cached.etag())) {
+            return notModified(response);
+        }
+        response.setStatusCode(HttpStatus.OK);
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private static Mono<Void> notModified(ServerHttpResponse response) {
+        response.setStatusCode(HttpStatus.NOT_MODIFIED);
+        response.getHeaders().remove(HttpHeaders.CONTENT_TYPE);
+        response.getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+        return response.setComplete();
+    }
+
+    private static boolean notModified(ServerHttpRequest request, String etag) {
+        for (String tag : request.getHeaders().getIfNoneMatch()) {
+            if ("*".equals(tag) || opaque(tag).equals(opaque(etag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * How long a response may be stored for, or {@code null} if it must not be.
+     */
+    static Duration freshness(HttpStatusCode status, HttpHeaders headers, boolean authenticated, Config config) {
+        if (status == null || status.value() != HttpStatus.OK.value() || headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return null;
+        }
+        for (String vary : headers.getVary()) {
+            if (!HttpHeaders.ACCEPT_ENCODING.equalsIgnoreCase(vary)) {
+                return null;
+            }
+        }
+        List<String> directives = directives(headers);
+        if (directives.contains("no-store") || directives.contains("private") || directives.contains("no-cache")) {
+            return null;
+        }
+        Duration sharedMaxAge = seconds(directives, "s-maxage=");
+        if (authenticated && sharedMaxAge == null && !directives.contains("public")) {
+            return null;
+        }
+        Duration maxAge = sharedMaxAge != null ? sharedMaxAge : seconds(directives, "max-age=");
+        Duration timeToLive = config.getTimeToLive();
+        if (maxAge != null && maxAge.compareTo(timeToLive) < 0) {
+            timeToLive = maxAge;
+        }
+        return timeToLive.isPositive() ? timeToLive : null;
+    }
+
+    private static String key(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        ServerHttpRequest request = exchange.getRequest();
+        String query = request.getURI().getRawQuery();
+        String encoding = request.getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING);
+        return (route != null ? route.getId() : "") + ' ' + request.getURI().getRawPath()
+                + (query != null ? '?' + query : "") + ' ' + (encoding != null ? encoding : "");
+    }
+
+    private static List<String> directives(HttpHeaders headers) {
+        List<String> directives = new ArrayList<>();
+        for (String value : headers.getOrEmpty(HttpHeaders.CACHE_CONTROL)) {
+            for (String directive : value.split(",")) {
+                directives.add(directive.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        return directives;
+    }
+
+    private static Duration seconds(List<String> directives, String prefix) {
+        for (String directive : directives) {
+            if (directive.startsWith(prefix)) {
+                try {
+                    return Duration.ofSeconds(Long.parseLong(directive.substring(prefix.length())));
+                } catch (NumberFormatException e) {
+                    return Duration.ZERO;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String opaque(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return '"' + HexFormat.of().formatHex(digest, 0, 16) + '"';
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Captures the upstream body when the response may be stored, and hands the result, or {@code null}, to
+     * {@code outcome} exactly once the headers and body are known.
+     */
+    private final class StoringResponse extends ServerHttpResponseDecorator {
+
+        private final ServerHttpRequest request;
+        private final boolean authenticated;
+        private final Config config;
+        private final Consumer<CachedResponse> outcome;
+
+        private StoringResponse(ServerWebExchange exchange, Config config,
+                                Consumer<CachedResponse> outcome) {
+            super(exchange.getResponse());
+            this.request = exchange.getRequest();
+            this.authenticated = exchange.getAttribute(JwtAuthenticationGlobalFilter.VERIFIED_TOKEN_ATTRIBUTE) != null;
+            this.config = config;
+            this.outcome = outcome;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            getHeaders().set(CACHE_HEADER, "MISS");
+            Duration timeToLive = freshness(getStatusCode(), getHeaders(), authenticated, config);
+            if (timeToLive == null || getHeaders().getContentLength() > cache.maxEntrySize()) {
+                outcome.accept(null);
+                return super.writeWith(body);
+            }
+            return DataBufferUtils.join(body).flatMap(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+                if (bytes.length > cache.maxEntrySize()) {
+                    outcome.accept(null);
+                    return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                }
+
+                String etag = getHeaders().getETag();
+                if (etag == null) {
+                    etag = etag(bytes);
+                    getHeaders().setETag(etag);
+                }
+                HttpHeaders stored = new HttpHeaders();
+                getHeaders().forEach((name, values) -> {
+                    if (stored(name)) {
+                        stored.put(name, List.copyOf(values));
+                    }
+                });
+                outcome.accept(new CachedResponse(HttpHeaders.readOnlyHttpHeaders(stored), bytes, etag,
+                        timeToLive, System.nanoTime()));
+
+                if (notModified(request, etag)) {
+                    return notModified(getDelegate());
+                }
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+    }
+
+    public static class Config {
+
+        private Duration timeToLive = Duration.ofMinutes(1);
+
+        /**
+         * How long a response may be served from the gateway at most; also used when the upstream does not say.
+         */
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.ecommerce.gateway.composition;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Time allowed to each upstream call behind the composed page endpoints. A leg that runs out of time is left out
+ * of the page rather than holding it up.
+ */
+@ConfigurationProperties(prefix = "gateway.composition")
+public class CompositionProperties {
+
+    private Duration productTimeout = Duration.ofMillis(500);
+    private Duration stockTimeout = Duration.ofMillis(250);
+    private Duration cartTimeout = Duration.ofMillis(250);
+    private String defaultCurrency = "USD";
+
+    /**
+     * Product details are the one leg a product page cannot do without: past this the page fails with 504.
+     */
+    public Duration getProductTimeout() {
+        return productTimeout;
+    }
+
+    public void setProductTimeout(Duration productTimeout) {
+        this.productTimeout = productTimeout;
+    }
+
+    public Duration getStockTimeout() {
+        return stockTimeout;
+    }
+
+    public void setStockTimeout(Duration stockTimeout) {
+        this.stockTimeout = stockTimeout;
+    }
+
+    public Duration getCartTimeout() {
+        return cartTimeout;
+    }
+
+    public void setCartTimeout(Duration cartTimeout) {
+        this.cartTimeout = cartTimeout;
+    }
+
+    /**
+     * Currency whose price is shown when the client does not ask for one.
+     */
+    public String getDefaultCurrency() {
+        return defaultCurrency;
+    }
+
+    public void setDefaultCurrency(String defaultCurrency) {
+        this.defaultCurrency = defaultCurrency;
+    }
+}
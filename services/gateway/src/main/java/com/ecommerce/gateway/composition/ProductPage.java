@@ -0,0 +1,32 @@
+package com.ecommerce.gateway.composition;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Everything a product page shows, in one response.
+ *
+ * @param product     the product as product-service returns it
+ * @param price       the product's price in the requested currency, or {@code null} if it has none
+ * @param stock       {@code null} if inventory did not answer in time
+ * @param cart        {@code null} if no cart was asked for, or the cart did not answer in time
+ * @param unavailable the parts that were asked for but left out, so a client can fetch them itself or show them
+ *                    as unknown
+ */
+public record ProductPage(JsonNode product, Price price, Stock stock, CartSummary cart, List<String> unavailable) {
+
+    public record Price(String currency, BigDecimal amount) {
+    }
+
+    public record Stock(long available, boolean inStock) {
+    }
+
+    /**
+     * @param itemCount units across the whole cart
+     * @param quantity  units of this product in the cart
+     */
+    public record CartSummary(String id, int itemCount, int quantity, long version) {
+    }
+}
@@ -0,0 +1,187 @@
+package com.ecommerce.gateway.composition;
+
+import com.ecommerce.gateway.upstream.UpstreamHttpClients;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Builds a {@link ProductPage} from product-service and order-service in one pass.
+ * <p>
+ * The product, its stock and the caller's cart are requested at the same time, each over its service's own
+ * pool from {@link UpstreamHttpClients} and load balanced like the gateway routes, and each within its own
+ * timeout from {@link CompositionProperties}. The product is required: if it is missing the page is 404, and if
+ * product-service fails or runs out of time the page fails with it. Stock and cart are not: when either fails or
+ * runs out of time the page is returned without it and names it under {@code unavailable}. Every leg's outcome
+ * is counted as {@code gateway.composition.calls}.
+ */
+@Component
+public class ProductPageComposer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductPageComposer.class);
+
+    static final String PRODUCT = "product";
+    static final String STOCK = "stock";
+    static final String CART = "cart";
+
+    record StockLevel(Long productId, long available) {
+    }
+
+    record Cart(String id, List<CartItem> items, long version) {
+    }
+
+    record CartItem(Long productId, int quantity) {
+    }
+
+    private final WebClient productService;
+    private final WebClient orderService;
+    private final CompositionProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ProductPageComposer(WebClient.Builder webClientBuilder, UpstreamHttpClients upstreams,
+                               ReactorLoadBalancerExchangeFilterFunction loadBalancer,
+                               CompositionProperties properties, MeterRegistry meterRegistry) {
+        this(upstream(webClientBuilder, upstreams, loadBalancer, "product-service"),
+                upstream(webClientBuilder, upstreams, loadBalancer, "order-service"), properties, meterRegistry);
+    }
+
+    ProductPageComposer(WebClient productService, WebClient orderService, CompositionProperties properties,
+                        MeterRegistry meterRegistry) {
+        this.productService = productService;
+        this.orderService = orderService;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    private static WebClient upstream(WebClient.Builder webClientBuilder, UpstreamHttpClients upstreams,
+                                      ReactorLoadBalancerExchangeFilterFunction loadBalancer, String serviceId) {
+        return webClientBuilder.clone()
+                .clientConnector(new ReactorClientHttpConnector(upstreams.get(serviceId)))
+                .filter(loadBalancer)
+                .baseUrl("http://" + serviceId)
+                .build();
+    }
+
+    /**
+     * @param cartId   the caller's cart, or {@code null} for a page without one
+     * @param currency the currency to price the product in, or {@code null} for the default
+     * @param identity headers passed on to every upstream call, i.e. the caller's signed identity
+     */
+    public Mono<ProductPage> compose(long productId, String cartId, String currency, HttpHeaders identity) {
+        String priceCurrency = currency != null && !currency.isBlank()
+                ? currency.trim().toUpperCase(Locale.ROOT) : properties.getDefaultCurrency();
+
+        Mono<JsonNode> product = productService.get()
+                .uri("/products/{id}", productId)
+                .headers(headers -> headers.addAll(identity))
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(properties.getProductTimeout())
+                .doOnSuccess(ignored -> count(PRODUCT, null))
+                .doOnError(error -> count(PRODUCT, error))
+                .onErrorMap(error -> productFailure(productId, error));
+
+        Mono<Optional<StockLevel>> stock = optional(STOCK, productService.get()
+                .uri("/inventory/{productId}", productId)
+                .headers(headers -> headers.addAll(identity))
+                .retrieve()
+                .bodyToMono(StockLevel.class), properties.getStockTimeout());
+
+        Mono<Optional<Cart>> cart = cartId == null || cartId.isBlank()
+                ? Mono.just(Optional.empty())
+                : optional(CART, orderService.get()
+                        .uri("/carts/{cartId}", cartId)
+                        .headers(headers -> headers.addAll(identity))
+                        .retrieve()
+                        .bodyToMono(Cart.class), properties.getCartTimeout());
+
+        return Mono.zip(product, stock, cart).map(legs -> {
+            List<String> unavailable = new ArrayList<>(2);
+            ProductPage.Stock stockSummary = legs.getT2()
+                    .map(level -> new ProductPage.Stock(level.available(), level.available() > 0))
+                    .orElse(null);
+            if (stockSummary == null) {
+                unavailable.add(STOCK);
+            }
+            ProductPage.CartSummary cartSummary = legs.getT3().map(found -> summary(found, productId)).orElse(null);
+            if (cartSummary == null && cartId != null && !cartId.isBlank()) {
+                unavailable.add(CART);
+            }
+            return new ProductPage(legs.getT1(), price(legs.getT1(), priceCurrency), stockSummary, cartSummary,
+                    List.copyOf(unavailable));
+        });
+    }
+
+    private <T> Mono<Optional<T>> optional(String leg, Mono<T> call, Duration timeout) {
+        return call.timeout(timeout)
+                .map(value -> {
+                    count(leg, null);
+                    return Optional.of(value);
+                })
+                .defaultIfEmpty(Optional.empty())
+                .onErrorResume(error -> {
+                    count(leg, error);
+                    logger.debug("Leaving {} out of product page: {}", leg, error.toString());
+                    return Mono.just(Optional.empty());
+                });
+    }
+
+    private static ProductPage.Price price(JsonNode product, String currency) {
+        JsonNode amount = product.path("prices").path(currency);
+        return amount.isNumber() ? new ProductPage.Price(currency, amount.decimalValue()) : null;
+    }
+
+    private static ProductPage.CartSummary summary(Cart cart, long productId) {
+        int itemCount = 0;
+        int quantity = 0;
+        for (CartItem item : cart.items() == null ? List.<CartItem>of() : cart.items()) {
+            itemCount += item.quantity();
+            if (item.productId() != null && item.productId() == productId) {
+                quantity += item.quantity();
+            }
+        }
+        return new ProductPage.CartSummary(cart.id(), itemCount, quantity, cart.version());
+    }
+
+    private static Throwable productFailure(long productId, Throwable error) {
+        if (error instanceof WebClientResponseException.NotFound) {
+            return new ResponseStatusException(HttpStatus.NOT_FOUND, "Product " + productId + " not found");
+        }
+        if (error instanceof TimeoutException) {
+            return new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "Product service timed out", error);
+        }
+        return new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Product service failed", error);
+    }
+
+    private void count(String leg, Throwable error) {
+        String outcome = error == null ? "success" : error instanceof TimeoutException ? "timeout" : "error";
+        counters.computeIfAbsent(leg + ' ' + outcome, key -> Counter.builder("gateway.composition.calls")
+                .description("Upstream calls made to compose pages")
+                .tag("leg", leg)
+                .tag("outcome", outcome)
+                .register(meterRegistry)).increment();
+    }
+}
@@ -0,0 +1,50 @@
+package com.ecommerce.gateway.config;
+
+import com.ecommerce.common.security.JwtKeyConfiguration;
+import com.ecommerce.common.security.JwtKeySource;
+import com.ecommerce.common.security.JwtUtil;
+import com.ecommerce.common.security.RevocationConfiguration;
+import com.ecommerce.common.security.RevocationList;
+import com.ecommerce.common.security.SecurityProperties;
+import com.ecommerce.common.security.TrustedIdentityHeaders;
+import com.ecommerce.common.security.VerifiedTokenCache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Wires the common-lib JWT components into the reactive gateway. The servlet security configuration in
+ * common-lib is not scanned here, so the pieces the edge needs are declared explicitly.
+ */
+@Configuration
+@EnableConfigurationProperties(SecurityProperties.class)
+@Import({JwtKeyConfiguration.class, RevocationConfiguration.class})
+public class GatewaySecurityConfig {
+
+    @Bean
+    public JwtUtil jwtUtil(SecurityProperties securityProperties, ObjectProvider<JwtKeySource> keySources) {
+        return new JwtUtil(securityProperties, keySources);
+    }
+
+    @Bean
+    public VerifiedTokenCache verifiedTokenCache(SecurityProperties securityProperties) {
+        return new VerifiedTokenCache(securityProperties);
+    }
+
+    @Bean
+    public TrustedIdentityHeaders trustedIdentityHeaders(SecurityProperties securityProperties) {
+        TrustedIdentityHeaders trustedIdentityHeaders = new TrustedIdentityHeaders(securityProperties);
+        // Every authenticated request is forwarded with signed identity headers, so the edge cannot run without one.
+        if (!trustedIdentityHeaders.canSign()) {
+            throw new IllegalStateException("security.jwt.gateway.identity-secret must be set on the gateway");
+        }
+        return trustedIdentityHeaders;
+    }
+
+    @Bean
+    public RevocationList revocationList(SecurityProperties securityProperties) {
+        return new RevocationList(securityProperties);
+    }
+}
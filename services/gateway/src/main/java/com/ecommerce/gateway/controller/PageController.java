@@ -0,0 +1,49 @@
+package com.ecommerce.gateway.controller;
+
+import com.ecommerce.common.security.TrustedIdentityHeaders;
+import com.ecommerce.gateway.composition.ProductPage;
+import com.ecommerce.gateway.composition.ProductPageComposer;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Composed responses for client pages, served under {@code /api/pages} through a {@code forward:} route so that
+ * authentication, rate limiting and route metrics apply as they do to any other route. Requests that reach these
+ * handlers without going through that route get 404.
+ */
+@RestController
+public class PageController {
+
+    private final ProductPageComposer productPageComposer;
+
+    public PageController(ProductPageComposer productPageComposer) {
+        this.productPageComposer = productPageComposer;
+    }
+
+    @GetMapping("/pages/products/{id}")
+    public Mono<ProductPage> productPage(@PathVariable("id") long id,
+                                         @RequestParam(name = "cartId", required = false) String cartId,
+                                         @RequestParam(name = "currency", required = false) String currency,
+                                         ServerWebExchange exchange) {
+        if (exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR) == null) {
+            return Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND));
+        }
+        HttpHeaders identity = new HttpHeaders();
+        HttpHeaders request = exchange.getRequest().getHeaders();
+        for (String name : TrustedIdentityHeaders.HEADER_NAMES) {
+            String value = request.getFirst(name);
+            if (value != null) {
+                identity.set(name, value);
+            }
+        }
+        return productPageComposer.compose(id, cartId, currency, identity);
+    }
+}
@@ -0,0 +1,96 @@
+package com.ecommerce.gateway.filter;
+
+import com.ecommerce.common.security.JwtUtil;
+import com.ecommerce.common.security.RevocationList;
+import com.ecommerce.common.security.TrustedIdentityHeaders;
+import com.ecommerce.common.security.VerifiedToken;
+import com.ecommerce.common.security.VerifiedTokenCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * Verifies the bearer token once at the edge and forwards the caller's identity as signed headers.
+ * <p>
+ * The {@code Authorization} header is stripped, and any identity headers supplied by the client are dropped
+ * before the gateway's own are added, so downstream services never see a token or a forged identity. Routes
+ * with {@value #FORWARD_AUTHORIZATION} metadata set to {@code true} keep the header: auth-service needs the
+ * token itself, for example to revoke it on logout.
+ */
+@Component
+public class JwtAuthenticationGlobalFilter implements GlobalFilter, Ordered {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationGlobalFilter.class);
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    public static final String VERIFIED_TOKEN_ATTRIBUTE = JwtAuthenticationGlobalFilter.class.getName() + ".verifiedToken";
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 100;
+    public static final String FORWARD_AUTHORIZATION = "forward-authorization";
+
+    private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache tokenCache;
+    private final TrustedIdentityHeaders trustedIdentityHeaders;
+    private final RevocationList revocationList;
+
+    public JwtAuthenticationGlobalFilter(JwtUtil jwtUtil, VerifiedTokenCache tokenCache,
+                                         TrustedIdentityHeaders trustedIdentityHeaders,
+                                         RevocationList revocationList) {
+        this.jwtUtil = jwtUtil;
+        this.tokenCache = tokenCache;
+        this.trustedIdentityHeaders = trustedIdentityHeaders;
+        this.revocationList = revocationList;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String authorization = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+        Optional<VerifiedToken> verifiedToken = Optional.empty();
+        if (authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+            String token = authorization.substring(BEARER_PREFIX.length());
+            verifiedToken = tokenCache.getOrVerify(token, jwtUtil::validateToken)
+                    .filter(verified -> verified.subject() != null)
+                    .filter(verified -> !revocationList.isRevoked(verified));
+            if (verifiedToken.isEmpty()) {
+                logger.debug("Rejected bearer token at gateway for {}", request.getPath());
+            }
+        }
+
+        Optional<VerifiedToken> identity = verifiedToken;
+        boolean forwardAuthorization = forwardsAuthorization(exchange);
+        ServerHttpRequest forwarded = request.mutate()
+                .headers(headers -> {
+                    if (!forwardAuthorization) {
+                        headers.remove(HttpHeaders.AUTHORIZATION);
+                    }
+                    TrustedIdentityHeaders.HEADER_NAMES.forEach(headers::remove);
+                    identity.ifPresent(verified -> trustedIdentityHeaders.sign(verified).forEach(headers::set));
+                })
+                .build();
+
+        identity.ifPresent(verified -> exchange.getAttributes().put(VERIFIED_TOKEN_ATTRIBUTE, verified));
+        return chain.filter(exchange.mutate().request(forwarded).build());
+    }
+
+    private static boolean forwardsAuthorization(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null && Boolean.parseBoolean(String.valueOf(route.getMetadata().get(FORWARD_AUTHORIZATION)));
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.gateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Load-balancer beans for each upstream service, created in that service's own child context. Deliberately not
+ * a {@code @Configuration}, so component scanning does not pull these beans into the main context.
+ * <p>
+ * Instances come from the {@link org.springframework.cloud.client.discovery.DiscoveryClient}s on the classpath
+ * (the {@code spring.cloud.discovery.client.simple.*} properties unless a registry client is added), minus any
+ * that fail their active health check.
+ */
+public class GatewayLoadBalancerConfiguration {
+
+    @Bean
+    public ServiceInstanceListSupplier serviceInstanceListSupplier(ConfigurableApplicationContext context) {
+        return ServiceInstanceListSupplier.builder()
+                .withDiscoveryClient()
+                .withHealthChecks()
+                .build(context);
+    }
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> powerOfTwoChoicesLoadBalancer(Environment environment,
+            LoadBalancerClientFactory clientFactory, OutstandingRequests outstandingRequests) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new PowerOfTwoChoicesLoadBalancer(
+                clientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class), outstandingRequests,
+                serviceId);
+    }
+}
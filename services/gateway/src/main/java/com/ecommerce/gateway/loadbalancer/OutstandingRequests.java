@@ -0,0 +1,38 @@
+package com.ecommerce.gateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Requests this gateway currently has open against each upstream instance, shared by every service's
+ * {@link PowerOfTwoChoicesLoadBalancer}.
+ */
+@Component
+public class OutstandingRequests {
+
+    private final ConcurrentMap<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+
+    public void acquire(ServiceInstance instance) {
+        counts.computeIfAbsent(key(instance), key -> new AtomicInteger()).incrementAndGet();
+    }
+
+    public void release(ServiceInstance instance) {
+        AtomicInteger count = counts.get(key(instance));
+        if (count != null) {
+            count.decrementAndGet();
+        }
+    }
+
+    public int count(ServiceInstance instance) {
+        AtomicInteger count = counts.get(key(instance));
+        return count != null ? count.get() : 0;
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getServiceId() + ' ' + instance.getHost() + ':' + instance.getPort();
+    }
+}
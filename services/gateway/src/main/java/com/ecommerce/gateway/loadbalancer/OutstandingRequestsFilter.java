@@ -0,0 +1,46 @@
+package com.ecommerce.gateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Counts each request against the instance the load balancer picked for it until the exchange ends, however it
+ * ends. The load balancer's own lifecycle callbacks are not told about cancelled requests, which would leave an
+ * instance looking busier than it is every time a client hangs up.
+ */
+@Component
+public class OutstandingRequestsFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+
+    private final OutstandingRequests outstandingRequests;
+
+    public OutstandingRequestsFilter(OutstandingRequests outstandingRequests) {
+        this.outstandingRequests = outstandingRequests;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Response<ServiceInstance> chosen = exchange.getAttribute(
+                ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        if (chosen == null || !chosen.hasServer()) {
+            return chain.filter(exchange);
+        }
+        ServiceInstance instance = chosen.getServer();
+        outstandingRequests.acquire(instance);
+        return chain.filter(exchange).doFinally(signal -> outstandingRequests.release(instance));
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
@@ -0,0 +1,64 @@
+package com.ecommerce.gateway.ratelimit;
+
+import com.ecommerce.common.security.VerifiedToken;
+import com.ecommerce.gateway.filter.JwtAuthenticationGlobalFilter;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.Set;
+
+/**
+ * Identifies the caller a request is rate limited as: the subject of its verified token, else its API key if it
+ * is one of the {@link RateLimitProperties#getApiKeys() issued keys}, else its client address. Runs after
+ * {@link JwtAuthenticationGlobalFilter}, so an invalid token counts against the address rather than the subject
+ * it claims, and an unknown API key likewise.
+ */
+@Component
+public class ClientKeyResolver implements KeyResolver {
+
+    private final String apiKeyHeader;
+    private final Set<String> apiKeys;
+    private final boolean trustForwardedFor;
+
+    public ClientKeyResolver(RateLimitProperties properties) {
+        this.apiKeyHeader = properties.getApiKeyHeader();
+        this.apiKeys = Set.copyOf(properties.getApiKeys());
+        this.trustForwardedFor = properties.isTrustForwardedFor();
+    }
+
+    @Override
+    public Mono<String> resolve(ServerWebExchange exchange) {
+        VerifiedToken token = exchange.getAttribute(JwtAuthenticationGlobalFilter.VERIFIED_TOKEN_ATTRIBUTE);
+        if (token != null) {
+            return Mono.just("user:" + token.subject());
+        }
+        ServerHttpRequest request = exchange.getRequest();
+        String apiKey = request.getHeaders().getFirst(apiKeyHeader);
+        if (apiKey != null && apiKeys.contains(apiKey)) {
+            return Mono.just("key:" + apiKey);
+        }
+        String address = clientAddress(request);
+        return address != null ? Mono.just("ip:" + address) : Mono.empty();
+    }
+
+    private String clientAddress(ServerHttpRequest request) {
+        if (trustForwardedFor) {
+            String forwardedFor = request.getHeaders().getFirst("X-Forwarded-For");
+            if (forwardedFor != null) {
+                String lastHop = forwardedFor.substring(forwardedFor.lastIndexOf(',') + 1).trim();
+                if (!lastHop.isEmpty()) {
+                    return lastHop;
+                }
+            }
+        }
+        InetSocketAddress remote = request.getRemoteAddress();
+        if (remote == null) {
+            return null;
+        }
+        return remote.getAddress() != null ? remote.getAddress().getHostAddress() : remote.getHostString();
+    }
+}
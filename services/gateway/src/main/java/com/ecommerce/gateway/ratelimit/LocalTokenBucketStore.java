@@ -0,0 +1,69 @@
+package com.ecommerce.gateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory token buckets, lock-free per key.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding its theoretical arrival time (the generic cell rate
+ * algorithm form of a token bucket): the instant at which the bucket will be full again. Taking {@code n} tokens
+ * pushes that instant {@code n} emission intervals into the future, and is refused if it would end up more than
+ * a full burst ahead of now. A check is one cache lookup and one compare-and-set, with no timer and no refill
+ * thread; the remaining tokens and the wait before a refused request could pass fall out of the same arithmetic.
+ */
+public class LocalTokenBucketStore implements TokenBucketStore {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final Cache<String, AtomicLong> buckets;
+    private final LongSupplier ticker;
+
+    public LocalTokenBucketStore(RateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    LocalTokenBucketStore(RateLimitProperties properties, LongSupplier ticker) {
+        this.ticker = ticker;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumKeys())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .ticker(ticker::getAsLong)
+                .build();
+    }
+
+    @Override
+    public Decision tryConsume(String key, Quota quota) {
+        long now = ticker.getAsLong();
+        AtomicLong bucket = buckets.getIfPresent(key);
+        if (bucket == null) {
+            bucket = buckets.get(key, k -> new AtomicLong(now));
+        }
+
+        long interval = NANOS_PER_SECOND / quota.replenishRate();
+        long cost = interval * quota.requestedTokens();
+        long burst = interval * quota.burstCapacity();
+        while (true) {
+            long full = bucket.get();
+            long next = Math.max(full, now) + cost;
+            long admitAt = next - burst;
+            if (admitAt > now) {
+                long remaining = (burst - (Math.max(full, now) - now)) / interval;
+                return new Decision(false, remaining, Duration.ofNanos(admitAt - now));
+            }
+            if (bucket.compareAndSet(full, next)) {
+                return new Decision(true, (burst - (next - now)) / interval, Duration.ZERO);
+            }
+        }
+    }
+
+    @Override
+    public long size() {
+        return buckets.estimatedSize();
+    }
+}
@@ -0,0 +1,27 @@
+package com.ecommerce.gateway.ratelimit;
+
+/**
+ * Stands in for a shared store when several gateway instances enforce the same quotas without one: each
+ * instance admits its share of every quota from local buckets. With traffic spread evenly by the load balancer
+ * the cluster as a whole admits close to the configured rate, at no cost per request beyond the local check.
+ */
+public class PartitionedTokenBucketStore implements TokenBucketStore {
+
+    private final TokenBucketStore local;
+    private final int instances;
+
+    public PartitionedTokenBucketStore(TokenBucketStore local, int instances) {
+        this.local = local;
+        this.instances = instances;
+    }
+
+    @Override
+    public Decision tryConsume(String key, Quota quota) {
+        return local.tryConsume(key, quota.share(instances));
+    }
+
+    @Override
+    public long size() {
+        return local.size();
+    }
+}
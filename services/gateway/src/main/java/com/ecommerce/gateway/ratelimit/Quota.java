@@ -0,0 +1,26 @@
+package com.ecommerce.gateway.ratelimit;
+
+/**
+ * A token bucket that refills at {@code replenishRate} tokens per second up to {@code burstCapacity}, each
+ * request taking {@code requestedTokens}.
+ */
+public record Quota(int replenishRate, int burstCapacity, int requestedTokens) {
+
+    public Quota {
+        if (replenishRate < 1 || burstCapacity < 1 || requestedTokens < 1 || requestedTokens > burstCapacity) {
+            throw new IllegalArgumentException("A quota needs a positive rate and a burst capacity of at least "
+                    + "the tokens each request takes");
+        }
+    }
+
+    /**
+     * This instance's share of the quota when {@code instances} enforce it independently.
+     */
+    Quota share(int instances) {
+        if (instances <= 1) {
+            return this;
+        }
+        return new Quota(Math.max(1, replenishRate / instances),
+                Math.max(requestedTokens, burstCapacity / instances), requestedTokens);
+    }
+}
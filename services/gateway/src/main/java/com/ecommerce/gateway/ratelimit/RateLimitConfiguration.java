@@ -0,0 +1,18 @@
+package com.ecommerce.gateway.ratelimit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RateLimitConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(TokenBucketStore.class)
+    public TokenBucketStore tokenBucketStore(RateLimitProperties properties) {
+        TokenBucketStore local = new LocalTokenBucketStore(properties);
+        return properties.getClusterSize() > 1
+                ? new PartitionedTokenBucketStore(local, properties.getClusterSize())
+                : local;
+    }
+}
@@ -0,0 +1,99 @@
+package com.ecommerce.gateway.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Settings shared by every route's {@code RequestRateLimiter}. Quotas themselves are configured per route under
+ * the filter's {@code token-bucket.*} args.
+ */
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+
+    private long maximumKeys = 1_000_000;
+    private Duration idleTimeout = Duration.ofMinutes(10);
+    private int clusterSize = 1;
+    private String apiKeyHeader = "X-API-Key";
+    private Set<String> apiKeys = new LinkedHashSet<>();
+    private boolean trustForwardedFor = false;
+    private boolean includeHeaders = true;
+
+    /**
+     * Upper bound on the buckets held in memory; the least recently used are dropped beyond it.
+     */
+    public long getMaximumKeys() {
+        return maximumKeys;
+    }
+
+    public void setMaximumKeys(long maximumKeys) {
+        this.maximumKeys = maximumKeys;
+    }
+
+    /**
+     * How long an untouched bucket is kept. Should exceed the time any route's bucket takes to refill from
+     * empty, after which dropping it makes no difference.
+     */
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * Number of gateway instances sharing each quota. Above one, and unless a shared {@link TokenBucketStore} is
+     * provided, every instance enforces its share of the quota locally.
+     */
+    public int getClusterSize() {
+        return clusterSize;
+    }
+
+    public void setClusterSize(int clusterSize) {
+        this.clusterSize = clusterSize;
+    }
+
+    public String getApiKeyHeader() {
+        return apiKeyHeader;
+    }
+
+    public void setApiKeyHeader(String apiKeyHeader) {
+        this.apiKeyHeader = apiKeyHeader;
+    }
+
+    /**
+     * API keys issued to clients. Only a request carrying one of these is limited by its key; any other value of
+     * {@link #getApiKeyHeader() the header} is ignored, so callers cannot escape their address's quota by
+     * sending a fresh key with each request.
+     */
+    public Set<String> getApiKeys() {
+        return apiKeys;
+    }
+
+    public void setApiKeys(Set<String> apiKeys) {
+        this.apiKeys = apiKeys;
+    }
+
+    /**
+     * Whether to key anonymous callers on the last {@code X-Forwarded-For} hop rather than the peer address.
+     * Only safe behind a load balancer that appends it.
+     */
+    public boolean isTrustForwardedFor() {
+        return trustForwardedFor;
+    }
+
+    public void setTrustForwardedFor(boolean trustForwardedFor) {
+        this.trustForwardedFor = trustForwardedFor;
+    }
+
+    public boolean isIncludeHeaders() {
+        return includeHeaders;
+    }
+
+    public void setIncludeHeaders(boolean includeHeaders) {
+        this.includeHeaders = includeHeaders;
+    }
+}
@@ -0,0 +1,133 @@
+package com.ecommerce.gateway.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Token-bucket {@link org.springframework.cloud.gateway.filter.ratelimit.RateLimiter} for Spring Cloud Gateway's
+ * {@code RequestRateLimiter} filter, configured per route with the filter's {@code token-bucket.*} args:
+ * <pre>
+ * routes[0].filters[2].name=RequestRateLimiter
+ * routes[0].filters[2].args.token-bucket.replenish-rate=50
+ * routes[0].filters[2].args.token-bucket.burst-capacity=100
+ * </pre>
+ * Each caller, as identified by {@link ClientKeyResolver}, gets its own bucket per route in the
+ * {@link TokenBucketStore}. The decision is made inline on the calling thread; refused requests get 429 with
+ * {@code Retry-After}, and every response carries {@code X-RateLimit-Limit} and {@code X-RateLimit-Remaining}.
+ * Admitted and refused requests are counted per route as {@code gateway.ratelimit.requests}.
+ */
+@Component
+public class TokenBucketRateLimiter extends AbstractRateLimiter<TokenBucketRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "token-bucket";
+    public static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private final TokenBucketStore store;
+    private final MeterRegistry meterRegistry;
+    private final boolean includeHeaders;
+    private final Config defaultConfig = new Config();
+    private final ConcurrentMap<String, Counter[]> counters = new ConcurrentHashMap<>();
+
+    public TokenBucketRateLimiter(TokenBucketStore store, RateLimitProperties properties,
+                                  ConfigurationService configurationService, MeterRegistry meterRegistry) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.store = store;
+        this.meterRegistry = meterRegistry;
+        this.includeHeaders = properties.isIncludeHeaders();
+        Gauge.builder("gateway.ratelimit.buckets", store, TokenBucketStore::size)
+                .description("Token buckets held by the gateway")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().getOrDefault(routeId, defaultConfig);
+        TokenBucketStore.Decision decision = store.tryConsume(routeId + ' ' + id, config.quota());
+        counters(routeId)[decision.allowed() ? 0 : 1].increment();
+        return Mono.just(new Response(decision.allowed(), headers(config, decision)));
+    }
+
+    private Map<String, String> headers(Config config, TokenBucketStore.Decision decision) {
+        if (!includeHeaders) {
+            return Map.of();
+        }
+        String limit = String.valueOf(config.getBurstCapacity());
+        String remaining = String.valueOf(decision.remaining());
+        if (decision.allowed()) {
+            return Map.of(LIMIT_HEADER, limit, REMAINING_HEADER, remaining);
+        }
+        // Rounded up: a client retrying after the advertised whole seconds must not be refused again.
+        long retryAfter = Math.max(1, (decision.retryAfter().toMillis() + 999) / 1000);
+        return Map.of(LIMIT_HEADER, limit, REMAINING_HEADER, remaining,
+                HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+    }
+
+    private Counter[] counters(String routeId) {
+        Counter[] existing = counters.get(routeId);
+        if (existing != null) {
+            return existing;
+        }
+        return counters.computeIfAbsent(routeId, route -> new Counter[]{
+                counter(route, "allowed"), counter(route, "rejected")});
+    }
+
+    private Counter counter(String routeId, String outcome) {
+        return Counter.builder("gateway.ratelimit.requests")
+                .description("Requests checked by the gateway rate limiter")
+                .tag("route", routeId)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    public static class Config {
+
+        private int replenishRate = 100;
+        private int burstCapacity = 200;
+        private int requestedTokens = 1;
+
+        Quota quota() {
+            return new Quota(replenishRate, burstCapacity, requestedTokens);
+        }
+
+        /**
+         * Tokens added to each caller's bucket per second: the sustained request rate.
+         */
+        public int getReplenishRate() {
+            return replenishRate;
+        }
+
+        public void setReplenishRate(int replenishRate) {
+            this.replenishRate = replenishRate;
+        }
+
+        /**
+         * Tokens a bucket holds when full: the largest burst a caller can send after being idle.
+         */
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public void setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+        }
+
+        public int getRequestedTokens() {
+            return requestedTokens;
+        }
+
+        public void setRequestedTokens(int requestedTokens) {
+            this.requestedTokens = requestedTokens;
+        }
+    }
+}
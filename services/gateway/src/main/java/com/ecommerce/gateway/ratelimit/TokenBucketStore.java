@@ -0,0 +1,27 @@
+package com.ecommerce.gateway.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Where token buckets live. The gateway keeps them in memory by default; a store shared between instances,
+ * such as Redis, can be plugged in by declaring a bean of this type.
+ */
+public interface TokenBucketStore {
+
+    /**
+     * Takes {@code quota.requestedTokens()} from {@code key}'s bucket if it holds that many.
+     */
+    Decision tryConsume(String key, Quota quota);
+
+    /**
+     * The number of buckets currently held, for metrics.
+     */
+    long size();
+
+    /**
+     * @param remaining  whole tokens left after this request
+     * @param retryAfter {@link Duration#ZERO} if allowed, otherwise how long until the request would be
+     */
+    record Decision(boolean allowed, long remaining, Duration retryAfter) {
+    }
+}
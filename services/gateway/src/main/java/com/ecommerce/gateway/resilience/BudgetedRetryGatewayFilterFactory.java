@@ -0,0 +1,241 @@
+package com.ecommerce.gateway.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.factory.RetryGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.retry.Backoff;
+import reactor.retry.Repeat;
+import reactor.retry.Retry;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Retries failed upstream calls within a per-route {@link RetryBudget}:
+ * <pre>
+ * routes[1].filters[1].name=BudgetedRetry
+ * routes[1].filters[1].args.retries=2
+ * routes[1].filters[1].args.budget-ratio=0.1
+ * </pre>
+ * An attempt is retried when the upstream answers with one of {@code statuses}, could not be reached, or timed
+ * out, but only for requests that are safe to send twice: idempotent methods, and {@code POST} or {@code PATCH}
+ * carrying an {@code Idempotency-Key}. Any other request is retried only if the connection was refused, since the
+ * upstream then never saw it. Each retry must also be granted by the route's budget, so retries stop once they
+ * would exceed {@code budgetRatio} of the route's traffic; retries and budget refusals are counted per route as
+ * {@code gateway.retries}.
+ * <p>
+ * The retrying itself is delegated to {@link RetryGatewayFilterFactory}, which resets the exchange between
+ * attempts so the load balancer picks an instance afresh.
+ */
+@Component
+public class BudgetedRetryGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<BudgetedRetryGatewayFilterFactory.Config> {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private static final Set<HttpMethod> IDEMPOTENT_METHODS = Set.of(HttpMethod.GET, HttpMethod.HEAD,
+            HttpMethod.OPTIONS, HttpMethod.PUT, HttpMethod.DELETE);
+
+    private final RetryGatewayFilterFactory retryFilterFactory;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, RetryBudget> budgets = new ConcurrentHashMap<>();
+
+    public BudgetedRetryGatewayFilterFactory(RetryGatewayFilterFactory retryFilterFactory,
+                                             MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.retryFilterFactory = retryFilterFactory;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("retries", "budgetRatio");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        String routeId = config.getRouteId() != null ? config.getRouteId() : "unknown";
+        // Keyed by route so that rebuilding routes on refresh keeps the budget already spent.
+        RetryBudget budget = budgets.computeIfAbsent(routeId, route -> new RetryBudget(config.getBudgetRatio(),
+                config.getMinRetriesPerSecond(), config.getBudgetWindow()));
+        Counter retried = counter(routeId, "retried");
+        Counter exhausted = counter(routeId, "budget_exhausted");
+        Backoff backoff = Backoff.exponential(config.getFirstBackoff(), config.getMaxBackoff(), 2, false);
+
+        Repeat<ServerWebExchange> onStatus = Repeat.<ServerWebExchange>onlyIf(context -> {
+                    ServerWebExchange exchange = context.applicationContext();
+                    return !exceedsRetries(exchange, config)
+                            && retryableStatus(exchange.getResponse().getStatusCode(), config)
+                            && replayable(exchange.getRequest())
+                            && acquire(budget, retried, exhausted);
+                })
+                .backoff(backoff)
+                .doOnRepeat(context -> retryFilterFactory.reset(context.applicationContext()));
+        Retry<ServerWebExchange> onError = Retry.<ServerWebExchange>onlyIf(context -> {
+                    ServerWebExchange exchange = context.applicationContext();
+                    Throwable error = context.exception();
+                    boolean retryable = causedBy(error, ConnectException.class)
+                            || replayable(exchange.getRequest())
+                            && (causedBy(error, IOException.class) || causedBy(error, TimeoutException.class)
+                                || causedBy(error, org.springframework.cloud.gateway.support.TimeoutException.class));
+                    return !exceedsRetries(exchange, config) && retryable && acquire(budget, retried, exhausted);
+                })
+                .retryMax(config.getRetries())
+                .backoff(backoff)
+                .doOnRetry(context -> retryFilterFactory.reset(context.applicationContext()));
+
+        GatewayFilter retry = retryFilterFactory.apply(config.getRouteId(), onStatus, onError);
+        return (exchange, chain) -> {
+            budget.onRequest();
+            return retry.filter(exchange, chain);
+        };
+    }
+
+    static boolean replayable(ServerHttpRequest request) {
+        HttpMethod method = request.getMethod();
+        if (IDEMPOTENT_METHODS.contains(method)) {
+            return true;
+        }
+        return (HttpMethod.POST.equals(method) || HttpMethod.PATCH.equals(method))
+                && request.getHeaders().containsKey(IDEMPOTENCY_KEY_HEADER);
+    }
+
+    private static boolean retryableStatus(HttpStatusCode status, Config config) {
+        return status != null && config.getStatuses().contains(status.value());
+    }
+
+    private static boolean exceedsRetries(ServerWebExchange exchange, Config config) {
+        Integer iteration = exchange.getAttribute(RetryGatewayFilterFactory.RETRY_ITERATION_KEY);
+        return iteration != null && iteration >= config.getRetries();
+    }
+
+    private static boolean acquire(RetryBudget budget, Counter retried, Counter exhausted) {
+        if (budget.tryAcquireRetry()) {
+            retried.increment();
+            return true;
+        }
+        exhausted.increment();
+        return false;
+    }
+
+    private static boolean causedBy(Throwable error, Class<? extends Throwable> type) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (type.isInstance(cause)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Counter counter(String routeId, String outcome) {
+        return Counter.builder("gateway.retries")
+                .description("Upstream retries considered by the gateway")
+                .tag("route", routeId)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    public static class Config implements HasRouteId {
+
+        private String routeId;
+        private int retries = 2;
+        private List<Integer> statuses = List.of(502, 503, 504);
+        private double budgetRatio = 0.1;
+        private int minRetriesPerSecond = 10;
+        private Duration budgetWindow = Duration.ofSeconds(10);
+        private Duration firstBackoff = Duration.ofMillis(20);
+        private Duration maxBackoff = Duration.ofMillis(200);
+
+        @Override
+        public void setRouteId(String routeId) {
+            this.routeId = routeId;
+        }
+
+        @Override
+        public String getRouteId() {
+            return routeId;
+        }
+
+        /**
+         * Retries of a single request on top of its first attempt.
+         */
+        public int getRetries() {
+            return retries;
+        }
+
+        public void setRetries(int retries) {
+            this.retries = retries;
+        }
+
+        /**
+         * Upstream statuses worth another attempt.
+         */
+        public List<Integer> getStatuses() {
+            return statuses;
+        }
+
+        public void setStatuses(List<Integer> statuses) {
+            this.statuses = statuses;
+        }
+
+        /**
+         * Retries allowed per request received by the route, over the budget window.
+         */
+        public double getBudgetRatio() {
+            return budgetRatio;
+        }
+
+        public void setBudgetRatio(double budgetRatio) {
+            this.budgetRatio = budgetRatio;
+        }
+
+        /**
+         * Retries per second allowed regardless of traffic, so that a quiet route can still retry.
+         */
+        public int getMinRetriesPerSecond() {
+            return minRetriesPerSecond;
+        }
+
+        public void setMinRetriesPerSecond(int minRetriesPerSecond) {
+            this.minRetriesPerSecond = minRetriesPerSecond;
+        }
+
+        public Duration getBudgetWindow() {
+            return budgetWindow;
+        }
+
+        public void setBudgetWindow(Duration budgetWindow) {
+            this.budgetWindow = budgetWindow;
+        }
+
+        public Duration getFirstBackoff() {
+            return firstBackoff;
+        }
+
+        public void setFirstBackoff(Duration firstBackoff) {
+            this.firstBackoff = firstBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+    }
+}
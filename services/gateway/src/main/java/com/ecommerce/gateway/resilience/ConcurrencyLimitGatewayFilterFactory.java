@@ -0,0 +1,116 @@
+package com.ecommerce.gateway.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulkhead for a route: at most {@code maxConcurrent} of its requests may be waiting on the upstream at once.
+ * <pre>
+ * routes[2].filters[0]=ConcurrencyLimit=200
+ * </pre>
+ * A request arriving when the route is full is answered at once with 503 and {@code Retry-After} instead of
+ * queueing behind the others, so an upstream that slows down can tie up connections and memory only up to its
+ * own route's limit while every other route carries on. A permit is held until the upstream's response headers
+ * arrive, or the request fails or is cancelled; streamed bodies are not counted against it. Requests in flight
+ * are published per route as {@code gateway.route.concurrency}, and refusals as {@code gateway.route.rejected}.
+ */
+@Component
+public class ConcurrencyLimitGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ConcurrencyLimitGatewayFilterFactory.Config> {
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimitGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("maxConcurrent");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        if (config.getMaxConcurrent() < 1) {
+            throw new IllegalArgumentException("maxConcurrent must be at least 1");
+        }
+        String routeId = config.getRouteId() != null ? config.getRouteId() : "unknown";
+        AtomicInteger requests = inFlight.computeIfAbsent(routeId, route -> {
+            AtomicInteger count = new AtomicInteger();
+            Gauge.builder("gateway.route.concurrency", count, AtomicInteger::get)
+                    .description("Requests a gateway route is waiting on upstream")
+                    .tag("route", route)
+                    .register(meterRegistry);
+            return count;
+        });
+        Counter rejected = Counter.builder("gateway.route.rejected")
+                .description("Requests refused because their gateway route was at its concurrency limit")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        String retryAfter = String.valueOf(Math.max(1, config.getRetryAfter().toSeconds()));
+
+        return (exchange, chain) -> {
+            if (requests.incrementAndGet() > config.getMaxConcurrent()) {
+                requests.decrementAndGet();
+                rejected.increment();
+                ServerHttpResponse response = exchange.getResponse();
+                response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+                response.getHeaders().set(HttpHeaders.RETRY_AFTER, retryAfter);
+                return response.setComplete();
+            }
+            return chain.filter(exchange).doFinally(signal -> requests.decrementAndGet());
+        };
+    }
+
+    public static class Config implements HasRouteId {
+
+        private String routeId;
+        private int maxConcurrent = 200;
+        private Duration retryAfter = Duration.ofSeconds(1);
+
+        @Override
+        public void setRouteId(String routeId) {
+            this.routeId = routeId;
+        }
+
+        @Override
+        public String getRouteId() {
+            return routeId;
+        }
+
+        /**
+         * Requests the route may have waiting on its upstream at once.
+         */
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public Duration getRetryAfter() {
+            return retryAfter;
+        }
+
+        public void setRetryAfter(Duration retryAfter) {
+            this.retryAfter = retryAfter;
+        }
+    }
+}
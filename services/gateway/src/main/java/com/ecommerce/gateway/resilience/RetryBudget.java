@@ -0,0 +1,81 @@
+package com.ecommerce.gateway.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Caps the retries a route may send as a share of the requests it receives.
+ * <p>
+ * Requests and retries are counted in one-second buckets over a sliding {@code window}. A retry is allowed while
+ * the retries in the window stay below {@code ratio} of the requests in it, plus a floor of
+ * {@code minRetriesPerSecond} so that a quiet route can still retry the odd failure. When an upstream starts
+ * failing everything, retries therefore add at most {@code ratio} to its load instead of multiplying it by the
+ * number of attempts, which is what turns a slow service into a dead one.
+ */
+public class RetryBudget {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final double ratio;
+    private final double minRetries;
+    private final long[] seconds;
+    private final long[] requests;
+    private final long[] retries;
+    private final LongSupplier ticker;
+
+    public RetryBudget(double ratio, int minRetriesPerSecond, Duration window) {
+        this(ratio, minRetriesPerSecond, window, System::nanoTime);
+    }
+
+    RetryBudget(double ratio, int minRetriesPerSecond, Duration window, LongSupplier ticker) {
+        if (ratio < 0 || minRetriesPerSecond < 0) {
+            throw new IllegalArgumentException("Retry ratio and minimum retries must not be negative");
+        }
+        int size = (int) Math.max(1, window.toSeconds());
+        this.ratio = ratio;
+        this.minRetries = (double) minRetriesPerSecond * size;
+        this.seconds = new long[size];
+        this.requests = new long[size];
+        this.retries = new long[size];
+        this.ticker = ticker;
+    }
+
+    /**
+     * Counts a request towards the budget. Retries of that request are not counted here.
+     */
+    public synchronized void onRequest() {
+        requests[bucket()]++;
+    }
+
+    /**
+     * Takes a retry from the budget if there is one left.
+     */
+    public synchronized boolean tryAcquireRetry() {
+        int current = bucket();
+        long windowRequests = 0;
+        long windowRetries = 0;
+        for (int i = 0; i < seconds.length; i++) {
+            if (seconds[i] > seconds[current] - seconds.length) {
+                windowRequests += requests[i];
+                windowRetries += retries[i];
+            }
+        }
+        if (windowRetries >= (long) (ratio * windowRequests + minRetries)) {
+            return false;
+        }
+        retries[current]++;
+        return true;
+    }
+
+    private int bucket() {
+        long second = ticker.getAsLong() / NANOS_PER_SECOND;
+        int index = (int) Math.floorMod(second, seconds.length);
+        if (seconds[index] != second) {
+            seconds[index] = second;
+            requests[index] = 0;
+            retries[index] = 0;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,93 @@
+package com.ecommerce.gateway.upstream;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.stereotype.Component;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * One Reactor Netty {@link HttpClient} per upstream service, each over its own {@link ConnectionProvider}.
+ * <p>
+ * With a single shared pool, a service that holds its connections for long enough takes the whole pool and
+ * requests to every other service queue behind it; separate pools confine that to the slow service. Pools are
+ * created on first use and closed with the application context. Each one publishes the Reactor Netty pool
+ * meters ({@code reactor.netty.connection.provider.*}, tagged {@code name=upstream-<service>}): connections
+ * active, idle and total, requests waiting for a connection, and the time they waited.
+ */
+@Component
+public class UpstreamHttpClients implements DisposableBean {
+
+    private final UpstreamProperties properties;
+    private final HttpClientProperties httpClientProperties;
+    private final ObjectProvider<HttpClientCustomizer> customizers;
+    private final ConcurrentMap<String, Upstream> upstreams = new ConcurrentHashMap<>();
+
+    private record Upstream(ConnectionProvider connectionProvider, HttpClient httpClient) {
+    }
+
+    public UpstreamHttpClients(UpstreamProperties properties, HttpClientProperties httpClientProperties,
+                               ObjectProvider<HttpClientCustomizer> customizers) {
+        this.properties = properties;
+        this.httpClientProperties = httpClientProperties;
+        this.customizers = customizers;
+    }
+
+    public HttpClient get(String serviceId) {
+        Upstream upstream = upstreams.get(serviceId);
+        if (upstream == null) {
+            upstream = upstreams.computeIfAbsent(serviceId, this::create);
+        }
+        return upstream.httpClient();
+    }
+
+    private Upstream create(String serviceId) {
+        UpstreamProperties.Pool pool = properties.pool(serviceId);
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("upstream-" + serviceId)
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .evictInBackground(pool.getEvictionInterval())
+                .metrics(true)
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .protocol(pool.getProtocol() == UpstreamProperties.Protocol.H2C
+                        ? HttpProtocol.H2C : HttpProtocol.HTTP11)
+                .httpResponseDecoder(spec -> {
+                    if (httpClientProperties.getMaxHeaderSize() != null) {
+                        spec.maxHeaderSize((int) httpClientProperties.getMaxHeaderSize().toBytes());
+                    }
+                    if (httpClientProperties.getMaxInitialLineLength() != null) {
+                        spec.maxInitialLineLength((int) httpClientProperties.getMaxInitialLineLength().toBytes());
+                    }
+                    return spec;
+                });
+        if (httpClientProperties.getConnectTimeout() != null) {
+            httpClient = httpClient.option(ChannelOption.CONNECT_TIMEOUT_MILLIS,
+                    httpClientProperties.getConnectTimeout());
+        }
+        if (httpClientProperties.isCompression()) {
+            httpClient = httpClient.compress(true);
+        }
+        for (HttpClientCustomizer customizer : customizers.orderedStream().toList()) {
+            httpClient = customizer.customize(httpClient);
+        }
+        return new Upstream(connectionProvider, httpClient);
+    }
+
+    @Override
+    public void destroy() {
+        upstreams.values().forEach(upstream -> upstream.connectionProvider().dispose());
+        upstreams.clear();
+    }
+}
@@ -0,0 +1,180 @@
+package com.ecommerce.gateway.upstream;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Connection pools to the upstream services, one per service id:
+ * <pre>
+ * gateway.upstream.pool.max-connections=200
+ * gateway.upstream.services.payment-service.max-connections=50
+ * gateway.upstream.services.product-service.protocol=h2c
+ * </pre>
+ * Settings under {@code services.<id>} override {@code pool} for that service only; anything left unset there
+ * is taken from {@code pool}.
+ */
+@ConfigurationProperties(prefix = "gateway.upstream")
+public class UpstreamProperties {
+
+    private Pool pool = Pool.defaults();
+    private Map<String, Pool> services = new HashMap<>();
+
+    /**
+     * Settings for every upstream pool that its service does not override.
+     */
+    public Pool getPool() {
+        return pool;
+    }
+
+    public void setPool(Pool pool) {
+        this.pool = pool.inheriting(Pool.defaults());
+    }
+
+    public Map<String, Pool> getServices() {
+        return services;
+    }
+
+    public void setServices(Map<String, Pool> services) {
+        this.services = services;
+    }
+
+    /**
+     * The effective pool settings for {@code serviceId}.
+     */
+    Pool pool(String serviceId) {
+        Pool service = services.get(serviceId);
+        return service != null ? service.inheriting(pool) : pool;
+    }
+
+    public enum Protocol {
+
+        /**
+         * HTTP/1.1: one request at a time per connection.
+         */
+        HTTP11,
+
+        /**
+         * Cleartext HTTP/2 with prior knowledge: requests are multiplexed as streams over few connections. The
+         * upstream must accept it, e.g. a Spring Boot service with {@code server.http2.enabled=true}.
+         */
+        H2C
+    }
+
+    public static class Pool {
+
+        private Integer maxConnections;
+        private Integer pendingAcquireMaxCount;
+        private Duration pendingAcquireTimeout;
+        private Duration maxIdleTime;
+        private Duration maxLifeTime;
+        private Duration evictionInterval;
+        private Protocol protocol;
+
+        static Pool defaults() {
+            Pool pool = new Pool();
+            pool.maxConnections = 200;
+            pool.pendingAcquireMaxCount = 1000;
+            pool.pendingAcquireTimeout = Duration.ofSeconds(1);
+            // Below Tomcat's 20 s keep-alive timeout, so the gateway drops idle connections before the
+            // upstream does rather than writing a request into a connection that is being closed.
+            pool.maxIdleTime = Duration.ofSeconds(15);
+            pool.maxLifeTime = Duration.ofMinutes(5);
+            pool.evictionInterval = Duration.ofSeconds(10);
+            pool.protocol = Protocol.HTTP11;
+            return pool;
+        }
+
+        Pool inheriting(Pool parent) {
+            Pool pool = new Pool();
+            pool.maxConnections = maxConnections != null ? maxConnections : parent.maxConnections;
+            pool.pendingAcquireMaxCount = pendingAcquireMaxCount != null
+                    ? pendingAcquireMaxCount : parent.pendingAcquireMaxCount;
+            pool.pendingAcquireTimeout = pendingAcquireTimeout != null
+                    ? pendingAcquireTimeout : parent.pendingAcquireTimeout;
+            pool.maxIdleTime = maxIdleTime != null ? maxIdleTime : parent.maxIdleTime;
+            pool.maxLifeTime = maxLifeTime != null ? maxLifeTime : parent.maxLifeTime;
+            pool.evictionInterval = evictionInterval != null ? evictionInterval : parent.evictionInterval;
+            pool.protocol = protocol != null ? protocol : parent.protocol;
+            return pool;
+        }
+
+        /**
+         * Connections open to the service at most, across all of its instances. With {@code h2c} each of them
+         * carries many concurrent requests.
+         */
+        public Integer getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(Integer maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        /**
+         * Requests that may wait for a connection once all are in use; further requests fail at once.
+         */
+        public Integer getPendingAcquireMaxCount() {
+            return pendingAcquireMaxCount;
+        }
+
+        public void setPendingAcquireMaxCount(Integer pendingAcquireMaxCount) {
+            this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+        }
+
+        /**
+         * How long a request may wait for a connection before failing.
+         */
+        public Duration getPendingAcquireTimeout() {
+            return pendingAcquireTimeout;
+        }
+
+        public void setPendingAcquireTimeout(Duration pendingAcquireTimeout) {
+            this.pendingAcquireTimeout = pendingAcquireTimeout;
+        }
+
+        /**
+         * Idle connections are closed after this long.
+         */
+        public Duration getMaxIdleTime() {
+            return maxIdleTime;
+        }
+
+        public void setMaxIdleTime(Duration maxIdleTime) {
+            this.maxIdleTime = maxIdleTime;
+        }
+
+        /**
+         * Connections are retired after this long, so that new instances of the service get their share of
+         * traffic.
+         */
+        public Duration getMaxLifeTime() {
+            return maxLifeTime;
+        }
+
+        public void setMaxLifeTime(Duration maxLifeTime) {
+            this.maxLifeTime = maxLifeTime;
+        }
+
+        /**
+         * How often idle and expired connections are closed in the background.
+         */
+        public Duration getEvictionInterval() {
+            return evictionInterval;
+        }
+
+        public void setEvictionInterval(Duration evictionInterval) {
+            this.evictionInterval = evictionInterval;
+        }
+
+        public Protocol getProtocol() {
+            return protocol;
+        }
+
+        public void setProtocol(Protocol protocol) {
+            this.protocol = protocol;
+        }
+    }
+}
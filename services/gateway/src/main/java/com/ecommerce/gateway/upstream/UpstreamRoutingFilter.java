@@ -0,0 +1,93 @@
+package com.ecommerce.gateway.upstream;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Sends {@code lb://} routes through their service's own pool from {@link UpstreamHttpClients}.
+ * <p>
+ * Spring Cloud Gateway's {@link NettyRoutingFilter} has one {@link HttpClient} for every route. This subclass
+ * runs just ahead of it and does the same proxying with the upstream's client instead, honouring the route's
+ * {@code connect-timeout} and {@code response-timeout} metadata as before; the stock filter then finds the
+ * exchange already routed and passes it on. Routes to fixed URIs and WebSocket upgrades are left to the stock
+ * filters.
+ * <p>
+ * A request that cannot get a connection from its pool is answered with 503 and {@code Retry-After} rather than
+ * the 500 an unhandled pool exception would produce. Reactor Netty only throws pool exceptions of its shaded,
+ * internal copy of reactor-pool, so they are recognised by their public supertype and message rather than by
+ * class; {@code UpstreamRoutingFilterTest} pins both against the Reactor Netty in use.
+ */
+@Component
+public class UpstreamRoutingFilter extends NettyRoutingFilter {
+
+    public static final int ORDER = NettyRoutingFilter.ORDER - 2;
+
+    private static final String ACQUIRE_TIMEOUT_MESSAGE = "Pool#acquire(Duration) has been pending";
+    private static final String PENDING_LIMIT_MESSAGE = "Pending acquire queue has reached its maximum size";
+
+    private final UpstreamHttpClients clients;
+
+    public UpstreamRoutingFilter(HttpClient httpClient, ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+                                 HttpClientProperties properties, UpstreamHttpClients clients) {
+        super(httpClient, headersFilters, properties);
+        this.clients = clients;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String upgrade = exchange.getRequest().getHeaders().getFirst(HttpHeaders.UPGRADE);
+        if (route == null || !"lb".equals(route.getUri().getScheme()) || "websocket".equalsIgnoreCase(upgrade)) {
+            return chain.filter(exchange);
+        }
+        return super.filter(exchange, chain).onErrorMap(UpstreamRoutingFilter::isPoolExhausted,
+                error -> new UpstreamUnavailableException(route.getUri().getHost(), error));
+    }
+
+    /**
+     * No connection to the upstream became free within the pending-acquire timeout, or too many requests were
+     * already waiting for one. The cause chain is searched because a route's response timeout wraps timeouts,
+     * the pool's included, in a 504.
+     */
+    static boolean isPoolExhausted(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            String message = cause.getMessage();
+            if (message != null && (cause instanceof TimeoutException && message.startsWith(ACQUIRE_TIMEOUT_MESSAGE)
+                    || cause instanceof RuntimeException && message.startsWith(PENDING_LIMIT_MESSAGE))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected HttpClient getHttpClient(Route route, ServerWebExchange exchange) {
+        HttpClient httpClient = clients.get(route.getUri().getHost());
+        Object connectTimeout = route.getMetadata().get(RouteMetadataUtils.CONNECT_TIMEOUT_ATTR);
+        if (connectTimeout != null) {
+            return httpClient.option(ChannelOption.CONNECT_TIMEOUT_MILLIS,
+                    connectTimeout instanceof Integer value ? value : Integer.valueOf(connectTimeout.toString()));
+        }
+        return httpClient;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
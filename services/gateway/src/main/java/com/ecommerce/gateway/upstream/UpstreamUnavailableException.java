@@ -0,0 +1,24 @@
+package com.ecommerce.gateway.upstream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * The gateway could not get a connection to an upstream service in time.
+ */
+class UpstreamUnavailableException extends ResponseStatusException {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    UpstreamUnavailableException(String serviceId, Throwable cause) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "No connection to " + serviceId + " available", cause);
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        return headers;
+    }
+}
@@ -3,7 +3,7 @@ package com.ecommerce.gateway;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "security.jwt.gateway.identity-secret=testGatewayIdentitySecretThatIsAtLeast256BitsLongForHmacSha256")
 class GatewayApplicationTests {
 
 	@Test
@@ -0,0 +1,157 @@
+package com.ecommerce.gateway.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import com.ecommerce.gateway.ratelimit.TokenBucketRateLimiter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+class ResponseCacheGatewayFilterFactoryTest {
+
+    private static final String BODY = "{\"id\":1,\"name\":\"Lamp\"}";
+
+    private ResponseCacheGatewayFilterFactory.Config config;
+    private GatewayFilter filter;
+    private AtomicInteger upstreamCalls;
+
+    @BeforeEach
+    void setUp() {
+        ResponseCacheGatewayFilterFactory factory = new ResponseCacheGatewayFilterFactory(
+                new ResponseCache(new ResponseCacheProperties(), new SimpleMeterRegistry()));
+        config = new ResponseCacheGatewayFilterFactory.Config();
+        config.setTimeToLive(Duration.ofMinutes(1));
+        filter = factory.apply(config);
+        upstreamCalls = new AtomicInteger();
+    }
+
+    @Test
+    void filter_WhenSameGetRepeats_ShouldServeItFromTheCache() {
+        GatewayFilterChain upstream = upstream("public, max-age=60", Duration.ZERO);
+
+        MockServerWebExchange first = get("/api/products/products/1");
+        filter.filter(first, upstream).block();
+        MockServerWebExchange second = get("/api/products/products/1");
+        filter.filter(second, upstream).block();
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals("MISS", first.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_HEADER));
+        assertEquals("HIT", second.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_HEADER));
+        assertEquals(HttpStatus.OK, second.getResponse().getStatusCode());
+        assertEquals(BODY, second.getResponse().getBodyAsString().block());
+        assertEquals(first.getResponse().getHeaders().getETag(), second.getResponse().getHeaders().getETag());
+    }
+
+    @Test
+    void filter_WithMatchingIfNoneMatch_ShouldAnswerNotModified() {
+        GatewayFilterChain upstream = upstream("public, max-age=60", Duration.ZERO);
+        MockServerWebExchange first = get("/api/products/products/1");
+        filter.filter(first, upstream).block();
+        String etag = first.getResponse().getHeaders().getETag();
+        assertNotNull(etag);
+
+        MockServerWebExchange conditional = MockServerWebExchange.from(MockServerHttpRequest
+                .get("/api/products/products/1").header(HttpHeaders.IF_NONE_MATCH, "W/" + etag));
+        filter.filter(conditional, upstream).block();
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(HttpStatus.NOT_MODIFIED, conditional.getResponse().getStatusCode());
+        assertEquals(etag, conditional.getResponse().getHeaders().getETag());
+        assertEquals("", conditional.getResponse().getBodyAsString().defaultIfEmpty("").block());
+    }
+
+    @Test
+    void filter_WhenUpstreamSaysNoStore_ShouldForwardEveryRequest() {
+        GatewayFilterChain upstream = upstream("no-cache, no-store, max-age=0, must-revalidate", Duration.ZERO);
+
+        filter.filter(get("/api/products/products/1"), upstream).block();
+        MockServerWebExchange second = get("/api/products/products/1");
+        filter.filter(second, upstream).block();
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(BODY, second.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void filter_OnHit_ShouldNotReplayFirstRequestersRateLimitHeaders() {
+        GatewayFilterChain upstream = upstream("public, max-age=60", Duration.ZERO);
+        MockServerWebExchange first = get("/api/products/products/1");
+        first.getResponse().getHeaders().set(TokenBucketRateLimiter.LIMIT_HEADER, "100");
+        first.getResponse().getHeaders().set(TokenBucketRateLimiter.REMAINING_HEADER, "99");
+        filter.filter(first, upstream).block();
+
+        MockServerWebExchange second = get("/api/products/products/1");
+        filter.filter(second, upstream).block();
+        MockServerWebExchange third = get("/api/products/products/1");
+        third.getResponse().getHeaders().set(TokenBucketRateLimiter.REMAINING_HEADER, "4");
+        filter.filter(third, upstream).block();
+
+        assertEquals("HIT", second.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_HEADER));
+        assertNull(second.getResponse().getHeaders().getFirst(TokenBucketRateLimiter.LIMIT_HEADER));
+        assertNull(second.getResponse().getHeaders().getFirst(TokenBucketRateLimiter.REMAINING_HEADER));
+        assertEquals("4", third.getResponse().getHeaders().getFirst(TokenBucketRateLimiter.REMAINING_HEADER));
+        assertFalse(ResponseCacheGatewayFilterFactory.stored("X-RateLimit-Replenish-Rate"));
+        assertFalse(ResponseCacheGatewayFilterFactory.stored(HttpHeaders.DATE));
+    }
+
+    @Test
+    void filter_WhenMissesAreConcurrent_ShouldCallUpstreamOnce() {
+        GatewayFilterChain upstream = upstream("public, max-age=60", Duration.ofMillis(200));
+        MockServerWebExchange first = get("/api/products/products?limit=20");
+        MockServerWebExchange second = get("/api/products/products?limit=20");
+
+        Mono.when(filter.filter(first, upstream), filter.filter(second, upstream)).block();
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(BODY, first.getResponse().getBodyAsString().block());
+        assertEquals(BODY, second.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void freshness_ShouldCapUpstreamMaxAgeAtRouteTimeToLive() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl("public, max-age=3600");
+        assertEquals(Duration.ofMinutes(1),
+                ResponseCacheGatewayFilterFactory.freshness(HttpStatus.OK, headers, false, config));
+
+        headers.setCacheControl("public, max-age=10");
+        assertEquals(Duration.ofSeconds(10),
+                ResponseCacheGatewayFilterFactory.freshness(HttpStatus.OK, headers, false, config));
+
+        headers.setCacheControl("max-age=10");
+        assertNull(ResponseCacheGatewayFilterFactory.freshness(HttpStatus.OK, headers, true, config));
+        assertNull(ResponseCacheGatewayFilterFactory.freshness(HttpStatus.NOT_FOUND, headers, false, config));
+    }
+
+    private static MockServerWebExchange get(String uri) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(uri));
+    }
+
+    private GatewayFilterChain upstream(String cacheControl, Duration latency) {
+        return exchange -> Mono.delay(latency).then(Mono.defer(() -> {
+            upstreamCalls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setCacheControl(cacheControl);
+            byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        }));
+    }
+}
@@ -0,0 +1,122 @@
+package com.ecommerce.gateway.composition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+class ProductPageComposerTest {
+
+    private static final String PRODUCT = "{\"id\":7,\"name\":\"Lamp\",\"prices\":{\"USD\":19.99,\"EUR\":18.5}}";
+    private static final String STOCK = "{\"productId\":7,\"available\":3}";
+    private static final String CART = "{\"id\":\"c1\",\"items\":[{\"productId\":7,\"quantity\":2},"
+            + "{\"productId\":9,\"quantity\":1}],\"version\":4}";
+
+    private CompositionProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CompositionProperties();
+        // Room for a cold JVM's first request; only compose_WhenStockIsSlow times a leg out on purpose.
+        properties.setProductTimeout(Duration.ofSeconds(5));
+        properties.setStockTimeout(Duration.ofSeconds(5));
+        properties.setCartTimeout(Duration.ofSeconds(5));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void compose_ShouldMergeProductStockAndCart() {
+        ProductPageComposer composer = composer(Map.of("/products/7", PRODUCT, "/inventory/7", STOCK),
+                Map.of("/carts/c1", CART), Duration.ZERO);
+
+        ProductPage page = composer.compose(7, "c1", "eur", new HttpHeaders()).block();
+
+        assertEquals("Lamp", page.product().path("name").asText());
+        assertEquals(new ProductPage.Price("EUR", new BigDecimal("18.5")), page.price());
+        assertEquals(new ProductPage.Stock(3, true), page.stock());
+        assertEquals(new ProductPage.CartSummary("c1", 3, 2, 4), page.cart());
+        assertEquals(List.of(), page.unavailable());
+    }
+
+    @Test
+    void compose_WhenStockIsSlow_ShouldReturnPageWithoutIt() {
+        properties.setStockTimeout(Duration.ofMillis(100));
+        ProductPageComposer composer = composer(Map.of("/products/7", PRODUCT, "/inventory/7", STOCK),
+                Map.of(), Duration.ofMillis(300));
+
+        ProductPage page = composer.compose(7, null, null, new HttpHeaders()).block();
+
+        assertEquals(new ProductPage.Price("USD", new BigDecimal("19.99")), page.price());
+        assertNull(page.stock());
+        assertNull(page.cart());
+        assertEquals(List.of(ProductPageComposer.STOCK), page.unavailable());
+        assertEquals(1.0, meterRegistry.get("gateway.composition.calls").tag("leg", ProductPageComposer.STOCK)
+                .tag("outcome", "timeout").counter().count());
+    }
+
+    @Test
+    void compose_WhenCartFails_ShouldReturnPageWithoutIt() {
+        ProductPageComposer composer = composer(Map.of("/products/7", PRODUCT, "/inventory/7", STOCK),
+                Map.of(), Duration.ZERO);
+
+        ProductPage page = composer.compose(7, "c1", null, new HttpHeaders()).block();
+
+        assertEquals(new ProductPage.Stock(3, true), page.stock());
+        assertEquals(List.of(ProductPageComposer.CART), page.unavailable());
+    }
+
+    @Test
+    void compose_WhenProductIsMissing_ShouldFailWithNotFound() {
+        ProductPageComposer composer = composer(Map.of("/inventory/7", STOCK), Map.of(), Duration.ZERO);
+
+        ResponseStatusException error = assertThrows(ResponseStatusException.class,
+                () -> composer.compose(7, null, null, new HttpHeaders()).block());
+
+        assertEquals(HttpStatus.NOT_FOUND, error.getStatusCode());
+    }
+
+    /**
+     * Upstreams answering the given paths with the given bodies, and anything else with 404 (product-service)
+     * or 500 (order-service). Inventory answers after {@code stockLatency}.
+     */
+    private ProductPageComposer composer(Map<String, String> products, Map<String, String> orders,
+                                         Duration stockLatency) {
+        WebClient productService = WebClient.builder().exchangeFunction(request -> {
+            String path = request.url().getPath();
+            Duration latency = path.startsWith("/inventory") ? stockLatency : Duration.ZERO;
+            return Mono.delay(latency).then(Mono.just(respond(products.get(path), HttpStatus.NOT_FOUND)));
+        }).build();
+        WebClient orderService = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(respond(orders.get(request.url().getPath()),
+                        HttpStatus.INTERNAL_SERVER_ERROR)))
+                .build();
+        return new ProductPageComposer(productService, orderService, properties, meterRegistry);
+    }
+
+    private static ClientResponse respond(String body, HttpStatus otherwise) {
+        if (body == null) {
+            return ClientResponse.create(otherwise).build();
+        }
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build();
+    }
+}
@@ -0,0 +1,138 @@
+package com.ecommerce.gateway.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.ecommerce.common.security.JwtUtil;
+import com.ecommerce.common.security.RevocationList;
+import com.ecommerce.common.security.SecurityProperties;
+import com.ecommerce.common.security.TrustedIdentityHeaders;
+import com.ecommerce.common.security.VerifiedToken;
+import com.ecommerce.common.security.VerifiedTokenCache;
+
+import reactor.core.publisher.Mono;
+
+class JwtAuthenticationGlobalFilterTest {
+
+    private static final String IDENTITY_SECRET = "testGatewayIdentitySecretThatIsAtLeast256BitsLongForHmacSha256";
+
+    private JwtUtil jwtUtil;
+    private RevocationList revocationList;
+    private TrustedIdentityHeaders downstreamHeaders;
+    private JwtAuthenticationGlobalFilter filter;
+    private AtomicReference<ServerWebExchange> forwarded;
+    private GatewayFilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        SecurityProperties properties = new SecurityProperties();
+        properties.setExpiration(3600);
+        properties.getGateway().setIdentitySecret(IDENTITY_SECRET);
+        jwtUtil = new JwtUtil(properties);
+        revocationList = new RevocationList(properties);
+        filter = new JwtAuthenticationGlobalFilter(jwtUtil, VerifiedTokenCache.disabled(),
+                new TrustedIdentityHeaders(properties), revocationList);
+
+        SecurityProperties downstream = new SecurityProperties();
+        downstream.getGateway().setTrustHeaders(true);
+        downstream.getGateway().setIdentitySecret(IDENTITY_SECRET);
+        downstreamHeaders = new TrustedIdentityHeaders(downstream);
+
+        forwarded = new AtomicReference<>();
+        chain = exchange -> {
+            forwarded.set(exchange);
+            return Mono.empty();
+        };
+    }
+
+    @Test
+    void filter_WithValidToken_ShouldStripTokenAndForwardSignedIdentity() {
+        String token = jwtUtil.generateToken("testuser", java.util.Map.of("role", "USER"));
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/products/1")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+
+        filter.filter(exchange, chain).block();
+
+        HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+        assertNull(headers.getFirst(HttpHeaders.AUTHORIZATION));
+        assertEquals("testuser", headers.getFirst(TrustedIdentityHeaders.SUBJECT_HEADER));
+        VerifiedToken identity = downstreamHeaders.resolve(headers::getFirst).orElseThrow();
+        assertEquals("testuser", identity.subject());
+        assertEquals(java.util.List.of("USER"), identity.roles());
+        assertNotNull(exchange.getAttribute(JwtAuthenticationGlobalFilter.VERIFIED_TOKEN_ATTRIBUTE));
+    }
+
+    @Test
+    void filter_WithInvalidToken_ShouldForwardAnonymousRequest() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/products/1")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer invalid.jwt.token"));
+
+        filter.filter(exchange, chain).block();
+
+        HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+        assertNull(headers.getFirst(HttpHeaders.AUTHORIZATION));
+        assertNull(headers.getFirst(TrustedIdentityHeaders.SUBJECT_HEADER));
+        assertNull(exchange.getAttribute(JwtAuthenticationGlobalFilter.VERIFIED_TOKEN_ATTRIBUTE));
+    }
+
+    @Test
+    void filter_WithRevokedToken_ShouldForwardAnonymousRequest() {
+        String token = jwtUtil.generateToken("testuser");
+        VerifiedToken verified = jwtUtil.validateToken(token).orElseThrow();
+        revocationList.add(verified.tokenId(), verified.expiration());
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/products/1")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+
+        filter.filter(exchange, chain).block();
+
+        assertNull(forwarded.get().getRequest().getHeaders().getFirst(TrustedIdentityHeaders.SUBJECT_HEADER));
+        assertNull(exchange.getAttribute(JwtAuthenticationGlobalFilter.VERIFIED_TOKEN_ATTRIBUTE));
+    }
+
+    @Test
+    void filter_WithClientSuppliedIdentityHeaders_ShouldDropThem() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/products/1")
+                .header(TrustedIdentityHeaders.SUBJECT_HEADER, "admin")
+                .header(TrustedIdentityHeaders.ROLES_HEADER, "ADMIN")
+                .header(TrustedIdentityHeaders.SIGNATURE_HEADER, "forged"));
+
+        filter.filter(exchange, chain).block();
+
+        HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+        TrustedIdentityHeaders.HEADER_NAMES.forEach(name -> assertNull(headers.getFirst(name)));
+        assertTrue(downstreamHeaders.resolve(headers::getFirst).isEmpty());
+    }
+
+    @Test
+    void filter_OnRouteThatForwardsAuthorization_ShouldKeepToken() {
+        String token = jwtUtil.generateToken("testuser");
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/auth/logout")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id("auth-service")
+                .uri("lb://auth-service")
+                .predicate(ignored -> true)
+                .metadata(JwtAuthenticationGlobalFilter.FORWARD_AUTHORIZATION, "true")
+                .build());
+
+        filter.filter(exchange, chain).block();
+
+        HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+        assertEquals("Bearer " + token, headers.getFirst(HttpHeaders.AUTHORIZATION));
+        assertEquals("testuser", headers.getFirst(TrustedIdentityHeaders.SUBJECT_HEADER));
+    }
+}
@@ -0,0 +1,111 @@
+package com.ecommerce.gateway.loadbalancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+class PowerOfTwoChoicesLoadBalancerTest {
+
+    private final ServiceInstance first = instance("10.0.0.1");
+    private final ServiceInstance second = instance("10.0.0.2");
+    private final ServiceInstance third = instance("10.0.0.3");
+
+    private OutstandingRequests outstandingRequests;
+
+    @BeforeEach
+    void setUp() {
+        outstandingRequests = new OutstandingRequests();
+    }
+
+    @Test
+    void choose_WhenOneInstanceIsBusy_ShouldNeverPickIt() {
+        PowerOfTwoChoicesLoadBalancer balancer = balancer(List.of(first, second, third));
+        for (int i = 0; i < 5; i++) {
+            outstandingRequests.acquire(second);
+        }
+
+        Set<ServiceInstance> chosen = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            chosen.add(balancer.choose(List.of(first, second, third)));
+        }
+
+        assertEquals(Set.of(first, third), chosen);
+    }
+
+    @Test
+    void choose_WhenLoadIsEven_ShouldSpreadAcrossInstances() {
+        PowerOfTwoChoicesLoadBalancer balancer = balancer(List.of(first, second, third));
+
+        Set<ServiceInstance> chosen = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            chosen.add(balancer.choose(List.of(first, second, third)));
+        }
+
+        assertEquals(3, chosen.size());
+    }
+
+    @Test
+    void choose_WhenNoInstanceIsHealthy_ShouldReturnEmptyResponse() {
+        Response<ServiceInstance> response = balancer(List.of()).choose(new DefaultRequest<>()).block();
+
+        assertFalse(response.hasServer());
+    }
+
+    @Test
+    void filter_ShouldCountRequestUntilItEndsEvenIfCancelled() {
+        OutstandingRequestsFilter filter = new OutstandingRequestsFilter(outstandingRequests);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/products/1"));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR,
+                new DefaultResponse(first));
+        Sinks.Empty<Void> upstream = Sinks.empty();
+        GatewayFilterChain chain = forwarded -> upstream.asMono();
+
+        Disposable subscription = filter.filter(exchange, chain).subscribe();
+        assertEquals(1, outstandingRequests.count(first));
+        subscription.dispose();
+
+        assertEquals(0, outstandingRequests.count(first));
+    }
+
+    private PowerOfTwoChoicesLoadBalancer balancer(List<ServiceInstance> instances) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("supplier", new ServiceInstanceListSupplier() {
+            @Override
+            public String getServiceId() {
+                return "product-service";
+            }
+
+            @Override
+            public Flux<List<ServiceInstance>> get() {
+                return Flux.just(instances);
+            }
+        });
+        return new PowerOfTwoChoicesLoadBalancer(beanFactory.getBeanProvider(ServiceInstanceListSupplier.class),
+                outstandingRequests, "product-service");
+    }
+
+    private static ServiceInstance instance(String host) {
+        return new DefaultServiceInstance(host, "product-service", host, 8081, false);
+    }
+}
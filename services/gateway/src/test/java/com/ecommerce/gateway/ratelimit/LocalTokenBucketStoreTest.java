@@ -0,0 +1,93 @@
+package com.ecommerce.gateway.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class LocalTokenBucketStoreTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+    private final LocalTokenBucketStore store = new LocalTokenBucketStore(new RateLimitProperties(), now::get);
+
+    @Test
+    void tryConsume_WhenBurstIsSpent_ShouldRefuseWithTimeUntilNextToken() {
+        Quota quota = new Quota(10, 3, 1);
+
+        assertEquals(2, store.tryConsume("alice", quota).remaining());
+        assertEquals(1, store.tryConsume("alice", quota).remaining());
+        assertEquals(0, store.tryConsume("alice", quota).remaining());
+        TokenBucketStore.Decision refused = store.tryConsume("alice", quota);
+
+        assertFalse(refused.allowed());
+        assertEquals(0, refused.remaining());
+        assertEquals(Duration.ofMillis(100), refused.retryAfter());
+        assertTrue(store.tryConsume("bob", quota).allowed());
+    }
+
+    @Test
+    void tryConsume_AfterWaiting_ShouldRefillAtReplenishRateUpToBurst() {
+        Quota quota = new Quota(10, 3, 1);
+        for (int i = 0; i < 3; i++) {
+            store.tryConsume("alice", quota);
+        }
+
+        now.addAndGet(Duration.ofMillis(200).toNanos());
+        assertEquals(1, store.tryConsume("alice", quota).remaining());
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertEquals(2, store.tryConsume("alice", quota).remaining());
+    }
+
+    @Test
+    void tryConsume_WithRequestedTokens_ShouldChargeEachRequestThatMany() {
+        Quota quota = new Quota(1, 10, 4);
+
+        assertTrue(store.tryConsume("alice", quota).allowed());
+        assertTrue(store.tryConsume("alice", quota).allowed());
+        TokenBucketStore.Decision refused = store.tryConsume("alice", quota);
+
+        assertFalse(refused.allowed());
+        assertEquals(2, refused.remaining());
+        assertEquals(Duration.ofSeconds(2), refused.retryAfter());
+    }
+
+    @Test
+    void tryConsume_FromManyThreads_ShouldAdmitExactlyTheBurst() throws Exception {
+        Quota quota = new Quota(1, 100, 1);
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 8; i++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < 50; j++) {
+                        if (store.tryConsume("alice", quota).allowed()) {
+                            admitted.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        }
+
+        assertEquals(100, admitted.get());
+    }
+
+    @Test
+    void share_ShouldSplitRateAndBurstAcrossInstances() {
+        Quota quota = new Quota(50, 100, 1);
+
+        assertEquals(new Quota(25, 50, 1), quota.share(2));
+        assertEquals(new Quota(1, 1, 1), quota.share(200));
+    }
+}
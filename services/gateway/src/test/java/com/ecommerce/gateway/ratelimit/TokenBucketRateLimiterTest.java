@@ -0,0 +1,90 @@
+package com.ecommerce.gateway.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.InetSocketAddress;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TokenBucketRateLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TokenBucketRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new TokenBucketRateLimiter(new LocalTokenBucketStore(properties), properties, null,
+                meterRegistry);
+        TokenBucketRateLimiter.Config config = new TokenBucketRateLimiter.Config();
+        config.setReplenishRate(1);
+        config.setBurstCapacity(2);
+        limiter.getConfig().put("product-service", config);
+    }
+
+    @Test
+    void isAllowed_WhenBucketIsEmpty_ShouldRefuseWithRetryAfterAndCountIt() {
+        limiter.isAllowed("product-service", "ip:10.0.0.1").block();
+        RateLimiter.Response second = limiter.isAllowed("product-service", "ip:10.0.0.1").block();
+        RateLimiter.Response third = limiter.isAllowed("product-service", "ip:10.0.0.1").block();
+
+        assertTrue(second.isAllowed());
+        assertEquals("0", second.getHeaders().get(TokenBucketRateLimiter.REMAINING_HEADER));
+        assertNull(second.getHeaders().get(HttpHeaders.RETRY_AFTER));
+        assertFalse(third.isAllowed());
+        assertEquals("2", third.getHeaders().get(TokenBucketRateLimiter.LIMIT_HEADER));
+        assertEquals("1", third.getHeaders().get(HttpHeaders.RETRY_AFTER));
+        assertEquals(2, meterRegistry.get("gateway.ratelimit.requests")
+                .tags("route", "product-service", "outcome", "allowed").counter().count());
+        assertEquals(1, meterRegistry.get("gateway.ratelimit.requests")
+                .tags("route", "product-service", "outcome", "rejected").counter().count());
+    }
+
+    @Test
+    void isAllowed_ForDifferentRoutes_ShouldKeepSeparateBuckets() {
+        limiter.isAllowed("product-service", "ip:10.0.0.1").block();
+        limiter.isAllowed("product-service", "ip:10.0.0.1").block();
+
+        assertTrue(limiter.isAllowed("order-service", "ip:10.0.0.1").block().isAllowed());
+    }
+
+    @Test
+    void resolve_ForAnonymousRequest_ShouldPreferApiKeyOverAddress() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setApiKeys(Set.of("partner-1"));
+        ClientKeyResolver resolver = new ClientKeyResolver(properties);
+        MockServerWebExchange withKey = MockServerWebExchange.from(MockServerHttpRequest.get("/api/products/1")
+                .remoteAddress(new InetSocketAddress("10.0.0.1", 5000))
+                .header("X-API-Key", "partner-1"));
+        MockServerWebExchange anonymous = MockServerWebExchange.from(MockServerHttpRequest.get("/api/products/1")
+                .remoteAddress(new InetSocketAddress("10.0.0.1", 5000))
+                .header("X-Forwarded-For", "203.0.113.9"));
+
+        assertEquals("key:partner-1", resolver.resolve(withKey).block());
+        assertEquals("ip:10.0.0.1", resolver.resolve(anonymous).block());
+    }
+
+    @Test
+    void resolve_WithUnknownApiKey_ShouldFallBackToAddress() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setApiKeys(Set.of("partner-1"));
+        ClientKeyResolver resolver = new ClientKeyResolver(properties);
+        MockServerWebExchange withUnknownKey = MockServerWebExchange.from(MockServerHttpRequest.get("/api/products/1")
+                .remoteAddress(new InetSocketAddress("10.0.0.1", 5000))
+                .header("X-API-Key", "made-up-" + System.nanoTime()));
+
+        assertEquals("ip:10.0.0.1", resolver.resolve(withUnknownKey).block());
+    }
+}
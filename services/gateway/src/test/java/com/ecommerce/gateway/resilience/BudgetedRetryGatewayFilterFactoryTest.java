@@ -0,0 +1,115 @@
+package com.ecommerce.gateway.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.RetryGatewayFilterFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+
+class BudgetedRetryGatewayFilterFactoryTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BudgetedRetryGatewayFilterFactory factory;
+    private BudgetedRetryGatewayFilterFactory.Config config;
+    private AtomicInteger attempts;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        factory = new BudgetedRetryGatewayFilterFactory(new RetryGatewayFilterFactory(), meterRegistry);
+        config = new BudgetedRetryGatewayFilterFactory.Config();
+        config.setRouteId("order-service");
+        config.setRetries(2);
+        config.setFirstBackoff(Duration.ofMillis(1));
+        config.setMaxBackoff(Duration.ofMillis(1));
+        attempts = new AtomicInteger();
+    }
+
+    @Test
+    void filter_WhenUpstreamIsUnavailable_ShouldRetryIdempotentRequest() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/orders/orders"));
+
+        factory.apply(config).filter(exchange, respondUntilSuccess(HttpStatus.SERVICE_UNAVAILABLE, 2)).block();
+
+        assertEquals(3, attempts.get());
+        assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+        assertEquals(2.0, retries("retried"));
+    }
+
+    @Test
+    void filter_WithPostWithoutIdempotencyKey_ShouldNotRetryAnUpstreamError() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/orders/orders"));
+
+        factory.apply(config).filter(exchange, respondUntilSuccess(HttpStatus.BAD_GATEWAY, 2)).block();
+
+        assertEquals(1, attempts.get());
+        assertEquals(HttpStatus.BAD_GATEWAY, exchange.getResponse().getStatusCode());
+    }
+
+    @Test
+    void filter_WithPostWithoutIdempotencyKey_ShouldRetryRefusedConnection() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/orders/orders"));
+        GatewayFilterChain refusedOnce = ignored -> Mono.defer(() -> attempts.incrementAndGet() == 1
+                ? Mono.error(new ConnectException("Connection refused"))
+                : Mono.empty());
+
+        factory.apply(config).filter(exchange, refusedOnce).block();
+
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void filter_WhenBudgetIsSpent_ShouldStopRetrying() {
+        config.setBudgetRatio(0);
+        config.setMinRetriesPerSecond(0);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/orders/orders"));
+        GatewayFilterChain failing = ignored -> Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(new ConnectException("Connection refused"));
+        });
+
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> factory.apply(config).filter(exchange, failing).block());
+        assertInstanceOf(ConnectException.class, Exceptions.unwrap(error));
+
+        assertEquals(1, attempts.get());
+        assertEquals(1.0, retries("budget_exhausted"));
+    }
+
+    @Test
+    void replayable_ShouldAcceptIdempotentMethodsAndKeyedPosts() {
+        assertTrue(BudgetedRetryGatewayFilterFactory.replayable(MockServerHttpRequest.put("/carts/1").build()));
+        assertFalse(BudgetedRetryGatewayFilterFactory.replayable(MockServerHttpRequest.post("/payments").build()));
+        assertTrue(BudgetedRetryGatewayFilterFactory.replayable(MockServerHttpRequest.post("/payments")
+                .header(BudgetedRetryGatewayFilterFactory.IDEMPOTENCY_KEY_HEADER, "order-42").build()));
+    }
+
+    private GatewayFilterChain respondUntilSuccess(HttpStatus failure, int failures) {
+        // The gateway's chain defers each attempt, so a retry re-runs it on resubscription.
+        return exchange -> Mono.defer(() -> {
+            exchange.getResponse().setStatusCode(attempts.incrementAndGet() > failures ? HttpStatus.OK : failure);
+            return Mono.empty();
+        });
+    }
+
+    private double retries(String outcome) {
+        return meterRegistry.get("gateway.retries").tag("outcome", outcome).counter().count();
+    }
+}
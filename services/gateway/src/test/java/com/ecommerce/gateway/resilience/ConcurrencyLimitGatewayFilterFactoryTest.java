@@ -0,0 +1,75 @@
+package com.ecommerce.gateway.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class ConcurrencyLimitGatewayFilterFactoryTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private GatewayFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ConcurrencyLimitGatewayFilterFactory.Config config = new ConcurrencyLimitGatewayFilterFactory.Config();
+        config.setRouteId("payment-service");
+        config.setMaxConcurrent(2);
+        filter = new ConcurrencyLimitGatewayFilterFactory(meterRegistry).apply(config);
+    }
+
+    @Test
+    void filter_WhenRouteIsFull_ShouldRefuseWithServiceUnavailable() {
+        Sinks.Empty<Void> upstream = Sinks.empty();
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        GatewayFilterChain slow = exchange -> {
+            upstreamCalls.incrementAndGet();
+            return upstream.asMono();
+        };
+
+        filter.filter(exchange(), slow).subscribe();
+        filter.filter(exchange(), slow).subscribe();
+        MockServerWebExchange refused = exchange();
+        filter.filter(refused, slow).block();
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, refused.getResponse().getStatusCode());
+        assertEquals("1", refused.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(1.0, meterRegistry.get("gateway.route.rejected").counter().count());
+        assertEquals(2.0, meterRegistry.get("gateway.route.concurrency").gauge().value());
+
+        upstream.tryEmitEmpty();
+        assertEquals(0.0, meterRegistry.get("gateway.route.concurrency").gauge().value());
+    }
+
+    @Test
+    void filter_WhenRequestIsCancelled_ShouldReleaseItsPermit() {
+        GatewayFilterChain hanging = exchange -> Mono.never();
+
+        filter.filter(exchange(), hanging).subscribe().dispose();
+        filter.filter(exchange(), hanging).subscribe().dispose();
+        MockServerWebExchange admitted = exchange();
+        filter.filter(admitted, exchange -> Mono.empty()).block();
+
+        assertNull(admitted.getResponse().getStatusCode());
+        assertEquals(0.0, meterRegistry.get("gateway.route.concurrency").gauge().value());
+    }
+
+    private static MockServerWebExchange exchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.post("/api/payments/payments"));
+    }
+}
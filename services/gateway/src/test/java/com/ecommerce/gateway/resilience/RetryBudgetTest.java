@@ -0,0 +1,63 @@
+package com.ecommerce.gateway.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class RetryBudgetTest {
+
+    private final AtomicLong now = new AtomicLong(Duration.ofSeconds(1_000).toNanos());
+
+    @Test
+    void tryAcquireRetry_ShouldAllowRetriesUpToRatioOfRequests() {
+        RetryBudget budget = new RetryBudget(0.1, 0, Duration.ofSeconds(10), now::get);
+        for (int i = 0; i < 100; i++) {
+            budget.onRequest();
+        }
+
+        assertEquals(10, acquireAll(budget));
+    }
+
+    @Test
+    void tryAcquireRetry_OnQuietRoute_ShouldAllowMinimumRetries() {
+        RetryBudget budget = new RetryBudget(0.1, 1, Duration.ofSeconds(5), now::get);
+        budget.onRequest();
+
+        assertEquals(5, acquireAll(budget));
+    }
+
+    @Test
+    void tryAcquireRetry_AfterWindowPasses_ShouldForgetOldTraffic() {
+        RetryBudget budget = new RetryBudget(0.5, 0, Duration.ofSeconds(10), now::get);
+        for (int i = 0; i < 10; i++) {
+            budget.onRequest();
+        }
+        assertEquals(5, acquireAll(budget));
+
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+        budget.onRequest();
+        budget.onRequest();
+        assertEquals(1, acquireAll(budget));
+
+        // The first ten requests and their five retries have left the window; two requests and one retry remain.
+        now.addAndGet(Duration.ofSeconds(6).toNanos());
+        assertFalse(budget.tryAcquireRetry());
+        budget.onRequest();
+        budget.onRequest();
+        assertTrue(budget.tryAcquireRetry());
+        assertFalse(budget.tryAcquireRetry());
+    }
+
+    private static int acquireAll(RetryBudget budget) {
+        int granted = 0;
+        while (budget.tryAcquireRetry()) {
+            granted++;
+        }
+        return granted;
+    }
+}
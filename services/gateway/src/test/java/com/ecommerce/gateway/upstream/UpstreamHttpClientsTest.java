@@ -0,0 +1,83 @@
+package com.ecommerce.gateway.upstream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+
+class UpstreamHttpClientsTest {
+
+    private DisposableServer server;
+    private UpstreamProperties properties;
+    private UpstreamHttpClients clients;
+
+    @BeforeEach
+    void setUp() {
+        server = HttpServer.create()
+                .port(0)
+                .protocol(HttpProtocol.HTTP11, HttpProtocol.H2C)
+                .handle((request, response) -> response.sendString(Mono.just(request.protocol())))
+                .bindNow();
+        properties = new UpstreamProperties();
+        clients = new UpstreamHttpClients(properties, new HttpClientProperties(),
+                new StaticListableBeanFactory().getBeanProvider(HttpClientCustomizer.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        clients.destroy();
+        server.disposeNow();
+    }
+
+    @Test
+    void pool_ShouldTakeUnsetServiceSettingsFromDefaults() {
+        UpstreamProperties.Pool payment = new UpstreamProperties.Pool();
+        payment.setMaxConnections(50);
+        properties.setServices(Map.of("payment-service", payment));
+
+        UpstreamProperties.Pool effective = properties.pool("payment-service");
+
+        assertEquals(50, effective.getMaxConnections());
+        assertEquals(Duration.ofSeconds(1), effective.getPendingAcquireTimeout());
+        assertEquals(UpstreamProperties.Protocol.HTTP11, effective.getProtocol());
+        assertEquals(200, properties.pool("order-service").getMaxConnections());
+    }
+
+    @Test
+    void get_ShouldKeepOneClientPerService() {
+        assertSame(clients.get("order-service"), clients.get("order-service"));
+    }
+
+    @Test
+    void get_WithH2c_ShouldTalkHttp2ToTheUpstream() {
+        UpstreamProperties.Pool product = new UpstreamProperties.Pool();
+        product.setProtocol(UpstreamProperties.Protocol.H2C);
+        properties.setServices(Map.of("product-service", product));
+
+        assertEquals("HTTP/2.0", get("product-service"));
+        assertEquals("HTTP/1.1", get("order-service"));
+    }
+
+    private String get(String serviceId) {
+        return clients.get(serviceId)
+                .get()
+                .uri("http://localhost:" + server.port() + "/")
+                .responseContent()
+                .aggregate()
+                .asString()
+                .block(Duration.ofSeconds(5));
+    }
+}
@@ -0,0 +1,98 @@
+package com.ecommerce.gateway.upstream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+class UpstreamRoutingFilterTest {
+
+    private DisposableServer server;
+    private UpstreamProperties properties;
+    private UpstreamHttpClients clients;
+
+    @BeforeEach
+    void setUp() {
+        server = HttpServer.create()
+                .port(0)
+                .handle((request, response) -> response.sendString(
+                        Mono.just("late").delayElement(Duration.ofSeconds(2))))
+                .bindNow();
+        properties = new UpstreamProperties();
+        clients = new UpstreamHttpClients(properties, new HttpClientProperties(),
+                new StaticListableBeanFactory().getBeanProvider(HttpClientCustomizer.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        clients.destroy();
+        server.disposeNow();
+    }
+
+    @Test
+    void isPoolExhausted_WhenAcquireTimesOut_ShouldBeTrue() {
+        UpstreamProperties.Pool pool = new UpstreamProperties.Pool();
+        pool.setMaxConnections(1);
+        pool.setPendingAcquireTimeout(Duration.ofMillis(50));
+        properties.setServices(Map.of("order-service", pool));
+
+        Throwable error = refusedWhileBusy("order-service", 1);
+
+        assertTrue(UpstreamRoutingFilter.isPoolExhausted(error), error.toString());
+        assertTrue(UpstreamRoutingFilter.isPoolExhausted(
+                new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, error.getMessage(), error)));
+    }
+
+    @Test
+    void isPoolExhausted_WhenTooManyRequestsWait_ShouldBeTrue() {
+        UpstreamProperties.Pool pool = new UpstreamProperties.Pool();
+        pool.setMaxConnections(1);
+        pool.setPendingAcquireMaxCount(1);
+        properties.setServices(Map.of("order-service", pool));
+
+        Throwable error = refusedWhileBusy("order-service", 2);
+
+        assertTrue(UpstreamRoutingFilter.isPoolExhausted(error), error.toString());
+    }
+
+    @Test
+    void isPoolExhausted_OtherTimeouts_ShouldBeFalse() {
+        assertFalse(UpstreamRoutingFilter.isPoolExhausted(new TimeoutException("Response took longer than timeout")));
+        assertFalse(UpstreamRoutingFilter.isPoolExhausted(new IllegalStateException()));
+    }
+
+    /**
+     * Starts {@code inFlight} requests the upstream answers late, then returns how one more request failed.
+     */
+    private Throwable refusedWhileBusy(String serviceId, int inFlight) {
+        for (int i = 0; i < inFlight; i++) {
+            request(serviceId).subscribe(body -> { }, error -> { });
+        }
+        return assertThrows(Throwable.class, () -> request(serviceId).block(Duration.ofSeconds(5)));
+    }
+
+    private Mono<String> request(String serviceId) {
+        return clients.get(serviceId)
+                .get()
+                .uri("http://localhost:" + server.port() + "/")
+                .responseContent()
+                .aggregate()
+                .asString();
+    }
+}
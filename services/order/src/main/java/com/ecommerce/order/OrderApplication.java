@@ -2,8 +2,10 @@ package com.ecommerce.order;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
-@SpringBootApplication
+@ConfigurationPropertiesScan
+@SpringBootApplication(scanBasePackages = {"com.ecommerce.order", "com.ecommerce.common.exception"})
 public class OrderApplication {
 
 	public static void main(String[] args) {
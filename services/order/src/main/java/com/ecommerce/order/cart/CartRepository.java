@@ -0,0 +1,101 @@
+package com.ecommerce.order.cart;
+
+import com.ecommerce.order.dto.Cart;
+import com.ecommerce.order.dto.CartItem;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reads and writes cart snapshots, with the items of a cart stored as one JSON array.
+ */
+@Repository
+public class CartRepository {
+
+    private static final TypeReference<List<CartItem>> ITEMS = new TypeReference<>() {
+    };
+
+    // Compare-and-set: a stored cart is only replaced if it is still at the version the snapshot was based on.
+    private static final String UPSERT = """
+            INSERT INTO carts (id, items, version) VALUES (?, ?::jsonb, ?)
+            ON CONFLICT (id) DO UPDATE SET items = EXCLUDED.items, version = EXCLUDED.version, updated_at = now()
+            WHERE carts.version = ?
+            """;
+
+    /**
+     * A cart to store, and the version of the stored cart it was derived from ({@code 0} if none was stored).
+     */
+    public record Snapshot(Cart cart, long baseVersion) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public CartRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public Optional<Cart> find(String id) {
+        return jdbcTemplate.query("SELECT items, version FROM carts WHERE id = ?",
+                (rs, rowNum) -> new Cart(id, readItems(rs.getString("items")), rs.getLong("version")), id)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * @return the version of the stored cart, or {@code 0} if none is stored
+     */
+    public long findVersion(String id) {
+        return jdbcTemplate.query("SELECT version FROM carts WHERE id = ?", (rs, rowNum) -> rs.getLong(1), id)
+                .stream()
+                .findFirst()
+                .orElse(0L);
+    }
+
+    /**
+     * Upserts the snapshots in one JDBC batch. A snapshot whose stored cart has moved past its base version,
+     * because another instance wrote it in the meantime, is not written.
+     *
+     * @return the ids of the carts that were not written for that reason
+     */
+    public List<String> saveAll(List<Snapshot> snapshots) {
+        int[] updated = jdbcTemplate.batchUpdate(UPSERT, snapshots, snapshots.size(), (ps, snapshot) -> {
+            Cart cart = snapshot.cart();
+            ps.setString(1, cart.id());
+            ps.setString(2, writeItems(cart.items()));
+            ps.setLong(3, cart.version());
+            ps.setLong(4, snapshot.baseVersion());
+        })[0];
+        List<String> conflicts = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                conflicts.add(snapshots.get(i).cart().id());
+            }
+        }
+        return conflicts;
+    }
+
+    private List<CartItem> readItems(String json) {
+        try {
+            return objectMapper.readValue(json, ITEMS);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String writeItems(List<CartItem> items) {
+        try {
+            return objectMapper.writeValueAsString(items);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
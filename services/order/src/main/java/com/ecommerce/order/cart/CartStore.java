@@ -0,0 +1,280 @@
+package com.ecommerce.order.cart;
+
+import com.ecommerce.common.exception.ConflictException;
+import com.ecommerce.order.dto.Cart;
+import com.ecommerce.order.dto.CartItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Holds active carts in memory and writes them behind to Postgres.
+ * <p>
+ * The memory copy serves reads and writes while a cart is loaded. Carts live in a {@link ConcurrentHashMap},
+ * which locks per hash bin, so unrelated carts never contend; changes to one cart are serialised on that cart's
+ * entry, so each cart has a single writer at a time and a mutation never waits on a write.
+ * <p>
+ * A mutation only marks its cart dirty. A background thread periodically takes a snapshot of each dirty cart
+ * and upserts up to {@code flushBatchSize} of them in one JDBC batch, so a burst of clicks on one cart costs a
+ * single write. A cart missing from memory is loaded from its last snapshot on first use, and a cart idle for
+ * {@code idleTimeout} is dropped once its latest version has been written.
+ * <p>
+ * Requests for one cart are not pinned to one instance, so two instances can hold the same cart. Every request
+ * therefore reads the stored version, a primary-key lookup, before using the memory copy. If another instance
+ * has stored a newer cart, an unchanged copy is reloaded; a copy with changes not yet written cannot be
+ * written any more, so it is dropped and the request fails with {@link ConflictException} rather than serving
+ * or building on it. Each write is also a compare-and-set against the stored version the copy was based on:
+ * if another instance stored a cart in between, the write is refused and the next request for the cart gets
+ * the same conflict, so a client is never left believing changes that were lost are in its cart.
+ */
+@Component
+public class CartStore implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(CartStore.class);
+
+    private static final class Entry {
+
+        private final String id;
+        private final LinkedHashMap<Long, Integer> items = new LinkedHashMap<>();
+        private long version;
+        private long flushedVersion;
+        private long lastAccess;
+        private boolean evicted;
+        /**
+         * A write of this copy was refused because another instance stored the cart first.
+         */
+        private boolean conflicted;
+
+        private Entry(Cart stored) {
+            this.id = stored.id();
+            stored.items().forEach(item -> items.put(item.productId(), item.quantity()));
+            this.version = stored.version();
+            this.flushedVersion = stored.version();
+        }
+
+        private Cart snapshot() {
+            List<CartItem> snapshot = new ArrayList<>(items.size());
+            items.forEach((productId, quantity) -> snapshot.add(new CartItem(productId, quantity)));
+            return new Cart(id, List.copyOf(snapshot), version);
+        }
+    }
+
+    private final Map<String, Entry> carts = new ConcurrentHashMap<>();
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+    private final CartRepository repository;
+    private final CartProperties properties;
+    private final LongSupplier ticker;
+
+    private volatile boolean running;
+    private ScheduledExecutorService executor;
+
+    @Autowired
+    public CartStore(CartRepository repository, CartProperties properties) {
+        this(repository, properties, System::nanoTime);
+    }
+
+    CartStore(CartRepository repository, CartProperties properties, LongSupplier ticker) {
+        this.repository = repository;
+        this.properties = properties;
+        this.ticker = ticker;
+    }
+
+    /**
+     * @throws ConflictException if another instance stored the cart while this one held changes to it that
+     *                           are not written yet; those changes are discarded
+     */
+    public Cart get(String id) {
+        return withEntry(id, Entry::snapshot);
+    }
+
+    /**
+     * Applies {@code mutation} to the cart's items, keyed by product id. The mutation runs while holding the
+     * cart, so it must not block, and it must validate before changing anything: a mutation that throws is not
+     * rolled back.
+     *
+     * @return the cart after the mutation
+     * @throws ConflictException if another instance stored the cart while this one held changes to it that
+     *                           are not written yet; those changes are discarded and {@code mutation} is not
+     *                           applied
+     */
+    public Cart update(String id, Consumer<Map<Long, Integer>> mutation) {
+        Cart cart = withEntry(id, entry -> {
+            mutation.accept(entry.items);
+            entry.version++;
+            return entry.snapshot();
+        });
+        dirty.add(id);
+        return cart;
+    }
+
+    public int size() {
+        return carts.size();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        executor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("cart-write-behind").factory());
+        long flushMillis = properties.getFlushInterval().toMillis();
+        long evictMillis = Math.max(1000, properties.getIdleTimeout().toMillis() / 4);
+        executor.scheduleWithFixedDelay(this::flushQuietly, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(this::evictIdle, evictMillis, evictMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        executor.shutdown();
+        try {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Write whatever is still dirty before the memory copy goes away.
+        while (!dirty.isEmpty()) {
+            if (flush() == 0) {
+                logger.warn("{} carts could not be written before shutdown", dirty.size());
+                return;
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Writes one batch of dirty carts.
+     *
+     * @return the number of carts written, counting those refused because another instance changed them
+     */
+    int flush() {
+        List<CartRepository.Snapshot> batch = new ArrayList<>();
+        List<Entry> entries = new ArrayList<>();
+        Iterator<String> ids = dirty.iterator();
+        while (ids.hasNext() && batch.size() < properties.getFlushBatchSize()) {
+            String id = ids.next();
+            // Removed before the snapshot is taken, so a change made after it marks the cart dirty again.
+            ids.remove();
+            Entry entry = carts.get(id);
+            if (entry != null) {
+                synchronized (entry) {
+                    batch.add(new CartRepository.Snapshot(entry.snapshot(), entry.flushedVersion));
+                }
+                entries.add(entry);
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> conflicts;
+        try {
+            conflicts = Set.copyOf(repository.saveAll(batch));
+        } catch (RuntimeException e) {
+            logger.warn("Failed to write {} carts, will retry: {}", batch.size(), e.getMessage());
+            batch.forEach(snapshot -> dirty.add(snapshot.cart().id()));
+            return 0;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            Entry entry = entries.get(i);
+            synchronized (entry) {
+                if (conflicts.contains(entry.id)) {
+                    // Another instance stored a newer version. Keep the copy so the next request for the cart
+                    // reports the conflict instead of silently serving the stored one.
+                    entry.conflicted = true;
+                } else {
+                    entry.flushedVersion = Math.max(entry.flushedVersion, batch.get(i).cart().version());
+                }
+            }
+        }
+        if (!conflicts.isEmpty()) {
+            logger.warn("{} carts were changed by another instance; their local changes were not written",
+                    conflicts.size());
+        }
+        return batch.size();
+    }
+
+    /**
+     * Drops carts that have been idle for {@code idleTimeout} and whose latest version is already stored, or can
+     * never be because another instance stored the cart first.
+     */
+    void evictIdle() {
+        long idleNanos = properties.getIdleTimeout().toNanos();
+        long now = ticker.getAsLong();
+        for (Entry entry : carts.values()) {
+            synchronized (entry) {
+                if (now - entry.lastAccess >= idleNanos
+                        && (entry.version == entry.flushedVersion || entry.conflicted)) {
+                    entry.evicted = true;
+                    carts.remove(entry.id, entry);
+                }
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            int written;
+            do {
+                written = flush();
+            } while (written == properties.getFlushBatchSize());
+        } catch (RuntimeException e) {
+            logger.warn("Cart write-behind failed: {}", e.getMessage());
+        }
+    }
+
+    private <T> T withEntry(String id, Function<Entry, T> action) {
+        while (true) {
+            Entry entry = carts.get(id);
+            long storedVersion;
+            if (entry == null) {
+                // Loaded outside any lock; if two requests miss at once, the first to publish wins.
+                Entry loaded = new Entry(repository.find(id).orElseGet(() -> new Cart(id, List.of(), 0)));
+                entry = carts.putIfAbsent(id, loaded);
+                storedVersion = entry == null ? loaded.flushedVersion : repository.findVersion(id);
+                if (entry == null) {
+                    entry = loaded;
+                }
+            } else {
+                // Read before taking the cart, so no request waits on I/O while holding it.
+                storedVersion = repository.findVersion(id);
+            }
+            synchronized (entry) {
+                // An entry evicted after we looked it up is stale; the next lookup reloads the stored snapshot.
+                if (entry.evicted) {
+                    continue;
+                }
+                if (entry.conflicted || storedVersion > entry.flushedVersion) {
+                    entry.evicted = true;
+                    carts.remove(id, entry);
+                    if (entry.conflicted || entry.version != entry.flushedVersion) {
+                        throw new ConflictException("Cart " + id
+                                + " was changed by another request; reload it and apply the change again");
+                    }
+                    continue;
+                }
+                entry.lastAccess = ticker.getAsLong();
+                return action.apply(entry);
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.ecommerce.order.checkout;
+
+import com.ecommerce.order.dto.CheckoutStatus;
+import com.ecommerce.order.service.CheckoutService;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Streams checkout progress as server-sent events. The saga may be running on any pod, so each stream polls
+ * the stored status on a shared timer rather than holding a request thread, sends it whenever it changes, and
+ * completes once checkout has finished.
+ */
+@Component
+public class CheckoutEventStream implements DisposableBean {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(500);
+    private static final Duration STREAM_TIMEOUT = Duration.ofMinutes(5);
+
+    private final CheckoutService checkoutService;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("checkout-events").factory());
+
+    public CheckoutEventStream(CheckoutService checkoutService) {
+        this.checkoutService = checkoutService;
+    }
+
+    public SseEmitter open(UUID orderId) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT.toMillis());
+        AtomicReference<CheckoutStatus> last = new AtomicReference<>();
+        AtomicReference<ScheduledFuture<?>> task = new AtomicReference<>();
+        Runnable stop = () -> {
+            ScheduledFuture<?> scheduled = task.get();
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+        };
+        emitter.onCompletion(stop);
+        emitter.onTimeout(stop);
+        emitter.onError(error -> stop.run());
+
+        task.set(scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                Optional<CheckoutStatus> status = checkoutService.getStatus(orderId);
+                if (status.isEmpty()) {
+                    emitter.completeWithError(new IllegalArgumentException("No checkout for order " + orderId));
+                    return;
+                }
+                if (!status.get().equals(last.getAndSet(status.get()))) {
+                    emitter.send(SseEmitter.event().name("status").data(status.get()));
+                }
+                if (status.get().isFinished()) {
+                    emitter.complete();
+                }
+            } catch (IOException | RuntimeException e) {
+                emitter.completeWithError(e);
+            }
+        }, 0, POLL_INTERVAL.toMillis(), TimeUnit.MILLISECONDS));
+        return emitter;
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,201 @@
+package com.ecommerce.order.checkout;
+
+import com.ecommerce.order.dto.OrderStatusChanged;
+import com.ecommerce.order.entity.OrderStatus;
+import com.ecommerce.order.outbox.OutboxRepository;
+import com.ecommerce.order.repository.OrderRepository;
+import com.ecommerce.order.saga.SagaContext;
+import com.ecommerce.order.saga.SagaDefinition;
+import com.ecommerce.order.saga.SagaProperties;
+import com.ecommerce.order.saga.SagaStep;
+import com.ecommerce.order.service.OrderService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Checkout for a placed order, across product-service and payment-service.
+ * <ol>
+ *     <li>Reserve stock for every line and authorise the payment, concurrently. If either fails, whichever
+ *     succeeded is undone: reservations are released and the authorisation is voided, and the order is
+ *     cancelled.</li>
+ *     <li>Confirm the reservations and capture the payment, concurrently. Both sides already hold what they
+ *     need, so these are retried until they succeed rather than compensated.</li>
+ * </ol>
+ * The order is confirmed in the transaction that completes the saga, and an {@code OrderConfirmed} or
+ * {@code OrderCancelled} event goes out through the outbox.
+ */
+@Component
+public class CheckoutSaga implements SagaDefinition {
+
+    public static final String TYPE = "checkout";
+
+    static final String RESERVE_STOCK = "reserve-stock";
+    static final String AUTHORIZE_PAYMENT = "authorize-payment";
+    static final String CONFIRM_STOCK = "confirm-stock";
+    static final String CAPTURE_PAYMENT = "capture-payment";
+
+    private final DownstreamClient client;
+    private final OrderRepository orderRepository;
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final URI productService;
+    private final URI paymentService;
+    private final List<List<SagaStep>> phases;
+
+    public CheckoutSaga(DownstreamClient client, OrderRepository orderRepository, OutboxRepository outboxRepository,
+                        ObjectMapper objectMapper, SagaProperties properties) {
+        this.client = client;
+        this.orderRepository = orderRepository;
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+        this.productService = properties.getProductServiceUrl();
+        this.paymentService = properties.getPaymentServiceUrl();
+        this.phases = List.of(
+                List.of(
+                        new SagaStep(RESERVE_STOCK, properties.getStepTimeout(), properties.getMaxAttempts(),
+                                this::reserveStock, this::releaseStock),
+                        new SagaStep(AUTHORIZE_PAYMENT, properties.getStepTimeout(), properties.getMaxAttempts(),
+                                this::authorizePayment, this::voidPayment)),
+                List.of(
+                        new SagaStep(CONFIRM_STOCK, properties.getStepTimeout(), Integer.MAX_VALUE,
+                                this::confirmStock, null),
+                        new SagaStep(CAPTURE_PAYMENT, properties.getStepTimeout(), Integer.MAX_VALUE,
+                                this::capturePayment, null)));
+    }
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public List<List<SagaStep>> phases() {
+        return phases;
+    }
+
+    @Override
+    public int compensablePhases() {
+        return 1;
+    }
+
+    @Override
+    public void onCompleted(SagaContext context) {
+        changeStatus(context.orderId(), OrderStatus.CONFIRMED, "OrderConfirmed", null);
+    }
+
+    @Override
+    public void onCancelled(SagaContext context, String reason) {
+        changeStatus(context.orderId(), OrderStatus.CANCELLED, "OrderCancelled", reason);
+    }
+
+    /**
+     * Reserves every line; if one cannot be reserved, releases the lines reserved so far before failing, so a
+     * failed attempt leaves nothing behind to compensate. A release that fails here is left to the
+     * reservation's expiry. Each line is reserved under its own idempotency key, so a line whose response was
+     * lost gets the reservation it already made when the step is retried, instead of a second one.
+     */
+    private JsonNode reserveStock(SagaContext context) throws Exception {
+        List<String> reservations = new ArrayList<>();
+        try {
+            int line = 0;
+            for (JsonNode item : context.input().path("items")) {
+                JsonNode reservation = client.post(productService, "/inventory/reservations", Map.of(
+                        "productId", item.path("productId").asLong(),
+                        "quantity", item.path("quantity").asInt()),
+                        context.idempotencyKey(RESERVE_STOCK + "-" + line++));
+                reservations.add(reservation.path("id").asText());
+            }
+        } catch (Exception e) {
+            for (String reservation : reservations) {
+                try {
+                    releaseReservation(reservation);
+                } catch (Exception releaseFailure) {
+                    e.addSuppressed(releaseFailure);
+                }
+            }
+            throw e;
+        }
+        ObjectNode output = objectMapper.createObjectNode();
+        ArrayNode ids = output.putArray("reservations");
+        reservations.forEach(ids::add);
+        return output;
+    }
+
+    private void releaseStock(SagaContext context, JsonNode output) throws Exception {
+        for (JsonNode reservation : output.path("reservations")) {
+            releaseReservation(reservation.asText());
+        }
+    }
+
+    /**
+     * Confirms every reservation, including on a retry after only some were confirmed or a response was lost:
+     * product-service answers a repeated confirm of a confirmed reservation with success.
+     */
+    private JsonNode confirmStock(SagaContext context) throws Exception {
+        for (JsonNode reservation : context.output(RESERVE_STOCK).path("reservations")) {
+            client.post(productService, "/inventory/reservations/" + reservation.asText() + "/confirm", null,
+                    null);
+        }
+        return null;
+    }
+
+    private JsonNode authorizePayment(SagaContext context) throws Exception {
+        JsonNode input = context.input();
+        JsonNode authorization = client.post(paymentService, "/payments/authorizations", Map.of(
+                "orderId", context.orderId(),
+                "amount", input.path("total").decimalValue(),
+                "currency", input.path("currency").asText()), context.idempotencyKey(AUTHORIZE_PAYMENT));
+        return objectMapper.createObjectNode().put("authorizationId", authorization.path("id").asText());
+    }
+
+    private void voidPayment(SagaContext context, JsonNode output) throws Exception {
+        String authorization = output.path("authorizationId").asText();
+        try {
+            client.post(paymentService, "/payments/authorizations/" + authorization + "/void", null,
+                    context.idempotencyKey(AUTHORIZE_PAYMENT + "-void"));
+        } catch (DownstreamException e) {
+            if (!alreadyClosed(e)) {
+                throw e;
+            }
+        }
+    }
+
+    private JsonNode capturePayment(SagaContext context) throws Exception {
+        String authorization = context.output(AUTHORIZE_PAYMENT).path("authorizationId").asText();
+        client.post(paymentService, "/payments/authorizations/" + authorization + "/capture", null,
+                context.idempotencyKey(CAPTURE_PAYMENT));
+        return null;
+    }
+
+    private void releaseReservation(String reservation) throws Exception {
+        try {
+            client.delete(productService, "/inventory/reservations/" + reservation);
+        } catch (DownstreamException e) {
+            if (!alreadyClosed(e)) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * A reservation or authorisation that is gone or no longer open needs no undoing.
+     */
+    private static boolean alreadyClosed(DownstreamException e) {
+        return e.getStatus() == 404 || e.getStatus() == 409;
+    }
+
+    private void changeStatus(UUID orderId, OrderStatus status, String eventType, String reason) {
+        orderRepository.findById(orderId).ifPresent(order -> order.setStatus(status));
+        outboxRepository.append(OrderService.AGGREGATE_TYPE, orderId.toString(), eventType,
+                new OrderStatusChanged(orderId, status.name(), reason));
+    }
+}
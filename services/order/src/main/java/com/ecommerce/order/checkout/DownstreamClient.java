@@ -0,0 +1,76 @@
+package com.ecommerce.order.checkout;
+
+import com.ecommerce.order.saga.SagaProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Blocking JSON calls to product-service and payment-service for saga steps, which run on virtual threads, and
+ * for the catalog prices an order is placed at.
+ */
+@Component
+public class DownstreamClient {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+
+    public DownstreamClient(ObjectMapper objectMapper, SagaProperties properties) {
+        this.objectMapper = objectMapper;
+        this.timeout = properties.getStepTimeout();
+        this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+    }
+
+    /**
+     * @return the response body, or {@code null} if there is none
+     * @throws DownstreamException if the response is not 2xx
+     */
+    public JsonNode post(URI base, String path, Object body, String idempotencyKey)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(base.resolve(path))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        if (idempotencyKey != null) {
+            request.header("Idempotency-Key", idempotencyKey);
+        }
+        return send(request.build());
+    }
+
+    /**
+     * @return the response body, or {@code null} if there is none
+     * @throws DownstreamException if the response is not 2xx
+     */
+    public JsonNode get(URI base, String path) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(base.resolve(path))
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build());
+    }
+
+    public JsonNode delete(URI base, String path) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(base.resolve(path)).timeout(timeout).DELETE().build());
+    }
+
+    private JsonNode send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() / 100 != 2) {
+            throw new DownstreamException(request.method() + " " + request.uri().getPath() + " returned HTTP "
+                    + response.statusCode(), response.statusCode(),
+                    response.headers().firstValue("Retry-After").isPresent());
+        }
+        return response.body().length == 0 ? null : objectMapper.readTree(response.body());
+    }
+}
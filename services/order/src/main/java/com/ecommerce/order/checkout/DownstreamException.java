@@ -0,0 +1,28 @@
+package com.ecommerce.order.checkout;
+
+import com.ecommerce.order.saga.SagaStepException;
+
+/**
+ * A non-2xx response from another service. Client errors are permanent, except timeouts, rate limiting and any
+ * response carrying {@code Retry-After}, such as a 409 for a request whose idempotency key is still in progress.
+ */
+public class DownstreamException extends SagaStepException {
+
+    private final int status;
+
+    public DownstreamException(String message, int status) {
+        this(message, status, false);
+    }
+
+    /**
+     * @param retryAfter whether the response asked to be retried later
+     */
+    public DownstreamException(String message, int status, boolean retryAfter) {
+        super(message, !retryAfter && status >= 400 && status < 500 && status != 408 && status != 429);
+        this.status = status;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+}
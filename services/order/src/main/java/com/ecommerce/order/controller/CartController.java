@@ -0,0 +1,54 @@
+package com.ecommerce.order.controller;
+
+import com.ecommerce.order.dto.AddCartItemRequest;
+import com.ecommerce.order.dto.Cart;
+import com.ecommerce.order.dto.UpdateCartItemRequest;
+import com.ecommerce.order.service.CartService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class CartController {
+
+    private final CartService cartService;
+
+    public CartController(CartService cartService) {
+        this.cartService = cartService;
+    }
+
+    @GetMapping("/carts/{cartId}")
+    public Cart getCart(@PathVariable String cartId) {
+        return cartService.getCart(cartId);
+    }
+
+    @PostMapping("/carts/{cartId}/items")
+    public Cart addItem(@PathVariable String cartId, @RequestBody AddCartItemRequest request) {
+        if (request == null) {
+            throw new IllegalArgumentException("productId and quantity are required");
+        }
+        return cartService.addItem(cartId, request.productId(), request.quantity());
+    }
+
+    @PutMapping("/carts/{cartId}/items/{productId}")
+    public Cart setItem(@PathVariable String cartId, @PathVariable Long productId,
+                        @RequestBody UpdateCartItemRequest request) {
+        return cartService.setItem(cartId, productId, request == null ? null : request.quantity());
+    }
+
+    @DeleteMapping("/carts/{cartId}/items/{productId}")
+    public Cart removeItem(@PathVariable String cartId, @PathVariable Long productId) {
+        return cartService.removeItem(cartId, productId);
+    }
+
+    @DeleteMapping("/carts/{cartId}")
+    public ResponseEntity<Void> clear(@PathVariable String cartId) {
+        cartService.clear(cartId);
+        return ResponseEntity.noContent().build();
+    }
+}
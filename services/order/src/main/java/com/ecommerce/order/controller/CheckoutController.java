@@ -0,0 +1,47 @@
+package com.ecommerce.order.controller;
+
+import com.ecommerce.order.checkout.CheckoutEventStream;
+import com.ecommerce.order.dto.CheckoutStatus;
+import com.ecommerce.order.service.CheckoutService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.net.URI;
+import java.util.UUID;
+
+@RestController
+public class CheckoutController {
+
+    private final CheckoutService checkoutService;
+    private final CheckoutEventStream eventStream;
+
+    public CheckoutController(CheckoutService checkoutService, CheckoutEventStream eventStream) {
+        this.checkoutService = checkoutService;
+        this.eventStream = eventStream;
+    }
+
+    /**
+     * Starts checkout and returns straight away; follow progress at the returned location or its
+     * {@code /events} stream.
+     */
+    @PostMapping("/orders/{id}/checkout")
+    public ResponseEntity<CheckoutStatus> startCheckout(@PathVariable UUID id) {
+        CheckoutStatus status = checkoutService.start(id);
+        return ResponseEntity.accepted().location(URI.create("/orders/" + id + "/checkout")).body(status);
+    }
+
+    @GetMapping("/orders/{id}/checkout")
+    public ResponseEntity<CheckoutStatus> getCheckout(@PathVariable UUID id) {
+        return ResponseEntity.of(checkoutService.getStatus(id));
+    }
+
+    @GetMapping(path = "/orders/{id}/checkout/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCheckout(@PathVariable UUID id) {
+        return eventStream.open(id);
+    }
+}
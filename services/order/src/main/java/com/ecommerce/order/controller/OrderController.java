@@ -1,14 +1,69 @@
 package com.ecommerce.order.controller;
 
+import com.ecommerce.common.util.ExportSlots;
+import com.ecommerce.order.dto.OrderDetail;
+import com.ecommerce.order.dto.PlaceOrderRequest;
+import com.ecommerce.order.service.OrderExportService;
+import com.ecommerce.order.service.OrderService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.security.Principal;
+import java.util.UUID;
+
 @RestController
 public class OrderController {
 
+    private final OrderService orderService;
+    private final OrderExportService exportService;
+
+    public OrderController(OrderService orderService, OrderExportService exportService) {
+        this.orderService = orderService;
+        this.exportService = exportService;
+    }
+
     @GetMapping("/hello")
     public String hello() {
         return "Order service is running!";
     }
 
+    @PostMapping("/orders")
+    public ResponseEntity<OrderDetail> placeOrder(@RequestBody PlaceOrderRequest request, Principal principal) {
+        OrderDetail order = orderService.placeOrder(customerId(principal), request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(order);
+    }
+
+    /**
+     * Streams the signed-in customer's whole order history as NDJSON. Each order is written as it is read from
+     * the database.
+     */
+    @GetMapping("/orders/export")
+    public void exportOrders(Principal principal, HttpServletResponse response) throws IOException {
+        OrderExportService.Query query = exportService.query(customerId(principal));
+        try (ExportSlots.Slot ignored = exportService.acquireSlot()) {
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            exportService.export(query, response.getOutputStream());
+        }
+    }
+
+    @GetMapping("/orders/{id}")
+    public ResponseEntity<OrderDetail> getOrder(@PathVariable UUID id) {
+        return ResponseEntity.of(orderService.getOrder(id));
+    }
+
+    private static String customerId(Principal principal) {
+        if (principal == null) {
+            throw new BadCredentialsException("Authentication required");
+        }
+        return principal.getName();
+    }
 }
@@ -0,0 +1,9 @@
+package com.ecommerce.order.dto;
+
+import java.util.List;
+
+/**
+ * @param version incremented by every change to the cart; the stored snapshot carries the version it was taken at
+ */
+public record Cart(String id, List<CartItem> items, long version) {
+}
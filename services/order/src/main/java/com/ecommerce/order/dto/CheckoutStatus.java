@@ -0,0 +1,14 @@
+package com.ecommerce.order.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * @param status RUNNING or COMPENSATING while checkout is in progress, then COMPLETED, CANCELLED or FAILED
+ */
+public record CheckoutStatus(UUID orderId, UUID sagaId, String status, String error, List<CheckoutStep> steps) {
+
+    public boolean isFinished() {
+        return !"RUNNING".equals(status) && !"COMPENSATING".equals(status);
+    }
+}
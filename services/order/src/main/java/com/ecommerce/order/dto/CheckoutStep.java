@@ -0,0 +1,4 @@
+package com.ecommerce.order.dto;
+
+public record CheckoutStep(String name, String status, int attempts, String error) {
+}
@@ -0,0 +1,31 @@
+package com.ecommerce.order.dto;
+
+import com.ecommerce.order.entity.Order;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public record OrderDetail(
+        UUID id,
+        String customerId,
+        String status,
+        String currency,
+        BigDecimal total,
+        List<OrderLine> items,
+        Instant createdAt) {
+
+    public static OrderDetail from(Order order) {
+        return new OrderDetail(
+                order.getId(),
+                order.getCustomerId(),
+                order.getStatus().name(),
+                order.getCurrency(),
+                order.getTotal(),
+                order.getItems().stream()
+                        .map(item -> new OrderLine(item.getProductId(), item.getQuantity(), item.getUnitPrice()))
+                        .toList(),
+                order.getCreatedAt());
+    }
+}
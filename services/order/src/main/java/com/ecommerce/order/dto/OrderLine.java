@@ -0,0 +1,6 @@
+package com.ecommerce.order.dto;
+
+import java.math.BigDecimal;
+
+public record OrderLine(Long productId, Integer quantity, BigDecimal unitPrice) {
+}
@@ -0,0 +1,7 @@
+package com.ecommerce.order.dto;
+
+/**
+ * A line of an order being placed. There is no price: each line is priced from the catalog.
+ */
+public record OrderLineRequest(Long productId, Integer quantity) {
+}
@@ -0,0 +1,9 @@
+package com.ecommerce.order.dto;
+
+import java.util.UUID;
+
+/**
+ * Outbox payload for an order that was confirmed or cancelled by checkout.
+ */
+public record OrderStatusChanged(UUID orderId, String status, String reason) {
+}
@@ -0,0 +1,11 @@
+package com.ecommerce.order.dto;
+
+import java.util.List;
+
+/**
+ * The order is placed for the signed-in customer, so the request names no customer.
+ *
+ * @param cartId optional cart to empty once the order is placed
+ */
+public record PlaceOrderRequest(String currency, List<OrderLineRequest> items, String cartId) {
+}
@@ -0,0 +1,4 @@
+package com.ecommerce.order.dto;
+
+public record UpdateCartItemRequest(Integer quantity) {
+}
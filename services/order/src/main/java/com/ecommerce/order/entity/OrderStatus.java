@@ -0,0 +1,7 @@
+package com.ecommerce.order.entity;
+
+public enum OrderStatus {
+    PLACED,
+    CONFIRMED,
+    CANCELLED
+}
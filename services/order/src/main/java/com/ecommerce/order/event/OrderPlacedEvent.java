@@ -0,0 +1,11 @@
+package com.ecommerce.order.event;
+
+import java.util.UUID;
+
+/**
+ * Published in-process when an order is placed; other services learn about it through the outbox.
+ *
+ * @param cartId the cart the order was placed from, or {@code null}
+ */
+public record OrderPlacedEvent(UUID orderId, String cartId) {
+}
@@ -0,0 +1,8 @@
+package com.ecommerce.order.event;
+
+/**
+ * Published when an event is written to the outbox, so the relay can pick it up as soon as the writing
+ * transaction commits instead of at its next poll.
+ */
+public record OutboxAppendedEvent() {
+}
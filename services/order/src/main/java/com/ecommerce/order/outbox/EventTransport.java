@@ -0,0 +1,16 @@
+package com.ecommerce.order.outbox;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Delivers outbox events to subscribers. The relay sends a whole batch before waiting on any of it, so
+ * implementations should not block the caller.
+ */
+public interface EventTransport {
+
+    /**
+     * @return completes once every subscriber has accepted the event, or exceptionally if any has not; the
+     * event is then redelivered to all of them
+     */
+    CompletableFuture<Void> send(OutboxEvent event);
+}
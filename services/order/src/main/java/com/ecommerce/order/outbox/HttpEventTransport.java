@@ -0,0 +1,77 @@
+package com.ecommerce.order.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+/**
+ * Posts each event as JSON to every configured subscriber. Requests are sent asynchronously over a shared
+ * client, so a batch is in flight at once rather than one round trip after another. Each request carries an
+ * {@code Idempotency-Key} derived from the event id, so a subscriber can drop redeliveries.
+ */
+@Component
+@ConditionalOnProperty(name = "order.outbox.transport", havingValue = "http", matchIfMissing = true)
+public class HttpEventTransport implements EventTransport {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpEventTransport.class);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final List<URI> subscribers;
+    private final Duration timeout;
+
+    public HttpEventTransport(ObjectMapper objectMapper, OutboxProperties properties) {
+        this.objectMapper = objectMapper;
+        this.subscribers = List.copyOf(properties.getSubscribers());
+        this.timeout = properties.getDeliveryTimeout();
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        if (subscribers.isEmpty()) {
+            logger.info("No order event subscribers configured; outbox events will be discarded once relayed");
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> send(OutboxEvent event) {
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return CompletableFuture.allOf(subscribers.stream()
+                .map(subscriber -> post(subscriber, event, body))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    private CompletableFuture<Void> post(URI subscriber, OutboxEvent event, String body) {
+        HttpRequest request = HttpRequest.newBuilder(subscriber)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .header("Idempotency-Key", "order-event-" + event.id())
+                .header("X-Event-Type", event.eventType())
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .thenAccept(response -> {
+                    if (response.statusCode() / 100 != 2) {
+                        throw new IllegalStateException(
+                                "HTTP " + response.statusCode() + " from " + subscriber);
+                    }
+                });
+    }
+}
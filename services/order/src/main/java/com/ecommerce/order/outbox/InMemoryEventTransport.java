@@ -0,0 +1,34 @@
+package com.ecommerce.order.outbox;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Hands events to listeners in the same process, for tests and local runs without the other services.
+ * A listener that throws fails the delivery, which the relay then retries like any other.
+ */
+@Component
+@ConditionalOnProperty(name = "order.outbox.transport", havingValue = "in-memory")
+public class InMemoryEventTransport implements EventTransport {
+
+    private final List<Consumer<OutboxEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    public void subscribe(Consumer<OutboxEvent> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public CompletableFuture<Void> send(OutboxEvent event) {
+        try {
+            listeners.forEach(listener -> listener.accept(event));
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.order.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.Instant;
+
+/**
+ * An event read from the outbox. Serialised as is when delivered, with {@code payload} embedded as JSON.
+ *
+ * @param id       unique and increasing per event; subscribers deduplicate redeliveries by it
+ * @param attempts how many deliveries have failed so far
+ */
+public record OutboxEvent(
+        long id,
+        String aggregateType,
+        String aggregateId,
+        String eventType,
+        @JsonRawValue String payload,
+        Instant createdAt,
+        int attempts) {
+}
@@ -0,0 +1,80 @@
+package com.ecommerce.order.outbox;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "order.outbox")
+public class OutboxProperties {
+
+    private boolean enabled = true;
+    private int batchSize = 100;
+    private Duration pollInterval = Duration.ofMillis(500);
+    private Duration deliveryTimeout = Duration.ofSeconds(10);
+    private Duration maxBackoff = Duration.ofMinutes(5);
+
+    /**
+     * {@code http} posts events to {@link #subscribers}; {@code in-memory} hands them to in-process listeners.
+     */
+    private String transport = "http";
+    private List<URI> subscribers = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public Duration getDeliveryTimeout() {
+        return deliveryTimeout;
+    }
+
+    public void setDeliveryTimeout(Duration deliveryTimeout) {
+        this.deliveryTimeout = deliveryTimeout;
+    }
+
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    public void setMaxBackoff(Duration maxBackoff) {
+        this.maxBackoff = maxBackoff;
+    }
+
+    public String getTransport() {
+        return transport;
+    }
+
+    public void setTransport(String transport) {
+        this.transport = transport;
+    }
+
+    public List<URI> getSubscribers() {
+        return subscribers;
+    }
+
+    public void setSubscribers(List<URI> subscribers) {
+        this.subscribers = subscribers;
+    }
+}
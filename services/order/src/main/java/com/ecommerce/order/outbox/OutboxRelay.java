@@ -0,0 +1,185 @@
+package com.ecommerce.order.outbox;
+
+import com.ecommerce.order.event.OutboxAppendedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Delivers outbox events with at-least-once semantics.
+ * <p>
+ * Each round claims a batch of due events with {@code FOR UPDATE SKIP LOCKED}, so any number of order-service
+ * instances can relay side by side without delivering the same event concurrently. The whole batch is handed
+ * to the {@link EventTransport} before waiting on any of it; delivered events are then deleted and failed ones
+ * rescheduled with jittered exponential backoff, in the transaction that claimed them. If the instance dies
+ * mid-batch the locks are released and the events are delivered again, so subscribers must deduplicate by
+ * event id. Events of one order are not guaranteed to arrive in order once a delivery has been retried.
+ * <p>
+ * The relay polls every {@code pollInterval}, and is woken straight away when a transaction that appended
+ * an event commits.
+ */
+@Component
+@ConditionalOnProperty(name = "order.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final Duration BASE_BACKOFF = Duration.ofSeconds(1);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxRepository repository;
+    private final EventTransport transport;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties properties;
+    private final Semaphore wakeUp = new Semaphore(0);
+
+    private volatile boolean running;
+    private Thread relay;
+
+    public OutboxRelay(OutboxRepository repository, EventTransport transport,
+                       PlatformTransactionManager transactionManager, OutboxProperties properties) {
+        this.repository = repository;
+        this.transport = transport;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOutboxAppended(OutboxAppendedEvent event) {
+        wakeUp.release();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        relay = Thread.ofPlatform().name("outbox-relay").start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (relay != null) {
+            relay.interrupt();
+            try {
+                relay.join(properties.getDeliveryTimeout().toMillis() + 1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            int claimed = 0;
+            try {
+                claimed = relayBatch();
+            } catch (RuntimeException e) {
+                logger.warn("Outbox relay round failed: {}", e.getMessage());
+            }
+            if (claimed < properties.getBatchSize()) {
+                try {
+                    wakeUp.tryAcquire(properties.getPollInterval().toMillis(), TimeUnit.MILLISECONDS);
+                    wakeUp.drainPermits();
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Claims, delivers and settles one batch.
+     *
+     * @return the number of events claimed
+     */
+    int relayBatch() {
+        Integer claimed = transactionTemplate.execute(status -> {
+            List<OutboxEvent> events = repository.lockBatch(properties.getBatchSize());
+            if (events.isEmpty()) {
+                return 0;
+            }
+            List<CompletableFuture<Void>> deliveries = new ArrayList<>(events.size());
+            for (OutboxEvent event : events) {
+                deliveries.add(sendSafely(event));
+            }
+
+            long deadline = System.nanoTime() + properties.getDeliveryTimeout().toNanos();
+            List<Long> delivered = new ArrayList<>(events.size());
+            List<OutboxRepository.Failure> failed = new ArrayList<>();
+            for (int i = 0; i < events.size(); i++) {
+                OutboxEvent event = events.get(i);
+                String error = await(deliveries.get(i), deadline);
+                if (error == null) {
+                    delivered.add(event.id());
+                } else {
+                    failed.add(new OutboxRepository.Failure(event.id(), backoff(event.attempts(),
+                            properties.getMaxBackoff()), truncate(error)));
+                }
+            }
+            repository.delete(delivered);
+            repository.reschedule(failed);
+            if (!failed.isEmpty()) {
+                logger.warn("{} of {} outbox events could not be delivered and will be retried",
+                        failed.size(), events.size());
+            }
+            return events.size();
+        });
+        return claimed == null ? 0 : claimed;
+    }
+
+    /**
+     * Exponential backoff from one second, capped at {@code max}, with the upper half jittered so that events
+     * which failed together are not all retried together.
+     */
+    static Duration backoff(int attempts, Duration max) {
+        long ceiling = Math.min(max.toMillis(), BASE_BACKOFF.toMillis() << Math.min(attempts, 20));
+        long half = ceiling / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half + 1));
+    }
+
+    private CompletableFuture<Void> sendSafely(OutboxEvent event) {
+        try {
+            return transport.send(event);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static String await(CompletableFuture<Void> delivery, long deadline) {
+        try {
+            delivery.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return null;
+        } catch (ExecutionException e) {
+            return String.valueOf(e.getCause().getMessage());
+        } catch (TimeoutException e) {
+            delivery.cancel(true);
+            return "Delivery timed out";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "Relay interrupted";
+        }
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,110 @@
+package com.ecommerce.order.outbox;
+
+import com.ecommerce.order.event.OutboxAppendedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.List;
+
+@Repository
+public class OutboxRepository {
+
+    /**
+     * A delivery that failed, to be retried after {@code delay}.
+     */
+    public record Failure(long id, Duration delay, String error) {
+    }
+
+    private static final RowMapper<OutboxEvent> EVENT_MAPPER = (rs, rowNum) -> new OutboxEvent(
+            rs.getLong("id"),
+            rs.getString("aggregate_type"),
+            rs.getString("aggregate_id"),
+            rs.getString("event_type"),
+            rs.getString("payload"),
+            rs.getTimestamp("created_at").toInstant(),
+            rs.getInt("attempts"));
+
+    private static final String LOCK_BATCH = """
+            SELECT id, aggregate_type, aggregate_id, event_type, payload::text AS payload, created_at, attempts
+            FROM outbox
+            WHERE available_at <= now()
+            ORDER BY id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+    private static final String RESCHEDULE = """
+            UPDATE outbox
+            SET attempts = attempts + 1, available_at = now() + ? * interval '1 millisecond', last_error = ?
+            WHERE id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public OutboxRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                            ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Writes an event in the caller's transaction, so it is published if and only if that transaction commits.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String aggregateType, String aggregateId, String eventType, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        jdbcTemplate.update("""
+                INSERT INTO outbox (aggregate_type, aggregate_id, event_type, payload) VALUES (?, ?, ?, ?::jsonb)
+                """, aggregateType, aggregateId, eventType, json);
+        eventPublisher.publishEvent(new OutboxAppendedEvent());
+    }
+
+    /**
+     * Claims up to {@code limit} due events, oldest first. The rows stay locked until the calling transaction
+     * ends and other relays skip them, so each event has one relay delivering it at a time.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<OutboxEvent> lockBatch(int limit) {
+        return jdbcTemplate.query(LOCK_BATCH, EVENT_MAPPER, limit);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void delete(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement("DELETE FROM outbox WHERE id = ANY (?)");
+            statement.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+            return statement;
+        });
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reschedule(List<Failure> failures) {
+        if (failures.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(RESCHEDULE, failures, failures.size(), (ps, failure) -> {
+            ps.setLong(1, failure.delay().toMillis());
+            ps.setString(2, failure.error());
+            ps.setLong(3, failure.id());
+        });
+    }
+}
@@ -0,0 +1,24 @@
+package com.ecommerce.order.saga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * What a step sees when it runs: the saga's input and the outputs of the steps that have succeeded so far.
+ */
+public record SagaContext(UUID sagaId, UUID orderId, JsonNode input, Map<String, JsonNode> outputs) {
+
+    public JsonNode output(String step) {
+        return outputs.get(step);
+    }
+
+    /**
+     * A key that is stable across retries and resumptions of one step, for downstream services to deduplicate
+     * repeated calls by.
+     */
+    public String idempotencyKey(String step) {
+        return "saga-" + sagaId + "-" + step;
+    }
+}
@@ -0,0 +1,29 @@
+package com.ecommerce.order.saga;
+
+import java.util.List;
+
+/**
+ * The shape of one kind of saga: phases run in order, and the steps within a phase run concurrently.
+ */
+public interface SagaDefinition {
+
+    String type();
+
+    List<List<SagaStep>> phases();
+
+    /**
+     * The number of leading phases whose failure is compensated. Once they have all succeeded the saga has
+     * passed its point of no return, and later phases are retried until they succeed.
+     */
+    int compensablePhases();
+
+    /**
+     * Runs in the transaction that marks the saga {@link SagaStatus#COMPLETED}.
+     */
+    void onCompleted(SagaContext context);
+
+    /**
+     * Runs in the transaction that marks the saga {@link SagaStatus#CANCELLED}.
+     */
+    void onCancelled(SagaContext context, String reason);
+}
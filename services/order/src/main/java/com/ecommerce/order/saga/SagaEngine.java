@@ -0,0 +1,408 @@
+package com.ecommerce.order.saga;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Drives sagas to completion from their durable state.
+ * <p>
+ * A poller leases due sagas from Postgres with {@code FOR UPDATE SKIP LOCKED}, up to {@code maxConcurrent} at
+ * a time, and runs each on a virtual thread. Running a saga executes its current phase, with the phase's steps
+ * in parallel and each bounded by its own timeout, and records every step's outcome before moving on. A phase
+ * with transient failures is retried later with jittered exponential backoff; only the failed steps run again.
+ * A permanent failure in a compensable phase compensates every successful step, newest phase first.
+ * <p>
+ * Because progress is stored step by step and a saga is only worked on under a lease, a saga whose pod dies
+ * is resumed by another pod once the lease lapses, from the first step that had not been recorded as done.
+ */
+@Component
+@ConditionalOnProperty(name = "order.saga.enabled", havingValue = "true", matchIfMissing = true)
+public class SagaEngine implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(SagaEngine.class);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private sealed interface Outcome {
+        record Succeeded() implements Outcome {
+        }
+
+        record Retry(Duration delay) implements Outcome {
+        }
+
+        record Failed(String error) implements Outcome {
+        }
+    }
+
+    private final SagaRepository repository;
+    private final Map<String, SagaDefinition> definitions;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final SagaProperties properties;
+    private final String owner = UUID.randomUUID().toString();
+    private final Semaphore slots;
+    private final Semaphore wakeUp = new Semaphore(0);
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private volatile boolean running;
+    private Thread poller;
+
+    public SagaEngine(SagaRepository repository, List<SagaDefinition> definitions, ObjectMapper objectMapper,
+                      PlatformTransactionManager transactionManager, SagaProperties properties) {
+        this.repository = repository;
+        this.definitions = definitions.stream()
+                .collect(Collectors.toMap(SagaDefinition::type, Function.identity()));
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.slots = new Semaphore(properties.getMaxConcurrent());
+    }
+
+    /**
+     * Polls for due sagas straight away instead of at the next interval, e.g. after one has been created.
+     */
+    public void wakeUp() {
+        wakeUp.release();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        poller = Thread.ofPlatform().name("saga-engine").start(this::poll);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (poller != null) {
+            poller.interrupt();
+        }
+        // Sagas still running here keep their lease until it lapses and are then resumed elsewhere.
+        executor.shutdown();
+        try {
+            executor.awaitTermination(properties.getStepTimeout().toMillis() + 1000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void poll() {
+        while (running) {
+            List<SagaInstance> claimed = List.of();
+            int free = slots.availablePermits();
+            if (free > 0) {
+                try {
+                    claimed = repository.claim(owner, properties.getLease(), free);
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to claim sagas: {}", e.getMessage());
+                }
+            }
+            for (SagaInstance saga : claimed) {
+                slots.acquireUninterruptibly();
+                executor.execute(() -> {
+                    try {
+                        execute(saga);
+                    } finally {
+                        slots.release();
+                        wakeUp.release();
+                    }
+                });
+            }
+            if (claimed.isEmpty()) {
+                try {
+                    wakeUp.tryAcquire(properties.getPollInterval().toMillis(), TimeUnit.MILLISECONDS);
+                    wakeUp.drainPermits();
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs a leased saga until it finishes, has to wait for a retry, or loses its lease.
+     */
+    void execute(SagaInstance saga) {
+        try {
+            drive(saga);
+        } catch (RuntimeException e) {
+            logger.warn("Saga {} failed unexpectedly, will retry: {}", saga.id(), e.getMessage());
+            try {
+                repository.release(saga.id(), owner, backoff(0));
+            } catch (RuntimeException releaseFailure) {
+                // The lease lapses on its own and the saga is picked up again then.
+                logger.debug("Could not release saga {}: {}", saga.id(), releaseFailure.getMessage());
+            }
+        }
+    }
+
+    private void drive(SagaInstance saga) {
+        UUID id = saga.id();
+        SagaDefinition definition = definitions.get(saga.type());
+        if (definition == null) {
+            finish(saga, SagaStatus.FAILED, saga.phase(), "Unknown saga type " + saga.type());
+            return;
+        }
+        Map<String, StepRecord> steps = repository.findSteps(id).stream()
+                .collect(Collectors.toMap(StepRecord::name, Function.identity(), (a, b) -> b, LinkedHashMap::new));
+        SagaContext context = new SagaContext(id, saga.orderId(), readJson(saga.input()), new ConcurrentHashMap<>());
+        steps.values().stream()
+                .filter(step -> step.status() == StepStatus.SUCCEEDED && step.output() != null)
+                .forEach(step -> context.outputs().put(step.name(), readJson(step.output())));
+
+        SagaStatus status = saga.status();
+        int phase = saga.phase();
+        String error = saga.error();
+        while (true) {
+            if (status == SagaStatus.RUNNING) {
+                if (phase >= definition.phases().size()) {
+                    complete(saga, definition, context, phase);
+                    return;
+                }
+                Outcome outcome = runPhase(id, definition.phases().get(phase), steps, context);
+                switch (outcome) {
+                    case Outcome.Succeeded ignored -> {
+                        phase++;
+                        if (!repository.advance(id, owner, properties.getLease(), status, phase, null)) {
+                            return;
+                        }
+                    }
+                    case Outcome.Retry retry -> {
+                        repository.release(id, owner, retry.delay());
+                        return;
+                    }
+                    case Outcome.Failed failed -> {
+                        error = failed.error();
+                        if (phase >= definition.compensablePhases()) {
+                            logger.error("Saga {} failed past its point of no return: {}", id, error);
+                            finish(saga, SagaStatus.FAILED, phase, error);
+                            return;
+                        }
+                        status = SagaStatus.COMPENSATING;
+                        if (!repository.advance(id, owner, properties.getLease(), status, phase, error)) {
+                            return;
+                        }
+                    }
+                }
+            } else {
+                Outcome outcome = compensate(id, definition, phase, steps, context);
+                switch (outcome) {
+                    case Outcome.Succeeded ignored -> cancel(saga, definition, context, phase, error);
+                    case Outcome.Retry retry -> repository.release(id, owner, retry.delay());
+                    case Outcome.Failed failed -> {
+                        logger.error("Saga {} could not be compensated: {}", id, failed.error());
+                        finish(saga, SagaStatus.FAILED, phase, failed.error());
+                    }
+                }
+                return;
+            }
+        }
+    }
+
+    private Outcome runPhase(UUID sagaId, List<SagaStep> phase, Map<String, StepRecord> steps, SagaContext context) {
+        List<SagaStep> pending = phase.stream()
+                .filter(step -> !isStatus(steps.get(step.name()), StepStatus.SUCCEEDED))
+                .toList();
+        List<Future<JsonNode>> futures = new ArrayList<>(pending.size());
+        for (SagaStep step : pending) {
+            futures.add(executor.submit(() -> step.action().execute(context)));
+        }
+
+        long started = System.nanoTime();
+        String permanentError = null;
+        int retryAttempts = -1;
+        for (int i = 0; i < pending.size(); i++) {
+            SagaStep step = pending.get(i);
+            int attempts = attempts(steps.get(step.name())) + 1;
+            try {
+                JsonNode output = await(futures.get(i), started, step.timeout());
+                String json = output == null ? null : writeJson(output);
+                repository.saveStep(sagaId, step.name(), StepStatus.SUCCEEDED, attempts, json, null);
+                steps.put(step.name(), new StepRecord(step.name(), StepStatus.SUCCEEDED, attempts, json, null, null));
+                if (output != null) {
+                    context.outputs().put(step.name(), output);
+                }
+            } catch (StepFailure failure) {
+                String error = step.name() + ": " + failure.getMessage();
+                repository.saveStep(sagaId, step.name(), StepStatus.FAILED, attempts, null, truncate(error));
+                steps.put(step.name(), new StepRecord(step.name(), StepStatus.FAILED, attempts, null, error, null));
+                if (failure.permanent || attempts >= step.maxAttempts()) {
+                    permanentError = permanentError == null ? error : permanentError;
+                } else {
+                    retryAttempts = Math.max(retryAttempts, attempts);
+                }
+            }
+        }
+        if (permanentError != null) {
+            return new Outcome.Failed(truncate(permanentError));
+        }
+        return retryAttempts < 0 ? new Outcome.Succeeded() : new Outcome.Retry(backoff(retryAttempts));
+    }
+
+    /**
+     * Undoes every successful step from {@code phase} back to the first, one phase at a time. Compensations are
+     * retried until they succeed unless they fail permanently.
+     */
+    private Outcome compensate(UUID sagaId, SagaDefinition definition, int phase, Map<String, StepRecord> steps,
+                               SagaContext context) {
+        for (int p = Math.min(phase, definition.phases().size() - 1); p >= 0; p--) {
+            List<SagaStep> toUndo = definition.phases().get(p).stream()
+                    .filter(step -> step.compensation() != null)
+                    .filter(step -> isStatus(steps.get(step.name()), StepStatus.SUCCEEDED))
+                    .toList();
+            List<Future<JsonNode>> futures = new ArrayList<>(toUndo.size());
+            for (SagaStep step : toUndo) {
+                futures.add(executor.submit(() -> {
+                    step.compensation().compensate(context, context.output(step.name()));
+                    return null;
+                }));
+            }
+
+            long started = System.nanoTime();
+            int retryAttempts = -1;
+            for (int i = 0; i < toUndo.size(); i++) {
+                SagaStep step = toUndo.get(i);
+                StepRecord record = steps.get(step.name());
+                int attempts = record.attempts() + 1;
+                try {
+                    await(futures.get(i), started, step.timeout());
+                    repository.saveStep(sagaId, step.name(), StepStatus.COMPENSATED, attempts, null, null);
+                    steps.put(step.name(), new StepRecord(step.name(), StepStatus.COMPENSATED, attempts,
+                            record.output(), null, null));
+                } catch (StepFailure failure) {
+                    String error = "compensating " + step.name() + ": " + failure.getMessage();
+                    repository.saveStep(sagaId, step.name(), StepStatus.SUCCEEDED, attempts, null, truncate(error));
+                    steps.put(step.name(), new StepRecord(step.name(), StepStatus.SUCCEEDED, attempts,
+                            record.output(), error, null));
+                    if (failure.permanent) {
+                        return new Outcome.Failed(truncate(error));
+                    }
+                    retryAttempts = Math.max(retryAttempts, attempts);
+                }
+            }
+            if (retryAttempts >= 0) {
+                return new Outcome.Retry(backoff(retryAttempts));
+            }
+        }
+        return new Outcome.Succeeded();
+    }
+
+    private void complete(SagaInstance saga, SagaDefinition definition, SagaContext context, int phase) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (repository.advance(saga.id(), owner, properties.getLease(), SagaStatus.COMPLETED, phase, null)) {
+                definition.onCompleted(context);
+            }
+        });
+        repository.release(saga.id(), owner, Duration.ZERO);
+    }
+
+    private void cancel(SagaInstance saga, SagaDefinition definition, SagaContext context, int phase, String error) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (repository.advance(saga.id(), owner, properties.getLease(), SagaStatus.CANCELLED, phase, error)) {
+                definition.onCancelled(context, error);
+            }
+        });
+        repository.release(saga.id(), owner, Duration.ZERO);
+    }
+
+    private void finish(SagaInstance saga, SagaStatus status, int phase, String error) {
+        repository.advance(saga.id(), owner, properties.getLease(), status, phase, truncate(error));
+        repository.release(saga.id(), owner, Duration.ZERO);
+    }
+
+    /**
+     * Full-jitter exponential backoff: a random delay up to {@code baseBackoff * 2^attempts}, capped at
+     * {@code maxBackoff}, so sagas that failed together against the same service do not retry in lockstep.
+     */
+    Duration backoff(int attempts) {
+        long ceiling = Math.min(properties.getMaxBackoff().toMillis(),
+                properties.getBaseBackoff().toMillis() << Math.min(attempts, 20));
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(properties.getBaseBackoff().toMillis(),
+                Math.max(properties.getBaseBackoff().toMillis(), ceiling) + 1));
+    }
+
+    private static JsonNode await(Future<JsonNode> future, long started, Duration timeout) throws StepFailure {
+        try {
+            return future.get(Math.max(0, started + timeout.toNanos() - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            boolean permanent = cause instanceof SagaStepException stepException && stepException.isPermanent();
+            throw new StepFailure(String.valueOf(cause.getMessage()), permanent);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new StepFailure("timed out after " + timeout.toMillis() + " ms", false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new StepFailure("interrupted", false);
+        }
+    }
+
+    private static final class StepFailure extends Exception {
+
+        private final boolean permanent;
+
+        private StepFailure(String message, boolean permanent) {
+            super(message, null, false, false);
+            this.permanent = permanent;
+        }
+    }
+
+    private static boolean isStatus(StepRecord record, StepStatus status) {
+        return record != null && record.status() == status;
+    }
+
+    private static int attempts(StepRecord record) {
+        return record == null ? 0 : record.attempts();
+    }
+
+    private JsonNode readJson(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable saga state: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private String writeJson(JsonNode node) {
+        try {
+            return objectMapper.writeValueAsString(node);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String truncate(String error) {
+        return error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,7 @@
+package com.ecommerce.order.saga;
+
+import java.util.UUID;
+
+public record SagaInstance(UUID id, String type, UUID orderId, SagaStatus status, int phase, String input,
+                           String error) {
+}
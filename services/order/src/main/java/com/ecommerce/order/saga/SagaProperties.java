@@ -0,0 +1,101 @@
+package com.ecommerce.order.saga;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.net.URI;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "order.saga")
+public class SagaProperties {
+
+    private boolean enabled = true;
+    private int maxConcurrent = 64;
+    private Duration pollInterval = Duration.ofMillis(500);
+    private Duration lease = Duration.ofSeconds(30);
+    private Duration stepTimeout = Duration.ofSeconds(5);
+    private int maxAttempts = 5;
+    private Duration baseBackoff = Duration.ofMillis(200);
+    private Duration maxBackoff = Duration.ofSeconds(30);
+    private URI productServiceUrl = URI.create("http://localhost:8081");
+    private URI paymentServiceUrl = URI.create("http://localhost:8083");
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public void setMaxConcurrent(int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public Duration getLease() {
+        return lease;
+    }
+
+    public void setLease(Duration lease) {
+        this.lease = lease;
+    }
+
+    public Duration getStepTimeout() {
+        return stepTimeout;
+    }
+
+    public void setStepTimeout(Duration stepTimeout) {
+        this.stepTimeout = stepTimeout;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public Duration getBaseBackoff() {
+        return baseBackoff;
+    }
+
+    public void setBaseBackoff(Duration baseBackoff) {
+        this.baseBackoff = baseBackoff;
+    }
+
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    public void setMaxBackoff(Duration maxBackoff) {
+        this.maxBackoff = maxBackoff;
+    }
+
+    public URI getProductServiceUrl() {
+        return productServiceUrl;
+    }
+
+    public void setProductServiceUrl(URI productServiceUrl) {
+        this.productServiceUrl = productServiceUrl;
+    }
+
+    public URI getPaymentServiceUrl() {
+        return paymentServiceUrl;
+    }
+
+    public void setPaymentServiceUrl(URI paymentServiceUrl) {
+        this.paymentServiceUrl = paymentServiceUrl;
+    }
+}
@@ -0,0 +1,129 @@
+package com.ecommerce.order.saga;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Durable saga state. Every update made while running a saga is conditional on the caller still holding the
+ * saga's lease, so a pod whose lease lapsed (a long GC pause, say) cannot overwrite progress made by the pod
+ * that took over.
+ */
+@Repository
+public class SagaRepository {
+
+    private static final RowMapper<SagaInstance> SAGA_MAPPER = (rs, rowNum) -> new SagaInstance(
+            rs.getObject("id", UUID.class),
+            rs.getString("type"),
+            rs.getObject("order_id", UUID.class),
+            SagaStatus.valueOf(rs.getString("status")),
+            rs.getInt("phase"),
+            rs.getString("input"),
+            rs.getString("error"));
+
+    private static final RowMapper<StepRecord> STEP_MAPPER = (rs, rowNum) -> new StepRecord(
+            rs.getString("name"),
+            StepStatus.valueOf(rs.getString("status")),
+            rs.getInt("attempts"),
+            rs.getString("output"),
+            rs.getString("error"),
+            toInstant(rs.getTimestamp("updated_at")));
+
+    private static final String SAGA_COLUMNS = "id, type, order_id, status, phase, input::text AS input, error";
+
+    private static final String CLAIM = """
+            UPDATE sagas SET lease_owner = ?, lease_until = now() + ? * interval '1 millisecond'
+            WHERE id IN (SELECT id FROM sagas
+                         WHERE status IN ('RUNNING', 'COMPENSATING') AND next_run_at <= now()
+                           AND (lease_until IS NULL OR lease_until < now())
+                         ORDER BY next_run_at
+                         LIMIT ?
+                         FOR UPDATE SKIP LOCKED)
+            RETURNING %s
+            """.formatted(SAGA_COLUMNS);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SagaRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Creates a saga, or does nothing if one of this type already exists for the order.
+     *
+     * @return whether a saga was created
+     */
+    public boolean create(UUID id, String type, UUID orderId, String input) {
+        return jdbcTemplate.update("""
+                INSERT INTO sagas (id, type, order_id, status, input) VALUES (?, ?, ?, 'RUNNING', ?::jsonb)
+                ON CONFLICT (type, order_id) DO NOTHING
+                """, id, type, orderId, input) == 1;
+    }
+
+    public Optional<SagaInstance> findByOrder(String type, UUID orderId) {
+        return jdbcTemplate.query("SELECT " + SAGA_COLUMNS + " FROM sagas WHERE type = ? AND order_id = ?",
+                SAGA_MAPPER, type, orderId).stream().findFirst();
+    }
+
+    /**
+     * Leases up to {@code limit} due sagas to {@code owner}.
+     */
+    public List<SagaInstance> claim(String owner, Duration lease, int limit) {
+        return jdbcTemplate.query(CLAIM, SAGA_MAPPER, owner, lease.toMillis(), limit);
+    }
+
+    public List<StepRecord> findSteps(UUID sagaId) {
+        return jdbcTemplate.query("""
+                SELECT name, status, attempts, output::text AS output, error, updated_at
+                FROM saga_steps WHERE saga_id = ? ORDER BY updated_at, name
+                """, STEP_MAPPER, sagaId);
+    }
+
+    public void saveStep(UUID sagaId, String name, StepStatus status, int attempts, String output, String error) {
+        jdbcTemplate.update("""
+                INSERT INTO saga_steps (saga_id, name, status, attempts, output, error)
+                VALUES (?, ?, ?, ?, ?::jsonb, ?)
+                ON CONFLICT (saga_id, name) DO UPDATE
+                    SET status = EXCLUDED.status, attempts = EXCLUDED.attempts,
+                        output = COALESCE(EXCLUDED.output, saga_steps.output), error = EXCLUDED.error,
+                        updated_at = now()
+                """, sagaId, name, status.name(), attempts, output, error);
+    }
+
+    /**
+     * Moves the saga on and renews the lease.
+     *
+     * @return {@code false} if the lease has been lost, in which case the caller must stop working on the saga
+     */
+    public boolean advance(UUID id, String owner, Duration lease, SagaStatus status, int phase, String error) {
+        return jdbcTemplate.update("""
+                UPDATE sagas
+                SET status = ?, phase = ?, error = ?, lease_until = now() + ? * interval '1 millisecond',
+                    updated_at = now()
+                WHERE id = ? AND lease_owner = ?
+                """, status.name(), phase, error, lease.toMillis(), id, owner) == 1;
+    }
+
+    /**
+     * Releases the lease and schedules the saga's next run.
+     */
+    public void release(UUID id, String owner, Duration delay) {
+        jdbcTemplate.update("""
+                UPDATE sagas
+                SET lease_owner = NULL, lease_until = NULL,
+                    next_run_at = now() + ? * interval '1 millisecond', updated_at = now()
+                WHERE id = ? AND lease_owner = ?
+                """, delay.toMillis(), id, owner);
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+}
@@ -0,0 +1,16 @@
+package com.ecommerce.order.saga;
+
+public enum SagaStatus {
+    RUNNING,
+    COMPENSATING,
+    /** Every phase succeeded. */
+    COMPLETED,
+    /** A step failed before the point of no return and everything done up to then was undone. */
+    CANCELLED,
+    /** A step failed after the point of no return, or a compensation could not be applied; needs an operator. */
+    FAILED;
+
+    public boolean isTerminal() {
+        return this == COMPLETED || this == CANCELLED || this == FAILED;
+    }
+}
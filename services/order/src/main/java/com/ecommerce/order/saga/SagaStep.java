@@ -0,0 +1,30 @@
+package com.ecommerce.order.saga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.Duration;
+
+/**
+ * One unit of work in a saga. Steps may run more than once (after a timeout, or when a crashed pod's saga is
+ * resumed), so actions should pass {@link SagaContext#idempotencyKey} downstream or otherwise tolerate repeats.
+ *
+ * @param maxAttempts  attempts before a transient failure is treated as permanent
+ * @param compensation undoes a successful action, or {@code null} if there is nothing to undo
+ */
+public record SagaStep(String name, Duration timeout, int maxAttempts, Action action, Compensation compensation) {
+
+    @FunctionalInterface
+    public interface Action {
+
+        /**
+         * @return output to store with the step, or {@code null}
+         */
+        JsonNode execute(SagaContext context) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface Compensation {
+
+        void compensate(SagaContext context, JsonNode output) throws Exception;
+    }
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.order.saga;
+
+/**
+ * Thrown by a step that failed. A permanent failure is not retried: the saga compensates straight away.
+ */
+public class SagaStepException extends RuntimeException {
+
+    private final boolean permanent;
+
+    public SagaStepException(String message, boolean permanent) {
+        super(message);
+        this.permanent = permanent;
+    }
+
+    public boolean isPermanent() {
+        return permanent;
+    }
+}
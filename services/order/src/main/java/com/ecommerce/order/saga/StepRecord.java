@@ -0,0 +1,7 @@
+package com.ecommerce.order.saga;
+
+import java.time.Instant;
+
+public record StepRecord(String name, StepStatus status, int attempts, String output, String error,
+                         Instant updatedAt) {
+}
@@ -0,0 +1,8 @@
+package com.ecommerce.order.saga;
+
+public enum StepStatus {
+    PENDING,
+    SUCCEEDED,
+    FAILED,
+    COMPENSATED
+}
@@ -0,0 +1,115 @@
+package com.ecommerce.order.service;
+
+import com.ecommerce.common.exception.ConflictException;
+import com.ecommerce.order.cart.CartProperties;
+import com.ecommerce.order.cart.CartStore;
+import com.ecommerce.order.dto.Cart;
+import com.ecommerce.order.event.OrderPlacedEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Cart operations on top of the in-memory {@link CartStore}. Carts are identified by an opaque id chosen by
+ * the client, such as a session or user id.
+ */
+@Service
+public class CartService {
+
+    private static final int MAX_ID_LENGTH = 64;
+
+    private final CartStore cartStore;
+    private final int maxItems;
+    private final int maxQuantity;
+
+    public CartService(CartStore cartStore, CartProperties properties) {
+        this.cartStore = cartStore;
+        this.maxItems = properties.getMaxItems();
+        this.maxQuantity = properties.getMaxQuantity();
+    }
+
+    public Cart getCart(String cartId) {
+        return cartStore.get(requireCartId(cartId));
+    }
+
+    /**
+     * Adds {@code quantity} units of a product, on top of any already in the cart.
+     */
+    public Cart addItem(String cartId, Long productId, Integer quantity) {
+        requireProductId(productId);
+        int units = requireQuantity(quantity, 1);
+        return cartStore.update(requireCartId(cartId), items -> {
+            Integer current = items.get(productId);
+            if (current == null && items.size() >= maxItems) {
+                throw new IllegalArgumentException("A cart holds at most " + maxItems + " products");
+            }
+            int total = (current == null ? 0 : current) + units;
+            if (total > maxQuantity) {
+                throw new IllegalArgumentException("quantity must be at most " + maxQuantity);
+            }
+            items.put(productId, total);
+        });
+    }
+
+    /**
+     * Sets the quantity of a product; a quantity of 0 removes it.
+     */
+    public Cart setItem(String cartId, Long productId, Integer quantity) {
+        requireProductId(productId);
+        int units = requireQuantity(quantity, 0);
+        return cartStore.update(requireCartId(cartId), items -> {
+            if (units == 0) {
+                items.remove(productId);
+                return;
+            }
+            if (!items.containsKey(productId) && items.size() >= maxItems) {
+                throw new IllegalArgumentException("A cart holds at most " + maxItems + " products");
+            }
+            items.put(productId, units);
+        });
+    }
+
+    public Cart removeItem(String cartId, Long productId) {
+        requireProductId(productId);
+        return cartStore.update(requireCartId(cartId), items -> items.remove(productId));
+    }
+
+    public Cart clear(String cartId) {
+        return cartStore.update(requireCartId(cartId), items -> items.clear());
+    }
+
+    /**
+     * Empties the cart an order was placed from, once the order has committed.
+     */
+    @TransactionalEventListener
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        if (event.cartId() != null && !event.cartId().isBlank()) {
+            try {
+                clear(event.cartId());
+            } catch (ConflictException e) {
+                // The stale local copy is gone now, so this clears the cart another instance stored.
+                clear(event.cartId());
+            }
+        }
+    }
+
+    private static String requireCartId(String cartId) {
+        if (cartId == null || cartId.isBlank() || cartId.length() > MAX_ID_LENGTH) {
+            throw new IllegalArgumentException("cartId is required and must be at most " + MAX_ID_LENGTH
+                    + " characters");
+        }
+        return cartId;
+    }
+
+    private static void requireProductId(Long productId) {
+        if (productId == null || productId <= 0) {
+            throw new IllegalArgumentException("productId is required");
+        }
+    }
+
+    private int requireQuantity(Integer quantity, int min) {
+        if (quantity == null || quantity < min || quantity > maxQuantity) {
+            throw new IllegalArgumentException("quantity must be between " + min + " and " + maxQuantity);
+        }
+        return quantity;
+    }
+}
@@ -0,0 +1,84 @@
+package com.ecommerce.order.service;
+
+import com.ecommerce.common.exception.ConflictException;
+import com.ecommerce.order.checkout.CheckoutSaga;
+import com.ecommerce.order.dto.CheckoutStatus;
+import com.ecommerce.order.dto.CheckoutStep;
+import com.ecommerce.order.dto.OrderDetail;
+import com.ecommerce.order.entity.Order;
+import com.ecommerce.order.entity.OrderStatus;
+import com.ecommerce.order.repository.OrderRepository;
+import com.ecommerce.order.saga.SagaEngine;
+import com.ecommerce.order.saga.SagaInstance;
+import com.ecommerce.order.saga.SagaRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Starts checkout sagas and reports on them. Starting one only records it; the {@link SagaEngine} runs it in
+ * the background, so the request that starts checkout returns immediately.
+ */
+@Service
+public class CheckoutService {
+
+    private final OrderRepository orderRepository;
+    private final SagaRepository sagaRepository;
+    private final ObjectProvider<SagaEngine> sagaEngine;
+    private final ObjectMapper objectMapper;
+
+    public CheckoutService(OrderRepository orderRepository, SagaRepository sagaRepository,
+                           ObjectProvider<SagaEngine> sagaEngine, ObjectMapper objectMapper) {
+        this.orderRepository = orderRepository;
+        this.sagaRepository = sagaRepository;
+        this.sagaEngine = sagaEngine;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Starts checkout for a placed order. Starting it again returns the checkout already under way.
+     */
+    @Transactional
+    public CheckoutStatus start(UUID orderId) {
+        Order order = orderRepository.findWithItemsById(orderId)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown order " + orderId));
+        Optional<CheckoutStatus> existing = getStatus(orderId);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        if (order.getStatus() != OrderStatus.PLACED) {
+            throw new ConflictException("Order " + orderId + " is " + order.getStatus());
+        }
+        sagaRepository.create(UUID.randomUUID(), CheckoutSaga.TYPE, orderId, json(OrderDetail.from(order)));
+        CheckoutStatus status = getStatus(orderId).orElseThrow();
+        sagaEngine.ifAvailable(SagaEngine::wakeUp);
+        return status;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<CheckoutStatus> getStatus(UUID orderId) {
+        return sagaRepository.findByOrder(CheckoutSaga.TYPE, orderId).map(this::toStatus);
+    }
+
+    private CheckoutStatus toStatus(SagaInstance saga) {
+        return new CheckoutStatus(saga.orderId(), saga.id(), saga.status().name(), saga.error(),
+                sagaRepository.findSteps(saga.id()).stream()
+                        .map(step -> new CheckoutStep(step.name(), step.status().name(), step.attempts(),
+                                step.error()))
+                        .toList());
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
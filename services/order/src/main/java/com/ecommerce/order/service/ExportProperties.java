@@ -0,0 +1,36 @@
+package com.ecommerce.order.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "order.export")
+public class ExportProperties {
+
+    private int maxConcurrent = 2;
+    private Duration idleTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Exports allowed to stream at once. Each holds a database connection for its whole duration, so this should
+     * stay well below the connection pool size.
+     */
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public void setMaxConcurrent(int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    /**
+     * How long an export's transaction may sit idle, waiting for a client that has stopped reading, before
+     * Postgres ends it and the connection goes back to the pool.
+     */
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+}
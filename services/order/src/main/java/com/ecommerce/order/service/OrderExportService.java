@@ -0,0 +1,171 @@
+package com.ecommerce.order.service;
+
+import com.ecommerce.common.util.ExportSlots;
+import com.ecommerce.common.util.NdjsonWriter;
+import com.ecommerce.order.dto.OrderDetail;
+import com.ecommerce.order.dto.OrderLine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Streams a customer's order history as NDJSON, newest order first, one {@link OrderDetail} per line.
+ * <p>
+ * Orders and their items are read in one joined query through a server-side cursor, {@link #FETCH_SIZE} rows at
+ * a time, inside a read-only transaction (Postgres only honours the fetch size inside one). The rows of one order
+ * arrive together, so only the order being assembled is held in memory, and each order is written as soon as
+ * its last item has been read.
+ * <p>
+ * Each export holds a connection until its client has read everything, so only
+ * {@link ExportProperties#getMaxConcurrent maxConcurrent} run at once, and one whose client stops reading is
+ * ended after {@link ExportProperties#getIdleTimeout idleTimeout}.
+ */
+@Service
+public class OrderExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderExportService.class);
+
+    public static final int FETCH_SIZE = 1000;
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(5);
+
+    private static final String CUSTOMER_ORDERS = """
+            SELECT o.id, o.customer_id, o.status, o.currency, o.total, o.created_at,
+                   i.product_id, i.quantity, i.unit_price
+            FROM orders o
+            LEFT JOIN order_items i ON i.order_id = o.id
+            WHERE o.customer_id = ?
+            ORDER BY o.created_at DESC, o.id, i.product_id
+            """;
+
+    /**
+     * A validated export request.
+     */
+    public record Query(String customerId) {
+    }
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final ExportSlots slots;
+    private final Duration idleTimeout;
+
+    public OrderExportService(DataSource dataSource, PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper, ExportProperties properties) {
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.slots = new ExportSlots(properties.getMaxConcurrent(), RETRY_AFTER);
+        this.idleTimeout = properties.getIdleTimeout();
+    }
+
+    /**
+     * Takes one of the limited export slots; hold it, before writing anything, until the export has finished.
+     *
+     * @throws com.ecommerce.common.exception.ServiceOverloadedException if too many exports are running
+     */
+    public ExportSlots.Slot acquireSlot() {
+        return slots.acquire();
+    }
+
+    /**
+     * Checks the request up front, so a bad one is rejected before any of the response has been written.
+     */
+    public Query query(String customerId) {
+        if (customerId == null || customerId.isBlank() || customerId.length() > 64) {
+            throw new IllegalArgumentException("customerId is required and must be at most 64 characters");
+        }
+        return new Query(customerId);
+    }
+
+    /**
+     * Writes every order of the customer in {@code query} to {@code output}.
+     *
+     * @return the number of orders written
+     */
+    public long export(Query query, OutputStream output) throws IOException {
+        try (NdjsonWriter writer = new NdjsonWriter(objectMapper, output, FETCH_SIZE)) {
+            OrderAssembler assembler = new OrderAssembler(writer);
+            RowCallbackHandler addRow = rs -> {
+                Timestamp createdAt = rs.getTimestamp("created_at");
+                long productId = rs.getLong("product_id");
+                OrderLine line = rs.wasNull() ? null
+                        : new OrderLine(productId, rs.getInt("quantity"), rs.getBigDecimal("unit_price"));
+                try {
+                    assembler.add(rs.getObject("id", UUID.class), rs.getString("customer_id"),
+                            rs.getString("status"), rs.getString("currency"), rs.getBigDecimal("total"),
+                            createdAt == null ? null : createdAt.toInstant(), line);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            };
+            readOnlyTransaction.executeWithoutResult(status -> {
+                // While the client is slow to read, the transaction sits idle between fetches; past the timeout
+                // Postgres ends it, failing the export, rather than letting the client hold the connection.
+                streamingJdbcTemplate.execute("SET LOCAL idle_in_transaction_session_timeout = "
+                        + idleTimeout.toMillis());
+                streamingJdbcTemplate.query(CUSTOMER_ORDERS, addRow, query.customerId());
+            });
+            assembler.finish();
+            logger.debug("Exported {} orders for customer {}", writer.count(), query.customerId());
+            return writer.count();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Folds the joined order/item rows back into one {@link OrderDetail} per order, writing each order when the
+     * first row of the next one, or the end of the rows, shows that it is complete.
+     */
+    static final class OrderAssembler {
+
+        private final NdjsonWriter writer;
+        private OrderDetail current;
+        private List<OrderLine> lines = new ArrayList<>();
+
+        OrderAssembler(NdjsonWriter writer) {
+            this.writer = writer;
+        }
+
+        /**
+         * @param line the item on this row, or {@code null} for an order without items
+         */
+        void add(UUID id, String customerId, String status, String currency, BigDecimal total, Instant createdAt,
+                 OrderLine line) throws IOException {
+            if (current == null || !current.id().equals(id)) {
+                finish();
+                lines = new ArrayList<>();
+                current = new OrderDetail(id, customerId, status, currency, total, lines, createdAt);
+            }
+            if (line != null) {
+                lines.add(line);
+            }
+        }
+
+        void finish() throws IOException {
+            if (current != null) {
+                writer.write(current);
+                current = null;
+            }
+        }
+    }
+}
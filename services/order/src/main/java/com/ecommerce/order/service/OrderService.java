@@ -0,0 +1,119 @@
+package com.ecommerce.order.service;
+
+import com.ecommerce.order.dto.OrderDetail;
+import com.ecommerce.order.dto.OrderLineRequest;
+import com.ecommerce.order.dto.PlaceOrderRequest;
+import com.ecommerce.order.entity.Order;
+import com.ecommerce.order.entity.OrderItem;
+import com.ecommerce.order.event.OrderPlacedEvent;
+import com.ecommerce.order.outbox.OutboxRepository;
+import com.ecommerce.order.repository.OrderRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Places orders. The order and its {@code OrderPlaced} outbox event are written in one transaction, and the
+ * request returns once that commits: payment and inventory hear about the order from the outbox relay, so
+ * placing an order never waits on them and cannot succeed without them eventually being told.
+ * <p>
+ * Orders belong to the signed-in customer and are priced from the catalog by {@link ProductPrices}, never from
+ * the request. Prices are looked up before the transaction starts, so no connection is held while waiting on
+ * product-service.
+ */
+@Service
+public class OrderService {
+
+    public static final String AGGREGATE_TYPE = "order";
+    public static final String ORDER_PLACED = "OrderPlaced";
+
+    private static final int MAX_LINES = 100;
+    private static final int MAX_QUANTITY = 999;
+
+    private final OrderRepository orderRepository;
+    private final OutboxRepository outboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductPrices productPrices;
+    private final TransactionTemplate transactionTemplate;
+
+    public OrderService(OrderRepository orderRepository, OutboxRepository outboxRepository,
+                        ApplicationEventPublisher eventPublisher, ProductPrices productPrices,
+                        PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.outboxRepository = outboxRepository;
+        this.eventPublisher = eventPublisher;
+        this.productPrices = productPrices;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * @param customerId the signed-in customer the order is placed for
+     */
+    public OrderDetail placeOrder(String customerId, PlaceOrderRequest request) {
+        if (isBlank(customerId) || customerId.length() > 64) {
+            throw new IllegalArgumentException("customerId is required and must be at most 64 characters");
+        }
+        if (request == null || request.currency() == null || request.currency().length() != 3) {
+            throw new IllegalArgumentException("currency must be a three-letter ISO code");
+        }
+        String currency = request.currency().toUpperCase(Locale.ROOT);
+        validate(request.items());
+        Map<Long, BigDecimal> prices = productPrices.lookup(
+                request.items().stream().map(OrderLineRequest::productId).toList(), currency);
+        Order order = new Order(customerId, currency, items(request.items(), prices));
+
+        return transactionTemplate.execute(status -> {
+            orderRepository.save(order);
+            OrderDetail detail = OrderDetail.from(order);
+            outboxRepository.append(AGGREGATE_TYPE, order.getId().toString(), ORDER_PLACED, detail);
+            eventPublisher.publishEvent(new OrderPlacedEvent(order.getId(), request.cartId()));
+            return detail;
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<OrderDetail> getOrder(UUID id) {
+        return orderRepository.findWithItemsById(id).map(OrderDetail::from);
+    }
+
+    private static void validate(List<OrderLineRequest> lines) {
+        if (lines == null || lines.isEmpty() || lines.size() > MAX_LINES) {
+            throw new IllegalArgumentException("An order needs between 1 and " + MAX_LINES + " items");
+        }
+        Set<Long> productIds = new HashSet<>();
+        for (OrderLineRequest line : lines) {
+            if (line == null || line.productId() == null || !productIds.add(line.productId())) {
+                throw new IllegalArgumentException("Each item needs a distinct productId");
+            }
+            if (line.quantity() == null || line.quantity() < 1 || line.quantity() > MAX_QUANTITY) {
+                throw new IllegalArgumentException("quantity must be between 1 and " + MAX_QUANTITY);
+            }
+        }
+    }
+
+    private static List<OrderItem> items(List<OrderLineRequest> lines, Map<Long, BigDecimal> prices) {
+        List<OrderItem> items = new ArrayList<>(lines.size());
+        for (OrderLineRequest line : lines) {
+            items.add(new OrderItem(line.productId(), line.quantity(),
+                    prices.get(line.productId()).setScale(4, RoundingMode.HALF_UP)));
+        }
+        return items;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,91 @@
+package com.ecommerce.order.service;
+
+import com.ecommerce.common.exception.ServiceOverloadedException;
+import com.ecommerce.order.checkout.DownstreamClient;
+import com.ecommerce.order.checkout.DownstreamException;
+import com.ecommerce.order.saga.SagaProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Current unit prices from product-service, which serves them from its product cache. An order is priced here
+ * rather than from anything the client sends. The products of an order are looked up concurrently, each on its
+ * own virtual thread, so pricing takes about as long as the slowest lookup.
+ */
+@Component
+public class ProductPrices {
+
+    private static final String ACTIVE = "ACTIVE";
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final DownstreamClient client;
+    private final URI productService;
+
+    public ProductPrices(DownstreamClient client, SagaProperties properties) {
+        this.client = client;
+        this.productService = properties.getProductServiceUrl();
+    }
+
+    /**
+     * @return the unit price in {@code currency} of each product
+     * @throws IllegalArgumentException if a product does not exist, is not for sale or has no price in
+     *                                  {@code currency}
+     * @throws ServiceOverloadedException if product-service could not be asked
+     */
+    public Map<Long, BigDecimal> lookup(Collection<Long> productIds, String currency) {
+        Map<Long, Future<BigDecimal>> lookups = new HashMap<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Long productId : productIds) {
+                lookups.put(productId, executor.submit(() -> price(productId, currency)));
+            }
+        }
+        Map<Long, BigDecimal> prices = new HashMap<>();
+        for (Map.Entry<Long, Future<BigDecimal>> lookup : lookups.entrySet()) {
+            try {
+                prices.put(lookup.getKey(), lookup.getValue().get());
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new ServiceOverloadedException("Prices are unavailable: " + e.getCause().getMessage(),
+                        RETRY_AFTER);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServiceOverloadedException("Interrupted while looking up prices", RETRY_AFTER);
+            }
+        }
+        return prices;
+    }
+
+    private BigDecimal price(Long productId, String currency) throws IOException, InterruptedException {
+        JsonNode product;
+        try {
+            product = client.get(productService, "/products/" + productId);
+        } catch (DownstreamException e) {
+            if (e.getStatus() == 404) {
+                throw new IllegalArgumentException("Unknown product " + productId);
+            }
+            throw new ServiceOverloadedException("Prices are unavailable: " + e.getMessage(), RETRY_AFTER);
+        }
+        if (product == null || !ACTIVE.equals(product.path("status").asText())) {
+            throw new IllegalArgumentException("Product " + productId + " is not for sale");
+        }
+        JsonNode price = product.path("prices").path(currency);
+        if (!price.isNumber()) {
+            throw new IllegalArgumentException("Product " + productId + " has no price in " + currency);
+        }
+        return price.decimalValue();
+    }
+}
@@ -0,0 +1,8 @@
+-- Cart snapshots written behind by the in-memory cart store; the store, not this table, is authoritative
+-- for carts that are currently loaded.
+CREATE TABLE carts (
+    id          VARCHAR(64) PRIMARY KEY,
+    items       JSONB       NOT NULL DEFAULT '[]',
+    version     BIGINT      NOT NULL,
+    updated_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now()
+);
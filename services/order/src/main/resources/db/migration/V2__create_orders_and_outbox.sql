@@ -0,0 +1,36 @@
+CREATE TABLE orders (
+    id           UUID PRIMARY KEY,
+    customer_id  VARCHAR(64)    NOT NULL,
+    status       VARCHAR(32)    NOT NULL,
+    currency     VARCHAR(3)     NOT NULL,
+    total        NUMERIC(19, 4) NOT NULL,
+    created_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now(),
+    updated_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_orders_customer ON orders (customer_id, created_at);
+
+CREATE TABLE order_items (
+    order_id    UUID           NOT NULL REFERENCES orders (id) ON DELETE CASCADE,
+    product_id  BIGINT         NOT NULL,
+    quantity    INTEGER        NOT NULL CHECK (quantity > 0),
+    unit_price  NUMERIC(19, 4) NOT NULL,
+    PRIMARY KEY (order_id, product_id)
+);
+
+-- Events written in the same transaction as the change they describe and deleted once delivered, so the
+-- table only ever holds the undelivered backlog.
+CREATE TABLE outbox (
+    id              BIGSERIAL PRIMARY KEY,
+    aggregate_type  VARCHAR(32)  NOT NULL,
+    aggregate_id    VARCHAR(64)  NOT NULL,
+    event_type      VARCHAR(64)  NOT NULL,
+    payload         JSONB        NOT NULL,
+    created_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now(),
+    available_at    TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now(),
+    attempts        INTEGER      NOT NULL DEFAULT 0,
+    last_error      TEXT
+);
+
+-- Relay poll: WHERE available_at <= now() ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED
+CREATE INDEX idx_outbox_available ON outbox (available_at, id);
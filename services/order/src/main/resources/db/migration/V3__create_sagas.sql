@@ -0,0 +1,31 @@
+CREATE TABLE sagas (
+    id            UUID PRIMARY KEY,
+    type          VARCHAR(32)  NOT NULL,
+    order_id      UUID         NOT NULL,
+    status        VARCHAR(16)  NOT NULL,
+    -- Index of the phase being executed, or being compensated back from.
+    phase         INTEGER      NOT NULL DEFAULT 0,
+    input         JSONB        NOT NULL,
+    error         TEXT,
+    next_run_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now(),
+    -- A pod owns a saga while its lease is current; a crashed pod's sagas are picked up once it lapses.
+    lease_owner   VARCHAR(64),
+    lease_until   TIMESTAMP(6) WITH TIME ZONE,
+    created_at    TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now(),
+    updated_at    TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now(),
+    UNIQUE (type, order_id)
+);
+
+-- Engine poll: active sagas that are due, oldest first.
+CREATE INDEX idx_sagas_due ON sagas (next_run_at) WHERE status IN ('RUNNING', 'COMPENSATING');
+
+CREATE TABLE saga_steps (
+    saga_id     UUID         NOT NULL REFERENCES sagas (id) ON DELETE CASCADE,
+    name        VARCHAR(64)  NOT NULL,
+    status      VARCHAR(16)  NOT NULL,
+    attempts    INTEGER      NOT NULL DEFAULT 0,
+    output      JSONB,
+    error       TEXT,
+    updated_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now(),
+    PRIMARY KEY (saga_id, name)
+);
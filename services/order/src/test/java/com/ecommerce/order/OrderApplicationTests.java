@@ -3,7 +3,9 @@ package com.ecommerce.order;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = {"spring.flyway.enabled=false", "spring.jpa.hibernate.ddl-auto=none",
+		"security.jwt.gateway.identity-secret=testGatewayIdentitySecretThatIsAtLeast256BitsLongForHmacSha256",
+		"order.outbox.enabled=false", "order.saga.enabled=false"})
 class OrderApplicationTests {
 
 	@Test
@@ -0,0 +1,196 @@
+package com.ecommerce.order.cart;
+
+import com.ecommerce.common.exception.ConflictException;
+import com.ecommerce.order.dto.Cart;
+import com.ecommerce.order.dto.CartItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CartStoreTest {
+
+    @Mock
+    private CartRepository repository;
+
+    private final AtomicLong clock = new AtomicLong();
+    private CartStore store;
+
+    @BeforeEach
+    void setUp() {
+        CartProperties properties = new CartProperties();
+        properties.setIdleTimeout(Duration.ofMinutes(30));
+        store = new CartStore(repository, properties, clock::get);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ManyChangesToOneCart_ShouldWriteOneSnapshot() {
+        when(repository.find("c1")).thenReturn(Optional.empty());
+        for (int i = 0; i < 10; i++) {
+            store.update("c1", items -> items.merge(42L, 1, Integer::sum));
+        }
+
+        assertEquals(1, store.flush());
+        assertEquals(0, store.flush());
+
+        ArgumentCaptor<List<CartRepository.Snapshot>> written = ArgumentCaptor.forClass(List.class);
+        verify(repository).saveAll(written.capture());
+        assertEquals(List.of(new CartRepository.Snapshot(new Cart("c1", List.of(new CartItem(42L, 10)), 10), 0)),
+                written.getValue());
+        verify(repository, times(1)).find("c1");
+    }
+
+    @Test
+    void get_OnMiss_ShouldLoadStoredSnapshotOnce() {
+        when(repository.find("c1")).thenReturn(Optional.of(new Cart("c1", List.of(new CartItem(7L, 2)), 5)));
+
+        Cart first = store.get("c1");
+        Cart updated = store.update("c1", items -> items.put(8L, 1));
+
+        assertEquals(5, first.version());
+        assertEquals(List.of(new CartItem(7L, 2), new CartItem(8L, 1)), updated.items());
+        assertEquals(6, updated.version());
+        verify(repository, times(1)).find("c1");
+    }
+
+    @Test
+    void flush_WhenWriteFails_ShouldKeepCartDirty() {
+        when(repository.find("c1")).thenReturn(Optional.empty());
+        when(repository.saveAll(anyList())).thenThrow(new IllegalStateException("down")).thenReturn(List.of());
+        store.update("c1", items -> items.put(1L, 1));
+
+        assertEquals(0, store.flush());
+        assertEquals(1, store.flush());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_AfterWrite_ShouldBaseNextWriteOnStoredVersion() {
+        when(repository.find("c1")).thenReturn(Optional.of(new Cart("c1", List.of(), 4)));
+        store.update("c1", items -> items.put(1L, 1));
+        store.flush();
+        store.update("c1", items -> items.put(2L, 1));
+        store.flush();
+
+        ArgumentCaptor<List<CartRepository.Snapshot>> written = ArgumentCaptor.forClass(List.class);
+        verify(repository, times(2)).saveAll(written.capture());
+        assertEquals(4, written.getAllValues().get(0).getFirst().baseVersion());
+        assertEquals(5, written.getAllValues().get(1).getFirst().baseVersion());
+        assertEquals(6, written.getAllValues().get(1).getFirst().cart().version());
+    }
+
+    @Test
+    void flush_WhenChangedByAnotherInstance_ShouldReportConflictThenReload() {
+        when(repository.find("c1"))
+                .thenReturn(Optional.of(new Cart("c1", List.of(), 4)))
+                .thenReturn(Optional.of(new Cart("c1", List.of(new CartItem(9L, 3)), 7)));
+        when(repository.saveAll(anyList())).thenReturn(List.of("c1"));
+        store.update("c1", items -> items.put(1L, 1));
+
+        assertEquals(1, store.flush());
+
+        assertThrows(ConflictException.class, () -> store.get("c1"));
+        assertEquals(0, store.size());
+        assertEquals(new Cart("c1", List.of(new CartItem(9L, 3)), 7), store.get("c1"));
+        assertEquals(0, store.flush());
+    }
+
+    @Test
+    void get_WhenAnotherInstanceStoredNewerCart_ShouldReloadIt() {
+        when(repository.find("c1"))
+                .thenReturn(Optional.of(new Cart("c1", List.of(), 4)))
+                .thenReturn(Optional.of(new Cart("c1", List.of(new CartItem(9L, 3)), 7)));
+        store.get("c1");
+        when(repository.findVersion("c1")).thenReturn(7L);
+
+        assertEquals(new Cart("c1", List.of(new CartItem(9L, 3)), 7), store.get("c1"));
+    }
+
+    @Test
+    void update_WhenAnotherInstanceStoredCartOverUnwrittenChanges_ShouldThrowConflict() {
+        when(repository.find("c1")).thenReturn(Optional.of(new Cart("c1", List.of(), 4)));
+        store.update("c1", items -> items.put(1L, 1));
+        when(repository.findVersion("c1")).thenReturn(5L);
+
+        assertThrows(ConflictException.class, () -> store.update("c1", items -> items.put(2L, 1)));
+
+        assertEquals(0, store.size());
+        assertEquals(0, store.flush());
+        verify(repository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void evictIdle_ShouldDropConflictedCarts() {
+        when(repository.find("c1")).thenReturn(Optional.empty());
+        when(repository.saveAll(anyList())).thenReturn(List.of("c1"));
+        store.update("c1", items -> items.put(1L, 1));
+        store.flush();
+
+        clock.set(Duration.ofMinutes(31).toNanos());
+        store.evictIdle();
+
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void evictIdle_ShouldOnlyDropCartsThatAreIdleAndWritten() {
+        when(repository.find(anyString())).thenReturn(Optional.empty());
+        store.update("dirty", items -> items.put(1L, 1));
+        store.get("clean");
+        store.get("recent");
+
+        clock.set(Duration.ofMinutes(31).toNanos());
+        store.get("recent");
+        store.evictIdle();
+
+        assertEquals(2, store.size());
+        store.flush();
+        clock.set(Duration.ofMinutes(62).toNanos());
+        store.evictIdle();
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void update_UnderContention_ShouldNotLoseChanges() throws Exception {
+        when(repository.find("c1")).thenReturn(Optional.empty());
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService threads = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                threads.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int i = 0; i < 1_000; i++) {
+                        store.update("c1", items -> items.merge(1L, 1, Integer::sum));
+                    }
+                });
+            }
+            start.countDown();
+        }
+
+        Cart cart = store.get("c1");
+        assertEquals(8_000, cart.items().getFirst().quantity());
+        assertEquals(8_000, cart.version());
+    }
+}
@@ -0,0 +1,155 @@
+package com.ecommerce.order.checkout;
+
+import com.ecommerce.order.outbox.OutboxRepository;
+import com.ecommerce.order.repository.OrderRepository;
+import com.ecommerce.order.saga.SagaContext;
+import com.ecommerce.order.saga.SagaProperties;
+import com.ecommerce.order.saga.SagaStep;
+import com.ecommerce.order.saga.SagaStepException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CheckoutSagaTest {
+
+    private static final URI PRODUCT = URI.create("http://product");
+    private static final URI PAYMENT = URI.create("http://payment");
+
+    @Mock
+    private DownstreamClient client;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, JsonNode> outputs = new HashMap<>();
+    private CheckoutSaga saga;
+    private SagaContext context;
+
+    @BeforeEach
+    void setUp() {
+        SagaProperties properties = new SagaProperties();
+        properties.setProductServiceUrl(PRODUCT);
+        properties.setPaymentServiceUrl(PAYMENT);
+        saga = new CheckoutSaga(client, orderRepository, outboxRepository, objectMapper, properties);
+
+        ObjectNode input = objectMapper.createObjectNode().put("total", "30.00").put("currency", "USD");
+        input.putArray("items").add(item(1L, 2)).add(item(2L, 1));
+        context = new SagaContext(UUID.randomUUID(), UUID.randomUUID(), input, outputs);
+    }
+
+    @Test
+    void reserveStock_WhenALineCannotBeReserved_ShouldReleaseTheLinesReservedSoFar() throws Exception {
+        when(client.post(eq(PRODUCT), eq("/inventory/reservations"), anyMap(), anyString()))
+                .thenReturn(objectMapper.createObjectNode().put("id", "r-1"))
+                .thenThrow(new DownstreamException("out of stock", 409));
+
+        SagaStepException thrown = assertThrows(SagaStepException.class,
+                () -> step(CheckoutSaga.RESERVE_STOCK).action().execute(context));
+
+        assertTrue(thrown.isPermanent());
+        verify(client).delete(PRODUCT, "/inventory/reservations/r-1");
+    }
+
+    @Test
+    void reserveStock_ShouldReserveEachLineUnderItsOwnStableKey() throws Exception {
+        when(client.post(eq(PRODUCT), eq("/inventory/reservations"), anyMap(), anyString()))
+                .thenReturn(objectMapper.createObjectNode().put("id", "r-1"));
+
+        step(CheckoutSaga.RESERVE_STOCK).action().execute(context);
+        step(CheckoutSaga.RESERVE_STOCK).action().execute(context);
+
+        ArgumentCaptor<String> keys = ArgumentCaptor.forClass(String.class);
+        verify(client, times(4)).post(eq(PRODUCT), eq("/inventory/reservations"), anyMap(), keys.capture());
+        assertEquals(2, Set.copyOf(keys.getAllValues()).size());
+        assertEquals(keys.getAllValues().subList(0, 2), keys.getAllValues().subList(2, 4));
+    }
+
+    @Test
+    void confirmStock_OnRetry_ShouldConfirmEveryReservationAgain() throws Exception {
+        outputs.put(CheckoutSaga.RESERVE_STOCK, reservations("r-1", "r-2"));
+
+        step(CheckoutSaga.CONFIRM_STOCK).action().execute(context);
+        step(CheckoutSaga.CONFIRM_STOCK).action().execute(context);
+
+        verify(client, times(2)).post(PRODUCT, "/inventory/reservations/r-1/confirm", null, null);
+        verify(client, times(2)).post(PRODUCT, "/inventory/reservations/r-2/confirm", null, null);
+    }
+
+    @Test
+    void capturePayment_WhenPreviousAttemptIsStillInProgress_ShouldFailTransiently() throws Exception {
+        outputs.put(CheckoutSaga.AUTHORIZE_PAYMENT,
+                objectMapper.createObjectNode().put("authorizationId", "a-1"));
+        when(client.post(eq(PAYMENT), eq("/payments/authorizations/a-1/capture"), isNull(), any()))
+                .thenThrow(new DownstreamException("in progress", 409, true));
+
+        SagaStepException thrown = assertThrows(SagaStepException.class,
+                () -> step(CheckoutSaga.CAPTURE_PAYMENT).action().execute(context));
+
+        assertFalse(thrown.isPermanent());
+        verify(client).post(PAYMENT, "/payments/authorizations/a-1/capture", null,
+                context.idempotencyKey(CheckoutSaga.CAPTURE_PAYMENT));
+    }
+
+    @Test
+    void downstreamException_ShouldOnlyTreatClientErrorsWithoutRetryAfterAsPermanent() {
+        assertTrue(new DownstreamException("conflict", 409).isPermanent());
+        assertFalse(new DownstreamException("in progress", 409, true).isPermanent());
+        assertFalse(new DownstreamException("rate limited", 429).isPermanent());
+        assertFalse(new DownstreamException("unavailable", 503).isPermanent());
+    }
+
+    @Test
+    void voidPayment_WhenAlreadyClosed_ShouldSucceed() throws Exception {
+        when(client.post(eq(PAYMENT), eq("/payments/authorizations/a-1/void"), isNull(), any()))
+                .thenThrow(new DownstreamException("already voided", 409));
+
+        step(CheckoutSaga.AUTHORIZE_PAYMENT).compensation()
+                .compensate(context, objectMapper.createObjectNode().put("authorizationId", "a-1"));
+    }
+
+    private SagaStep step(String name) {
+        return saga.phases().stream()
+                .flatMap(List::stream)
+                .filter(step -> step.name().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private ObjectNode item(long productId, int quantity) {
+        return objectMapper.createObjectNode().put("productId", productId).put("quantity", quantity);
+    }
+
+    private ObjectNode reservations(String... ids) {
+        ObjectNode output = objectMapper.createObjectNode();
+        for (String id : ids) {
+            output.withArray("reservations").add(id);
+        }
+        return output;
+    }
+}
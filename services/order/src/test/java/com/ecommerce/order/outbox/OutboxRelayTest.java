@@ -0,0 +1,108 @@
+package com.ecommerce.order.outbox;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final InMemoryEventTransport transport = new InMemoryEventTransport();
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        OutboxProperties properties = new OutboxProperties();
+        properties.setDeliveryTimeout(Duration.ofMillis(200));
+        relay = new OutboxRelay(repository, transport, transactionManager, properties);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relayBatch_ShouldDeleteDeliveredAndRescheduleFailedEvents() {
+        when(repository.lockBatch(100)).thenReturn(List.of(event(1, 0), event(2, 3), event(3, 0)));
+        List<Long> received = new ArrayList<>();
+        transport.subscribe(event -> {
+            if (event.id() == 2) {
+                throw new IllegalStateException("payment-service unavailable");
+            }
+            received.add(event.id());
+        });
+
+        assertEquals(3, relay.relayBatch());
+
+        assertEquals(List.of(1L, 3L), received);
+        verify(repository).delete(List.of(1L, 3L));
+        ArgumentCaptor<List<OutboxRepository.Failure>> failures = ArgumentCaptor.forClass(List.class);
+        verify(repository).reschedule(failures.capture());
+        OutboxRepository.Failure failure = failures.getValue().getFirst();
+        assertEquals(2, failure.id());
+        assertEquals("payment-service unavailable", failure.error());
+        assertTrue(failure.delay().compareTo(Duration.ofSeconds(4)) >= 0);
+        assertTrue(failure.delay().compareTo(Duration.ofSeconds(8)) <= 0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relayBatch_WhenDeliveryHangs_ShouldRescheduleAfterTimeout() {
+        EventTransport hanging = event -> new CompletableFuture<>();
+        relay = new OutboxRelay(repository, hanging, transactionManager, timeout(Duration.ofMillis(50)));
+        when(repository.lockBatch(100)).thenReturn(List.of(event(1, 0)));
+
+        relay.relayBatch();
+
+        verify(repository).delete(List.of());
+        ArgumentCaptor<List<OutboxRepository.Failure>> failures = ArgumentCaptor.forClass(List.class);
+        verify(repository).reschedule(failures.capture());
+        assertEquals("Delivery timed out", failures.getValue().getFirst().error());
+    }
+
+    @Test
+    void relayBatch_WhenNothingIsDue_ShouldNotTouchTransport() {
+        when(repository.lockBatch(100)).thenReturn(List.of());
+        transport.subscribe(event -> fail("nothing should be delivered"));
+
+        assertEquals(0, relay.relayBatch());
+        verify(repository, never()).delete(anyList());
+    }
+
+    @Test
+    void backoff_ShouldGrowExponentiallyUpToTheCap() {
+        Duration max = Duration.ofMinutes(5);
+
+        Duration first = OutboxRelay.backoff(0, max);
+        Duration capped = OutboxRelay.backoff(30, max);
+
+        assertTrue(first.toMillis() >= 500 && first.toMillis() <= 1000);
+        assertTrue(capped.compareTo(max.dividedBy(2)) >= 0 && capped.compareTo(max) <= 0);
+    }
+
+    private static OutboxProperties timeout(Duration timeout) {
+        OutboxProperties properties = new OutboxProperties();
+        properties.setDeliveryTimeout(timeout);
+        return properties;
+    }
+
+    private static OutboxEvent event(long id, int attempts) {
+        return new OutboxEvent(id, "order", "o-" + id, "OrderPlaced", "{}", Instant.EPOCH, attempts);
+    }
+}
@@ -0,0 +1,162 @@
+package com.ecommerce.order.saga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SagaEngineTest {
+
+    private static final UUID SAGA_ID = UUID.randomUUID();
+    private static final UUID ORDER_ID = UUID.randomUUID();
+
+    @Mock
+    private SagaRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<String> calls = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    void execute_WhenEveryPhaseSucceeds_ShouldCompleteAndPassOutputsForward() {
+        when(repository.advance(eq(SAGA_ID), anyString(), any(), any(), anyInt(), any())).thenReturn(true);
+        FakeSaga saga = new FakeSaga(List.of(
+                List.of(step("reserve", context -> objectMapper.createObjectNode().put("id", "r-1")),
+                        step("authorize", context -> null)),
+                List.of(step("confirm", context -> {
+                    calls.add("confirm " + context.output("reserve").path("id").asText());
+                    return null;
+                }))));
+
+        engine(saga).execute(instance(SagaStatus.RUNNING, 0));
+
+        assertTrue(calls.contains("confirm r-1"));
+        assertEquals(List.of("completed"), saga.callbacks);
+        verify(repository).saveStep(SAGA_ID, "reserve", StepStatus.SUCCEEDED, 1, "{\"id\":\"r-1\"}", null);
+        verify(repository).advance(eq(SAGA_ID), anyString(), any(), eq(SagaStatus.COMPLETED), eq(2), isNull());
+    }
+
+    @Test
+    void execute_WhenStepFailsTransiently_ShouldReleaseForRetryWithoutRerunningSucceededSteps() {
+        when(repository.findSteps(SAGA_ID)).thenReturn(List.of(
+                new StepRecord("reserve", StepStatus.SUCCEEDED, 1, null, null, null)));
+        FakeSaga saga = new FakeSaga(List.of(List.of(
+                step("reserve", context -> {
+                    calls.add("reserve");
+                    return null;
+                }),
+                step("authorize", context -> {
+                    throw new SagaStepException("payment-service unavailable", false);
+                }))));
+
+        engine(saga).execute(instance(SagaStatus.RUNNING, 0));
+
+        assertFalse(calls.contains("reserve"));
+        verify(repository).saveStep(SAGA_ID, "authorize", StepStatus.FAILED, 1, null,
+                "authorize: payment-service unavailable");
+        ArgumentCaptor<Duration> delay = ArgumentCaptor.forClass(Duration.class);
+        verify(repository).release(eq(SAGA_ID), anyString(), delay.capture());
+        assertTrue(delay.getValue().compareTo(Duration.ofMillis(200)) >= 0);
+        assertTrue(delay.getValue().compareTo(Duration.ofMillis(400)) <= 0);
+        verify(repository, never()).advance(any(), anyString(), any(), any(), anyInt(), any());
+        assertTrue(saga.callbacks.isEmpty());
+    }
+
+    @Test
+    void execute_WhenStepFailsPermanently_ShouldCompensateSucceededStepsAndCancel() {
+        when(repository.advance(eq(SAGA_ID), anyString(), any(), any(), anyInt(), any())).thenReturn(true);
+        FakeSaga saga = new FakeSaga(List.of(List.of(
+                step("reserve", context -> objectMapper.createObjectNode().put("id", "r-1")),
+                step("authorize", context -> {
+                    throw new SagaStepException("card declined", true);
+                }))));
+
+        engine(saga).execute(instance(SagaStatus.RUNNING, 0));
+
+        assertEquals(List.of("undo reserve r-1"), calls);
+        verify(repository).saveStep(SAGA_ID, "reserve", StepStatus.COMPENSATED, 2, null, null);
+        verify(repository).advance(eq(SAGA_ID), anyString(), any(), eq(SagaStatus.CANCELLED), eq(0),
+                eq("authorize: card declined"));
+        assertEquals(List.of("cancelled: authorize: card declined"), saga.callbacks);
+    }
+
+    @Test
+    void execute_WhenStepTimesOut_ShouldRecordTimeoutAndRetry() {
+        FakeSaga saga = new FakeSaga(List.of(List.of(new SagaStep("slow", Duration.ofMillis(50), 5, context -> {
+            Thread.sleep(5_000);
+            return null;
+        }, null))));
+
+        engine(saga).execute(instance(SagaStatus.RUNNING, 0));
+
+        verify(repository).saveStep(SAGA_ID, "slow", StepStatus.FAILED, 1, null, "slow: timed out after 50 ms");
+        verify(repository).release(eq(SAGA_ID), anyString(), any());
+    }
+
+    private SagaEngine engine(SagaDefinition definition) {
+        return new SagaEngine(repository, List.of(definition), objectMapper, transactionManager,
+                new SagaProperties());
+    }
+
+    private SagaStep step(String name, SagaStep.Action action) {
+        return new SagaStep(name, Duration.ofSeconds(1), 5, action,
+                (context, output) -> calls.add("undo " + name + " " + output.path("id").asText()));
+    }
+
+    private static SagaInstance instance(SagaStatus status, int phase) {
+        return new SagaInstance(SAGA_ID, FakeSaga.TYPE, ORDER_ID, status, phase, "{}", null);
+    }
+
+    private static final class FakeSaga implements SagaDefinition {
+
+        private static final String TYPE = "fake";
+
+        private final List<List<SagaStep>> phases;
+        private final List<String> callbacks = new ArrayList<>();
+
+        private FakeSaga(List<List<SagaStep>> phases) {
+            this.phases = phases;
+        }
+
+        @Override
+        public String type() {
+            return TYPE;
+        }
+
+        @Override
+        public List<List<SagaStep>> phases() {
+            return phases;
+        }
+
+        @Override
+        public int compensablePhases() {
+            return 1;
+        }
+
+        @Override
+        public void onCompleted(SagaContext context) {
+            callbacks.add("completed");
+        }
+
+        @Override
+        public void onCancelled(SagaContext context, String reason) {
+            callbacks.add("cancelled: " + reason);
+        }
+    }
+}
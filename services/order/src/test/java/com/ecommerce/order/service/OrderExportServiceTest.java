@@ -0,0 +1,68 @@
+package com.ecommerce.order.service;
+
+import com.ecommerce.common.util.NdjsonWriter;
+import com.ecommerce.order.dto.OrderLine;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderExportServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void assembler_ShouldWriteOneLinePerOrderWithItsItems() throws IOException {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        Instant createdAt = Instant.parse("2025-01-01T10:00:00Z");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try (NdjsonWriter writer = new NdjsonWriter(objectMapper, output, 100)) {
+            OrderExportService.OrderAssembler assembler = new OrderExportService.OrderAssembler(writer);
+            assembler.add(first, "c1", "PLACED", "USD", new BigDecimal("12.00"), createdAt,
+                    new OrderLine(1L, 1, new BigDecimal("2.00")));
+            assembler.add(first, "c1", "PLACED", "USD", new BigDecimal("12.00"), createdAt,
+                    new OrderLine(2L, 2, new BigDecimal("5.00")));
+            assembler.add(second, "c1", "CANCELLED", "USD", BigDecimal.ZERO, createdAt, null);
+            assembler.finish();
+            assertEquals(2, writer.count());
+        }
+
+        List<JsonNode> orders = output.toString(StandardCharsets.UTF_8).lines().map(this::parse).toList();
+        assertEquals(2, orders.size());
+        assertEquals(first.toString(), orders.get(0).path("id").asText());
+        assertEquals(2, orders.get(0).path("items").size());
+        assertEquals(2, orders.get(0).path("items").get(1).path("productId").asLong());
+        assertEquals("CANCELLED", orders.get(1).path("status").asText());
+        assertEquals(0, orders.get(1).path("items").size());
+    }
+
+    @Test
+    void assembler_WithNoRows_ShouldWriteNothing() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try (NdjsonWriter writer = new NdjsonWriter(objectMapper, output, 100)) {
+            new OrderExportService.OrderAssembler(writer).finish();
+        }
+
+        assertEquals(0, output.size());
+    }
+
+    private JsonNode parse(String line) {
+        try {
+            return objectMapper.readTree(line);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
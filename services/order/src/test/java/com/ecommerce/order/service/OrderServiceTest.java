@@ -0,0 +1,114 @@
+package com.ecommerce.order.service;
+
+import com.ecommerce.order.dto.OrderDetail;
+import com.ecommerce.order.dto.OrderLineRequest;
+import com.ecommerce.order.dto.PlaceOrderRequest;
+import com.ecommerce.order.entity.Order;
+import com.ecommerce.order.event.OrderPlacedEvent;
+import com.ecommerce.order.outbox.OutboxRepository;
+import com.ecommerce.order.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ProductPrices productPrices;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        orderService = new OrderService(orderRepository, outboxRepository, eventPublisher, productPrices,
+                transactionManager);
+    }
+
+    @Test
+    void placeOrder_ShouldSaveOrderAndAppendOutboxEvent() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(productPrices.lookup(List.of(1L, 2L), "USD"))
+                .thenReturn(Map.of(1L, new BigDecimal("9.99"), 2L, new BigDecimal("5")));
+        PlaceOrderRequest request = new PlaceOrderRequest("usd", List.of(
+                new OrderLineRequest(1L, 2),
+                new OrderLineRequest(2L, 1)), "cart-1");
+
+        OrderDetail detail = orderService.placeOrder("customer-1", request);
+
+        assertEquals("customer-1", detail.customerId());
+        assertEquals("USD", detail.currency());
+        assertEquals("PLACED", detail.status());
+        assertEquals(0, new BigDecimal("24.98").compareTo(detail.total()));
+        verify(orderRepository).save(any(Order.class));
+        verify(outboxRepository).append(OrderService.AGGREGATE_TYPE, detail.id().toString(),
+                OrderService.ORDER_PLACED, detail);
+        verify(eventPublisher).publishEvent(new OrderPlacedEvent(detail.id(), "cart-1"));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void placeOrder_WhenProductIsUnknown_ShouldNotSaveOrder() {
+        when(productPrices.lookup(anyCollection(), anyString()))
+                .thenThrow(new IllegalArgumentException("Unknown product 1"));
+        PlaceOrderRequest request = new PlaceOrderRequest("USD", List.of(new OrderLineRequest(1L, 1)), null);
+
+        assertThrows(IllegalArgumentException.class, () -> orderService.placeOrder("customer-1", request));
+        verify(orderRepository, never()).save(any());
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void placeOrder_WithDuplicateProduct_ShouldThrowIllegalArgumentException() {
+        PlaceOrderRequest request = new PlaceOrderRequest("USD", List.of(
+                new OrderLineRequest(1L, 1),
+                new OrderLineRequest(1L, 2)), null);
+
+        assertThrows(IllegalArgumentException.class, () -> orderService.placeOrder("customer-1", request));
+        verify(outboxRepository, never()).append(anyString(), anyString(), anyString(), any());
+        verifyNoInteractions(productPrices);
+    }
+
+    @Test
+    void placeOrder_WithoutItems_ShouldThrowIllegalArgumentException() {
+        PlaceOrderRequest request = new PlaceOrderRequest("USD", List.of(), null);
+
+        assertThrows(IllegalArgumentException.class, () -> orderService.placeOrder("customer-1", request));
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void placeOrder_WithoutCustomer_ShouldThrowIllegalArgumentException() {
+        PlaceOrderRequest request = new PlaceOrderRequest("USD", List.of(new OrderLineRequest(1L, 1)), null);
+
+        assertThrows(IllegalArgumentException.class, () -> orderService.placeOrder(null, request));
+        verifyNoInteractions(productPrices);
+    }
+}
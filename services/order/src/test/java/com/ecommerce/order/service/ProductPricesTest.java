@@ -0,0 +1,85 @@
+package com.ecommerce.order.service;
+
+import com.ecommerce.common.exception.ServiceOverloadedException;
+import com.ecommerce.order.checkout.DownstreamClient;
+import com.ecommerce.order.checkout.DownstreamException;
+import com.ecommerce.order.saga.SagaProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductPricesTest {
+
+    private static final URI PRODUCT = URI.create("http://product");
+
+    @Mock
+    private DownstreamClient client;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ProductPrices productPrices;
+
+    @BeforeEach
+    void setUp() {
+        SagaProperties properties = new SagaProperties();
+        properties.setProductServiceUrl(PRODUCT);
+        productPrices = new ProductPrices(client, properties);
+    }
+
+    @Test
+    void lookup_ShouldReturnCatalogPriceInCurrency() throws Exception {
+        when(client.get(PRODUCT, "/products/1")).thenReturn(product("ACTIVE", "USD", "9.99"));
+        when(client.get(PRODUCT, "/products/2")).thenReturn(product("ACTIVE", "USD", "5"));
+
+        Map<Long, BigDecimal> prices = productPrices.lookup(List.of(1L, 2L), "USD");
+
+        assertEquals(0, new BigDecimal("9.99").compareTo(prices.get(1L)));
+        assertEquals(0, new BigDecimal("5").compareTo(prices.get(2L)));
+    }
+
+    @Test
+    void lookup_WithoutPriceInCurrency_ShouldThrowIllegalArgumentException() throws Exception {
+        when(client.get(PRODUCT, "/products/1")).thenReturn(product("ACTIVE", "EUR", "9.99"));
+
+        assertThrows(IllegalArgumentException.class, () -> productPrices.lookup(List.of(1L), "USD"));
+    }
+
+    @Test
+    void lookup_WithInactiveProduct_ShouldThrowIllegalArgumentException() throws Exception {
+        when(client.get(PRODUCT, "/products/1")).thenReturn(product("INACTIVE", "USD", "9.99"));
+
+        assertThrows(IllegalArgumentException.class, () -> productPrices.lookup(List.of(1L), "USD"));
+    }
+
+    @Test
+    void lookup_WithUnknownProduct_ShouldThrowIllegalArgumentException() throws Exception {
+        when(client.get(PRODUCT, "/products/1")).thenThrow(new DownstreamException("not found", 404));
+
+        assertThrows(IllegalArgumentException.class, () -> productPrices.lookup(List.of(1L), "USD"));
+    }
+
+    @Test
+    void lookup_WhenProductServiceFails_ShouldThrowServiceOverloadedException() throws Exception {
+        when(client.get(PRODUCT, "/products/1")).thenThrow(new DownstreamException("unavailable", 503));
+
+        assertThrows(ServiceOverloadedException.class, () -> productPrices.lookup(List.of(1L), "USD"));
+    }
+
+    private ObjectNode product(String status, String currency, String price) {
+        ObjectNode product = objectMapper.createObjectNode().put("status", status);
+        product.putObject("prices").put(currency, new BigDecimal(price));
+        return product;
+    }
+}
@@ -1,14 +1,69 @@
 package com.ecommerce.payment.controller;
 
+import com.ecommerce.payment.dto.AccountBalance;
+import com.ecommerce.payment.dto.AmountRequest;
+import com.ecommerce.payment.dto.Authorization;
+import com.ecommerce.payment.dto.AuthorizationRequest;
+import com.ecommerce.payment.idempotency.IdempotencyFilter;
+import com.ecommerce.payment.service.PaymentService;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.net.URI;
+import java.util.List;
+import java.util.UUID;
+
 @RestController
 public class PaymentController {
 
+    private final PaymentService paymentService;
+
+    public PaymentController(PaymentService paymentService) {
+        this.paymentService = paymentService;
+    }
+
     @GetMapping("/hello")
     public String hello() {
         return "Payment service is running!";
     }
 
+    @PostMapping("/payments/authorizations")
+    public ResponseEntity<Authorization> authorize(@RequestBody AuthorizationRequest request,
+                                                   @RequestHeader(value = IdempotencyFilter.HEADER, required = false)
+                                                   String idempotencyKey) {
+        Authorization authorization = paymentService.authorize(request, idempotencyKey);
+        return ResponseEntity.created(URI.create("/payments/authorizations/" + authorization.id()))
+                .body(authorization);
+    }
+
+    @GetMapping("/payments/authorizations/{id}")
+    public ResponseEntity<Authorization> getAuthorization(@PathVariable UUID id) {
+        return ResponseEntity.of(paymentService.getAuthorization(id));
+    }
+
+    @PostMapping("/payments/authorizations/{id}/capture")
+    public ResponseEntity<Authorization> capture(@PathVariable UUID id,
+                                                 @RequestBody(required = false) AmountRequest request) {
+        return ResponseEntity.of(paymentService.capture(id, request));
+    }
+
+    @PostMapping("/payments/authorizations/{id}/void")
+    public ResponseEntity<Authorization> voidAuthorization(@PathVariable UUID id) {
+        return ResponseEntity.of(paymentService.voidAuthorization(id));
+    }
+
+    @PostMapping("/payments/authorizations/{id}/refunds")
+    public ResponseEntity<Authorization> refund(@PathVariable UUID id, @RequestBody AmountRequest request) {
+        return ResponseEntity.of(paymentService.refund(id, request));
+    }
+
+    @GetMapping("/payments/ledger/accounts/{account}/balances")
+    public List<AccountBalance> getBalances(@PathVariable String account) {
+        return paymentService.getBalances(account);
+    }
 }
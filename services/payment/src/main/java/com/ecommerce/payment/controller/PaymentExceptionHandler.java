@@ -0,0 +1,31 @@
+package com.ecommerce.payment.controller;
+
+import com.ecommerce.common.dto.ErrorResponse;
+import com.ecommerce.payment.provider.PaymentDeclinedException;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Payment-specific errors, ahead of the shared handler's catch-all.
+ */
+@RestControllerAdvice
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class PaymentExceptionHandler {
+
+    @ExceptionHandler(PaymentDeclinedException.class)
+    public ResponseEntity<ErrorResponse> handleDeclined(PaymentDeclinedException ex, WebRequest request) {
+        ErrorResponse error = new ErrorResponse(
+            "about:blank",
+            "Payment Required",
+            HttpStatus.PAYMENT_REQUIRED.value(),
+            ex.getMessage(),
+            request.getDescription(false).replace("uri=", "")
+        );
+        return ResponseEntity.status(HttpStatus.PAYMENT_REQUIRED).body(error);
+    }
+}
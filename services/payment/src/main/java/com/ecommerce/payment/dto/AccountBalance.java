@@ -0,0 +1,11 @@
+package com.ecommerce.payment.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * A running balance: debits minus credits over every line posted to the account in this currency.
+ */
+public record AccountBalance(String account, String currency, BigDecimal balance, long lineCount,
+                             Instant updatedAt) {
+}
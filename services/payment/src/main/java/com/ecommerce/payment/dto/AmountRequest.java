@@ -0,0 +1,6 @@
+package com.ecommerce.payment.dto;
+
+import java.math.BigDecimal;
+
+public record AmountRequest(BigDecimal amount) {
+}
@@ -0,0 +1,9 @@
+package com.ecommerce.payment.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record Authorization(UUID id, UUID orderId, BigDecimal amount, String currency, String status,
+                            BigDecimal capturedAmount, BigDecimal refundedAmount, String provider,
+                            String providerReference) {
+}
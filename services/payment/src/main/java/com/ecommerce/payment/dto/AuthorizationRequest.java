@@ -0,0 +1,7 @@
+package com.ecommerce.payment.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record AuthorizationRequest(UUID orderId, BigDecimal amount, String currency) {
+}
@@ -0,0 +1,93 @@
+package com.ecommerce.payment.idempotency;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public class IdempotencyKeyRepository {
+
+    private static final String IN_PROGRESS = "IN_PROGRESS";
+    private static final String COMPLETED = "COMPLETED";
+
+    // An existing row is only taken over once it has expired, or when the request that claimed it has died
+    // holding the lock and this is the same request again.
+    private static final String CLAIM = """
+            INSERT INTO idempotency_keys (idempotency_key, fingerprint, status, locked_until, expires_at)
+            VALUES (?, ?, 'IN_PROGRESS', ?, ?)
+            ON CONFLICT (idempotency_key) DO UPDATE SET fingerprint = EXCLUDED.fingerprint, status = 'IN_PROGRESS',
+                response_status = NULL, content_type = NULL, location = NULL, response_body = NULL,
+                locked_until = EXCLUDED.locked_until, created_at = now(), expires_at = EXCLUDED.expires_at
+            WHERE idempotency_keys.expires_at < now()
+               OR (idempotency_keys.status = 'IN_PROGRESS' AND idempotency_keys.locked_until < now()
+                   AND idempotency_keys.fingerprint = EXCLUDED.fingerprint)
+            """;
+
+    private static final String DELETE_EXPIRED = """
+            DELETE FROM idempotency_keys WHERE idempotency_key IN (
+                SELECT idempotency_key FROM idempotency_keys WHERE expires_at < now()
+                ORDER BY expires_at LIMIT ? FOR UPDATE SKIP LOCKED)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdempotencyKeyRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Claims {@code key} for the request with {@code fingerprint}.
+     *
+     * @return whether the caller now holds the key and should run the request
+     */
+    public boolean claim(String key, String fingerprint, Duration lockTimeout, Instant expiresAt) {
+        Instant lockedUntil = Instant.now().plus(lockTimeout);
+        return jdbcTemplate.update(CLAIM, key, fingerprint, Timestamp.from(lockedUntil),
+                Timestamp.from(expiresAt)) > 0;
+    }
+
+    public Optional<IdempotencyRecord> find(String key) {
+        return jdbcTemplate.query("""
+                        SELECT fingerprint, status, response_status, content_type, location, response_body, expires_at
+                        FROM idempotency_keys WHERE idempotency_key = ? AND expires_at > now()
+                        """,
+                (rs, rowNum) -> new IdempotencyRecord(key, rs.getString("fingerprint"),
+                        COMPLETED.equals(rs.getString("status"))
+                                ? new StoredResponse(rs.getInt("response_status"), rs.getString("content_type"),
+                                rs.getString("location"), rs.getBytes("response_body"))
+                                : null,
+                        rs.getTimestamp("expires_at").toInstant()), key)
+                .stream()
+                .findFirst();
+    }
+
+    public void complete(String key, StoredResponse response) {
+        jdbcTemplate.update("""
+                        UPDATE idempotency_keys SET status = 'COMPLETED', response_status = ?, content_type = ?,
+                            location = ?, response_body = ?, locked_until = now()
+                        WHERE idempotency_key = ? AND status = ?
+                        """,
+                response.status(), response.contentType(), response.location(), response.body(), key, IN_PROGRESS);
+    }
+
+    /**
+     * Gives up a claim without storing a response, so the request can be tried again with the same key.
+     */
+    public void release(String key) {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idempotency_key = ? AND status = ?", key,
+                IN_PROGRESS);
+    }
+
+    /**
+     * Deletes up to {@code limit} expired keys, skipping rows other pods are deleting.
+     *
+     * @return the number of keys deleted
+     */
+    public int deleteExpired(int limit) {
+        return jdbcTemplate.update(DELETE_EXPIRED, limit);
+    }
+}
@@ -0,0 +1,64 @@
+package com.ecommerce.payment.idempotency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "payment.idempotency")
+public class IdempotencyProperties {
+
+    private Duration ttl = Duration.ofHours(24);
+    private Duration lockTimeout = Duration.ofSeconds(30);
+    private Duration waitTimeout = Duration.ofSeconds(10);
+    private int hotIndexSize = 100_000;
+    private Duration gcInterval = Duration.ofMinutes(1);
+    private int gcBatchSize = 1000;
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public Duration getLockTimeout() {
+        return lockTimeout;
+    }
+
+    public void setLockTimeout(Duration lockTimeout) {
+        this.lockTimeout = lockTimeout;
+    }
+
+    public Duration getWaitTimeout() {
+        return waitTimeout;
+    }
+
+    public void setWaitTimeout(Duration waitTimeout) {
+        this.waitTimeout = waitTimeout;
+    }
+
+    public int getHotIndexSize() {
+        return hotIndexSize;
+    }
+
+    public void setHotIndexSize(int hotIndexSize) {
+        this.hotIndexSize = hotIndexSize;
+    }
+
+    public Duration getGcInterval() {
+        return gcInterval;
+    }
+
+    public void setGcInterval(Duration gcInterval) {
+        this.gcInterval = gcInterval;
+    }
+
+    public int getGcBatchSize() {
+        return gcBatchSize;
+    }
+
+    public void setGcBatchSize(int gcBatchSize) {
+        this.gcBatchSize = gcBatchSize;
+    }
+}
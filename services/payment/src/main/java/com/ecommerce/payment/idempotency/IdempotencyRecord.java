@@ -0,0 +1,12 @@
+package com.ecommerce.payment.idempotency;
+
+import java.time.Instant;
+
+/**
+ * A claimed Idempotency-Key.
+ *
+ * @param fingerprint hash of the request that claimed the key
+ * @param response    the stored response, or {@code null} while the first request is still running
+ */
+public record IdempotencyRecord(String key, String fingerprint, StoredResponse response, Instant expiresAt) {
+}
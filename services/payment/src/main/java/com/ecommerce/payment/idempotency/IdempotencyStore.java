@@ -0,0 +1,241 @@
+package com.ecommerce.payment.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs each Idempotency-Key's request at most once and replays its response to repeats.
+ * <p>
+ * Keys and responses are stored in Postgres, which is what makes a key hold across pods and restarts. Completed
+ * keys are also kept in a bounded in-memory hot index until they expire, so the retry storm that follows a
+ * timeout is answered from memory without a database round trip. Duplicates that arrive while the first request
+ * is still running on this pod wait for it and replay its response; a duplicate running on another pod is
+ * turned away as in progress until that pod finishes.
+ * <p>
+ * A request whose response is a server error, or which throws, gives its key back so the client can retry.
+ * Expired keys are deleted in batches by a background thread.
+ */
+@Component
+public class IdempotencyStore implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    public sealed interface Outcome {
+
+        /**
+         * The handler ran and produced the response.
+         */
+        record Executed() implements Outcome {
+        }
+
+        record Replayed(StoredResponse response) implements Outcome {
+        }
+
+        /**
+         * The key was first used for a different request.
+         */
+        record Mismatch() implements Outcome {
+        }
+
+        /**
+         * The key's first request is still running elsewhere.
+         */
+        record InProgress() implements Outcome {
+        }
+    }
+
+    /**
+     * Runs the request.
+     */
+    @FunctionalInterface
+    public interface Handler {
+
+        /**
+         * @return the response to store, or {@code null} if it must not be replayed
+         */
+        StoredResponse handle() throws Exception;
+    }
+
+    private final IdempotencyKeyRepository repository;
+    private final IdempotencyProperties properties;
+    private final Cache<String, IdempotencyRecord> hotIndex;
+    private final ConcurrentMap<String, CompletableFuture<IdempotencyRecord>> inFlight = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+    private ScheduledExecutorService executor;
+
+    public IdempotencyStore(IdempotencyKeyRepository repository, IdempotencyProperties properties) {
+        this.repository = repository;
+        this.properties = properties;
+        this.hotIndex = Caffeine.newBuilder()
+                .maximumSize(properties.getHotIndexSize())
+                .expireAfter(Expiry.creating((String key, IdempotencyRecord record) ->
+                        Duration.between(Instant.now(), record.expiresAt())))
+                .build();
+    }
+
+    public Outcome execute(String key, String fingerprint, Handler handler) throws Exception {
+        long deadline = System.nanoTime() + properties.getWaitTimeout().toNanos();
+        while (true) {
+            IdempotencyRecord cached = hotIndex.getIfPresent(key);
+            if (cached != null) {
+                return replay(cached, fingerprint);
+            }
+
+            CompletableFuture<IdempotencyRecord> claim = new CompletableFuture<>();
+            CompletableFuture<IdempotencyRecord> running = inFlight.putIfAbsent(key, claim);
+            if (running != null) {
+                IdempotencyRecord finished = await(running, deadline);
+                if (finished != null) {
+                    return replay(finished, fingerprint);
+                }
+                if (System.nanoTime() - deadline >= 0) {
+                    return new Outcome.InProgress();
+                }
+                // The first request gave the key back; try to claim it ourselves.
+                continue;
+            }
+
+            try {
+                return claimAndRun(key, fingerprint, handler, claim);
+            } finally {
+                inFlight.remove(key, claim);
+                claim.complete(null);
+            }
+        }
+    }
+
+    private Outcome claimAndRun(String key, String fingerprint, Handler handler,
+                                CompletableFuture<IdempotencyRecord> claim) throws Exception {
+        Instant expiresAt = Instant.now().plus(properties.getTtl());
+        if (!repository.claim(key, fingerprint, properties.getLockTimeout(), expiresAt)) {
+            Optional<IdempotencyRecord> stored = repository.find(key);
+            if (stored.isEmpty()) {
+                // Deleted between our claim and the lookup: the holder gave it back or it expired.
+                return new Outcome.InProgress();
+            }
+            IdempotencyRecord record = stored.get();
+            if (record.response() == null) {
+                return record.fingerprint().equals(fingerprint) ? new Outcome.InProgress() : new Outcome.Mismatch();
+            }
+            hotIndex.put(key, record);
+            claim.complete(record);
+            return replay(record, fingerprint);
+        }
+
+        StoredResponse response;
+        try {
+            response = handler.handle();
+        } catch (Exception e) {
+            releaseQuietly(key);
+            throw e;
+        }
+        if (response == null) {
+            releaseQuietly(key);
+            return new Outcome.Executed();
+        }
+
+        IdempotencyRecord record = new IdempotencyRecord(key, fingerprint, response, expiresAt);
+        try {
+            repository.complete(key, response);
+        } catch (RuntimeException e) {
+            // The claim stays locked until it times out; until then this pod still replays from memory.
+            logger.warn("Failed to store the response for idempotency key {}: {}", key, e.getMessage());
+        }
+        hotIndex.put(key, record);
+        claim.complete(record);
+        return new Outcome.Executed();
+    }
+
+    /**
+     * Deletes expired keys, one batch at a time.
+     *
+     * @return the number of keys deleted
+     */
+    int collectExpired() {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = repository.deleteExpired(properties.getGcBatchSize());
+            total += deleted;
+        } while (deleted == properties.getGcBatchSize() && running);
+        return total;
+    }
+
+    long hotIndexSize() {
+        hotIndex.cleanUp();
+        return hotIndex.estimatedSize();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        executor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("idempotency-gc").factory());
+        long intervalMillis = properties.getGcInterval().toMillis();
+        executor.scheduleWithFixedDelay(this::collectQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        executor.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void collectQuietly() {
+        try {
+            int deleted = collectExpired();
+            if (deleted > 0) {
+                logger.debug("Deleted {} expired idempotency keys", deleted);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Idempotency key cleanup failed: {}", e.getMessage());
+        }
+    }
+
+    private void releaseQuietly(String key) {
+        try {
+            repository.release(key);
+        } catch (RuntimeException e) {
+            // The claim times out on its own, after which a retry of the same request may take it over.
+            logger.warn("Failed to release idempotency key {}: {}", key, e.getMessage());
+        }
+    }
+
+    private static Outcome replay(IdempotencyRecord record, String fingerprint) {
+        return record.fingerprint().equals(fingerprint)
+                ? new Outcome.Replayed(record.response())
+                : new Outcome.Mismatch();
+    }
+
+    private static IdempotencyRecord await(CompletableFuture<IdempotencyRecord> running, long deadline)
+            throws InterruptedException {
+        try {
+            return running.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.ecommerce.payment.idempotency;
+
+/**
+ * The parts of a response that are replayed for a repeated Idempotency-Key.
+ */
+public record StoredResponse(int status, String contentType, String location, byte[] body) {
+}
@@ -0,0 +1,43 @@
+package com.ecommerce.payment.ledger;
+
+import com.ecommerce.payment.dto.Authorization;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * An authorisation row as the ledger writer sees it while a batch is being planned.
+ */
+final class AuthorizationState {
+
+    final UUID id;
+    final UUID orderId;
+    final BigDecimal amount;
+    final String currency;
+    final String provider;
+    final String providerReference;
+    final boolean created;
+    AuthorizationStatus status;
+    BigDecimal capturedAmount;
+    BigDecimal refundedAmount;
+
+    AuthorizationState(UUID id, UUID orderId, BigDecimal amount, String currency, String provider,
+                       String providerReference, AuthorizationStatus status, BigDecimal capturedAmount,
+                       BigDecimal refundedAmount, boolean created) {
+        this.id = id;
+        this.orderId = orderId;
+        this.amount = amount;
+        this.currency = currency;
+        this.provider = provider;
+        this.providerReference = providerReference;
+        this.status = status;
+        this.capturedAmount = capturedAmount;
+        this.refundedAmount = refundedAmount;
+        this.created = created;
+    }
+
+    Authorization snapshot() {
+        return new Authorization(id, orderId, amount, currency, status.name(), capturedAmount, refundedAmount,
+                provider, providerReference);
+    }
+}
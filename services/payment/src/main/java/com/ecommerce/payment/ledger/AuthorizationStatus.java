@@ -0,0 +1,8 @@
+package com.ecommerce.payment.ledger;
+
+public enum AuthorizationStatus {
+    AUTHORIZED,
+    CAPTURED,
+    VOIDED,
+    REFUNDED
+}
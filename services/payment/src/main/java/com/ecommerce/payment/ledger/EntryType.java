@@ -0,0 +1,8 @@
+package com.ecommerce.payment.ledger;
+
+public enum EntryType {
+    AUTHORIZATION,
+    CAPTURE,
+    VOID,
+    REFUND
+}
@@ -0,0 +1,277 @@
+package com.ecommerce.payment.ledger;
+
+import com.ecommerce.common.exception.ServiceOverloadedException;
+import com.ecommerce.payment.dto.Authorization;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only double-entry ledger for authorisations, captures, voids and refunds, written by group commit.
+ * <p>
+ * Callers submit {@link LedgerCommand commands} and wait on their futures. A single writer thread takes the
+ * first queued command, lingers up to {@code maxDelay} for up to {@code batchSize} more, and posts the lot in
+ * one transaction: the authorisations involved are locked, the commands are planned against them in order (see
+ * {@link LedgerBatch}), and the journal lines are appended with JDBC batches. Account balances are kept as
+ * running snapshots: each batch adds its net change per account with one upsert per account, so a hot merchant
+ * account takes one row lock per batch instead of one per posting, and reading a balance never touches the
+ * journal. A command is acknowledged only after its batch commits.
+ */
+@Component
+public class Ledger implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(Ledger.class);
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+    // ORDER BY id keeps lock order consistent with writers on other pods.
+    private static final String LOCK_AUTHORIZATIONS = """
+            SELECT id, order_id, amount, currency, provider, provider_reference, status, captured_amount,
+                refunded_amount
+            FROM authorizations WHERE id = ANY (?) ORDER BY id FOR UPDATE
+            """;
+    private static final String INSERT_AUTHORIZATION = """
+            INSERT INTO authorizations (id, order_id, amount, currency, provider, provider_reference, status,
+                captured_amount, refunded_amount)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String UPDATE_AUTHORIZATION = """
+            UPDATE authorizations SET status = ?, captured_amount = ?, refunded_amount = ?, updated_at = now()
+            WHERE id = ?
+            """;
+    private static final String INSERT_ENTRY =
+            "INSERT INTO ledger_entries (id, authorization_id, type) VALUES (?, ?, ?)";
+    private static final String INSERT_LINE = """
+            INSERT INTO ledger_lines (entry_id, line_no, account, currency, amount) VALUES (?, ?, ?, ?, ?)
+            """;
+    private static final String ADD_TO_BALANCE = """
+            INSERT INTO account_balances (account, currency, balance, line_count) VALUES (?, ?, ?, ?)
+            ON CONFLICT (account, currency) DO UPDATE
+                SET balance = account_balances.balance + EXCLUDED.balance,
+                    line_count = account_balances.line_count + EXCLUDED.line_count, updated_at = now()
+            """;
+
+    private record Line(UUID entryId, int number, LedgerLine line) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<LedgerCommand> queue;
+    private final int batchSize;
+    private final long maxDelayNanos;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public Ledger(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                  LedgerProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.batchSize = properties.getBatchSize();
+        this.maxDelayNanos = properties.getMaxDelay().toNanos();
+    }
+
+    /**
+     * Queues {@code command} for the next batch.
+     *
+     * @throws ServiceOverloadedException if the queue is full, i.e. Postgres is not keeping up
+     */
+    public void submit(LedgerCommand command) {
+        if (!running || !queue.offer(command)) {
+            throw new ServiceOverloadedException("Payment ledger is saturated", RETRY_AFTER);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = Thread.ofPlatform().name("payment-ledger").start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (writer != null) {
+            writer.interrupt();
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        List<LedgerCommand> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                LedgerCommand first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                linger(batch);
+                write(batch);
+            } catch (InterruptedException e) {
+                if (running) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                // Shutting down: keep draining what is already queued.
+                Thread.interrupted();
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Waits up to {@code maxDelay} from now for the batch to fill. Under load the queue already holds a full
+     * batch and this returns at once; when idle it costs a lone command at most {@code maxDelay}.
+     */
+    private void linger(List<LedgerCommand> batch) {
+        long deadline = System.nanoTime() + maxDelayNanos;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                return;
+            }
+            try {
+                LedgerCommand next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    return;
+                }
+                batch.add(next);
+            } catch (InterruptedException e) {
+                // stop() interrupts the writer; post what has been gathered and let run() drain the rest.
+                return;
+            }
+        }
+    }
+
+    void write(List<LedgerCommand> batch) {
+        LedgerBatch planned;
+        try {
+            planned = transactionTemplate.execute(status -> post(batch));
+        } catch (RuntimeException e) {
+            logger.warn("Ledger batch of {} commands failed: {}", batch.size(), e.getMessage());
+            batch.forEach(command -> command.done().completeExceptionally(e));
+            return;
+        }
+        for (LedgerCommand command : batch) {
+            Object result = planned.result(command);
+            if (result instanceof Authorization authorization) {
+                command.done().complete(authorization);
+            } else {
+                command.done().completeExceptionally((RuntimeException) result);
+            }
+        }
+    }
+
+    private LedgerBatch post(List<LedgerCommand> batch) {
+        LedgerBatch planned = new LedgerBatch(batch, lockAuthorizations(batch));
+
+        List<AuthorizationState> created = planned.created();
+        if (!created.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_AUTHORIZATION, created, created.size(), (ps, state) -> {
+                ps.setObject(1, state.id);
+                ps.setObject(2, state.orderId);
+                ps.setBigDecimal(3, state.amount);
+                ps.setString(4, state.currency);
+                ps.setString(5, state.provider);
+                ps.setString(6, state.providerReference);
+                ps.setString(7, state.status.name());
+                ps.setBigDecimal(8, state.capturedAmount);
+                ps.setBigDecimal(9, state.refundedAmount);
+            });
+        }
+        List<AuthorizationState> updated = planned.updated();
+        if (!updated.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_AUTHORIZATION, updated, updated.size(), (ps, state) -> {
+                ps.setString(1, state.status.name());
+                ps.setBigDecimal(2, state.capturedAmount);
+                ps.setBigDecimal(3, state.refundedAmount);
+                ps.setObject(4, state.id);
+            });
+        }
+
+        List<LedgerBatch.Entry> entries = planned.entries();
+        if (entries.isEmpty()) {
+            return planned;
+        }
+        jdbcTemplate.batchUpdate(INSERT_ENTRY, entries, entries.size(), (ps, entry) -> {
+            ps.setObject(1, entry.id());
+            ps.setObject(2, entry.authorizationId());
+            ps.setString(3, entry.type().name());
+        });
+        List<Line> lines = new ArrayList<>();
+        for (LedgerBatch.Entry entry : entries) {
+            for (int i = 0; i < entry.lines().size(); i++) {
+                lines.add(new Line(entry.id(), i + 1, entry.lines().get(i)));
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_LINE, lines, lines.size(), (ps, line) -> {
+            ps.setObject(1, line.entryId());
+            ps.setInt(2, line.number());
+            ps.setString(3, line.line().account());
+            ps.setString(4, line.line().currency());
+            ps.setBigDecimal(5, line.line().amount());
+        });
+        List<Map.Entry<LedgerBatch.BalanceKey, LedgerBatch.BalanceDelta>> balances =
+                new ArrayList<>(planned.balances().entrySet());
+        jdbcTemplate.batchUpdate(ADD_TO_BALANCE, balances, balances.size(), (ps, balance) -> {
+            ps.setString(1, balance.getKey().account());
+            ps.setString(2, balance.getKey().currency());
+            ps.setBigDecimal(3, balance.getValue().amount());
+            ps.setLong(4, balance.getValue().lines());
+        });
+        return planned;
+    }
+
+    private Map<UUID, AuthorizationState> lockAuthorizations(List<LedgerCommand> batch) {
+        Map<UUID, AuthorizationState> states = new HashMap<>();
+        List<UUID> ids = batch.stream()
+                .filter(command -> !(command instanceof LedgerCommand.Authorize))
+                .map(LedgerCommand::authorizationId)
+                .distinct()
+                .toList();
+        if (ids.isEmpty()) {
+            return states;
+        }
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(LOCK_AUTHORIZATIONS);
+            Array array = connection.createArrayOf("uuid", ids.toArray());
+            statement.setArray(1, array);
+            return statement;
+        }, rs -> {
+            UUID id = rs.getObject("id", UUID.class);
+            states.put(id, new AuthorizationState(id, rs.getObject("order_id", UUID.class),
+                    rs.getBigDecimal("amount"), rs.getString("currency"), rs.getString("provider"),
+                    rs.getString("provider_reference"), AuthorizationStatus.valueOf(rs.getString("status")),
+                    rs.getBigDecimal("captured_amount"), rs.getBigDecimal("refunded_amount"), false));
+        });
+        return states;
+    }
+}
@@ -0,0 +1,164 @@
+package com.ecommerce.payment.ledger;
+
+import com.ecommerce.common.exception.ConflictException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Plans one group commit: applies a batch of commands in order to the authorisations they touch, and works
+ * out the journal entries to append and the net change to each account's balance. Commands that are not valid
+ * against the state left by the commands before them are rejected on their own without failing the batch.
+ */
+final class LedgerBatch {
+
+    static final String HOLDS = "authorization-holds";
+    static final String CUSTOMER_FUNDS = "customer-funds";
+    static final String SETTLEMENT = "settlement";
+    static final String MERCHANT = "merchant";
+
+    record Entry(UUID id, UUID authorizationId, EntryType type, List<LedgerLine> lines) {
+    }
+
+    record BalanceKey(String account, String currency) {
+    }
+
+    record BalanceDelta(BigDecimal amount, int lines) {
+    }
+
+    // Sorted, so concurrent writers on other pods always lock balance rows in the same order.
+    private static final Comparator<BalanceKey> BALANCE_ORDER =
+            Comparator.comparing(BalanceKey::account).thenComparing(BalanceKey::currency);
+
+    private final Map<UUID, AuthorizationState> states;
+    private final Map<LedgerCommand, Object> results = new IdentityHashMap<>();
+    private final Set<AuthorizationState> touched = new LinkedHashSet<>();
+    private final List<Entry> entries = new ArrayList<>();
+    private final Map<BalanceKey, BalanceDelta> balances = new TreeMap<>(BALANCE_ORDER);
+
+    /**
+     * @param states the existing authorisations the batch refers to, locked for the rest of the transaction
+     */
+    LedgerBatch(List<LedgerCommand> commands, Map<UUID, AuthorizationState> states) {
+        this.states = states;
+        for (LedgerCommand command : commands) {
+            try {
+                AuthorizationState state = apply(command);
+                touched.add(state);
+                results.put(command, state.snapshot());
+            } catch (RuntimeException e) {
+                results.put(command, e);
+            }
+        }
+    }
+
+    /**
+     * @return the authorisation after the command, or the exception it was rejected with
+     */
+    Object result(LedgerCommand command) {
+        return results.get(command);
+    }
+
+    List<AuthorizationState> created() {
+        return touched.stream().filter(state -> state.created).toList();
+    }
+
+    List<AuthorizationState> updated() {
+        return touched.stream().filter(state -> !state.created).toList();
+    }
+
+    List<Entry> entries() {
+        return entries;
+    }
+
+    Map<BalanceKey, BalanceDelta> balances() {
+        return balances;
+    }
+
+    private AuthorizationState apply(LedgerCommand command) {
+        if (command instanceof LedgerCommand.Authorize authorize) {
+            if (states.containsKey(authorize.authorizationId())) {
+                throw new ConflictException("Authorization " + authorize.authorizationId() + " already exists");
+            }
+            AuthorizationState state = new AuthorizationState(authorize.authorizationId(), authorize.orderId(),
+                    authorize.amount(), authorize.currency(), authorize.provider(), authorize.providerReference(),
+                    AuthorizationStatus.AUTHORIZED, BigDecimal.ZERO, BigDecimal.ZERO, true);
+            states.put(state.id, state);
+            post(state, EntryType.AUTHORIZATION, HOLDS, CUSTOMER_FUNDS, state.amount);
+            return state;
+        }
+
+        AuthorizationState state = states.get(command.authorizationId());
+        if (state == null) {
+            throw new IllegalArgumentException("Unknown authorization " + command.authorizationId());
+        }
+        switch (command) {
+            case LedgerCommand.Capture capture -> {
+                requireStatus(state, AuthorizationStatus.AUTHORIZED);
+                BigDecimal amount = capture.amount() == null ? state.amount : capture.amount();
+                if (amount.compareTo(state.amount) > 0) {
+                    throw new IllegalArgumentException("Cannot capture more than the authorized " + state.amount);
+                }
+                state.status = AuthorizationStatus.CAPTURED;
+                state.capturedAmount = amount;
+                // The whole hold is released; only the captured part moves to the merchant.
+                post(state, EntryType.CAPTURE, List.of(
+                        new LedgerLine(CUSTOMER_FUNDS, state.currency, state.amount),
+                        new LedgerLine(HOLDS, state.currency, state.amount.negate()),
+                        new LedgerLine(SETTLEMENT, state.currency, amount),
+                        new LedgerLine(MERCHANT, state.currency, amount.negate())));
+            }
+            case LedgerCommand.VoidAuthorization ignored -> {
+                requireStatus(state, AuthorizationStatus.AUTHORIZED);
+                state.status = AuthorizationStatus.VOIDED;
+                post(state, EntryType.VOID, CUSTOMER_FUNDS, HOLDS, state.amount);
+            }
+            case LedgerCommand.Refund refund -> {
+                requireStatus(state, AuthorizationStatus.CAPTURED);
+                BigDecimal refundable = state.capturedAmount.subtract(state.refundedAmount);
+                if (refund.amount().compareTo(refundable) > 0) {
+                    throw new IllegalArgumentException("Cannot refund more than the remaining " + refundable);
+                }
+                state.refundedAmount = state.refundedAmount.add(refund.amount());
+                if (state.refundedAmount.compareTo(state.capturedAmount) == 0) {
+                    state.status = AuthorizationStatus.REFUNDED;
+                }
+                post(state, EntryType.REFUND, MERCHANT, SETTLEMENT, refund.amount());
+            }
+            case LedgerCommand.Authorize ignored -> throw new IllegalStateException();
+        }
+        return state;
+    }
+
+    private static void requireStatus(AuthorizationState state, AuthorizationStatus expected) {
+        if (state.status != expected) {
+            throw new ConflictException("Authorization " + state.id + " is " + state.status);
+        }
+    }
+
+    private void post(AuthorizationState state, EntryType type, String debit, String credit, BigDecimal amount) {
+        post(state, type, List.of(
+                new LedgerLine(debit, state.currency, amount),
+                new LedgerLine(credit, state.currency, amount.negate())));
+    }
+
+    private void post(AuthorizationState state, EntryType type, List<LedgerLine> lines) {
+        BigDecimal sum = lines.stream().map(LedgerLine::amount).reduce(BigDecimal.ZERO, BigDecimal::add);
+        if (sum.signum() != 0) {
+            throw new IllegalStateException("Unbalanced " + type + " entry for authorization " + state.id);
+        }
+        entries.add(new Entry(UUID.randomUUID(), state.id, type, lines));
+        for (LedgerLine line : lines) {
+            balances.merge(new BalanceKey(line.account(), line.currency()), new BalanceDelta(line.amount(), 1),
+                    (a, b) -> new BalanceDelta(a.amount().add(b.amount()), a.lines() + b.lines()));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.payment.ledger;
+
+import com.ecommerce.payment.dto.Authorization;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A change to an authorisation waiting to be posted by {@link Ledger}. Each command's future completes with the
+ * authorisation as it stands after the command once the batch holding it has committed, or fails if the command
+ * was rejected or the batch did not commit.
+ */
+public sealed interface LedgerCommand {
+
+    UUID authorizationId();
+
+    CompletableFuture<Authorization> done();
+
+    record Authorize(UUID authorizationId, UUID orderId, BigDecimal amount, String currency, String provider,
+                     String providerReference, CompletableFuture<Authorization> done) implements LedgerCommand {
+    }
+
+    /**
+     * Captures {@code amount}, or the whole authorisation if it is {@code null}, and releases the rest.
+     */
+    record Capture(UUID authorizationId, BigDecimal amount, CompletableFuture<Authorization> done)
+            implements LedgerCommand {
+    }
+
+    record VoidAuthorization(UUID authorizationId, CompletableFuture<Authorization> done) implements LedgerCommand {
+    }
+
+    record Refund(UUID authorizationId, BigDecimal amount, CompletableFuture<Authorization> done)
+            implements LedgerCommand {
+    }
+}
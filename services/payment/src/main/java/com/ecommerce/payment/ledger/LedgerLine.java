@@ -0,0 +1,9 @@
+package com.ecommerce.payment.ledger;
+
+import java.math.BigDecimal;
+
+/**
+ * One side of a ledger entry. Debits are positive and credits negative, so an entry's lines sum to zero.
+ */
+public record LedgerLine(String account, String currency, BigDecimal amount) {
+}
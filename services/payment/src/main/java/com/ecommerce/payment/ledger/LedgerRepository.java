@@ -0,0 +1,51 @@
+package com.ecommerce.payment.ledger;
+
+import com.ecommerce.payment.dto.AccountBalance;
+import com.ecommerce.payment.dto.Authorization;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Read side of the ledger. Writes go through {@link Ledger}.
+ */
+@Repository
+public class LedgerRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LedgerRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<Authorization> findAuthorization(UUID id) {
+        return jdbcTemplate.query("""
+                        SELECT id, order_id, amount, currency, status, captured_amount, refunded_amount, provider,
+                            provider_reference
+                        FROM authorizations WHERE id = ?
+                        """,
+                (rs, rowNum) -> new Authorization(rs.getObject("id", UUID.class),
+                        rs.getObject("order_id", UUID.class), rs.getBigDecimal("amount"), rs.getString("currency"),
+                        rs.getString("status"), rs.getBigDecimal("captured_amount"),
+                        rs.getBigDecimal("refunded_amount"), rs.getString("provider"),
+                        rs.getString("provider_reference")), id)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Reads an account's balance snapshots, one per currency, without touching the journal.
+     */
+    public List<AccountBalance> findBalances(String account) {
+        return jdbcTemplate.query("""
+                        SELECT account, currency, balance, line_count, updated_at
+                        FROM account_balances WHERE account = ? ORDER BY currency
+                        """,
+                (rs, rowNum) -> new AccountBalance(rs.getString("account"), rs.getString("currency"),
+                        rs.getBigDecimal("balance"), rs.getLong("line_count"),
+                        rs.getTimestamp("updated_at").toInstant()), account);
+    }
+}
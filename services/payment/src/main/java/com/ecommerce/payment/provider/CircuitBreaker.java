@@ -0,0 +1,128 @@
+package com.ecommerce.payment.provider;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker.
+ * <p>
+ * While closed it records the outcome of the last {@code slidingWindowSize} calls and opens once at least
+ * {@code minimumCalls} have been recorded and {@code failureRateThreshold} percent of them failed. While open
+ * every call is refused until {@code openDuration} has passed; it then lets {@code halfOpenCalls} trial calls
+ * through, closing again if they all succeed and reopening on the first failure.
+ */
+final class CircuitBreaker {
+
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    record Snapshot(State state, int failureRate, int bufferedCalls, long refusedCalls) {
+    }
+
+    private final ProviderProperties.Policy policy;
+    private final LongSupplier ticker;
+    private final boolean[] window;
+
+    private State state = State.CLOSED;
+    private int position;
+    private int buffered;
+    private int failures;
+    private long openedAt;
+    private int trialsStarted;
+    private int trialsSucceeded;
+    private long refused;
+
+    CircuitBreaker(ProviderProperties.Policy policy, LongSupplier ticker) {
+        this.policy = policy;
+        this.ticker = ticker;
+        this.window = new boolean[policy.getSlidingWindowSize()];
+    }
+
+    /**
+     * @return whether a call may go ahead; if it does, its outcome must be reported, or the permission handed
+     * back with {@link #release()}
+     */
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN && ticker.getAsLong() - openedAt >= policy.getOpenDuration().toNanos()) {
+            state = State.HALF_OPEN;
+            trialsStarted = 0;
+            trialsSucceeded = 0;
+        }
+        boolean permitted = switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (trialsStarted < policy.getHalfOpenCalls()) {
+                    trialsStarted++;
+                    yield true;
+                }
+                yield false;
+            }
+        };
+        if (!permitted) {
+            refused++;
+        }
+        return permitted;
+    }
+
+    synchronized void release() {
+        if (state == State.HALF_OPEN && trialsStarted > 0) {
+            trialsStarted--;
+        }
+    }
+
+    synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++trialsSucceeded >= policy.getHalfOpenCalls()) {
+                close();
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (buffered >= policy.getMinimumCalls()
+                    && failures * 100 >= policy.getFailureRateThreshold() * buffered) {
+                open();
+            }
+        }
+    }
+
+    synchronized Snapshot snapshot() {
+        return new Snapshot(state, buffered == 0 ? 0 : failures * 100 / buffered, buffered, refused);
+    }
+
+    private void record(boolean failed) {
+        if (buffered == window.length) {
+            if (window[position]) {
+                failures--;
+            }
+        } else {
+            buffered++;
+        }
+        window[position] = failed;
+        if (failed) {
+            failures++;
+        }
+        position = (position + 1) % window.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = ticker.getAsLong();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        position = 0;
+        buffered = 0;
+        failures = 0;
+    }
+}
@@ -0,0 +1,8 @@
+package com.ecommerce.payment.provider;
+
+public class PaymentDeclinedException extends RuntimeException {
+
+    public PaymentDeclinedException(String message) {
+        super(message);
+    }
+}
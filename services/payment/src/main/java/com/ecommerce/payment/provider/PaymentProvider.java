@@ -0,0 +1,20 @@
+package com.ecommerce.payment.provider;
+
+/**
+ * A payment service provider. Implementations are plain blocking clients; {@link PaymentProviders} wraps each
+ * one with its own bulkhead, timeout, circuit breaker and hedging, so an implementation need not guard against
+ * its own latency.
+ */
+public interface PaymentProvider {
+
+    /**
+     * The provider's name, used to select it and to key its resilience policy.
+     */
+    String name();
+
+    /**
+     * Performs {@code request}. Throwing means the outcome is unknown, e.g. a network error or a 5xx; the call
+     * may be repeated with the same idempotency key.
+     */
+    ProviderResponse execute(ProviderRequest request) throws Exception;
+}
@@ -0,0 +1,63 @@
+package com.ecommerce.payment.provider;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The registered {@link PaymentProvider}s, each wrapped in its own {@link ResilientProvider}.
+ */
+@Component
+public class PaymentProviders implements DisposableBean {
+
+    private final Map<String, ResilientProvider> providers = new LinkedHashMap<>();
+    private final String active;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public PaymentProviders(List<PaymentProvider> providers, ProviderProperties properties) {
+        for (PaymentProvider provider : providers) {
+            this.providers.put(provider.name(), new ResilientProvider(provider, properties.policy(provider.name()),
+                    executor, System::nanoTime));
+        }
+        if (!this.providers.containsKey(properties.getActive())) {
+            throw new IllegalStateException("No payment provider named " + properties.getActive()
+                    + "; available: " + this.providers.keySet());
+        }
+        this.active = properties.getActive();
+    }
+
+    /**
+     * The provider new authorisations go to.
+     */
+    public String active() {
+        return active;
+    }
+
+    /**
+     * Calls {@code provider} under its resilience policy.
+     *
+     * @throws com.ecommerce.common.exception.ServiceOverloadedException if the provider refused, failed or
+     *                                                                   timed out
+     */
+    public ProviderResponse execute(String provider, ProviderRequest request) {
+        ResilientProvider resilient = providers.get(provider);
+        if (resilient == null) {
+            throw new IllegalStateException("No payment provider named " + provider);
+        }
+        return resilient.execute(request);
+    }
+
+    public List<ProviderStatus> status() {
+        return providers.values().stream().map(ResilientProvider::status).toList();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,30 @@
+package com.ecommerce.payment.provider;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports each provider's circuit breaker and bulkhead under {@code /actuator/health/paymentProviders}.
+ * <p>
+ * Always UP: an open circuit means the provider is down, not this service. Taking the pod out of rotation would
+ * not bring the provider back and would fail captures, voids and refunds that other providers could serve.
+ */
+@Component
+public class PaymentProvidersHealthIndicator implements HealthIndicator {
+
+    private final PaymentProviders providers;
+
+    public PaymentProvidersHealthIndicator(PaymentProviders providers) {
+        this.providers = providers;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder health = Health.up().withDetail("active", providers.active());
+        for (ProviderStatus status : providers.status()) {
+            health.withDetail(status.name(), status);
+        }
+        return health.build();
+    }
+}
@@ -0,0 +1,8 @@
+package com.ecommerce.payment.provider;
+
+public enum ProviderOperation {
+    AUTHORIZE,
+    CAPTURE,
+    VOID,
+    REFUND
+}
@@ -0,0 +1,13 @@
+package com.ecommerce.payment.provider;
+
+import java.math.BigDecimal;
+
+/**
+ * A call to a payment provider.
+ *
+ * @param reference      the provider's reference for the authorisation, or {@code null} when authorising
+ * @param idempotencyKey passed to the provider so that hedged and retried attempts take effect once
+ */
+public record ProviderRequest(ProviderOperation operation, String reference, BigDecimal amount, String currency,
+                              String idempotencyKey) {
+}
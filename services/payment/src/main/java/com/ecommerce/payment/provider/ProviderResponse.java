@@ -0,0 +1,16 @@
+package com.ecommerce.payment.provider;
+
+/**
+ * The provider's answer. A decline is an answer, not a failure: it does not count against the provider's
+ * circuit breaker.
+ */
+public record ProviderResponse(boolean approved, String reference, String declineReason) {
+
+    public static ProviderResponse approved(String reference) {
+        return new ProviderResponse(true, reference, null);
+    }
+
+    public static ProviderResponse declined(String reason) {
+        return new ProviderResponse(false, null, reason);
+    }
+}
@@ -0,0 +1,11 @@
+package com.ecommerce.payment.provider;
+
+/**
+ * A provider's resilience state as reported through actuator.
+ *
+ * @param failureRate percentage of failed calls among the {@code bufferedCalls} the circuit breaker remembers
+ * @param inFlight    attempts currently holding the provider's bulkhead
+ */
+public record ProviderStatus(String name, String circuitState, int failureRate, int bufferedCalls,
+                             long refusedCalls, int inFlight, int maxConcurrent) {
+}
@@ -0,0 +1,158 @@
+package com.ecommerce.payment.provider;
+
+import com.ecommerce.common.exception.ServiceOverloadedException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+
+/**
+ * A {@link PaymentProvider} behind its own bulkhead, timeout, circuit breaker and hedging.
+ * <p>
+ * Attempts run on virtual threads, at most {@code maxConcurrent} at a time per provider; a call that finds the
+ * bulkhead full is refused at once rather than queued, so a provider that slows down can only ever hold its own
+ * permits, never the request threads of the rest of the service. If the first attempt has not answered after
+ * {@code hedgeDelay}, or fails before then, a second attempt is started with the same idempotency key and the
+ * first answer wins. The whole call is bounded by {@code timeout}, and its outcome feeds the circuit breaker,
+ * which refuses calls outright while the provider is failing.
+ * <p>
+ * Refusals and failures surface as {@link ServiceOverloadedException}, i.e. 503 with Retry-After, which callers
+ * such as the checkout saga treat as transient.
+ */
+final class ResilientProvider {
+
+    private final PaymentProvider provider;
+    private final ProviderProperties.Policy policy;
+    private final ExecutorService executor;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+
+    ResilientProvider(PaymentProvider provider, ProviderProperties.Policy policy, ExecutorService executor,
+                      LongSupplier ticker) {
+        this.provider = provider;
+        this.policy = policy;
+        this.executor = executor;
+        this.bulkhead = new Semaphore(policy.getMaxConcurrent());
+        this.circuitBreaker = new CircuitBreaker(policy, ticker);
+    }
+
+    String name() {
+        return provider.name();
+    }
+
+    ProviderResponse execute(ProviderRequest request) {
+        if (!circuitBreaker.tryAcquire()) {
+            throw new ServiceOverloadedException("Payment provider " + name() + " is unavailable",
+                    policy.getOpenDuration());
+        }
+        Call call = new Call(request);
+        if (!call.launch()) {
+            circuitBreaker.release();
+            throw new ServiceOverloadedException("Payment provider " + name() + " is at capacity",
+                    Duration.ofSeconds(1));
+        }
+
+        long deadline = System.nanoTime() + policy.getTimeout().toNanos();
+        try {
+            ProviderResponse response;
+            Duration hedgeDelay = policy.getHedgeDelay();
+            if (hedgeDelay != null && hedgeDelay.isPositive() && policy.getMaxAttempts() > 1
+                    && hedgeDelay.compareTo(policy.getTimeout()) < 0) {
+                try {
+                    response = call.result.get(hedgeDelay.toNanos(), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    call.launch();
+                    response = call.result.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                }
+            } else {
+                response = call.result.get(policy.getTimeout().toNanos(), TimeUnit.NANOSECONDS);
+            }
+            circuitBreaker.onSuccess();
+            return response;
+        } catch (TimeoutException e) {
+            circuitBreaker.onFailure();
+            throw unavailable("timed out after " + policy.getTimeout().toMillis() + " ms");
+        } catch (ExecutionException e) {
+            circuitBreaker.onFailure();
+            throw unavailable(String.valueOf(e.getCause().getMessage()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            circuitBreaker.release();
+            throw unavailable("interrupted");
+        } finally {
+            call.cancel();
+        }
+    }
+
+    ProviderStatus status() {
+        CircuitBreaker.Snapshot breaker = circuitBreaker.snapshot();
+        return new ProviderStatus(name(), breaker.state().name(), breaker.failureRate(), breaker.bufferedCalls(),
+                breaker.refusedCalls(), policy.getMaxConcurrent() - bulkhead.availablePermits(),
+                policy.getMaxConcurrent());
+    }
+
+    private ServiceOverloadedException unavailable(String reason) {
+        return new ServiceOverloadedException("Payment provider " + name() + " failed: " + reason,
+                Duration.ofSeconds(1));
+    }
+
+    /**
+     * The attempts of one call. The first attempt to answer completes {@link #result}; the call only fails once
+     * every attempt it was allowed has failed.
+     */
+    private final class Call {
+
+        private final ProviderRequest request;
+        private final CompletableFuture<ProviderResponse> result = new CompletableFuture<>();
+        private final List<Future<?>> attempts = new ArrayList<>(2);
+        private int failed;
+
+        private Call(ProviderRequest request) {
+            this.request = request;
+        }
+
+        /**
+         * Starts another attempt if the call is still undecided, has attempts left, and the bulkhead has room.
+         */
+        private synchronized boolean launch() {
+            if (result.isDone() || attempts.size() >= policy.getMaxAttempts() || !bulkhead.tryAcquire()) {
+                return false;
+            }
+            attempts.add(executor.submit(this::attempt));
+            return true;
+        }
+
+        private void attempt() {
+            Exception failure = null;
+            try {
+                result.complete(provider.execute(request));
+            } catch (Exception e) {
+                failure = e;
+            } finally {
+                bulkhead.release();
+            }
+            if (failure != null) {
+                // Retry straight away rather than waiting out the hedge delay.
+                boolean relaunched = launch();
+                synchronized (this) {
+                    failed++;
+                    if (!relaunched && failed == attempts.size()) {
+                        result.completeExceptionally(failure);
+                    }
+                }
+            }
+        }
+
+        private synchronized void cancel() {
+            attempts.forEach(attempt -> attempt.cancel(true));
+        }
+    }
+}
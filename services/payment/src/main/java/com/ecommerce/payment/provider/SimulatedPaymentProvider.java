@@ -0,0 +1,71 @@
+package com.ecommerce.payment.provider;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A local stand-in for a payment provider, for development, tests and load runs. Latency follows a log-normal
+ * distribution fitted to the configured median and p99, the usual long-tailed shape of a remote API, and a
+ * configurable share of calls fails, hangs well past any sensible timeout, or is declined. Like a real provider it
+ * honours idempotency keys, so hedged attempts get the same answer.
+ */
+@Component
+@ConditionalOnProperty(name = "payment.provider.simulator.enabled", havingValue = "true", matchIfMissing = true)
+public class SimulatedPaymentProvider implements PaymentProvider {
+
+    public static final String NAME = "simulator";
+
+    // The 99th percentile of the standard normal distribution.
+    private static final double Z_99 = 2.326;
+    private static final Duration HANG = Duration.ofSeconds(30);
+
+    private final ProviderProperties.Simulator settings;
+    private final Cache<String, ProviderResponse> answered = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterWrite(Duration.ofHours(1))
+            .build();
+
+    public SimulatedPaymentProvider(ProviderProperties properties) {
+        this.settings = properties.getSimulator();
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public ProviderResponse execute(ProviderRequest request) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() < settings.getHangRate()) {
+            Thread.sleep(HANG);
+        } else {
+            Thread.sleep(latency(random));
+        }
+        if (random.nextDouble() < settings.getFailureRate()) {
+            throw new IOException("Simulated provider failure");
+        }
+        return answered.get(request.idempotencyKey(), key -> answer(request, random));
+    }
+
+    private ProviderResponse answer(ProviderRequest request, ThreadLocalRandom random) {
+        if (random.nextDouble() < settings.getDeclineRate()) {
+            return ProviderResponse.declined("card_declined");
+        }
+        return ProviderResponse.approved(request.reference() != null ? request.reference() : "sim_" + UUID.randomUUID());
+    }
+
+    private Duration latency(ThreadLocalRandom random) {
+        double median = settings.getMedianLatency().toNanos();
+        double p99 = Math.max(median, settings.getP99Latency().toNanos());
+        double sigma = median == 0 ? 0 : Math.log(p99 / median) / Z_99;
+        return Duration.ofNanos((long) (median * Math.exp(sigma * random.nextGaussian())));
+    }
+}
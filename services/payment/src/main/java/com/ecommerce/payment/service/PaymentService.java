@@ -0,0 +1,163 @@
+package com.ecommerce.payment.service;
+
+import com.ecommerce.common.exception.ConflictException;
+import com.ecommerce.payment.dto.AccountBalance;
+import com.ecommerce.payment.dto.AmountRequest;
+import com.ecommerce.payment.dto.Authorization;
+import com.ecommerce.payment.dto.AuthorizationRequest;
+import com.ecommerce.payment.ledger.Ledger;
+import com.ecommerce.payment.ledger.LedgerCommand;
+import com.ecommerce.payment.ledger.AuthorizationStatus;
+import com.ecommerce.payment.ledger.LedgerRepository;
+import com.ecommerce.payment.provider.PaymentDeclinedException;
+import com.ecommerce.payment.provider.PaymentProviders;
+import com.ecommerce.payment.provider.ProviderOperation;
+import com.ecommerce.payment.provider.ProviderRequest;
+import com.ecommerce.payment.provider.ProviderResponse;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Authorises, captures, voids and refunds payments: each operation is performed at the payment provider first
+ * and then posted to the {@link Ledger}. Provider calls carry an idempotency key derived from the operation, so
+ * retrying a request whose posting failed does not repeat its effect at the provider. Each call waits for the
+ * group commit that holds its posting, a few milliseconds, so that a response is only sent for a posting that
+ * is durable and so that Idempotency-Key replays capture the final response.
+ */
+@Service
+public class PaymentService {
+
+    private static final Pattern CURRENCY = Pattern.compile("[A-Z]{3}");
+    private static final int SCALE = 4;
+    private static final BigDecimal MAX_AMOUNT = new BigDecimal("1000000000");
+
+    private final Ledger ledger;
+    private final LedgerRepository ledgerRepository;
+    private final PaymentProviders providers;
+
+    public PaymentService(Ledger ledger, LedgerRepository ledgerRepository, PaymentProviders providers) {
+        this.ledger = ledger;
+        this.ledgerRepository = ledgerRepository;
+        this.providers = providers;
+    }
+
+    /**
+     * @param idempotencyKey the request's {@code Idempotency-Key}, or {@code null}. The provider call is keyed by
+     *                       it, or by the order when there is none, so a retry after a failed posting finds the
+     *                       hold already placed instead of placing a second one.
+     */
+    public Authorization authorize(AuthorizationRequest request, String idempotencyKey) {
+        if (request == null || request.orderId() == null) {
+            throw new IllegalArgumentException("orderId is required");
+        }
+        if (request.currency() == null || !CURRENCY.matcher(request.currency()).matches()) {
+            throw new IllegalArgumentException("currency must be a three-letter ISO code");
+        }
+        BigDecimal amount = amount(request.amount());
+        UUID id = UUID.randomUUID();
+        String provider = providers.active();
+        String providerKey = "authorize-" + (idempotencyKey != null ? idempotencyKey : request.orderId());
+        ProviderResponse response = call(provider, new ProviderRequest(ProviderOperation.AUTHORIZE, null, amount,
+                request.currency(), providerKey));
+        return post(new LedgerCommand.Authorize(id, request.orderId(), amount, request.currency(), provider,
+                response.reference(), new CompletableFuture<>()));
+    }
+
+    public Optional<Authorization> getAuthorization(UUID id) {
+        return ledgerRepository.findAuthorization(id);
+    }
+
+    /**
+     * Captures the given amount, or the whole authorisation if the request has none.
+     */
+    public Optional<Authorization> capture(UUID id, AmountRequest request) {
+        BigDecimal amount = request == null || request.amount() == null ? null : amount(request.amount());
+        return ifExists(id, AuthorizationStatus.AUTHORIZED, authorization -> {
+            call(authorization, ProviderOperation.CAPTURE, amount == null ? authorization.amount() : amount,
+                    "capture-" + id);
+            return post(new LedgerCommand.Capture(id, amount, new CompletableFuture<>()));
+        });
+    }
+
+    public Optional<Authorization> voidAuthorization(UUID id) {
+        return ifExists(id, AuthorizationStatus.AUTHORIZED, authorization -> {
+            call(authorization, ProviderOperation.VOID, authorization.amount(), "void-" + id);
+            return post(new LedgerCommand.VoidAuthorization(id, new CompletableFuture<>()));
+        });
+    }
+
+    public Optional<Authorization> refund(UUID id, AmountRequest request) {
+        BigDecimal amount = amount(request == null ? null : request.amount());
+        return ifExists(id, AuthorizationStatus.CAPTURED, authorization -> {
+            // Keyed by the amount already refunded, so a retry repeats this refund and the next one is new.
+            call(authorization, ProviderOperation.REFUND, amount,
+                    "refund-" + id + "-" + authorization.refundedAmount().toPlainString());
+            return post(new LedgerCommand.Refund(id, amount, new CompletableFuture<>()));
+        });
+    }
+
+    public List<AccountBalance> getBalances(String account) {
+        return ledgerRepository.findBalances(account);
+    }
+
+    /**
+     * Runs {@code action} on the authorisation if it exists and is {@code status}. The ledger checks the status
+     * again when it posts; checking here as well keeps a request that is bound to fail away from the provider.
+     */
+    private Optional<Authorization> ifExists(UUID id, AuthorizationStatus status,
+                                             Function<Authorization, Authorization> action) {
+        Optional<Authorization> authorization = ledgerRepository.findAuthorization(id);
+        if (authorization.isEmpty()) {
+            return Optional.empty();
+        }
+        if (!status.name().equals(authorization.get().status())) {
+            throw new ConflictException("Authorization " + id + " is " + authorization.get().status());
+        }
+        return Optional.of(action.apply(authorization.get()));
+    }
+
+    private void call(Authorization authorization, ProviderOperation operation, BigDecimal amount,
+                      String idempotencyKey) {
+        call(authorization.provider(), new ProviderRequest(operation, authorization.providerReference(), amount,
+                authorization.currency(), idempotencyKey));
+    }
+
+    private ProviderResponse call(String provider, ProviderRequest request) {
+        ProviderResponse response = providers.execute(provider, request);
+        if (!response.approved()) {
+            throw new PaymentDeclinedException("Payment " + request.operation().name().toLowerCase()
+                    + " declined: " + response.declineReason());
+        }
+        return response;
+    }
+
+    private Authorization post(LedgerCommand command) {
+        ledger.submit(command);
+        try {
+            return command.done().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static BigDecimal amount(BigDecimal amount) {
+        if (amount == null || amount.signum() <= 0 || amount.compareTo(MAX_AMOUNT) > 0) {
+            throw new IllegalArgumentException("amount must be positive and at most " + MAX_AMOUNT);
+        }
+        if (amount.stripTrailingZeros().scale() > SCALE) {
+            throw new IllegalArgumentException("amount must have at most " + SCALE + " decimal places");
+        }
+        return amount.setScale(SCALE);
+    }
+}
@@ -0,0 +1,16 @@
+-- Idempotency-Key claims and the responses they produced. A key is IN_PROGRESS while its first request runs
+-- and COMPLETED once the response is stored; rows past expires_at are deleted in batches.
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(255)  PRIMARY KEY,
+    fingerprint     CHAR(64)      NOT NULL,
+    status          VARCHAR(16)   NOT NULL,
+    response_status INTEGER,
+    content_type    VARCHAR(255),
+    location        VARCHAR(2048),
+    response_body   BYTEA,
+    locked_until    TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    created_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now(),
+    expires_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
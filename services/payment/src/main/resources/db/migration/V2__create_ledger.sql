@@ -0,0 +1,57 @@
+-- Payment authorisations, the state the ledger's postings move through.
+CREATE TABLE authorizations (
+    id              UUID           PRIMARY KEY,
+    order_id        UUID           NOT NULL,
+    amount          NUMERIC(19, 4) NOT NULL CHECK (amount > 0),
+    currency        CHAR(3)        NOT NULL,
+    status          VARCHAR(16)    NOT NULL,
+    captured_amount NUMERIC(19, 4) NOT NULL DEFAULT 0,
+    refunded_amount NUMERIC(19, 4) NOT NULL DEFAULT 0,
+    created_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now(),
+    updated_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now(),
+    CONSTRAINT chk_authorizations_amounts CHECK (captured_amount <= amount AND refunded_amount <= captured_amount)
+);
+
+CREATE INDEX idx_authorizations_order_id ON authorizations (order_id);
+
+-- Double-entry journal. Each entry's lines sum to zero; amounts are debits positive, credits negative.
+CREATE TABLE ledger_entries (
+    id               UUID        PRIMARY KEY,
+    authorization_id UUID        NOT NULL REFERENCES authorizations (id),
+    type             VARCHAR(16) NOT NULL,
+    posted_at        TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_ledger_entries_authorization_id ON ledger_entries (authorization_id);
+
+CREATE TABLE ledger_lines (
+    entry_id  UUID           NOT NULL REFERENCES ledger_entries (id),
+    line_no   SMALLINT       NOT NULL,
+    account   VARCHAR(128)   NOT NULL,
+    currency  CHAR(3)        NOT NULL,
+    amount    NUMERIC(19, 4) NOT NULL,
+    PRIMARY KEY (entry_id, line_no)
+);
+
+-- Running balance per account and currency, updated in the same transaction as the lines it sums, so balance
+-- reads never scan the journal.
+CREATE TABLE account_balances (
+    account     VARCHAR(128)   NOT NULL,
+    currency    CHAR(3)        NOT NULL,
+    balance     NUMERIC(19, 4) NOT NULL,
+    line_count  BIGINT         NOT NULL,
+    updated_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now(),
+    PRIMARY KEY (account, currency)
+);
+
+-- The journal is append-only: corrections are new entries, never edits.
+CREATE FUNCTION reject_ledger_change() RETURNS trigger AS $$
+BEGIN
+    RAISE EXCEPTION 'ledger tables are append-only';
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER ledger_entries_append_only BEFORE UPDATE OR DELETE OR TRUNCATE ON ledger_entries
+    FOR EACH STATEMENT EXECUTE FUNCTION reject_ledger_change();
+CREATE TRIGGER ledger_lines_append_only BEFORE UPDATE OR DELETE OR TRUNCATE ON ledger_lines
+    FOR EACH STATEMENT EXECUTE FUNCTION reject_ledger_change();
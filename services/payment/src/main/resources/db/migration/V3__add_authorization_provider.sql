@@ -0,0 +1,3 @@
+-- The provider that holds each authorisation and its reference there, used to capture, void and refund it.
+ALTER TABLE authorizations ADD COLUMN provider VARCHAR(64);
+ALTER TABLE authorizations ADD COLUMN provider_reference VARCHAR(255);
@@ -3,7 +3,8 @@ package com.ecommerce.payment;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = {"spring.flyway.enabled=false", "spring.jpa.hibernate.ddl-auto=none",
+		"security.jwt.gateway.identity-secret=testGatewayIdentitySecretThatIsAtLeast256BitsLongForHmacSha256"})
 class PaymentApplicationTests {
 
 	@Test
@@ -0,0 +1,144 @@
+package com.ecommerce.payment.idempotency;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyStoreTest {
+
+    private static final StoredResponse CREATED =
+            new StoredResponse(201, "application/json", null, "{\"id\":\"a-1\"}".getBytes(StandardCharsets.UTF_8));
+
+    @Mock
+    private IdempotencyKeyRepository repository;
+
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new IdempotencyStore(repository, new IdempotencyProperties());
+    }
+
+    @Test
+    void execute_WhenKeyIsRepeated_ShouldReplayFromMemoryWithoutTouchingTheDatabase() throws Exception {
+        when(repository.claim(eq("k-1"), eq("f-1"), any(), any())).thenReturn(true);
+        AtomicInteger runs = new AtomicInteger();
+
+        assertInstanceOf(IdempotencyStore.Outcome.Executed.class, store.execute("k-1", "f-1", () -> {
+            runs.incrementAndGet();
+            return CREATED;
+        }));
+        IdempotencyStore.Outcome replay = store.execute("k-1", "f-1", () -> {
+            runs.incrementAndGet();
+            return CREATED;
+        });
+
+        assertEquals(1, runs.get());
+        assertSame(CREATED, ((IdempotencyStore.Outcome.Replayed) replay).response());
+        verify(repository).claim(any(), any(), any(), any());
+        verify(repository).complete("k-1", CREATED);
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void execute_WhenKeyIsReusedForAnotherRequest_ShouldReportMismatch() throws Exception {
+        when(repository.claim(eq("k-1"), eq("f-1"), any(), any())).thenReturn(true);
+        store.execute("k-1", "f-1", () -> CREATED);
+
+        assertInstanceOf(IdempotencyStore.Outcome.Mismatch.class, store.execute("k-1", "f-2", () -> CREATED));
+    }
+
+    @Test
+    void execute_WhenDuplicatesArriveConcurrently_ShouldRunOnceAndReplayToTheRest() throws Exception {
+        when(repository.claim(eq("k-1"), eq("f-1"), any(), any())).thenReturn(true);
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        IdempotencyStore.Handler slow = () -> {
+            runs.incrementAndGet();
+            release.await(5, TimeUnit.SECONDS);
+            return CREATED;
+        };
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<IdempotencyStore.Outcome> first = executor.submit(() -> store.execute("k-1", "f-1", slow));
+            while (runs.get() == 0) {
+                Thread.onSpinWait();
+            }
+            Future<IdempotencyStore.Outcome> second = executor.submit(() -> store.execute("k-1", "f-1", slow));
+            Future<IdempotencyStore.Outcome> third = executor.submit(() -> store.execute("k-1", "f-1", slow));
+            Thread.sleep(50);
+            release.countDown();
+
+            assertInstanceOf(IdempotencyStore.Outcome.Executed.class, first.get());
+            assertInstanceOf(IdempotencyStore.Outcome.Replayed.class, second.get());
+            assertInstanceOf(IdempotencyStore.Outcome.Replayed.class, third.get());
+        }
+        assertEquals(1, runs.get());
+        verify(repository, times(1)).claim(any(), any(), any(), any());
+    }
+
+    @Test
+    void execute_WhenResponseIsNotStorable_ShouldReleaseTheKeyForRetry() throws Exception {
+        when(repository.claim(eq("k-1"), eq("f-1"), any(), any())).thenReturn(true);
+
+        assertInstanceOf(IdempotencyStore.Outcome.Executed.class, store.execute("k-1", "f-1", () -> null));
+        assertThrows(IllegalStateException.class, () -> store.execute("k-1", "f-1", () -> {
+            throw new IllegalStateException("provider down");
+        }));
+
+        verify(repository, times(2)).release("k-1");
+        verify(repository, never()).complete(any(), any());
+    }
+
+    @Test
+    void execute_WhenAnotherPodCompletedTheKey_ShouldReplayAndRememberIt() throws Exception {
+        when(repository.claim(eq("k-1"), eq("f-1"), any(), any())).thenReturn(false);
+        when(repository.find("k-1")).thenReturn(Optional.of(
+                new IdempotencyRecord("k-1", "f-1", CREATED, Instant.now().plusSeconds(60))));
+
+        store.execute("k-1", "f-1", () -> fail("should not run"));
+        IdempotencyStore.Outcome replay = store.execute("k-1", "f-1", () -> fail("should not run"));
+
+        assertSame(CREATED, ((IdempotencyStore.Outcome.Replayed) replay).response());
+        verify(repository, times(1)).find("k-1");
+    }
+
+    @Test
+    void execute_WhenAnotherPodIsStillRunningTheKey_ShouldReportInProgress() throws Exception {
+        when(repository.claim(eq("k-1"), eq("f-1"), any(), any())).thenReturn(false);
+        when(repository.find("k-1")).thenReturn(Optional.of(
+                new IdempotencyRecord("k-1", "f-1", null, Instant.now().plusSeconds(60))));
+
+        assertInstanceOf(IdempotencyStore.Outcome.InProgress.class,
+                store.execute("k-1", "f-1", () -> fail("should not run")));
+    }
+
+    @Test
+    void collectExpired_ShouldDeleteInBatchesUntilABatchComesBackShort() {
+        when(repository.deleteExpired(1000)).thenReturn(1000, 1000, 17);
+        store.start();
+        try {
+            assertEquals(2017, store.collectExpired());
+        } finally {
+            store.stop();
+        }
+        verify(repository, times(3)).deleteExpired(1000);
+    }
+}
@@ -0,0 +1,110 @@
+package com.ecommerce.payment.ledger;
+
+import com.ecommerce.common.exception.ConflictException;
+import com.ecommerce.payment.dto.Authorization;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LedgerBatchTest {
+
+    private static final UUID ORDER_ID = UUID.randomUUID();
+
+    @Test
+    void new_WhenAuthorizedAndCapturedInOneBatch_ShouldPostBalancedEntriesAndNetBalances() {
+        UUID id = UUID.randomUUID();
+        LedgerCommand authorize = new LedgerCommand.Authorize(id, ORDER_ID, amount("100"), "EUR", "simulator",
+                "sim_1", future());
+        LedgerCommand capture = new LedgerCommand.Capture(id, amount("80"), future());
+
+        LedgerBatch batch = new LedgerBatch(List.of(authorize, capture), new HashMap<>());
+
+        assertEquals(2, batch.entries().size());
+        for (LedgerBatch.Entry entry : batch.entries()) {
+            assertEquals(0, entry.lines().stream().map(LedgerLine::amount)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add).signum());
+        }
+        // The hold is fully released; only the captured amount reaches the merchant.
+        assertEquals(0, balance(batch, LedgerBatch.HOLDS).signum());
+        assertEquals(0, balance(batch, LedgerBatch.CUSTOMER_FUNDS).signum());
+        assertEquals(amount("-80"), balance(batch, LedgerBatch.MERCHANT));
+        assertEquals(amount("80"), balance(batch, LedgerBatch.SETTLEMENT));
+        assertEquals(2, batch.balances().get(new LedgerBatch.BalanceKey(LedgerBatch.HOLDS, "EUR")).lines());
+
+        Authorization captured = (Authorization) batch.result(capture);
+        assertEquals("CAPTURED", captured.status());
+        assertEquals(amount("80"), captured.capturedAmount());
+        assertEquals(List.of(id), batch.created().stream().map(state -> state.id).toList());
+        assertTrue(batch.updated().isEmpty());
+    }
+
+    @Test
+    void new_WhenCommandConflictsWithAnEarlierOneInTheBatch_ShouldRejectOnlyThatCommand() {
+        UUID id = UUID.randomUUID();
+        Map<UUID, AuthorizationState> states = new HashMap<>();
+        states.put(id, authorized(id, "50"));
+        LedgerCommand voided = new LedgerCommand.VoidAuthorization(id, future());
+        LedgerCommand capture = new LedgerCommand.Capture(id, null, future());
+
+        LedgerBatch batch = new LedgerBatch(List.of(voided, capture), states);
+
+        assertEquals("VOIDED", ((Authorization) batch.result(voided)).status());
+        assertInstanceOf(ConflictException.class, batch.result(capture));
+        assertEquals(1, batch.entries().size());
+        assertEquals(1, batch.updated().size());
+    }
+
+    @Test
+    void new_WhenRefundsExceedTheCapturedAmount_ShouldRejectTheExcess() {
+        UUID id = UUID.randomUUID();
+        AuthorizationState state = authorized(id, "50");
+        state.status = AuthorizationStatus.CAPTURED;
+        state.capturedAmount = amount("50");
+        Map<UUID, AuthorizationState> states = new HashMap<>();
+        states.put(id, state);
+        LedgerCommand first = new LedgerCommand.Refund(id, amount("30"), future());
+        LedgerCommand second = new LedgerCommand.Refund(id, amount("30"), future());
+        LedgerCommand rest = new LedgerCommand.Refund(id, amount("20"), future());
+
+        LedgerBatch batch = new LedgerBatch(List.of(first, second, rest), states);
+
+        assertEquals("CAPTURED", ((Authorization) batch.result(first)).status());
+        assertInstanceOf(IllegalArgumentException.class, batch.result(second));
+        assertEquals("REFUNDED", ((Authorization) batch.result(rest)).status());
+        assertEquals(amount("50"), balance(batch, LedgerBatch.MERCHANT));
+    }
+
+    @Test
+    void new_WhenAuthorizationIsUnknown_ShouldRejectTheCommand() {
+        LedgerCommand capture = new LedgerCommand.Capture(UUID.randomUUID(), null, future());
+
+        LedgerBatch batch = new LedgerBatch(List.of(capture), new HashMap<>());
+
+        assertInstanceOf(IllegalArgumentException.class, batch.result(capture));
+        assertTrue(batch.entries().isEmpty());
+    }
+
+    private static AuthorizationState authorized(UUID id, String amount) {
+        return new AuthorizationState(id, ORDER_ID, amount(amount), "EUR", "simulator", "sim_1",
+                AuthorizationStatus.AUTHORIZED, amount("0"), amount("0"), false);
+    }
+
+    private static BigDecimal balance(LedgerBatch batch, String account) {
+        return batch.balances().get(new LedgerBatch.BalanceKey(account, "EUR")).amount();
+    }
+
+    private static BigDecimal amount(String value) {
+        return new BigDecimal(value).setScale(4);
+    }
+
+    private static CompletableFuture<Authorization> future() {
+        return new CompletableFuture<>();
+    }
+}
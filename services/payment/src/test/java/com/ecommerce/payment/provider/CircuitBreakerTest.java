@@ -0,0 +1,82 @@
+package com.ecommerce.payment.provider;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void onFailure_WhenFailureRateReachesThreshold_ShouldOpenAndRefuseCalls() {
+        CircuitBreaker breaker = new CircuitBreaker(policy(), now::get);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onSuccess();
+        }
+        for (int i = 0; i < 4; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onFailure();
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.snapshot().state());
+        breaker.tryAcquire();
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.snapshot().state());
+        assertFalse(breaker.tryAcquire());
+        assertEquals(1, breaker.snapshot().refusedCalls());
+    }
+
+    @Test
+    void tryAcquire_AfterOpenDuration_ShouldAllowTrialCallsAndCloseWhenTheySucceed() {
+        CircuitBreaker breaker = openBreaker();
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.snapshot().state());
+        breaker.onSuccess();
+        breaker.onSuccess();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.snapshot().state());
+        assertEquals(0, breaker.snapshot().bufferedCalls());
+    }
+
+    @Test
+    void onFailure_WhenTrialCallFails_ShouldReopen() {
+        CircuitBreaker breaker = openBreaker();
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertTrue(breaker.tryAcquire());
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.snapshot().state());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    private CircuitBreaker openBreaker() {
+        CircuitBreaker breaker = new CircuitBreaker(policy(), now::get);
+        for (int i = 0; i < 10; i++) {
+            breaker.tryAcquire();
+            breaker.onFailure();
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.snapshot().state());
+        return breaker;
+    }
+
+    private static ProviderProperties.Policy policy() {
+        ProviderProperties.Policy policy = new ProviderProperties.Policy();
+        policy.setSlidingWindowSize(10);
+        policy.setMinimumCalls(10);
+        policy.setFailureRateThreshold(50);
+        policy.setOpenDuration(Duration.ofSeconds(10));
+        policy.setHalfOpenCalls(2);
+        return policy;
+    }
+}
@@ -0,0 +1,133 @@
+package com.ecommerce.payment.provider;
+
+import com.ecommerce.common.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResilientProviderTest {
+
+    private static final ProviderRequest REQUEST = new ProviderRequest(ProviderOperation.AUTHORIZE, null,
+            BigDecimal.TEN, "EUR", "authorize-1");
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_WhenFirstAttemptIsSlow_ShouldHedgeAndReturnTheFasterAnswer() {
+        AtomicInteger attempts = new AtomicInteger();
+        PaymentProvider provider = provider(request -> {
+            if (attempts.incrementAndGet() == 1) {
+                Thread.sleep(5_000);
+            }
+            return ProviderResponse.approved("ref-" + attempts.get());
+        });
+        ResilientProvider resilient = new ResilientProvider(provider, policy(Duration.ofMillis(50)), executor,
+                System::nanoTime);
+
+        long started = System.nanoTime();
+        ProviderResponse response = resilient.execute(REQUEST);
+
+        assertEquals("ref-2", response.reference());
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).compareTo(Duration.ofSeconds(1)) < 0);
+        assertEquals("CLOSED", resilient.status().circuitState());
+    }
+
+    @Test
+    void execute_WhenFirstAttemptFails_ShouldRetryWithoutWaitingForTheHedgeDelay() {
+        AtomicInteger attempts = new AtomicInteger();
+        PaymentProvider provider = provider(request -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("connection reset");
+            }
+            return ProviderResponse.approved("ref");
+        });
+        ResilientProvider resilient = new ResilientProvider(provider, policy(Duration.ofSeconds(1)), executor,
+                System::nanoTime);
+
+        assertEquals("ref", resilient.execute(REQUEST).reference());
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void execute_WhenEveryAttemptTimesOut_ShouldFailAsUnavailableAndCountTheFailure() {
+        PaymentProvider provider = provider(request -> {
+            Thread.sleep(5_000);
+            return ProviderResponse.approved("ref");
+        });
+        ProviderProperties.Policy policy = policy(Duration.ofMillis(20));
+        policy.setTimeout(Duration.ofMillis(100));
+        ResilientProvider resilient = new ResilientProvider(provider, policy, executor, System::nanoTime);
+
+        ServiceOverloadedException e = assertThrows(ServiceOverloadedException.class,
+                () -> resilient.execute(REQUEST));
+
+        assertTrue(e.getMessage().contains("timed out"));
+        assertEquals(1, resilient.status().bufferedCalls());
+        assertEquals(100, resilient.status().failureRate());
+    }
+
+    @Test
+    void execute_WhenBulkheadIsFull_ShouldRefuseImmediately() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PaymentProvider provider = provider(request -> {
+            release.await(5, TimeUnit.SECONDS);
+            return ProviderResponse.approved("ref");
+        });
+        ProviderProperties.Policy policy = policy(Duration.ZERO);
+        policy.setMaxConcurrent(1);
+        ResilientProvider resilient = new ResilientProvider(provider, policy, executor, System::nanoTime);
+
+        Future<ProviderResponse> first = executor.submit(() -> resilient.execute(REQUEST));
+        while (resilient.status().inFlight() == 0) {
+            Thread.onSpinWait();
+        }
+        ServiceOverloadedException e = assertThrows(ServiceOverloadedException.class,
+                () -> resilient.execute(REQUEST));
+        release.countDown();
+
+        assertTrue(e.getMessage().contains("at capacity"));
+        assertEquals("ref", first.get().reference());
+    }
+
+    private static ProviderProperties.Policy policy(Duration hedgeDelay) {
+        ProviderProperties.Policy policy = new ProviderProperties.Policy();
+        policy.setHedgeDelay(hedgeDelay);
+        policy.setTimeout(Duration.ofSeconds(2));
+        return policy;
+    }
+
+    private static PaymentProvider provider(Behaviour behaviour) {
+        return new PaymentProvider() {
+            @Override
+            public String name() {
+                return "test";
+            }
+
+            @Override
+            public ProviderResponse execute(ProviderRequest request) throws Exception {
+                return behaviour.execute(request);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface Behaviour {
+
+        ProviderResponse execute(ProviderRequest request) throws Exception;
+    }
+}
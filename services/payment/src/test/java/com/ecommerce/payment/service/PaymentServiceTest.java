@@ -0,0 +1,86 @@
+package com.ecommerce.payment.service;
+
+import com.ecommerce.common.exception.ServiceOverloadedException;
+import com.ecommerce.payment.dto.Authorization;
+import com.ecommerce.payment.dto.AuthorizationRequest;
+import com.ecommerce.payment.ledger.Ledger;
+import com.ecommerce.payment.ledger.LedgerCommand;
+import com.ecommerce.payment.ledger.LedgerRepository;
+import com.ecommerce.payment.provider.PaymentProviders;
+import com.ecommerce.payment.provider.ProviderRequest;
+import com.ecommerce.payment.provider.ProviderResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentServiceTest {
+
+    private static final UUID ORDER_ID = UUID.randomUUID();
+
+    @Mock
+    private Ledger ledger;
+
+    @Mock
+    private LedgerRepository ledgerRepository;
+
+    @Mock
+    private PaymentProviders providers;
+
+    private PaymentService paymentService;
+
+    @BeforeEach
+    void setUp() {
+        paymentService = new PaymentService(ledger, ledgerRepository, providers);
+        when(providers.active()).thenReturn("simulated");
+        when(providers.execute(eq("simulated"), any())).thenReturn(ProviderResponse.approved("sim_1"));
+    }
+
+    @Test
+    void authorize_RetriedAfterFailedPosting_ShouldReuseProviderIdempotencyKey() {
+        doThrow(new ServiceOverloadedException("Payment ledger is saturated", Duration.ofSeconds(1)))
+                .doAnswer(invocation -> {
+                    LedgerCommand.Authorize command = invocation.getArgument(0);
+                    command.done().complete(new Authorization(command.authorizationId(), command.orderId(),
+                            command.amount(), command.currency(), "AUTHORIZED", BigDecimal.ZERO, BigDecimal.ZERO,
+                            command.provider(), command.providerReference()));
+                    return null;
+                })
+                .when(ledger).submit(any());
+        AuthorizationRequest request = new AuthorizationRequest(ORDER_ID, new BigDecimal("25.00"), "USD");
+
+        assertThrows(ServiceOverloadedException.class, () -> paymentService.authorize(request, "key-1"));
+        Authorization authorization = paymentService.authorize(request, "key-1");
+
+        assertEquals("sim_1", authorization.providerReference());
+        ArgumentCaptor<ProviderRequest> calls = ArgumentCaptor.forClass(ProviderRequest.class);
+        verify(providers, times(2)).execute(eq("simulated"), calls.capture());
+        assertEquals("authorize-key-1", calls.getAllValues().get(0).idempotencyKey());
+        assertEquals("authorize-key-1", calls.getAllValues().get(1).idempotencyKey());
+    }
+
+    @Test
+    void authorize_WithoutIdempotencyKey_ShouldKeyProviderCallByOrder() {
+        doThrow(new ServiceOverloadedException("Payment ledger is saturated", Duration.ofSeconds(1)))
+                .when(ledger).submit(any());
+
+        assertThrows(ServiceOverloadedException.class, () -> paymentService.authorize(
+                new AuthorizationRequest(ORDER_ID, new BigDecimal("25.00"), "USD"), null));
+
+        ArgumentCaptor<ProviderRequest> call = ArgumentCaptor.forClass(ProviderRequest.class);
+        verify(providers).execute(eq("simulated"), call.capture());
+        assertEquals("authorize-" + ORDER_ID, call.getValue().idempotencyKey());
+    }
+}
@@ -0,0 +1,46 @@
+package com.ecommerce.product.cache;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Marks public catalog reads as cacheable by shared caches, so the gateway can answer repeat browse traffic.
+ * Without this, Spring Security's default {@code Cache-Control: no-store} applies to them like to every other
+ * response. Stock levels, reservations and import jobs keep that default.
+ */
+@Configuration
+public class CatalogHttpCaching implements WebMvcConfigurer {
+
+    private static final String[] CATALOG_READS = {
+            "/products", "/products/{id:\\d+}", "/products/search", "/products/suggest",
+            "/categories", "/categories/{id}/products"};
+
+    private final ProductCacheProperties properties;
+
+    public CatalogHttpCaching(ProductCacheProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (!properties.getHttpMaxAge().isPositive()) {
+            return;
+        }
+        String cacheControl = CacheControl.maxAge(properties.getHttpMaxAge()).cachePublic().getHeaderValue();
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                if ("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod())) {
+                    response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+                }
+                return true;
+            }
+        }).addPathPatterns(CATALOG_READS);
+    }
+}
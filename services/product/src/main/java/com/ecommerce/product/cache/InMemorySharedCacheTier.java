@@ -0,0 +1,43 @@
+package com.ecommerce.product.cache;
+
+import com.ecommerce.product.dto.ProductDetail;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.Optional;
+
+/**
+ * Process-local stand-in for a networked shared tier such as Redis, for single-pod deployments and tests.
+ * It keeps the shared-tier contract (bounded, TTL-expiring, evictable) so callers behave the same either way.
+ */
+public class InMemorySharedCacheTier implements SharedCacheTier {
+
+    private final Cache<Long, ProductDetail> cache;
+
+    public InMemorySharedCacheTier(ProductCacheProperties.Shared properties) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTimeToLive())
+                .build();
+    }
+
+    @Override
+    public Optional<ProductDetail> get(Long productId) {
+        return Optional.ofNullable(cache.getIfPresent(productId));
+    }
+
+    @Override
+    public void put(Long productId, ProductDetail product) {
+        cache.put(productId, product);
+    }
+
+    @Override
+    public void evict(Long productId) {
+        cache.invalidate(productId);
+    }
+
+    @Override
+    public void clear() {
+        cache.invalidateAll();
+    }
+}
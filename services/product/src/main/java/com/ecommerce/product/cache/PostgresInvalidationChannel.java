@@ -0,0 +1,152 @@
+package com.ecommerce.product.cache;
+
+import com.ecommerce.product.event.CatalogImportedEvent;
+import com.ecommerce.product.event.ProductChangedEvent;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Relays product invalidations between pods over Postgres {@code LISTEN/NOTIFY}, which every pod can already
+ * reach.
+ * <p>
+ * One pooled connection per pod is held for {@code LISTEN}; received notifications are republished as remote
+ * {@link ProductChangedEvent}s. Notifications sent by this pod are tagged with its instance id and skipped.
+ * If the connection drops, the listener reconnects after a delay; near-cache TTLs bound staleness meanwhile.
+ */
+@Component
+@ConditionalOnProperty(name = "product.cache.invalidation.enabled", havingValue = "true")
+public class PostgresInvalidationChannel implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgresInvalidationChannel.class);
+    private static final Pattern CHANNEL_PATTERN = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+    private static final int POLL_TIMEOUT_MILLIS = 1000;
+    private static final String ALL_PRODUCTS = "*";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String channel;
+    private final long reconnectDelayMillis;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private volatile boolean running;
+    private Thread listener;
+
+    public PostgresInvalidationChannel(DataSource dataSource, JdbcTemplate jdbcTemplate,
+                                       ApplicationEventPublisher eventPublisher, ProductCacheProperties properties) {
+        String channel = properties.getInvalidation().getChannel();
+        if (!CHANNEL_PATTERN.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid invalidation channel name: " + channel);
+        }
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.channel = channel;
+        this.reconnectDelayMillis = properties.getInvalidation().getReconnectDelay().toMillis();
+    }
+
+    /**
+     * Tells the other pods that {@code productId} changed. Failures are logged, not thrown: the change is
+     * already committed and the other pods' TTLs still bound how stale they can get.
+     */
+    public void broadcast(Long productId) {
+        notify(productId.toString());
+    }
+
+    /**
+     * Tells the other pods that the whole catalog changed, e.g. after a bulk import.
+     */
+    public void broadcastAll() {
+        notify(ALL_PRODUCTS);
+    }
+
+    private void notify(String target) {
+        try {
+            jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", Object.class, channel, instanceId + ":" + target);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to broadcast invalidation of product {}: {}", target, e.getMessage());
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listener = Thread.ofPlatform().daemon().name("product-invalidation-listener").start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                logger.info("Listening for product invalidations on channel {}", channel);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handle(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                logger.warn("Product invalidation listener disconnected, retrying in {} ms: {}",
+                        reconnectDelayMillis, e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelayMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void handle(String payload) {
+        int separator = payload.lastIndexOf(':');
+        if (separator < 0 || payload.substring(0, separator).equals(instanceId)) {
+            return;
+        }
+        String target = payload.substring(separator + 1);
+        if (target.equals(ALL_PRODUCTS)) {
+            eventPublisher.publishEvent(CatalogImportedEvent.ofRemote());
+            return;
+        }
+        try {
+            eventPublisher.publishEvent(ProductChangedEvent.remote(Long.parseLong(target)));
+        } catch (NumberFormatException e) {
+            logger.debug("Ignoring malformed invalidation payload {}", payload);
+        }
+    }
+}
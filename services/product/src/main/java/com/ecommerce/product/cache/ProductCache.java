@@ -0,0 +1,177 @@
+package com.ecommerce.product.cache;
+
+import com.ecommerce.product.dto.ProductDetail;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Two-tier read-through cache of product details: a per-pod Caffeine near cache in front of an optional
+ * {@link SharedCacheTier}, in front of Postgres.
+ * <p>
+ * The near cache holds in-flight loads as futures, so concurrent misses for the same product share a single
+ * load (single-flight) instead of each going to the shared tier and the database. Absent products are cached
+ * too, so lookups of unknown ids do not reach Postgres either. Near-cache hit, miss, eviction and load-time
+ * statistics are published to Micrometer as {@code cache.*{cache=product.detail}}, and shared-tier lookups
+ * as {@code product.cache.shared}.
+ * <p>
+ * A load that started before an invalidation must not write what it read back into the shared tier, or the
+ * stale copy would outlive the eviction until its TTL. Every invalidation, local or relayed from another pod,
+ * advances a generation, and a load only publishes to the shared tier if the generation is unchanged.
+ */
+@Component
+public class ProductCache implements DisposableBean {
+
+    static final String CACHE_NAME = "product.detail";
+
+    private final AsyncCache<Long, Optional<ProductDetail>> near;
+    private final SharedCacheTier shared;
+    private final ExecutorService loadExecutor;
+    private final Counter sharedHits;
+    private final Counter sharedMisses;
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    public ProductCache(ProductCacheProperties properties, SharedCacheTier shared,
+                        ObjectProvider<MeterRegistry> meterRegistry) {
+        this(properties, shared, meterRegistry.getIfAvailable());
+    }
+
+    ProductCache(ProductCacheProperties properties, SharedCacheTier shared, MeterRegistry meterRegistry) {
+        this.shared = shared;
+        this.loadExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        this.near = properties.isEnabled()
+                ? Caffeine.newBuilder()
+                        .maximumSize(properties.getMaximumSize())
+                        .expireAfterWrite(properties.getTimeToLive())
+                        .executor(loadExecutor)
+                        .recordStats()
+                        .buildAsync()
+                : null;
+
+        if (meterRegistry != null && near != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, near, CACHE_NAME);
+        }
+        this.sharedHits = meterRegistry == null ? null : sharedCounter(meterRegistry, "hit");
+        this.sharedMisses = meterRegistry == null ? null : sharedCounter(meterRegistry, "miss");
+    }
+
+    /**
+     * Returns the product from the nearest tier that has it, calling {@code loader} at most once per product
+     * across all concurrent callers on a miss in every tier.
+     */
+    public Optional<ProductDetail> get(Long productId, Function<Long, Optional<ProductDetail>> loader) {
+        if (near == null) {
+            return loadThroughShared(productId, loader);
+        }
+        CompletableFuture<Optional<ProductDetail>> future = near.get(productId, (id, executor) ->
+                CompletableFuture.supplyAsync(() -> loadThroughShared(id, loader), executor));
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Drops the product from this pod's near cache and from the shared tier.
+     */
+    public void invalidate(Long productId) {
+        generation.incrementAndGet();
+        shared.evict(productId);
+        invalidateLocal(productId);
+    }
+
+    /**
+     * Drops the product from this pod's near cache only, for changes another pod already evicted from the
+     * shared tier.
+     */
+    public void invalidateLocal(Long productId) {
+        generation.incrementAndGet();
+        if (near != null) {
+            near.synchronous().invalidate(productId);
+        }
+    }
+
+    /**
+     * Drops every product from this pod's near cache and from the shared tier.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        shared.clear();
+        invalidateAllLocal();
+    }
+
+    public void invalidateAllLocal() {
+        generation.incrementAndGet();
+        if (near != null) {
+            near.synchronous().invalidateAll();
+        }
+    }
+
+    long estimatedSize() {
+        return near == null ? 0 : near.synchronous().estimatedSize();
+    }
+
+    @Override
+    public void destroy() {
+        loadExecutor.shutdownNow();
+    }
+
+    private Optional<ProductDetail> loadThroughShared(Long productId, Function<Long, Optional<ProductDetail>> loader) {
+        Optional<ProductDetail> cached = shared.get(productId);
+        if (cached.isPresent()) {
+            increment(sharedHits);
+            return cached;
+        }
+        increment(sharedMisses);
+        long loadGeneration = generation.get();
+        Optional<ProductDetail> loaded = loader.apply(productId);
+        loaded.ifPresent(product -> publish(productId, product, loadGeneration));
+        return loaded;
+    }
+
+    /**
+     * Puts a freshly loaded product into the shared tier unless it was invalidated while loading. The check is
+     * repeated after the put, so an invalidation landing between the check and the put still removes the entry.
+     */
+    private void publish(Long productId, ProductDetail product, long loadGeneration) {
+        if (generation.get() != loadGeneration) {
+            return;
+        }
+        shared.put(productId, product);
+        if (generation.get() != loadGeneration) {
+            shared.evict(productId);
+        }
+    }
+
+    private static Counter sharedCounter(MeterRegistry registry, String result) {
+        return Counter.builder("product.cache.shared")
+                .description("Shared cache tier lookups after a near-cache miss")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+}
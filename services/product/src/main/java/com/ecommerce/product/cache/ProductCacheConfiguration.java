@@ -0,0 +1,15 @@
+package com.ecommerce.product.cache;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ProductCacheConfiguration {
+
+    @Bean
+    public SharedCacheTier sharedCacheTier(ProductCacheProperties properties) {
+        return properties.getShared().isEnabled()
+                ? new InMemorySharedCacheTier(properties.getShared())
+                : SharedCacheTier.NONE;
+    }
+}
@@ -0,0 +1,44 @@
+package com.ecommerce.product.cache;
+
+import com.ecommerce.product.event.CatalogImportedEvent;
+import com.ecommerce.product.event.ProductChangedEvent;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts changed products once the writing transaction has committed, and tells the other pods to do the
+ * same. Changes relayed from other pods only evict the local near cache.
+ */
+@Component
+public class ProductCacheInvalidator {
+
+    private final ProductCache productCache;
+    private final ObjectProvider<PostgresInvalidationChannel> invalidationChannel;
+
+    public ProductCacheInvalidator(ProductCache productCache,
+                                   ObjectProvider<PostgresInvalidationChannel> invalidationChannel) {
+        this.productCache = productCache;
+        this.invalidationChannel = invalidationChannel;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.remote()) {
+            productCache.invalidateLocal(event.productId());
+            return;
+        }
+        productCache.invalidate(event.productId());
+        invalidationChannel.ifAvailable(channel -> channel.broadcast(event.productId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogImported(CatalogImportedEvent event) {
+        if (event.remote()) {
+            productCache.invalidateAllLocal();
+            return;
+        }
+        productCache.invalidateAll();
+        invalidationChannel.ifAvailable(PostgresInvalidationChannel::broadcastAll);
+    }
+}
@@ -0,0 +1,124 @@
+package com.ecommerce.product.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "product.cache")
+public class ProductCacheProperties {
+
+    private boolean enabled = true;
+    private long maximumSize = 50_000;
+    private Duration timeToLive = Duration.ofMinutes(10);
+    private Duration httpMaxAge = Duration.ofMinutes(1);
+    private final Shared shared = new Shared();
+    private final Invalidation invalidation = new Invalidation();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    public void setTimeToLive(Duration timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * How long clients and the gateway may reuse public catalog responses. Zero leaves them uncacheable.
+     */
+    public Duration getHttpMaxAge() {
+        return httpMaxAge;
+    }
+
+    public void setHttpMaxAge(Duration httpMaxAge) {
+        this.httpMaxAge = httpMaxAge;
+    }
+
+    public Shared getShared() {
+        return shared;
+    }
+
+    public Invalidation getInvalidation() {
+        return invalidation;
+    }
+
+    public static class Shared {
+
+        private boolean enabled = false;
+        private long maximumSize = 500_000;
+        private Duration timeToLive = Duration.ofMinutes(30);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+    }
+
+    public static class Invalidation {
+
+        private boolean enabled = false;
+        private String channel = "product_invalidation";
+        private Duration reconnectDelay = Duration.ofSeconds(5);
+
+        /**
+         * Whether to broadcast and listen for invalidations over Postgres {@code LISTEN/NOTIFY}.
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getChannel() {
+            return channel;
+        }
+
+        public void setChannel(String channel) {
+            this.channel = channel;
+        }
+
+        public Duration getReconnectDelay() {
+            return reconnectDelay;
+        }
+
+        public void setReconnectDelay(Duration reconnectDelay) {
+            this.reconnectDelay = reconnectDelay;
+        }
+    }
+}
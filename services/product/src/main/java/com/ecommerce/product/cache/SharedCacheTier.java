@@ -0,0 +1,42 @@
+package com.ecommerce.product.cache;
+
+import com.ecommerce.product.dto.ProductDetail;
+
+import java.util.Optional;
+
+/**
+ * Cache shared by all product-service pods, consulted after a near-cache miss and before Postgres.
+ * Implementations must be safe for concurrent use and may drop entries at any time.
+ */
+public interface SharedCacheTier {
+
+    SharedCacheTier NONE = new SharedCacheTier() {
+        @Override
+        public Optional<ProductDetail> get(Long productId) {
+            return Optional.empty();
+        }
+
+        @Override
+        public void put(Long productId, ProductDetail product) {
+        }
+
+        @Override
+        public void evict(Long productId) {
+        }
+
+        @Override
+        public void clear() {
+        }
+    };
+
+    Optional<ProductDetail> get(Long productId);
+
+    void put(Long productId, ProductDetail product);
+
+    void evict(Long productId);
+
+    /**
+     * Drops every entry, after changes too broad to evict one by one.
+     */
+    void clear();
+}
@@ -0,0 +1,44 @@
+package com.ecommerce.product.controller;
+
+import com.ecommerce.product.dto.CategorySummary;
+import com.ecommerce.product.dto.CreateCategoryRequest;
+import com.ecommerce.product.dto.KeysetPage;
+import com.ecommerce.product.dto.ProductSummary;
+import com.ecommerce.product.service.CatalogService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class CategoryController {
+
+    private final CatalogService catalogService;
+
+    public CategoryController(CatalogService catalogService) {
+        this.catalogService = catalogService;
+    }
+
+    @GetMapping("/categories")
+    public KeysetPage<CategorySummary> listCategories(@RequestParam(required = false) Long after,
+                                                      @RequestParam(required = false) Integer limit) {
+        return catalogService.listCategories(after, limit);
+    }
+
+    @GetMapping("/categories/{id}/products")
+    public KeysetPage<ProductSummary> listCategoryProducts(@PathVariable Long id,
+                                                           @RequestParam(required = false) Long after,
+                                                           @RequestParam(required = false) Integer limit,
+                                                           @RequestParam(required = false) String currency) {
+        return catalogService.listProducts(after, limit, id, null, currency);
+    }
+
+    @PostMapping("/categories")
+    public ResponseEntity<CategorySummary> createCategory(@RequestBody CreateCategoryRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(catalogService.createCategory(request));
+    }
+}
@@ -0,0 +1,53 @@
+package com.ecommerce.product.controller;
+
+import com.ecommerce.product.dto.ImportJobStatus;
+import com.ecommerce.product.dto.ImportRowError;
+import com.ecommerce.product.service.ProductImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+public class ImportController {
+
+    private final ProductImportService importService;
+
+    public ImportController(ProductImportService importService) {
+        this.importService = importService;
+    }
+
+    @PostMapping("/products/imports")
+    public ResponseEntity<ImportJobStatus> createJob(@RequestParam String format,
+                                                     @RequestParam(required = false) String source) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(importService.createJob(format, source));
+    }
+
+    /**
+     * Streams the request body into the job. Sending the same file again after a failure resumes after the
+     * last checkpoint.
+     */
+    @PutMapping("/products/imports/{id}")
+    public ImportJobStatus upload(@PathVariable UUID id, HttpServletRequest request) throws IOException {
+        return importService.runJob(id, request.getInputStream());
+    }
+
+    @GetMapping("/products/imports/{id}")
+    public ResponseEntity<ImportJobStatus> getJob(@PathVariable UUID id) {
+        return ResponseEntity.of(importService.getJob(id));
+    }
+
+    @GetMapping("/products/imports/{id}/errors")
+    public List<ImportRowError> getErrors(@PathVariable UUID id) {
+        return importService.getErrors(id);
+    }
+}
@@ -0,0 +1,62 @@
+package com.ecommerce.product.controller;
+
+import com.ecommerce.product.dto.ReserveStockRequest;
+import com.ecommerce.product.dto.RestockRequest;
+import com.ecommerce.product.dto.StockLevel;
+import com.ecommerce.product.dto.StockReservation;
+import com.ecommerce.product.service.InventoryService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+public class InventoryController {
+
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private final InventoryService inventoryService;
+
+    public InventoryController(InventoryService inventoryService) {
+        this.inventoryService = inventoryService;
+    }
+
+    @GetMapping("/inventory/{productId}")
+    public ResponseEntity<StockLevel> getStock(@PathVariable Long productId) {
+        return ResponseEntity.of(inventoryService.getStock(productId));
+    }
+
+    @PostMapping("/inventory/{productId}/restock")
+    public CompletableFuture<StockLevel> restock(@PathVariable Long productId, @RequestBody RestockRequest request) {
+        return inventoryService.restock(productId, request == null ? null : request.quantity());
+    }
+
+    @PostMapping("/inventory/reservations")
+    public CompletableFuture<ResponseEntity<StockReservation>> reserve(
+            @RequestBody ReserveStockRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        if (request == null) {
+            throw new IllegalArgumentException("productId and quantity are required");
+        }
+        return inventoryService.reserve(request.productId(), request.quantity(), idempotencyKey)
+                .thenApply(reservation -> ResponseEntity.status(HttpStatus.CREATED).body(reservation));
+    }
+
+    @PostMapping("/inventory/reservations/{id}/confirm")
+    public CompletableFuture<ResponseEntity<Void>> confirm(@PathVariable UUID id) {
+        return inventoryService.confirm(id).thenApply(ignored -> ResponseEntity.noContent().build());
+    }
+
+    @DeleteMapping("/inventory/reservations/{id}")
+    public CompletableFuture<ResponseEntity<Void>> release(@PathVariable UUID id) {
+        return inventoryService.release(id).thenApply(ignored -> ResponseEntity.noContent().build());
+    }
+}
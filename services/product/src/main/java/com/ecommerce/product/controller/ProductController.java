@@ -1,11 +1,36 @@
 package com.ecommerce.product.controller;
 
+import com.ecommerce.common.util.ExportSlots;
+import com.ecommerce.product.dto.CreateProductRequest;
+import com.ecommerce.product.dto.KeysetPage;
+import com.ecommerce.product.dto.ProductDetail;
+import com.ecommerce.product.dto.ProductSummary;
+import com.ecommerce.product.service.CatalogService;
+import com.ecommerce.product.service.ProductExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+
 @RestController
 public class ProductController {
 
+    private final CatalogService catalogService;
+    private final ProductExportService exportService;
+
+    public ProductController(CatalogService catalogService, ProductExportService exportService) {
+        this.catalogService = catalogService;
+        this.exportService = exportService;
+    }
+
     @GetMapping("/hello")
     public String hello() {
         return "Product service is running!";
@@ -15,4 +40,40 @@ public class ProductController {
     public void testError() {
         throw new IllegalArgumentException("Test error using common ErrorResponse");
     }
+
+    @GetMapping("/products")
+    public KeysetPage<ProductSummary> listProducts(@RequestParam(required = false) Long after,
+                                                   @RequestParam(required = false) Integer limit,
+                                                   @RequestParam(required = false) Long categoryId,
+                                                   @RequestParam(required = false) String brand,
+                                                   @RequestParam(required = false) String currency) {
+        return catalogService.listProducts(after, limit, categoryId, brand, currency);
+    }
+
+    /**
+     * Streams every matching product as NDJSON rather than a page at a time. The rows are written as they are
+     * read from the database.
+     */
+    @GetMapping("/products/export")
+    public void exportProducts(@RequestParam(required = false) Long after,
+                               @RequestParam(required = false) Long categoryId,
+                               @RequestParam(required = false) String brand,
+                               @RequestParam(required = false) String currency,
+                               HttpServletResponse response) throws IOException {
+        ProductExportService.Query query = exportService.query(after, categoryId, brand, currency);
+        try (ExportSlots.Slot ignored = exportService.acquireSlot()) {
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            exportService.export(query, response.getOutputStream());
+        }
+    }
+
+    @GetMapping("/products/{id}")
+    public ResponseEntity<ProductDetail> getProduct(@PathVariable Long id) {
+        return ResponseEntity.of(catalogService.getProduct(id));
+    }
+
+    @PostMapping("/products")
+    public ResponseEntity<ProductDetail> createProduct(@RequestBody CreateProductRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(catalogService.createProduct(request));
+    }
 }
@@ -0,0 +1,45 @@
+package com.ecommerce.product.controller;
+
+import com.ecommerce.product.dto.SearchResult;
+import com.ecommerce.product.service.ProductSearchService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@RestController
+public class SearchController {
+
+    private final ProductSearchService searchService;
+
+    public SearchController(ProductSearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    @GetMapping("/products/search")
+    public SearchResult search(@RequestParam(required = false) String q,
+                               @RequestParam(required = false) Long categoryId,
+                               @RequestParam(required = false) String brand,
+                               @RequestParam(required = false) BigDecimal minPrice,
+                               @RequestParam(required = false) BigDecimal maxPrice,
+                               @RequestParam(required = false) Integer offset,
+                               @RequestParam(required = false) Integer limit,
+                               @RequestParam(defaultValue = "true") boolean facets) {
+        return searchService.search(q, categoryId, brand, minPrice, maxPrice, offset, limit, facets);
+    }
+
+    @GetMapping("/products/suggest")
+    public List<String> suggest(@RequestParam String prefix, @RequestParam(required = false) Integer limit) {
+        return searchService.suggest(prefix, limit);
+    }
+
+    @PostMapping("/products/search/reindex")
+    public ResponseEntity<Void> reindex() {
+        return ResponseEntity.status(searchService.reindex() ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT).build();
+    }
+}
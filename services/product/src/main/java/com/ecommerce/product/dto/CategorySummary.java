@@ -0,0 +1,4 @@
+package com.ecommerce.product.dto;
+
+public record CategorySummary(Long id, Long parentId, String slug, String name) {
+}
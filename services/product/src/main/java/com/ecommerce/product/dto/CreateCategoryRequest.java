@@ -0,0 +1,4 @@
+package com.ecommerce.product.dto;
+
+public record CreateCategoryRequest(String slug, String name, Long parentId) {
+}
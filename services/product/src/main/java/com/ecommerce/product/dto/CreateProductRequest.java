@@ -0,0 +1,14 @@
+package com.ecommerce.product.dto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+public record CreateProductRequest(
+        String sku,
+        String name,
+        String description,
+        String brand,
+        Long categoryId,
+        Map<String, BigDecimal> prices,
+        Map<String, String> attributes) {
+}
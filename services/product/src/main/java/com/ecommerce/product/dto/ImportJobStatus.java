@@ -0,0 +1,24 @@
+package com.ecommerce.product.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Progress of a bulk import job.
+ *
+ * @param checkpointRow every row up to and including this one has been written; resuming the job skips them
+ */
+public record ImportJobStatus(
+        UUID id,
+        String format,
+        String status,
+        String source,
+        long checkpointRow,
+        long rowsRead,
+        long rowsWritten,
+        long rowsRejected,
+        String error,
+        Instant createdAt,
+        Instant updatedAt,
+        Instant finishedAt) {
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.product.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing.
+ *
+ * @param items     the rows of this page
+ * @param nextAfter value to pass as {@code after} for the next page, or {@code null} on the last page
+ */
+public record KeysetPage<T>(List<T> items, Long nextAfter) {
+
+    /**
+     * Builds a page from a query that fetched {@code limit + 1} rows, using the extra row only to detect
+     * whether another page exists.
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, int limit, Function<T, Long> key) {
+        if (rows.size() <= limit) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new KeysetPage<>(List.copyOf(items), key.apply(items.get(limit - 1)));
+    }
+}
@@ -0,0 +1,31 @@
+package com.ecommerce.product.dto;
+
+import com.ecommerce.product.entity.Product;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+public record ProductDetail(
+        Long id,
+        String sku,
+        String name,
+        String description,
+        String brand,
+        Long categoryId,
+        String status,
+        Map<String, BigDecimal> prices,
+        Map<String, String> attributes) {
+
+    public static ProductDetail from(Product product) {
+        return new ProductDetail(
+                product.getId(),
+                product.getSku(),
+                product.getName(),
+                product.getDescription(),
+                product.getBrand(),
+                product.getCategory() == null ? null : product.getCategory().getId(),
+                product.getStatus().name(),
+                Map.copyOf(product.getPrices()),
+                Map.copyOf(product.getAttributes()));
+    }
+}
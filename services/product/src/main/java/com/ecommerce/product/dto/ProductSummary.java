@@ -0,0 +1,23 @@
+package com.ecommerce.product.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Closed interface projection for catalog listings, filled directly from the query's columns.
+ */
+public interface ProductSummary {
+
+    Long getId();
+
+    String getSku();
+
+    String getName();
+
+    String getBrand();
+
+    Long getCategoryId();
+
+    BigDecimal getPrice();
+
+    String getCurrency();
+}
@@ -0,0 +1,4 @@
+package com.ecommerce.product.dto;
+
+public record RestockRequest(Long quantity) {
+}
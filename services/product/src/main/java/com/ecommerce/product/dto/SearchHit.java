@@ -0,0 +1,7 @@
+package com.ecommerce.product.dto;
+
+import java.math.BigDecimal;
+
+public record SearchHit(Long id, String sku, String name, String brand, Long categoryId, BigDecimal price,
+                        float score) {
+}
@@ -0,0 +1,10 @@
+package com.ecommerce.product.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * A validated search request; {@code text} may be {@code null} to browse by filters alone.
+ */
+public record SearchQuery(String text, Long categoryId, String brand, BigDecimal minPrice, BigDecimal maxPrice,
+                          int offset, int limit, boolean facets) {
+}
@@ -0,0 +1,14 @@
+package com.ecommerce.product.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of search hits.
+ *
+ * @param total    number of matching products, which may exceed the hits returned
+ * @param currency currency of every hit's price and of the price facet buckets
+ * @param facets   counts over all matches by {@code category}, {@code brand} and {@code price} bucket
+ */
+public record SearchResult(List<SearchHit> hits, long total, String currency, Map<String, List<FacetCount>> facets) {
+}
@@ -0,0 +1,4 @@
+package com.ecommerce.product.dto;
+
+public record StockLevel(Long productId, long available) {
+}
@@ -0,0 +1,10 @@
+package com.ecommerce.product.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A durable hold on stock; it is released automatically at {@code expiresAt} unless confirmed first.
+ */
+public record StockReservation(UUID id, Long productId, int quantity, Instant expiresAt) {
+}
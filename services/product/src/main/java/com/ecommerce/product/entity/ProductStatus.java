@@ -0,0 +1,6 @@
+package com.ecommerce.product.entity;
+
+public enum ProductStatus {
+    ACTIVE,
+    INACTIVE
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.product.event;
+
+/**
+ * Published after a bulk import has written products directly, without a {@link ProductChangedEvent} per row.
+ *
+ * @param remote whether the import ran on another pod and was relayed through the invalidation channel
+ */
+public record CatalogImportedEvent(boolean remote) {
+
+    public static CatalogImportedEvent ofLocal() {
+        return new CatalogImportedEvent(false);
+    }
+
+    public static CatalogImportedEvent ofRemote() {
+        return new CatalogImportedEvent(true);
+    }
+}
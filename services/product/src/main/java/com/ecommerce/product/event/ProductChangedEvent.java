@@ -0,0 +1,18 @@
+package com.ecommerce.product.event;
+
+/**
+ * Published after a product is created or modified.
+ *
+ * @param productId the product that changed
+ * @param remote    whether the change was made by another pod and relayed through the invalidation channel
+ */
+public record ProductChangedEvent(Long productId, boolean remote) {
+
+    public static ProductChangedEvent local(Long productId) {
+        return new ProductChangedEvent(productId, false);
+    }
+
+    public static ProductChangedEvent remote(Long productId) {
+        return new ProductChangedEvent(productId, true);
+    }
+}
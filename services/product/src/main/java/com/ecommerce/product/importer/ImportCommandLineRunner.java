@@ -0,0 +1,67 @@
+package com.ecommerce.product.importer;
+
+import com.ecommerce.product.dto.ImportJobStatus;
+import com.ecommerce.product.service.ProductImportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Imports a file at startup, for loading a catalog without going through HTTP:
+ * <pre>
+ * java -jar product-service.jar --product.import.file=catalog.csv
+ * </pre>
+ * Add {@code --product.import.job-id=<id>} to resume a failed job, and {@code --product.import.exit-when-done=false}
+ * to keep the service running afterwards.
+ */
+@Component
+@ConditionalOnProperty(name = "product.import.file")
+public class ImportCommandLineRunner implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportCommandLineRunner.class);
+
+    private final ProductImportService importService;
+    private final ImportProperties properties;
+    private final ConfigurableApplicationContext context;
+
+    public ImportCommandLineRunner(ProductImportService importService, ImportProperties properties,
+                                   ConfigurableApplicationContext context) {
+        this.importService = importService;
+        this.properties = properties;
+        this.context = context;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        Path file = Path.of(properties.getFile());
+        ImportFormat format = properties.getFormat() != null
+                ? properties.getFormat()
+                : ImportFormat.fromFileName(file.getFileName().toString());
+        ImportJobStatus job = properties.getJobId() != null
+                ? importService.getJob(properties.getJobId()).orElseThrow(() ->
+                        new IllegalArgumentException("Unknown import job " + properties.getJobId()))
+                : importService.createJob(format.name(), file.getFileName().toString());
+        logger.info("Importing {} as job {}", file, job.id());
+
+        ImportJobStatus result;
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(file), 1 << 16)) {
+            result = importService.runJob(job.id(), input);
+        }
+        logger.info("Import job {} {}: {} rows read, {} written, {} rejected", result.id(), result.status(),
+                result.rowsRead(), result.rowsWritten(), result.rowsRejected());
+
+        if (properties.isExitWhenDone()) {
+            int code = ImportJobStore.COMPLETED.equals(result.status()) ? 0 : 1;
+            System.exit(SpringApplication.exit(context, () -> code));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.ecommerce.product.importer;
+
+import java.util.Locale;
+
+public enum ImportFormat {
+    CSV,
+    NDJSON;
+
+    public static ImportFormat fromName(String name) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("format is required (csv or ndjson)");
+        }
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported import format " + name + "; use csv or ndjson");
+        }
+    }
+
+    /**
+     * Guesses the format from a file name, defaulting to CSV.
+     */
+    public static ImportFormat fromFileName(String fileName) {
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        return lower.endsWith(".ndjson") || lower.endsWith(".jsonl") ? NDJSON : CSV;
+    }
+}
@@ -0,0 +1,110 @@
+package com.ecommerce.product.importer;
+
+import com.ecommerce.product.dto.ImportJobStatus;
+import com.ecommerce.product.dto.ImportRowError;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Persists import jobs and their progress in {@code import_jobs}, so progress survives the pod that ran them
+ * and an interrupted job can resume from its checkpoint.
+ */
+@Component
+public class ImportJobStore {
+
+    public static final String CREATED = "CREATED";
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    private static final RowMapper<ImportJobStatus> JOB_MAPPER = (rs, rowNum) -> new ImportJobStatus(
+            rs.getObject("id", UUID.class),
+            rs.getString("format"),
+            rs.getString("status"),
+            rs.getString("source"),
+            rs.getLong("checkpoint_row"),
+            rs.getLong("rows_read"),
+            rs.getLong("rows_written"),
+            rs.getLong("rows_rejected"),
+            rs.getString("error"),
+            toInstant(rs.getTimestamp("created_at")),
+            toInstant(rs.getTimestamp("updated_at")),
+            toInstant(rs.getTimestamp("finished_at")));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ImportJobStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public ImportJobStatus create(ImportFormat format, String source) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO import_jobs (id, format, status, source) VALUES (?, ?, ?, ?)",
+                id, format.name(), CREATED, source);
+        return find(id).orElseThrow();
+    }
+
+    public Optional<ImportJobStatus> find(UUID id) {
+        return jdbcTemplate.query("SELECT * FROM import_jobs WHERE id = ?", JOB_MAPPER, id).stream().findFirst();
+    }
+
+    public void markRunning(UUID id) {
+        jdbcTemplate.update("""
+                UPDATE import_jobs SET status = ?, error = NULL, finished_at = NULL, updated_at = now()
+                WHERE id = ?
+                """, RUNNING, id);
+    }
+
+    /**
+     * Records progress; counts are totals across every run of the job, and the checkpoint never moves back.
+     */
+    public void recordProgress(UUID id, long checkpointRow, long rowsRead, long rowsWritten, long rowsRejected) {
+        jdbcTemplate.update("""
+                UPDATE import_jobs
+                SET checkpoint_row = GREATEST(checkpoint_row, ?), rows_read = ?, rows_written = ?,
+                    rows_rejected = ?, updated_at = now()
+                WHERE id = ?
+                """, checkpointRow, rowsRead, rowsWritten, rowsRejected, id);
+    }
+
+    public void finish(UUID id, String status, String error) {
+        jdbcTemplate.update("""
+                UPDATE import_jobs SET status = ?, error = ?, finished_at = now(), updated_at = now()
+                WHERE id = ?
+                """, status, error, id);
+    }
+
+    public void recordErrors(UUID id, List<ImportRowError> errors) {
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO import_job_errors (job_id, row_num, message) VALUES (?, ?, ?)
+                ON CONFLICT (job_id, row_num) DO UPDATE SET message = EXCLUDED.message
+                """, errors, errors.size(), (ps, error) -> {
+            ps.setObject(1, id);
+            ps.setLong(2, error.row());
+            ps.setString(3, error.message());
+        });
+    }
+
+    public long countErrors(UUID id) {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM import_job_errors WHERE job_id = ?",
+                Long.class, id);
+        return count == null ? 0 : count;
+    }
+
+    public List<ImportRowError> findErrors(UUID id, int limit) {
+        return jdbcTemplate.query("""
+                SELECT row_num, message FROM import_job_errors WHERE job_id = ? ORDER BY row_num LIMIT ?
+                """, (rs, rowNum) -> new ImportRowError(rs.getLong("row_num"), rs.getString("message")), id, limit);
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+}
@@ -0,0 +1,54 @@
+package com.ecommerce.product.importer;
+
+import java.util.TreeMap;
+
+/**
+ * Tracks the checkpoint of an import whose chunks are written concurrently and can finish out of order.
+ * <p>
+ * The checkpoint only advances over a contiguous run of finished chunks, and the row counts advance with it,
+ * so a persisted snapshot describes exactly the rows up to its checkpoint: a resumed job skips those rows and
+ * continues from the snapshot's counts without double counting chunks that were written after a gap.
+ */
+public class ImportProgress {
+
+    /**
+     * Progress up to and including {@code checkpointRow}.
+     */
+    public record Snapshot(long checkpointRow, long rowsRead, long rowsWritten, long rowsRejected) {
+    }
+
+    private record Chunk(long lastRow, long rowsRead, long rowsWritten, long rowsRejected) {
+    }
+
+    private final TreeMap<Long, Chunk> pending = new TreeMap<>();
+    private long nextSequence;
+    private Snapshot current;
+
+    public ImportProgress(Snapshot start) {
+        this.current = start;
+    }
+
+    /**
+     * Records a finished chunk; chunks are numbered from 0 in the order they were read.
+     *
+     * @return the new snapshot if the checkpoint advanced, or {@code null} if an earlier chunk is still running
+     */
+    public synchronized Snapshot complete(long sequence, long lastRow, long rowsRead, long rowsWritten,
+                                          long rowsRejected) {
+        pending.put(sequence, new Chunk(lastRow, rowsRead, rowsWritten, rowsRejected));
+        Snapshot before = current;
+        Chunk next;
+        while ((next = pending.remove(nextSequence)) != null) {
+            current = new Snapshot(next.lastRow(),
+                    current.rowsRead() + next.rowsRead(),
+                    current.rowsWritten() + next.rowsWritten(),
+                    current.rowsRejected() + next.rowsRejected());
+            nextSequence++;
+        }
+        return current == before ? null : current;
+    }
+
+    public synchronized Snapshot snapshot() {
+        return current;
+    }
+}
@@ -0,0 +1,86 @@
+package com.ecommerce.product.importer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.UUID;
+
+@ConfigurationProperties(prefix = "product.import")
+public class ImportProperties {
+
+    private int chunkSize = 5000;
+    private int writers = 4;
+    private int queueCapacity = 8;
+    private int maxRecordedErrors = 100;
+
+    /**
+     * File to import at startup through {@link ImportCommandLineRunner}; unset for normal service operation.
+     */
+    private String file;
+    private ImportFormat format;
+    private UUID jobId;
+    private boolean exitWhenDone = true;
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getWriters() {
+        return writers;
+    }
+
+    public void setWriters(int writers) {
+        this.writers = writers;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getMaxRecordedErrors() {
+        return maxRecordedErrors;
+    }
+
+    public void setMaxRecordedErrors(int maxRecordedErrors) {
+        this.maxRecordedErrors = maxRecordedErrors;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public ImportFormat getFormat() {
+        return format;
+    }
+
+    public void setFormat(ImportFormat format) {
+        this.format = format;
+    }
+
+    public UUID getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(UUID jobId) {
+        this.jobId = jobId;
+    }
+
+    public boolean isExitWhenDone() {
+        return exitWhenDone;
+    }
+
+    public void setExitWhenDone(boolean exitWhenDone) {
+        this.exitWhenDone = exitWhenDone;
+    }
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.product.importer;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * One product as read from an import file, before validation.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ImportRow(
+        String sku,
+        String name,
+        String description,
+        String brand,
+        Long categoryId,
+        Map<String, BigDecimal> prices,
+        Map<String, String> attributes) {
+
+    public ImportRow {
+        prices = prices == null ? Map.of() : prices;
+        attributes = attributes == null ? Map.of() : attributes;
+    }
+}
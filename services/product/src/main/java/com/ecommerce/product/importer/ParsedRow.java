@@ -0,0 +1,17 @@
+package com.ecommerce.product.importer;
+
+/**
+ * A row read from an import file: either {@code row} or, if the row could not be read, {@code error}.
+ *
+ * @param number 1-based position of the row in the file, excluding any header
+ */
+public record ParsedRow(long number, ImportRow row, String error) {
+
+    public static ParsedRow of(long number, ImportRow row) {
+        return new ParsedRow(number, row, null);
+    }
+
+    public static ParsedRow invalid(long number, String error) {
+        return new ParsedRow(number, null, error);
+    }
+}
@@ -0,0 +1,142 @@
+package com.ecommerce.product.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads import rows one at a time from a stream, so a file of any size is never held in memory.
+ * <p>
+ * CSV files need a header row. The columns {@code sku}, {@code name}, {@code description}, {@code brand} and
+ * {@code categoryId} map to the product; {@code price.<CURRENCY>} columns to prices and {@code attr.<name>}
+ * columns to attributes. NDJSON files hold one {@link ImportRow} object per line.
+ * <p>
+ * A row whose values cannot be converted comes back as {@link ParsedRow#invalid}; a file that cannot be
+ * parsed at all (such as an unterminated CSV quote) throws.
+ */
+public abstract class RowReader implements Closeable {
+
+    private static final String PRICE_PREFIX = "price.";
+    private static final String ATTRIBUTE_PREFIX = "attr.";
+
+    /**
+     * @return the next row, or {@code null} at the end of the input
+     */
+    public abstract ParsedRow next() throws IOException;
+
+    public static RowReader open(ImportFormat format, InputStream input, ObjectMapper objectMapper)
+            throws IOException {
+        return switch (format) {
+            case CSV -> new CsvRowReader(input);
+            case NDJSON -> new NdjsonRowReader(input, objectMapper);
+        };
+    }
+
+    private static final class CsvRowReader extends RowReader {
+
+        private final MappingIterator<Map<String, String>> rows;
+        private long number;
+
+        private CsvRowReader(InputStream input) throws IOException {
+            CsvMapper mapper = CsvMapper.builder().enable(CsvParser.Feature.TRIM_SPACES).build();
+            this.rows = mapper.readerForMapOf(String.class)
+                    .with(CsvSchema.emptySchema().withHeader())
+                    .readValues(input);
+        }
+
+        @Override
+        public ParsedRow next() throws IOException {
+            if (!rows.hasNextValue()) {
+                return null;
+            }
+            Map<String, String> columns = rows.nextValue();
+            number++;
+            try {
+                return ParsedRow.of(number, toRow(columns));
+            } catch (NumberFormatException e) {
+                return ParsedRow.invalid(number, "Invalid number: " + e.getMessage());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            rows.close();
+        }
+
+        private static ImportRow toRow(Map<String, String> columns) {
+            Map<String, BigDecimal> prices = new HashMap<>();
+            Map<String, String> attributes = new HashMap<>();
+            columns.forEach((column, value) -> {
+                if (value == null || value.isEmpty()) {
+                    return;
+                }
+                if (column.startsWith(PRICE_PREFIX)) {
+                    prices.put(column.substring(PRICE_PREFIX.length()), new BigDecimal(value));
+                } else if (column.startsWith(ATTRIBUTE_PREFIX)) {
+                    attributes.put(column.substring(ATTRIBUTE_PREFIX.length()), value);
+                }
+            });
+            String categoryId = blankToNull(columns.get("categoryId"));
+            return new ImportRow(
+                    blankToNull(columns.get("sku")),
+                    blankToNull(columns.get("name")),
+                    blankToNull(columns.get("description")),
+                    blankToNull(columns.get("brand")),
+                    categoryId == null ? null : Long.valueOf(categoryId),
+                    prices,
+                    attributes);
+        }
+
+        private static String blankToNull(String value) {
+            return value == null || value.isEmpty() ? null : value;
+        }
+    }
+
+    private static final class NdjsonRowReader extends RowReader {
+
+        private final BufferedReader lines;
+        private final ObjectReader reader;
+        private long number;
+
+        private NdjsonRowReader(InputStream input, ObjectMapper objectMapper) {
+            this.lines = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            this.reader = objectMapper.readerFor(ImportRow.class);
+        }
+
+        @Override
+        public ParsedRow next() throws IOException {
+            String line;
+            do {
+                line = lines.readLine();
+                if (line == null) {
+                    return null;
+                }
+                number++;
+            } while (line.isBlank());
+            try {
+                return ParsedRow.of(number, reader.readValue(line));
+            } catch (JsonProcessingException e) {
+                return ParsedRow.invalid(number, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            lines.close();
+        }
+    }
+}
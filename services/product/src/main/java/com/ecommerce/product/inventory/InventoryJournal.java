@@ -0,0 +1,441 @@
+package com.ecommerce.product.inventory;
+
+import com.ecommerce.common.exception.ConflictException;
+import com.ecommerce.common.exception.ServiceOverloadedException;
+import com.ecommerce.product.dto.StockReservation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind journal that makes stock changes durable in Postgres, many at a time.
+ * <p>
+ * Callers enqueue {@link JournalEntry entries} and get a future back; a single writer thread drains whatever
+ * has queued up (up to {@code batchSize}) and applies it in one transaction, so the commit cost is shared by
+ * every reservation that arrived while the previous batch was being written. A reservation is acknowledged
+ * only after its batch commits, which is what makes recovery after a crash trivial: Postgres holds every
+ * acknowledged reservation, and {@link StockCounters} reload from it on first use.
+ * <p>
+ * Reservations are applied per product as one conditional {@code UPDATE ... WHERE reserved + n <= on_hand}.
+ * If another writer got there first the product's reservations in the batch fail with
+ * {@link ConflictException} and their units go back to the counter. The same thread periodically expires
+ * reservations that were neither confirmed nor released within their TTL, and
+ * {@link StockCounters#reconcile reconciles} the counters with the changes other instances have written.
+ * <p>
+ * A reservation made with an idempotency key is not made twice while one made under that key is still open:
+ * being the only writer of reservations, the journal checks for it in the same transaction that would insert
+ * the new one.
+ */
+@Component
+public class InventoryJournal implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryJournal.class);
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+    private static final int EXPIRY_BATCH = 10_000;
+
+    private static final String RESERVE = """
+            UPDATE inventory SET reserved = reserved + ?, updated_at = now()
+            WHERE product_id = ? AND reserved + ? <= on_hand
+            """;
+    private static final String INSERT_RESERVATION = """
+            INSERT INTO inventory_reservations (id, product_id, quantity, status, expires_at, idempotency_key)
+            VALUES (?, ?, ?, 'RESERVED', ?, ?)
+            """;
+    private static final String OPEN_BY_KEY = """
+            SELECT id, product_id, quantity, expires_at, idempotency_key FROM inventory_reservations
+            WHERE idempotency_key = ? AND status = 'RESERVED'
+            """;
+    private static final String OPEN_BY_KEYS = """
+            SELECT id, product_id, quantity, expires_at, idempotency_key FROM inventory_reservations
+            WHERE idempotency_key = ANY (?) AND status = 'RESERVED'
+            """;
+    private static final String CLOSE_RESERVATIONS = """
+            UPDATE inventory_reservations SET status = ?, closed_at = now()
+            WHERE id = ANY (?) AND status = 'RESERVED'
+            RETURNING id, product_id, quantity
+            """;
+    private static final String CLOSED_AS = """
+            SELECT id FROM inventory_reservations WHERE id = ANY (?) AND status = ?
+            """;
+    private static final String EXPIRE_RESERVATIONS = """
+            UPDATE inventory_reservations SET status = 'EXPIRED', closed_at = now()
+            WHERE id IN (SELECT id FROM inventory_reservations
+                         WHERE status = 'RESERVED' AND expires_at < now()
+                         LIMIT %d FOR UPDATE SKIP LOCKED)
+            RETURNING id, product_id, quantity
+            """.formatted(EXPIRY_BATCH);
+    private static final String UNRESERVE = """
+            UPDATE inventory SET reserved = reserved - ?, on_hand = on_hand - ?, updated_at = now()
+            WHERE product_id = ?
+            """;
+    private static final String RESTOCK = """
+            INSERT INTO inventory (product_id, on_hand, reserved) VALUES (?, ?, 0)
+            ON CONFLICT (product_id) DO UPDATE
+                SET on_hand = inventory.on_hand + EXCLUDED.on_hand, updated_at = now()
+            RETURNING on_hand - reserved
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StockCounters counters;
+    private final BlockingQueue<JournalEntry> queue;
+    private final int batchSize;
+    private final long sweepIntervalNanos;
+    private final long reconcileIntervalNanos;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public InventoryJournal(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            StockCounters counters, InventoryProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.counters = counters;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.batchSize = properties.getBatchSize();
+        this.sweepIntervalNanos = properties.getExpirySweepInterval().toNanos();
+        this.reconcileIntervalNanos = properties.getReconcileInterval().toNanos();
+    }
+
+    /**
+     * Queues {@code entry} for the next batch.
+     *
+     * @throws ServiceOverloadedException if the queue is full, i.e. Postgres is not keeping up
+     */
+    public void submit(JournalEntry entry) {
+        if (!running || !queue.offer(entry)) {
+            throw new ServiceOverloadedException("Inventory journal is saturated", RETRY_AFTER);
+        }
+    }
+
+    /**
+     * The open reservation made under {@code idempotencyKey}, if there is one.
+     */
+    public Optional<StockReservation> findOpenReservation(String idempotencyKey) {
+        return jdbcTemplate.query(OPEN_BY_KEY, (rs, rowNum) -> reservation(rs), idempotencyKey).stream()
+                .findFirst();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = Thread.ofPlatform().name("inventory-journal").start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (writer != null) {
+            writer.interrupt();
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        // An immediate sweep on startup releases whatever expired while the service was down.
+        long nextSweep = System.nanoTime();
+        long nextReconcile = System.nanoTime() + reconcileIntervalNanos;
+        List<JournalEntry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                if (System.nanoTime() - nextReconcile >= 0) {
+                    nextReconcile = System.nanoTime() + reconcileIntervalNanos;
+                    reconcile();
+                }
+                long now = System.nanoTime();
+                boolean sweep = now - nextSweep >= 0;
+                if (sweep) {
+                    nextSweep = now + sweepIntervalNanos;
+                } else {
+                    long wait = Math.min(nextSweep - now, nextReconcile - now);
+                    JournalEntry first = queue.poll(Math.max(1, wait), TimeUnit.NANOSECONDS);
+                    if (first != null) {
+                        batch.add(first);
+                    }
+                }
+                queue.drainTo(batch, batchSize - batch.size());
+                if (!batch.isEmpty() || sweep) {
+                    write(batch, sweep);
+                }
+            } catch (InterruptedException e) {
+                if (running) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                // Shutting down: keep draining what is already queued.
+                Thread.interrupted();
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void reconcile() {
+        try {
+            counters.reconcile();
+        } catch (RuntimeException e) {
+            logger.warn("Reconciling stock counters failed: {}", e.getMessage());
+        }
+    }
+
+    void write(List<JournalEntry> batch, boolean sweep) {
+        List<JournalEntry.Reserve> reserves = new ArrayList<>();
+        List<JournalEntry.Close> closes = new ArrayList<>();
+        List<JournalEntry.Restock> restocks = new ArrayList<>();
+        for (JournalEntry entry : batch) {
+            switch (entry) {
+                case JournalEntry.Reserve reserve -> reserves.add(reserve);
+                case JournalEntry.Close close -> closes.add(close);
+                case JournalEntry.Restock restock -> restocks.add(restock);
+            }
+        }
+
+        Outcome outcome = new Outcome();
+        try {
+            counters.commitAndCredit(() -> {
+                transactionTemplate.executeWithoutResult(status -> apply(reserves, closes, restocks, sweep, outcome));
+                // Credit freed and restocked units only once they are committed, so a failed batch never has to
+                // take them back and no reservation can be taken against units Postgres does not have yet.
+                outcome.credited.forEach(counters::add);
+                outcome.written.forEach(counters::written);
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Inventory journal batch of {} entries failed: {}", batch.size(), e.getMessage());
+            for (JournalEntry.Reserve reserve : reserves) {
+                counters.cancel(reserve.productId(), reserve.quantity());
+                reserve.done().completeExceptionally(e);
+            }
+            closes.forEach(close -> close.done().completeExceptionally(e));
+            restocks.forEach(restock -> restock.done().completeExceptionally(e));
+            return;
+        }
+        complete(outcome, reserves, closes, restocks);
+    }
+
+    private void apply(List<JournalEntry.Reserve> reserves, List<JournalEntry.Close> closes,
+                       List<JournalEntry.Restock> restocks, boolean sweep, Outcome outcome) {
+        // Restocks first so that units added in this batch can back reservations in the same batch.
+        for (JournalEntry.Restock restock : restocks) {
+            outcome.restocked.put(restock, jdbcTemplate.queryForObject(RESTOCK, Long.class,
+                    restock.productId(), restock.quantity()));
+            outcome.credited.merge(restock.productId(), restock.quantity(), Long::sum);
+        }
+
+        List<JournalEntry.Reserve> fresh = deduplicate(reserves, outcome);
+        if (!fresh.isEmpty()) {
+            Map<Long, Long> requested = new LinkedHashMap<>();
+            fresh.forEach(reserve -> requested.merge(reserve.productId(), (long) reserve.quantity(), Long::sum));
+            List<Map.Entry<Long, Long>> products = new ArrayList<>(requested.entrySet());
+            int[] updated = jdbcTemplate.batchUpdate(RESERVE, products, products.size(), (ps, product) -> {
+                ps.setLong(1, product.getValue());
+                ps.setLong(2, product.getKey());
+                ps.setLong(3, product.getValue());
+            })[0];
+            for (int i = 0; i < updated.length; i++) {
+                if (updated[i] == 0) {
+                    outcome.rejectedProducts.add(products.get(i).getKey());
+                }
+            }
+            List<JournalEntry.Reserve> accepted = fresh.stream()
+                    .filter(reserve -> !outcome.rejectedProducts.contains(reserve.productId()))
+                    .toList();
+            accepted.forEach(reserve -> outcome.written.merge(reserve.productId(), (long) reserve.quantity(),
+                    Long::sum));
+            if (!accepted.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_RESERVATION, accepted, accepted.size(), (ps, reserve) -> {
+                    ps.setObject(1, reserve.reservationId());
+                    ps.setLong(2, reserve.productId());
+                    ps.setInt(3, reserve.quantity());
+                    ps.setTimestamp(4, Timestamp.from(reserve.expiresAt()));
+                    ps.setString(5, reserve.idempotencyKey());
+                });
+            }
+        }
+
+        for (ReservationStatus status : List.of(ReservationStatus.CONFIRMED, ReservationStatus.RELEASED)) {
+            List<UUID> ids = closes.stream()
+                    .filter(close -> close.status() == status)
+                    .map(JournalEntry.Close::reservationId)
+                    .toList();
+            if (!ids.isEmpty()) {
+                closeReservations(CLOSE_RESERVATIONS, status, ids, outcome);
+                findClosedAs(status, ids, outcome);
+            }
+        }
+        if (sweep) {
+            closeReservations(EXPIRE_RESERVATIONS, ReservationStatus.EXPIRED, List.of(), outcome);
+        }
+    }
+
+    /**
+     * Leaves out reservations whose idempotency key already has an open reservation, in Postgres or earlier in
+     * this batch, so a request retried after its response was lost gets the reservation it already made.
+     *
+     * @return the reservations to make
+     */
+    private List<JournalEntry.Reserve> deduplicate(List<JournalEntry.Reserve> reserves, Outcome outcome) {
+        List<String> keys = reserves.stream()
+                .map(JournalEntry.Reserve::idempotencyKey)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (keys.isEmpty()) {
+            return reserves;
+        }
+        Map<String, StockReservation> open = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(OPEN_BY_KEYS);
+            statement.setArray(1, connection.createArrayOf("varchar", keys.toArray()));
+            return statement;
+        }, rs -> {
+            open.put(rs.getString("idempotency_key"), reservation(rs));
+        });
+
+        Map<String, JournalEntry.Reserve> firstByKey = new HashMap<>();
+        List<JournalEntry.Reserve> fresh = new ArrayList<>(reserves.size());
+        for (JournalEntry.Reserve reserve : reserves) {
+            String key = reserve.idempotencyKey();
+            if (key != null && open.containsKey(key)) {
+                outcome.existing.put(reserve, open.get(key));
+            } else if (key != null && firstByKey.containsKey(key)) {
+                outcome.repeats.put(reserve, firstByKey.get(key));
+            } else {
+                if (key != null) {
+                    firstByKey.put(key, reserve);
+                }
+                fresh.add(reserve);
+            }
+        }
+        return fresh;
+    }
+
+    /**
+     * Closes reservations and takes their units out of {@code reserved}; confirmed units also leave
+     * {@code on_hand}, everything else becomes available again.
+     */
+    private void closeReservations(String sql, ReservationStatus status, List<UUID> ids, Outcome outcome) {
+        Map<Long, Long> closedByProduct = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            if (status != ReservationStatus.EXPIRED) {
+                Array array = connection.createArrayOf("uuid", ids.toArray());
+                statement.setString(1, status.name());
+                statement.setArray(2, array);
+            }
+            return statement;
+        }, rs -> {
+            outcome.closed.put(rs.getObject("id", UUID.class), status);
+            closedByProduct.merge(rs.getLong("product_id"), rs.getLong("quantity"), Long::sum);
+        });
+
+        boolean consumed = status == ReservationStatus.CONFIRMED;
+        if (closedByProduct.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Long, Long>> products = new ArrayList<>(closedByProduct.entrySet());
+        jdbcTemplate.batchUpdate(UNRESERVE, products, products.size(), (ps, product) -> {
+            ps.setLong(1, product.getValue());
+            ps.setLong(2, consumed ? product.getValue() : 0);
+            ps.setLong(3, product.getKey());
+        });
+        if (!consumed) {
+            closedByProduct.forEach((productId, quantity) -> outcome.credited.merge(productId, quantity, Long::sum));
+        }
+    }
+
+    /**
+     * Treats reservations that were already in {@code status} as closed by this batch too, so a close retried
+     * after its response was lost succeeds again instead of reporting a conflict.
+     */
+    private void findClosedAs(ReservationStatus status, List<UUID> ids, Outcome outcome) {
+        List<UUID> notClosed = ids.stream().filter(id -> !outcome.closed.containsKey(id)).toList();
+        if (notClosed.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(CLOSED_AS);
+            statement.setArray(1, connection.createArrayOf("uuid", notClosed.toArray()));
+            statement.setString(2, status.name());
+            return statement;
+        }, rs -> {
+            outcome.closed.putIfAbsent(rs.getObject("id", UUID.class), status);
+        });
+    }
+
+    private void complete(Outcome outcome, List<JournalEntry.Reserve> reserves, List<JournalEntry.Close> closes,
+                          List<JournalEntry.Restock> restocks) {
+        for (JournalEntry.Restock restock : restocks) {
+            restock.done().complete(outcome.restocked.get(restock));
+        }
+        for (JournalEntry.Reserve reserve : reserves) {
+            StockReservation existing = outcome.existing.get(reserve);
+            JournalEntry.Reserve holder = outcome.repeats.getOrDefault(reserve, reserve);
+            if (existing != null || holder != reserve
+                    || outcome.rejectedProducts.contains(reserve.productId())) {
+                // Rejected, or a repeat whose units are already held by another reservation.
+                counters.cancel(reserve.productId(), reserve.quantity());
+            }
+            if (existing != null) {
+                reserve.done().complete(existing);
+            } else if (outcome.rejectedProducts.contains(holder.productId())) {
+                reserve.done().completeExceptionally(
+                        new ConflictException("Insufficient stock for product " + holder.productId()));
+            } else {
+                reserve.done().complete(new StockReservation(holder.reservationId(), holder.productId(),
+                        holder.quantity(), holder.expiresAt()));
+            }
+        }
+        for (JournalEntry.Close close : closes) {
+            close.done().complete(outcome.closed.get(close.reservationId()) == close.status());
+        }
+    }
+
+    private static StockReservation reservation(ResultSet rs) throws SQLException {
+        return new StockReservation(rs.getObject("id", UUID.class), rs.getLong("product_id"),
+                rs.getInt("quantity"), rs.getTimestamp("expires_at").toInstant());
+    }
+
+    private static final class Outcome {
+
+        private final Map<JournalEntry.Reserve, StockReservation> existing = new HashMap<>();
+        private final Map<JournalEntry.Reserve, JournalEntry.Reserve> repeats = new HashMap<>();
+        private final Map<JournalEntry.Restock, Long> restocked = new HashMap<>();
+        private final Set<Long> rejectedProducts = new HashSet<>();
+        private final Map<UUID, ReservationStatus> closed = new HashMap<>();
+        private final Map<Long, Long> credited = new HashMap<>();
+        private final Map<Long, Long> written = new HashMap<>();
+    }
+}
@@ -0,0 +1,39 @@
+package com.ecommerce.product.inventory;
+
+import com.ecommerce.product.dto.StockReservation;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A stock change waiting to be written by {@link InventoryJournal}. Each entry's future completes once the
+ * batch holding it has committed, or fails if it did not.
+ */
+public sealed interface JournalEntry {
+
+    /**
+     * Records a reservation whose units were already taken from {@link StockCounters}. Completes with the
+     * reservation holding the units: a new one, or the open reservation already made under
+     * {@code idempotencyKey}, whose units are then given back.
+     *
+     * @param idempotencyKey the request's {@code Idempotency-Key}, or {@code null}
+     */
+    record Reserve(UUID reservationId, long productId, int quantity, Instant expiresAt, String idempotencyKey,
+                   CompletableFuture<StockReservation> done) implements JournalEntry {
+    }
+
+    /**
+     * Moves an open reservation to {@code status}; completes with {@code true} if it is now in that status, also
+     * when it already was, and with {@code false} if it was closed some other way.
+     */
+    record Close(UUID reservationId, ReservationStatus status, CompletableFuture<Boolean> done)
+            implements JournalEntry {
+    }
+
+    /**
+     * Adds units to a product's stock; completes with the product's new available count.
+     */
+    record Restock(long productId, long quantity, CompletableFuture<Long> done) implements JournalEntry {
+    }
+}
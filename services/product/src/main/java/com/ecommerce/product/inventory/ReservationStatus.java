@@ -0,0 +1,8 @@
+package com.ecommerce.product.inventory;
+
+public enum ReservationStatus {
+    RESERVED,
+    CONFIRMED,
+    RELEASED,
+    EXPIRED
+}
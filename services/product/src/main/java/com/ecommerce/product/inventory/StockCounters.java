@@ -0,0 +1,235 @@
+package com.ecommerce.product.inventory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Available stock per product, held in memory so admission never waits on a row lock.
+ * <p>
+ * Each product has its own {@link AtomicLong}, so unrelated products never contend and a hot product costs one
+ * CAS per reservation. A counter is loaded from Postgres ({@code on_hand - reserved}) the first time it is
+ * touched after startup. Reservations take stock here first and {@link InventoryJournal} returns it if the
+ * durable write fails, so the counter can run below the database but never above it. Products that do not
+ * exist are never given a counter.
+ * <p>
+ * Other instances change the same rows through their own journals, so {@link #reconcile} periodically resets
+ * every counter to what Postgres holds, less the units reserved here that are not written yet. Until then an
+ * instance may turn away reservations another instance's restock or release would cover; it never admits one
+ * Postgres cannot, because the journal's conditional update has the last word.
+ * <p>
+ * Loading races with the journal crediting committed units: a load that read Postgres before a commit must be
+ * credited, one that read it after must not be. Loads and reconciles therefore never overlap
+ * {@link #commitAndCredit}.
+ */
+@Component
+public class StockCounters {
+
+    private static final String STOCK = """
+            SELECT p.id, COALESCE(i.on_hand - i.reserved, 0) FROM products p
+            LEFT JOIN inventory i ON i.product_id = p.id
+            WHERE p.id = ANY (?)
+            """;
+
+    private final ConcurrentHashMap<Long, Counter> counters = new ConcurrentHashMap<>();
+    private final Loader loader;
+    private final ReadWriteLock loadLock = new ReentrantReadWriteLock();
+
+    /**
+     * Reads the durable available count of products. Products that do not exist are left out of the result.
+     */
+    @FunctionalInterface
+    public interface Loader {
+
+        Map<Long, Long> load(Collection<Long> productIds);
+
+        /**
+         * A loader for which every product exists, with the count {@code stock} returns for it.
+         */
+        static Loader everyProduct(LongUnaryOperator stock) {
+            return productIds -> {
+                Map<Long, Long> counts = new HashMap<>();
+                productIds.forEach(productId -> counts.put(productId, stock.applyAsLong(productId)));
+                return counts;
+            };
+        }
+    }
+
+    @Autowired
+    public StockCounters(JdbcTemplate jdbcTemplate) {
+        this(productIds -> {
+            Map<Long, Long> stock = new HashMap<>();
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(STOCK);
+                statement.setArray(1, connection.createArrayOf("bigint", productIds.toArray()));
+                return statement;
+            }, rs -> {
+                stock.put(rs.getLong(1), rs.getLong(2));
+            });
+            return stock;
+        });
+    }
+
+    public StockCounters(Loader loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * @return the available units, or empty if there is no such product
+     */
+    public OptionalLong available(long productId) {
+        Counter counter = counter(productId);
+        return counter == null ? OptionalLong.empty() : OptionalLong.of(counter.available.get());
+    }
+
+    /**
+     * Takes {@code quantity} units if that many are available. Taken units are {@link #written} once their
+     * reservation is in Postgres, or handed back through {@link #cancel}.
+     *
+     * @return {@code false}, leaving the counter untouched, if fewer than {@code quantity} units remain or there
+     *         is no such product
+     */
+    public boolean tryReserve(long productId, int quantity) {
+        Counter counter = counter(productId);
+        if (counter == null) {
+            return false;
+        }
+        // Counted as pending before they are taken, so a reconcile in between can only undercount.
+        counter.pending.add(quantity);
+        AtomicLong available = counter.available;
+        long current = available.get();
+        while (current >= quantity) {
+            long witness = available.compareAndExchange(current, current - quantity);
+            if (witness == current) {
+                return true;
+            }
+            current = witness;
+        }
+        counter.pending.add(-quantity);
+        return false;
+    }
+
+    /**
+     * Hands back units taken by {@link #tryReserve} whose reservation was not written.
+     */
+    public void cancel(long productId, long quantity) {
+        Counter counter = counters.get(productId);
+        if (counter != null) {
+            counter.available.addAndGet(quantity);
+            counter.pending.add(-quantity);
+        }
+    }
+
+    /**
+     * Records that units taken by {@link #tryReserve} are now reserved in Postgres. Called from
+     * {@link #commitAndCredit}, after the commit.
+     */
+    public void written(long productId, long quantity) {
+        Counter counter = counters.get(productId);
+        if (counter != null) {
+            counter.pending.add(-quantity);
+        }
+    }
+
+    /**
+     * Returns units to a loaded counter. Counters not loaded yet are left alone: they will read the new total
+     * from Postgres when first used.
+     */
+    public void add(long productId, long quantity) {
+        Counter counter = counters.get(productId);
+        if (counter != null) {
+            counter.available.addAndGet(quantity);
+        }
+    }
+
+    /**
+     * Runs {@code commit}, which writes stock changes to Postgres and then {@link #add adds} the units it freed,
+     * while no counter is loading. Every load then reads Postgres wholly before the commit, and its counter is
+     * credited, or wholly after it, when there is no counter yet to credit.
+     */
+    public void commitAndCredit(Runnable commit) {
+        loadLock.writeLock().lock();
+        try {
+            commit.run();
+        } finally {
+            loadLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Resets every loaded counter to the available count in Postgres less the units still pending here, and
+     * drops the counters of products that no longer exist.
+     */
+    public void reconcile() {
+        List<Long> productIds = List.copyOf(counters.keySet());
+        if (productIds.isEmpty()) {
+            return;
+        }
+        loadLock.writeLock().lock();
+        try {
+            Map<Long, Long> stock = loader.load(productIds);
+            for (Long productId : productIds) {
+                Counter counter = counters.get(productId);
+                Long durable = stock.get(productId);
+                if (durable != null) {
+                    counter.available.set(durable - counter.pending.sum());
+                } else if (counter.pending.sum() == 0) {
+                    counters.remove(productId);
+                }
+            }
+        } finally {
+            loadLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The products that have a counter.
+     */
+    Set<Long> loaded() {
+        return Set.copyOf(counters.keySet());
+    }
+
+    private Counter counter(long productId) {
+        Counter counter = counters.get(productId);
+        if (counter != null) {
+            return counter;
+        }
+        loadLock.readLock().lock();
+        try {
+            // A product that does not exist maps to null, so it is looked up again rather than cached.
+            return counters.computeIfAbsent(productId, id -> {
+                Long durable = loader.load(List.of(id)).get(id);
+                return durable == null ? null : new Counter(durable);
+            });
+        } finally {
+            loadLock.readLock().unlock();
+        }
+    }
+
+    private static final class Counter {
+
+        private final AtomicLong available;
+        /**
+         * Units taken here whose reservation is neither written to Postgres nor cancelled yet.
+         */
+        private final LongAdder pending = new LongAdder();
+
+        private Counter(long available) {
+            this.available = new AtomicLong(available);
+        }
+    }
+}
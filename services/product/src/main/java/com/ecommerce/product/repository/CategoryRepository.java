@@ -0,0 +1,22 @@
+package com.ecommerce.product.repository;
+
+import com.ecommerce.product.dto.CategorySummary;
+import com.ecommerce.product.entity.Category;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface CategoryRepository extends JpaRepository<Category, Long> {
+
+    @Query("""
+            select new com.ecommerce.product.dto.CategorySummary(c.id, c.parent.id, c.slug, c.name)
+            from Category c
+            where c.id > :after
+            order by c.id
+            """)
+    List<CategorySummary> findSummariesAfter(long after, Limit limit);
+
+    boolean existsBySlug(String slug);
+}
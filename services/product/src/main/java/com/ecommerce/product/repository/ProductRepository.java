@@ -0,0 +1,51 @@
+package com.ecommerce.product.repository;
+
+import com.ecommerce.product.dto.ProductSummary;
+import com.ecommerce.product.entity.Product;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Listing queries seek past the last id of the previous page ({@code id > :after}) rather than skipping rows
+ * with OFFSET, so each page is a bounded range scan on a partial index over active products regardless of
+ * depth. They return {@link ProductSummary} projections and never hydrate {@link Product}.
+ */
+public interface ProductRepository extends JpaRepository<Product, Long> {
+
+    String SUMMARY_COLUMNS = """
+            SELECT p.id AS id, p.sku AS sku, p.name AS name, p.brand AS brand, p.category_id AS categoryId,
+                   pp.amount AS price, pp.currency AS currency
+            FROM products p
+            LEFT JOIN product_prices pp ON pp.product_id = p.id AND pp.currency = :currency
+            """;
+
+    @Query(value = SUMMARY_COLUMNS + """
+            WHERE p.status = 'ACTIVE' AND p.id > :after
+            ORDER BY p.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<ProductSummary> findActiveAfter(long after, String currency, int limit);
+
+    @Query(value = SUMMARY_COLUMNS + """
+            WHERE p.status = 'ACTIVE' AND p.category_id = :categoryId AND p.id > :after
+            ORDER BY p.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<ProductSummary> findActiveByCategoryAfter(long categoryId, long after, String currency, int limit);
+
+    @Query(value = SUMMARY_COLUMNS + """
+            WHERE p.status = 'ACTIVE' AND p.brand = :brand AND p.id > :after
+            ORDER BY p.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<ProductSummary> findActiveByBrandAfter(String brand, long after, String currency, int limit);
+
+    @EntityGraph(attributePaths = {"category", "prices", "attributes"})
+    Optional<Product> findWithDetailsById(Long id);
+
+    boolean existsBySku(String sku);
+}
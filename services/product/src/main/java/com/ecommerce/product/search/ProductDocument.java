@@ -0,0 +1,29 @@
+package com.ecommerce.product.search;
+
+import com.ecommerce.product.entity.Product;
+
+import java.math.BigDecimal;
+
+/**
+ * The fields of an active product that go into the search index, with its price in the index currency.
+ */
+public record ProductDocument(
+        long id,
+        String sku,
+        String name,
+        String description,
+        String brand,
+        Long categoryId,
+        BigDecimal price) {
+
+    public static ProductDocument from(Product product, String currency) {
+        return new ProductDocument(
+                product.getId(),
+                product.getSku(),
+                product.getName(),
+                product.getDescription(),
+                product.getBrand(),
+                product.getCategory() == null ? null : product.getCategory().getId(),
+                product.getPrices().get(currency));
+    }
+}
@@ -0,0 +1,198 @@
+package com.ecommerce.product.search;
+
+import com.ecommerce.product.entity.Product;
+import com.ecommerce.product.entity.ProductStatus;
+import com.ecommerce.product.event.CatalogImportedEvent;
+import com.ecommerce.product.event.ProductChangedEvent;
+import com.ecommerce.product.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps {@link ProductSearchIndex} in step with the product table.
+ * <p>
+ * All writes to the index run on one thread, so a full reindex and the incremental updates for products
+ * changed while it runs are applied in order: updates queued behind a reindex are newer than the snapshot it
+ * streamed and win. The reindex streams active products through a server-side cursor ({@code fetchSize} rows
+ * at a time) instead of loading the table; incremental updates re-read the changed product by id.
+ */
+@Component
+public class ProductIndexer implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductIndexer.class);
+
+    private static final String ACTIVE_PRODUCTS = """
+            SELECT p.id, p.sku, p.name, p.description, p.brand, p.category_id, pp.amount
+            FROM products p
+            LEFT JOIN product_prices pp ON pp.product_id = p.id AND pp.currency = ?
+            WHERE p.status = 'ACTIVE'
+            """;
+
+    private final ProductSearchIndex index;
+    private final ProductRepository productRepository;
+    private final ProductSearchProperties properties;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ScheduledExecutorService executor;
+    private final AtomicBoolean reindexing = new AtomicBoolean();
+    private final AtomicBoolean reindexRequested = new AtomicBoolean();
+
+    public ProductIndexer(ProductSearchIndex index, ProductRepository productRepository,
+                          ProductSearchProperties properties, DataSource dataSource,
+                          PlatformTransactionManager transactionManager) {
+        this.index = index;
+        this.productRepository = productRepository;
+        this.properties = properties;
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(properties.getFetchSize());
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.executor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("product-search-indexer").factory());
+
+        long refreshMillis = properties.getRefreshInterval().toMillis();
+        executor.scheduleWithFixedDelay(this::refresh, refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (properties.isReindexOnStartup()) {
+            reindex();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        executor.execute(() -> update(event.productId()));
+    }
+
+    /**
+     * A bulk import bypasses per-product events, so the index is rebuilt once it finishes.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogImported(CatalogImportedEvent event) {
+        requestReindex();
+    }
+
+    /**
+     * Rebuilds the index, or if a rebuild is already running, runs another once it finishes so rows committed
+     * after the running one opened its cursor are picked up.
+     */
+    public void requestReindex() {
+        reindexRequested.set(true);
+        if (reindexing.compareAndSet(false, true)) {
+            reindexRequested.set(false);
+            startRebuild();
+        }
+    }
+
+    public boolean isReindexing() {
+        return reindexing.get();
+    }
+
+    /**
+     * Rebuilds the index from the product table in the background; the current index keeps serving searches
+     * until the rebuild completes.
+     *
+     * @return the number of products indexed, or a failed future if the rebuild could not finish
+     */
+    public CompletableFuture<Long> reindex() {
+        if (!reindexing.compareAndSet(false, true)) {
+            return CompletableFuture.failedFuture(new IllegalStateException("A reindex is already running"));
+        }
+        return startRebuild();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private CompletableFuture<Long> startRebuild() {
+        return CompletableFuture.supplyAsync(this::rebuild, executor)
+                .whenComplete((count, error) -> {
+                    if (error != null) {
+                        logger.warn("Product reindex failed: {}", error.getMessage());
+                    }
+                    reindexing.set(false);
+                    if (reindexRequested.compareAndSet(true, false)) {
+                        requestReindex();
+                    }
+                });
+    }
+
+    private long rebuild() {
+        long started = System.nanoTime();
+        long generation = index.beginGeneration();
+        AtomicLong count = new AtomicLong();
+        RowCallbackHandler indexRow = rs -> {
+            ProductDocument product = new ProductDocument(
+                    rs.getLong("id"),
+                    rs.getString("sku"),
+                    rs.getString("name"),
+                    rs.getString("description"),
+                    rs.getString("brand"),
+                    rs.getObject("category_id", Long.class),
+                    rs.getBigDecimal("amount"));
+            try {
+                index.upsert(product);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            count.incrementAndGet();
+        };
+        // Postgres only honours the fetch size inside a transaction; otherwise it materialises the whole result.
+        readOnlyTransaction.executeWithoutResult(status ->
+                streamingJdbcTemplate.query(ACTIVE_PRODUCTS, indexRow, properties.getCurrency()));
+        try {
+            index.deleteOlderThan(generation);
+            index.refresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        logger.info("Indexed {} products in {} ms", count.get(), (System.nanoTime() - started) / 1_000_000);
+        return count.get();
+    }
+
+    private void update(Long productId) {
+        try {
+            Optional<Product> product = productRepository.findWithDetailsById(productId)
+                    .filter(p -> p.getStatus() == ProductStatus.ACTIVE);
+            if (product.isPresent()) {
+                index.upsert(ProductDocument.from(product.get(), properties.getCurrency()));
+            } else {
+                index.delete(productId);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to update product {} in the search index: {}", productId, e.getMessage());
+        }
+    }
+
+    private void refresh() {
+        try {
+            index.refresh();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to refresh the product search index: {}", e.getMessage());
+        }
+    }
+}
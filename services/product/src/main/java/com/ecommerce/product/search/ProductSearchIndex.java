@@ -0,0 +1,380 @@
+package com.ecommerce.product.search;
+
+import com.ecommerce.product.dto.FacetCount;
+import com.ecommerce.product.dto.SearchHit;
+import com.ecommerce.product.dto.SearchQuery;
+import com.ecommerce.product.dto.SearchResult;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.SortedSetDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.facet.FacetResult;
+import org.apache.lucene.facet.FacetsCollector;
+import org.apache.lucene.facet.FacetsCollectorManager;
+import org.apache.lucene.facet.LabelAndValue;
+import org.apache.lucene.facet.StringDocValuesReaderState;
+import org.apache.lucene.facet.StringValueFacetCounts;
+import org.apache.lucene.facet.range.LongRange;
+import org.apache.lucene.facet.range.LongRangeFacetCounts;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-process Lucene index of active products, held in heap-resident {@link ByteBuffersDirectory} and rebuilt
+ * from Postgres on startup.
+ * <p>
+ * Writes go through a single {@link IndexWriter} and become searchable at the next {@link #refresh()}, which
+ * opens a near-real-time reader without committing. Each reader is wrapped together with its facet ordinal
+ * maps when it is opened, so queries never pay for building them. Every document carries the generation of
+ * the reindex that last wrote it, letting a full rebuild run in place while the old documents keep serving
+ * queries, and drop whatever it did not see at the end.
+ */
+@Component
+public class ProductSearchIndex implements DisposableBean {
+
+    public static final String CATEGORY_FACET = "category";
+    public static final String BRAND_FACET = "brand";
+    public static final String PRICE_FACET = "price";
+    public static final int MAX_RESULT_WINDOW = 1000;
+
+    private static final String ID = "id";
+    private static final String SKU = "sku";
+    private static final String NAME = "name";
+    private static final String DESCRIPTION = "description";
+    private static final String BRAND = "brand";
+    private static final String BRAND_TEXT = "brand_text";
+    private static final String CATEGORY = "category";
+    private static final String PRICE = "price";
+    private static final String GENERATION = "generation";
+    private static final int FACET_SIZE = 20;
+    private static final int MIN_SUGGEST_PREFIX = 2;
+
+    private static final Map<String, Float> SEARCH_FIELDS = Map.of(NAME, 3f, BRAND_TEXT, 2f, SKU, 2f, DESCRIPTION, 1f);
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final ByteBuffersDirectory directory = new ByteBuffersDirectory();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final String currency;
+    private final LongRange[] priceRanges;
+    private volatile long generation = System.currentTimeMillis();
+
+    @Autowired
+    public ProductSearchIndex(ProductSearchProperties properties) {
+        this(properties.getCurrency(), properties.getPriceBuckets());
+    }
+
+    ProductSearchIndex(String currency, List<BigDecimal> priceBuckets) {
+        this.currency = currency;
+        this.priceRanges = priceRanges(priceBuckets);
+        try {
+            this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+            this.searcherManager = new SearcherManager(writer, new FacetedSearcherFactory());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open product search index", e);
+        }
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    /**
+     * Adds or replaces the product's document.
+     */
+    public void upsert(ProductDocument product) throws IOException {
+        writer.updateDocument(new Term(ID, Long.toString(product.id())), toDocument(product, generation));
+    }
+
+    public void delete(long productId) throws IOException {
+        writer.deleteDocuments(new Term(ID, Long.toString(productId)));
+    }
+
+    /**
+     * Starts a full rebuild: documents written from now on carry a new generation.
+     *
+     * @return the generation to pass to {@link #deleteOlderThan(long)} once every product has been rewritten
+     */
+    public long beginGeneration() {
+        generation = Math.max(generation + 1, System.currentTimeMillis());
+        return generation;
+    }
+
+    /**
+     * Removes documents not rewritten since {@code generation} began, i.e. products no longer active.
+     */
+    public void deleteOlderThan(long generation) throws IOException {
+        writer.deleteDocuments(LongPoint.newRangeQuery(GENERATION, Long.MIN_VALUE, generation - 1));
+    }
+
+    /**
+     * Makes all writes so far visible to new searches.
+     */
+    public void refresh() throws IOException {
+        searcherManager.maybeRefresh();
+    }
+
+    public int size() throws IOException {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            return searcher.getIndexReader().numDocs();
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    public SearchResult search(SearchQuery query) throws IOException {
+        FacetedSearcher searcher = (FacetedSearcher) searcherManager.acquire();
+        try {
+            FacetsCollectorManager.FacetsResult result = FacetsCollectorManager.search(searcher, toLuceneQuery(query),
+                    query.offset() + query.limit(), new FacetsCollectorManager());
+            TopDocs topDocs = result.topDocs();
+
+            StoredFields storedFields = searcher.storedFields();
+            List<SearchHit> hits = new ArrayList<>();
+            ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+            for (int i = query.offset(); i < scoreDocs.length; i++) {
+                hits.add(toHit(storedFields.document(scoreDocs[i].doc), scoreDocs[i].score));
+            }
+
+            Map<String, List<FacetCount>> facets = query.facets() && topDocs.totalHits.value > 0
+                    ? facets(searcher, result.facetsCollector())
+                    : Map.of();
+            return new SearchResult(hits, topDocs.totalHits.value, currency, facets);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    /**
+     * Completes the last word of {@code prefix} against product names, requiring the earlier words to match
+     * exactly.
+     *
+     * @return distinct product names, best match first
+     */
+    public List<String> suggest(String prefix, int limit) throws IOException {
+        List<String> tokens = tokenize(prefix);
+        if (tokens.isEmpty() || tokens.get(tokens.size() - 1).length() < MIN_SUGGEST_PREFIX) {
+            return List.of();
+        }
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        for (int i = 0; i < tokens.size() - 1; i++) {
+            builder.add(new TermQuery(new Term(NAME, tokens.get(i))), BooleanClause.Occur.MUST);
+        }
+        builder.add(new PrefixQuery(new Term(NAME, tokens.get(tokens.size() - 1))), BooleanClause.Occur.MUST);
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            // Over-fetch a little so duplicate names (variants of one product) do not leave the list short.
+            TopDocs topDocs = searcher.search(builder.build(), limit * 3);
+            StoredFields storedFields = searcher.storedFields();
+            Set<String> names = new LinkedHashSet<>();
+            for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                names.add(storedFields.document(scoreDoc.doc, Set.of(NAME)).get(NAME));
+                if (names.size() == limit) {
+                    break;
+                }
+            }
+            return List.copyOf(names);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private Query toLuceneQuery(SearchQuery query) {
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        if (query.text() == null || query.text().isBlank()) {
+            builder.add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST);
+        } else {
+            SimpleQueryParser parser = new SimpleQueryParser(analyzer, SEARCH_FIELDS);
+            parser.setDefaultOperator(BooleanClause.Occur.MUST);
+            Query text = parser.parse(query.text());
+            builder.add(text == null ? new MatchAllDocsQuery() : text, BooleanClause.Occur.MUST);
+        }
+        if (query.categoryId() != null) {
+            builder.add(new TermQuery(new Term(CATEGORY, query.categoryId().toString())), BooleanClause.Occur.FILTER);
+        }
+        if (query.brand() != null) {
+            builder.add(new TermQuery(new Term(BRAND, query.brand())), BooleanClause.Occur.FILTER);
+        }
+        if (query.minPrice() != null || query.maxPrice() != null) {
+            long min = query.minPrice() == null ? Long.MIN_VALUE : toMinorUnits(query.minPrice());
+            long max = query.maxPrice() == null ? Long.MAX_VALUE : toMinorUnits(query.maxPrice());
+            builder.add(LongPoint.newRangeQuery(PRICE, min, max), BooleanClause.Occur.FILTER);
+        }
+        return builder.build();
+    }
+
+    private Map<String, List<FacetCount>> facets(FacetedSearcher searcher, FacetsCollector collector)
+            throws IOException {
+        Map<String, List<FacetCount>> facets = new LinkedHashMap<>();
+        facets.put(CATEGORY_FACET, topValues(searcher.categories, collector, CATEGORY));
+        facets.put(BRAND_FACET, topValues(searcher.brands, collector, BRAND));
+        facets.put(PRICE_FACET, counts(new LongRangeFacetCounts(PRICE, collector, priceRanges).getAllChildren(PRICE)));
+        return facets;
+    }
+
+    private static List<FacetCount> topValues(StringDocValuesReaderState state, FacetsCollector collector,
+                                              String field) throws IOException {
+        return counts(new StringValueFacetCounts(state, collector).getTopChildren(FACET_SIZE, field));
+    }
+
+    private static List<FacetCount> counts(FacetResult result) {
+        if (result == null) {
+            return List.of();
+        }
+        List<FacetCount> counts = new ArrayList<>(result.labelValues.length);
+        for (LabelAndValue labelValue : result.labelValues) {
+            if (labelValue.value.longValue() > 0) {
+                counts.add(new FacetCount(labelValue.label, labelValue.value.longValue()));
+            }
+        }
+        return counts;
+    }
+
+    private static Document toDocument(ProductDocument product, long generation) {
+        Document document = new Document();
+        document.add(new StringField(ID, Long.toString(product.id()), Field.Store.YES));
+        document.add(new LongPoint(GENERATION, generation));
+        document.add(new TextField(SKU, product.sku(), Field.Store.YES));
+        document.add(new TextField(NAME, product.name(), Field.Store.YES));
+        if (product.description() != null) {
+            document.add(new TextField(DESCRIPTION, product.description(), Field.Store.NO));
+        }
+        if (product.brand() != null) {
+            // Indexed whole for exact filtering and faceting, and analysed separately for full-text matching.
+            document.add(new StringField(BRAND, product.brand(), Field.Store.YES));
+            document.add(new TextField(BRAND_TEXT, product.brand(), Field.Store.NO));
+            document.add(new SortedSetDocValuesField(BRAND, new BytesRef(product.brand())));
+        }
+        if (product.categoryId() != null) {
+            String category = product.categoryId().toString();
+            document.add(new StringField(CATEGORY, category, Field.Store.YES));
+            document.add(new SortedSetDocValuesField(CATEGORY, new BytesRef(category)));
+        }
+        if (product.price() != null) {
+            long price = toMinorUnits(product.price());
+            document.add(new LongPoint(PRICE, price));
+            document.add(new NumericDocValuesField(PRICE, price));
+            document.add(new StoredField(PRICE, price));
+        }
+        return document;
+    }
+
+    private static SearchHit toHit(Document document, float score) {
+        String category = document.get(CATEGORY);
+        StoredField price = (StoredField) document.getField(PRICE);
+        return new SearchHit(
+                Long.valueOf(document.get(ID)),
+                document.get(SKU),
+                document.get(NAME),
+                document.get(BRAND),
+                category == null ? null : Long.valueOf(category),
+                price == null ? null : BigDecimal.valueOf(price.numericValue().longValue(), 2),
+                score);
+    }
+
+    private List<String> tokenize(String text) throws IOException {
+        List<String> tokens = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(NAME, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                tokens.add(term.toString());
+            }
+            stream.end();
+        }
+        return tokens;
+    }
+
+    private static long toMinorUnits(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static LongRange[] priceRanges(List<BigDecimal> buckets) {
+        List<BigDecimal> bounds = buckets.stream().sorted().distinct().toList();
+        LongRange[] ranges = new LongRange[bounds.size() + 1];
+        BigDecimal lower = BigDecimal.ZERO;
+        for (int i = 0; i < bounds.size(); i++) {
+            BigDecimal upper = bounds.get(i);
+            ranges[i] = new LongRange(label(lower) + "-" + label(upper),
+                    toMinorUnits(lower), true, toMinorUnits(upper), false);
+            lower = upper;
+        }
+        ranges[bounds.size()] = new LongRange(label(lower) + "+", toMinorUnits(lower), true, Long.MAX_VALUE, true);
+        return ranges;
+    }
+
+    private static String label(BigDecimal amount) {
+        return amount.stripTrailingZeros().toPlainString();
+    }
+
+    /**
+     * A searcher that carries the facet ordinal maps of its reader, built once when the reader is opened.
+     */
+    private static final class FacetedSearcher extends IndexSearcher {
+
+        private final StringDocValuesReaderState brands;
+        private final StringDocValuesReaderState categories;
+
+        private FacetedSearcher(IndexReader reader) throws IOException {
+            super(reader);
+            this.brands = new StringDocValuesReaderState(reader, BRAND);
+            this.categories = new StringDocValuesReaderState(reader, CATEGORY);
+        }
+    }
+
+    private static final class FacetedSearcherFactory extends SearcherFactory {
+
+        @Override
+        public IndexSearcher newSearcher(IndexReader reader, IndexReader previousReader) throws IOException {
+            return new FacetedSearcher(reader);
+        }
+    }
+}
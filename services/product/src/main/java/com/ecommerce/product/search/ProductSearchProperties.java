@@ -0,0 +1,60 @@
+package com.ecommerce.product.search;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "product.search")
+public class ProductSearchProperties {
+
+    private boolean reindexOnStartup = true;
+    private Duration refreshInterval = Duration.ofSeconds(1);
+    private int fetchSize = 2000;
+    private String currency = "USD";
+    private List<BigDecimal> priceBuckets = new ArrayList<>(List.of(
+            new BigDecimal("25"), new BigDecimal("50"), new BigDecimal("100"),
+            new BigDecimal("250"), new BigDecimal("500")));
+
+    public boolean isReindexOnStartup() {
+        return reindexOnStartup;
+    }
+
+    public void setReindexOnStartup(boolean reindexOnStartup) {
+        this.reindexOnStartup = reindexOnStartup;
+    }
+
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public List<BigDecimal> getPriceBuckets() {
+        return priceBuckets;
+    }
+
+    public void setPriceBuckets(List<BigDecimal> priceBuckets) {
+        this.priceBuckets = priceBuckets;
+    }
+}
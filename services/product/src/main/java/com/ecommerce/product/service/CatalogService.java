@@ -0,0 +1,158 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.cache.ProductCache;
+import com.ecommerce.product.dto.CategorySummary;
+import com.ecommerce.product.dto.CreateCategoryRequest;
+import com.ecommerce.product.dto.CreateProductRequest;
+import com.ecommerce.product.dto.KeysetPage;
+import com.ecommerce.product.dto.ProductDetail;
+import com.ecommerce.product.dto.ProductSummary;
+import com.ecommerce.product.entity.Category;
+import com.ecommerce.product.entity.Product;
+import com.ecommerce.product.event.ProductChangedEvent;
+import com.ecommerce.product.repository.CategoryRepository;
+import com.ecommerce.product.repository.ProductRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+@Service
+public class CatalogService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final String DEFAULT_CURRENCY = "USD";
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final ProductCache productCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CatalogService(ProductRepository productRepository, CategoryRepository categoryRepository,
+                          ProductCache productCache, ApplicationEventPublisher eventPublisher) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.productCache = productCache;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Lists active products with ids greater than {@code after}, optionally narrowed to one category or brand.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<ProductSummary> listProducts(Long after, Integer limit, Long categoryId, String brand,
+                                                   String currency) {
+        if (categoryId != null && brand != null) {
+            throw new IllegalArgumentException("Filter by either categoryId or brand, not both");
+        }
+        long cursor = cursor(after);
+        int pageSize = pageSize(limit);
+        String priceCurrency = currency(currency);
+
+        List<ProductSummary> rows;
+        if (categoryId != null) {
+            rows = productRepository.findActiveByCategoryAfter(categoryId, cursor, priceCurrency, pageSize + 1);
+        } else if (brand != null) {
+            rows = productRepository.findActiveByBrandAfter(brand, cursor, priceCurrency, pageSize + 1);
+        } else {
+            rows = productRepository.findActiveAfter(cursor, priceCurrency, pageSize + 1);
+        }
+        return KeysetPage.of(rows, pageSize, ProductSummary::getId);
+    }
+
+    /**
+     * Reads a product through {@link ProductCache}; the entity graph loads prices and attributes in one query,
+     * so the loader needs no surrounding transaction.
+     */
+    public Optional<ProductDetail> getProduct(Long id) {
+        return productCache.get(id, key -> productRepository.findWithDetailsById(key).map(ProductDetail::from));
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPage<CategorySummary> listCategories(Long after, Integer limit) {
+        int pageSize = pageSize(limit);
+        List<CategorySummary> rows = categoryRepository.findSummariesAfter(cursor(after), Limit.of(pageSize + 1));
+        return KeysetPage.of(rows, pageSize, CategorySummary::id);
+    }
+
+    @Transactional
+    public ProductDetail createProduct(CreateProductRequest request) {
+        if (request == null || isBlank(request.sku()) || isBlank(request.name())) {
+            throw new IllegalArgumentException("sku and name are required");
+        }
+        if (productRepository.existsBySku(request.sku())) {
+            throw new IllegalArgumentException("A product with sku " + request.sku() + " already exists");
+        }
+        Category category = request.categoryId() == null ? null : categoryRepository.findById(request.categoryId())
+                .orElseThrow(() -> new IllegalArgumentException("Unknown category " + request.categoryId()));
+
+        Product product = new Product(request.sku(), request.name(), request.description(), request.brand(), category);
+        if (request.prices() != null) {
+            request.prices().forEach((currency, amount) -> product.getPrices().put(currency(currency), price(amount)));
+        }
+        if (request.attributes() != null) {
+            product.getAttributes().putAll(request.attributes());
+        }
+        Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.local(saved.getId()));
+        return ProductDetail.from(saved);
+    }
+
+    @Transactional
+    public CategorySummary createCategory(CreateCategoryRequest request) {
+        if (request == null || isBlank(request.slug()) || isBlank(request.name())) {
+            throw new IllegalArgumentException("slug and name are required");
+        }
+        if (categoryRepository.existsBySlug(request.slug())) {
+            throw new IllegalArgumentException("A category with slug " + request.slug() + " already exists");
+        }
+        Category parent = request.parentId() == null ? null : categoryRepository.findById(request.parentId())
+                .orElseThrow(() -> new IllegalArgumentException("Unknown parent category " + request.parentId()));
+        Category category = categoryRepository.save(new Category(request.slug(), request.name(), parent));
+        return new CategorySummary(category.getId(), request.parentId(), category.getSlug(), category.getName());
+    }
+
+    static long cursor(Long after) {
+        if (after != null && after < 0) {
+            throw new IllegalArgumentException("after must not be negative");
+        }
+        return after == null ? 0 : after;
+    }
+
+    private static int pageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return limit;
+    }
+
+    static String currency(String currency) {
+        if (currency == null) {
+            return DEFAULT_CURRENCY;
+        }
+        if (currency.length() != 3) {
+            throw new IllegalArgumentException("currency must be a three-letter ISO code");
+        }
+        return currency.toUpperCase(Locale.ROOT);
+    }
+
+    private static BigDecimal price(BigDecimal amount) {
+        if (amount == null || amount.signum() < 0) {
+            throw new IllegalArgumentException("prices must be non-negative");
+        }
+        return amount;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
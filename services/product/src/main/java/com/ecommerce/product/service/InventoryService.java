@@ -0,0 +1,156 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.common.exception.ConflictException;
+import com.ecommerce.product.dto.StockLevel;
+import com.ecommerce.product.dto.StockReservation;
+import com.ecommerce.product.inventory.InventoryJournal;
+import com.ecommerce.product.inventory.InventoryProperties;
+import com.ecommerce.product.inventory.JournalEntry;
+import com.ecommerce.product.inventory.ReservationStatus;
+import com.ecommerce.product.inventory.StockCounters;
+import com.ecommerce.product.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Reserves and releases stock against the in-memory {@link StockCounters} and makes each change durable
+ * through the {@link InventoryJournal}. A reservation that cannot be covered is rejected from memory without
+ * touching Postgres; one that can is acknowledged once its journal batch has committed.
+ */
+@Service
+public class InventoryService {
+
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
+    private final StockCounters counters;
+    private final InventoryJournal journal;
+    private final ProductRepository productRepository;
+    private final Duration reservationTtl;
+    private final int maxQuantity;
+    private final Clock clock;
+
+    @Autowired
+    public InventoryService(StockCounters counters, InventoryJournal journal, ProductRepository productRepository,
+                            InventoryProperties properties) {
+        this(counters, journal, productRepository, properties, Clock.systemUTC());
+    }
+
+    InventoryService(StockCounters counters, InventoryJournal journal, ProductRepository productRepository,
+                     InventoryProperties properties, Clock clock) {
+        this.counters = counters;
+        this.journal = journal;
+        this.productRepository = productRepository;
+        this.reservationTtl = properties.getReservationTtl();
+        this.maxQuantity = properties.getMaxQuantity();
+        this.clock = clock;
+    }
+
+    /**
+     * @return empty if there is no such product
+     */
+    public Optional<StockLevel> getStock(Long productId) {
+        requireId(productId);
+        OptionalLong available = counters.available(productId);
+        return available.isPresent()
+                ? Optional.of(new StockLevel(productId, available.getAsLong()))
+                : Optional.empty();
+    }
+
+    /**
+     * @param idempotencyKey the request's {@code Idempotency-Key}, or {@code null}. While a reservation made
+     *                       under the key is open, it is returned instead of reserving the units again, so a
+     *                       retry after a lost response does not hold the stock twice.
+     */
+    public CompletableFuture<StockReservation> reserve(Long productId, Integer quantity, String idempotencyKey) {
+        requireId(productId);
+        int units = requireQuantity(quantity);
+        if (idempotencyKey != null) {
+            if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+                throw new IllegalArgumentException("Idempotency-Key must be 1 to " + MAX_IDEMPOTENCY_KEY_LENGTH
+                        + " characters");
+            }
+            Optional<StockReservation> existing = journal.findOpenReservation(idempotencyKey);
+            if (existing.isPresent()) {
+                if (!existing.get().productId().equals(productId) || existing.get().quantity() != units) {
+                    throw new ConflictException("Idempotency-Key was already used for a different reservation");
+                }
+                return CompletableFuture.completedFuture(existing.get());
+            }
+        }
+        if (!counters.tryReserve(productId, units)) {
+            throw new ConflictException("Insufficient stock for product " + productId);
+        }
+
+        Instant expiresAt = clock.instant().plus(reservationTtl);
+        JournalEntry.Reserve entry = new JournalEntry.Reserve(UUID.randomUUID(), productId, units, expiresAt,
+                idempotencyKey, new CompletableFuture<>());
+        try {
+            journal.submit(entry);
+        } catch (RuntimeException e) {
+            counters.cancel(productId, units);
+            throw e;
+        }
+        return entry.done();
+    }
+
+    /**
+     * Turns a reservation into a sale: its units leave stock for good.
+     */
+    public CompletableFuture<Void> confirm(UUID reservationId) {
+        return close(reservationId, ReservationStatus.CONFIRMED);
+    }
+
+    /**
+     * Cancels a reservation and makes its units available again.
+     */
+    public CompletableFuture<Void> release(UUID reservationId) {
+        return close(reservationId, ReservationStatus.RELEASED);
+    }
+
+    public CompletableFuture<StockLevel> restock(Long productId, Long quantity) {
+        requireId(productId);
+        if (quantity == null || quantity < 1) {
+            throw new IllegalArgumentException("quantity must be positive");
+        }
+        if (!productRepository.existsById(productId)) {
+            throw new IllegalArgumentException("Unknown product " + productId);
+        }
+        JournalEntry.Restock entry = new JournalEntry.Restock(productId, quantity, new CompletableFuture<>());
+        journal.submit(entry);
+        return entry.done().thenApply(available -> new StockLevel(productId, available));
+    }
+
+    private CompletableFuture<Void> close(UUID reservationId, ReservationStatus status) {
+        if (reservationId == null) {
+            throw new IllegalArgumentException("reservationId is required");
+        }
+        JournalEntry.Close entry = new JournalEntry.Close(reservationId, status, new CompletableFuture<>());
+        journal.submit(entry);
+        return entry.done().thenAccept(closed -> {
+            if (!closed) {
+                throw new ConflictException("Reservation " + reservationId + " is not open");
+            }
+        });
+    }
+
+    private int requireQuantity(Integer quantity) {
+        if (quantity == null || quantity < 1 || quantity > maxQuantity) {
+            throw new IllegalArgumentException("quantity must be between 1 and " + maxQuantity);
+        }
+        return quantity;
+    }
+
+    private static void requireId(Long productId) {
+        if (productId == null || productId < 1) {
+            throw new IllegalArgumentException("productId is required");
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.common.util.ExportSlots;
+import com.ecommerce.common.util.NdjsonWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams catalog listings as NDJSON, for exports too large to page through.
+ * <p>
+ * Rows come from a server-side cursor {@link #FETCH_SIZE} at a time and are written to the response as they
+ * arrive, with a flush after each fetch. Memory stays at one fetch however many products match, and the first
+ * rows go out before the query has finished. The export reads inside one read-only transaction, because Postgres
+ * only honours the fetch size inside a transaction. The result is therefore a consistent snapshot. A client whose
+ * connection drops can resume with {@code after} set to the last id it received.
+ * <p>
+ * Each export holds a connection until its client has read everything, so only
+ * {@link ExportProperties#getMaxConcurrent maxConcurrent} run at once, and one whose client stops reading is
+ * ended after {@link ExportProperties#getIdleTimeout idleTimeout}.
+ */
+@Service
+public class ProductExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductExportService.class);
+
+    public static final int FETCH_SIZE = 1000;
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(5);
+
+    private static final String ACTIVE_PRODUCTS = """
+            SELECT p.id, p.sku, p.name, p.brand, p.category_id, pp.amount, pp.currency
+            FROM products p
+            LEFT JOIN product_prices pp ON pp.product_id = p.id AND pp.currency = ?
+            WHERE p.status = 'ACTIVE' AND p.id > ?
+            """;
+
+    /**
+     * A validated export request; see {@link CatalogService#listProducts} for the filters.
+     */
+    public record Query(long after, Long categoryId, String brand, String currency) {
+    }
+
+    /**
+     * One exported line, with the same fields as a {@code ProductSummary} in the paged listing.
+     */
+    record Row(Long id, String sku, String name, String brand, Long categoryId, BigDecimal price, String currency) {
+    }
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final ExportSlots slots;
+    private final Duration idleTimeout;
+
+    public ProductExportService(DataSource dataSource, PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper, ExportProperties properties) {
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.slots = new ExportSlots(properties.getMaxConcurrent(), RETRY_AFTER);
+        this.idleTimeout = properties.getIdleTimeout();
+    }
+
+    /**
+     * Takes one of the limited export slots; hold it, before writing anything, until the export has finished.
+     *
+     * @throws com.ecommerce.common.exception.ServiceOverloadedException if too many exports are running
+     */
+    public ExportSlots.Slot acquireSlot() {
+        return slots.acquire();
+    }
+
+    /**
+     * Checks the filters up front, so a bad request is rejected before any of the response has been written.
+     */
+    public Query query(Long after, Long categoryId, String brand, String currency) {
+        if (categoryId != null && brand != null) {
+            throw new IllegalArgumentException("Filter by either categoryId or brand, not both");
+        }
+        return new Query(CatalogService.cursor(after), categoryId, brand, CatalogService.currency(currency));
+    }
+
+    /**
+     * Writes every active product matching {@code query} to {@code output}, one JSON object per line in id order.
+     *
+     * @return the number of products written
+     */
+    public long export(Query query, OutputStream output) throws IOException {
+        StringBuilder sql = new StringBuilder(ACTIVE_PRODUCTS);
+        List<Object> args = new ArrayList<>(List.of(query.currency(), query.after()));
+        if (query.categoryId() != null) {
+            sql.append("AND p.category_id = ?\n");
+            args.add(query.categoryId());
+        } else if (query.brand() != null) {
+            sql.append("AND p.brand = ?\n");
+            args.add(query.brand());
+        }
+        sql.append("ORDER BY p.id");
+
+        try (NdjsonWriter writer = new NdjsonWriter(objectMapper, output, FETCH_SIZE)) {
+            RowCallbackHandler writeRow = rs -> {
+                try {
+                    writer.write(new Row(
+                            rs.getLong("id"),
+                            rs.getString("sku"),
+                            rs.getString("name"),
+                            rs.getString("brand"),
+                            rs.getObject("category_id", Long.class),
+                            rs.getBigDecimal("amount"),
+                            rs.getString("currency")));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            };
+            readOnlyTransaction.executeWithoutResult(status -> {
+                // While the client is slow to read, the transaction sits idle between fetches; past the timeout
+                // Postgres ends it, failing the export, rather than letting the client hold the connection.
+                streamingJdbcTemplate.execute("SET LOCAL idle_in_transaction_session_timeout = "
+                        + idleTimeout.toMillis());
+                streamingJdbcTemplate.query(sql.toString(), writeRow, args.toArray());
+            });
+            logger.debug("Exported {} products", writer.count());
+            return writer.count();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.common.exception.ConflictException;
+import com.ecommerce.product.dto.ImportJobStatus;
+import com.ecommerce.product.dto.ImportRowError;
+import com.ecommerce.product.event.CatalogImportedEvent;
+import com.ecommerce.product.importer.ImportFormat;
+import com.ecommerce.product.importer.ImportJobStore;
+import com.ecommerce.product.importer.ImportProgress;
+import com.ecommerce.product.importer.ImportProperties;
+import com.ecommerce.product.importer.ImportRow;
+import com.ecommerce.product.importer.ParsedRow;
+import com.ecommerce.product.importer.ProductBatchWriter;
+import com.ecommerce.product.importer.RowReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs bulk product imports.
+ * <p>
+ * The caller's thread parses the input and hands chunks of {@code chunkSize} rows to {@code writers} virtual
+ * threads through a queue of {@code queueCapacity} chunks. The bounded queue is the backpressure: when
+ * Postgres falls behind, the reader blocks and stops pulling from the upload, so memory stays at a few chunks
+ * however large the file is. Each chunk is validated and upserted in its own transaction; a rejected row is
+ * counted and recorded without failing the chunk. Progress is persisted as chunks finish (see
+ * {@link ImportProgress}), so a failed or interrupted job can be run again with the same file and resumes
+ * after its checkpoint.
+ */
+@Service
+public class ProductImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductImportService.class);
+    private static final int MAX_ERROR_PAGE = 1000;
+
+    private record Chunk(long sequence, long lastRow, List<ParsedRow> rows) {
+    }
+
+    private static final Chunk END = new Chunk(-1, -1, List.of());
+
+    private final ImportJobStore jobStore;
+    private final ProductBatchWriter batchWriter;
+    private final ImportProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Set<UUID> running = ConcurrentHashMap.newKeySet();
+
+    public ProductImportService(ImportJobStore jobStore, ProductBatchWriter batchWriter, ImportProperties properties,
+                                ObjectMapper objectMapper, ApplicationEventPublisher eventPublisher) {
+        this.jobStore = jobStore;
+        this.batchWriter = batchWriter;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public ImportJobStatus createJob(String format, String source) {
+        if (source != null && source.length() > 255) {
+            throw new IllegalArgumentException("source must be at most 255 characters");
+        }
+        return jobStore.create(ImportFormat.fromName(format), source);
+    }
+
+    public Optional<ImportJobStatus> getJob(UUID id) {
+        return jobStore.find(id);
+    }
+
+    public List<ImportRowError> getErrors(UUID id) {
+        requireJob(id);
+        return jobStore.findErrors(id, MAX_ERROR_PAGE);
+    }
+
+    /**
+     * Streams {@code input} into the catalog, skipping rows up to the job's checkpoint, and returns once every
+     * chunk has been written or the import has failed.
+     */
+    public ImportJobStatus runJob(UUID id, InputStream input) {
+        ImportJobStatus job = requireJob(id);
+        if (ImportJobStore.COMPLETED.equals(job.status())) {
+            throw new ConflictException("Import job " + id + " has already completed");
+        }
+        if (!running.add(id)) {
+            throw new ConflictException("Import job " + id + " is already running");
+        }
+        try {
+            return run(job, input);
+        } finally {
+            running.remove(id);
+        }
+    }
+
+    private ImportJobStatus run(ImportJobStatus job, InputStream input) {
+        UUID id = job.id();
+        jobStore.markRunning(id);
+        long started = System.nanoTime();
+        Set<Long> categoryIds = batchWriter.categoryIds();
+        ImportProgress progress = new ImportProgress(new ImportProgress.Snapshot(
+                job.checkpointRow(), job.rowsRead(), job.rowsWritten(), job.rowsRejected()));
+        AtomicLong errorsRecorded = new AtomicLong(jobStore.countErrors(id));
+        AtomicLong writtenThisRun = new AtomicLong();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        BlockingQueue<Chunk> queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        int writers = properties.getWriters();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < writers; i++) {
+                executor.execute(() -> {
+                    Chunk chunk;
+                    while ((chunk = take(queue)) != END) {
+                        if (failure.get() != null) {
+                            continue;
+                        }
+                        try {
+                            writeChunk(id, chunk, categoryIds, progress, errorsRecorded, writtenThisRun);
+                        } catch (RuntimeException e) {
+                            failure.compareAndSet(null, e);
+                        }
+                    }
+                });
+            }
+            try {
+                readChunks(ImportFormat.valueOf(job.format()), input, job.checkpointRow(), queue, failure);
+            } catch (IOException | RuntimeException e) {
+                failure.compareAndSet(null, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure.compareAndSet(null, e);
+            } finally {
+                for (int i = 0; i < writers; i++) {
+                    putUninterruptibly(queue, END);
+                }
+            }
+        }
+
+        ImportProgress.Snapshot done = progress.snapshot();
+        jobStore.recordProgress(id, done.checkpointRow(), done.rowsRead(), done.rowsWritten(), done.rowsRejected());
+        Throwable error = failure.get();
+        if (error == null) {
+            jobStore.finish(id, ImportJobStore.COMPLETED, null);
+        } else {
+            logger.warn("Import job {} failed after row {}: {}", id, done.checkpointRow(), error.getMessage());
+            jobStore.finish(id, ImportJobStore.FAILED, String.valueOf(error.getMessage()));
+        }
+        if (writtenThisRun.get() > 0) {
+            eventPublisher.publishEvent(CatalogImportedEvent.ofLocal());
+        }
+        long millis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        logger.info("Import job {}: {} products written in {} ms ({} rows/s), {} rows rejected in total",
+                id, writtenThisRun.get(), millis, writtenThisRun.get() * 1000 / millis, done.rowsRejected());
+        return requireJob(id);
+    }
+
+    private void readChunks(ImportFormat format, InputStream input, long checkpointRow, BlockingQueue<Chunk> queue,
+                            AtomicReference<Throwable> failure) throws IOException, InterruptedException {
+        int chunkSize = properties.getChunkSize();
+        long sequence = 0;
+        try (RowReader reader = RowReader.open(format, input, objectMapper)) {
+            List<ParsedRow> rows = new ArrayList<>(chunkSize);
+            ParsedRow row;
+            while (failure.get() == null && (row = reader.next()) != null) {
+                if (row.number() <= checkpointRow) {
+                    continue;
+                }
+                rows.add(row);
+                if (rows.size() == chunkSize) {
+                    queue.put(new Chunk(sequence++, row.number(), rows));
+                    rows = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!rows.isEmpty() && failure.get() == null) {
+                queue.put(new Chunk(sequence, rows.getLast().number(), rows));
+            }
+        }
+    }
+
+    private void writeChunk(UUID id, Chunk chunk, Set<Long> categoryIds, ImportProgress progress,
+                            AtomicLong errorsRecorded, AtomicLong writtenThisRun) {
+        List<ImportRow> valid = new ArrayList<>(chunk.rows().size());
+        List<ImportRowError> errors = new ArrayList<>();
+        for (ParsedRow parsed : chunk.rows()) {
+            String error = parsed.error() != null
+                    ? parsed.error()
+                    : ProductBatchWriter.validate(parsed.row(), categoryIds);
+            if (error == null) {
+                valid.add(parsed.row());
+            } else {
+                errors.add(new ImportRowError(parsed.number(), error));
+            }
+        }
+
+        int written = batchWriter.write(valid);
+        writtenThisRun.addAndGet(written);
+        recordErrors(id, errors, errorsRecorded);
+
+        ImportProgress.Snapshot snapshot = progress.complete(chunk.sequence(), chunk.lastRow(),
+                chunk.rows().size(), written, errors.size());
+        if (snapshot != null) {
+            jobStore.recordProgress(id, snapshot.checkpointRow(), snapshot.rowsRead(), snapshot.rowsWritten(),
+                    snapshot.rowsRejected());
+            logger.debug("Import job {} checkpointed at row {}", id, snapshot.checkpointRow());
+        }
+    }
+
+    /**
+     * Keeps the first {@code maxRecordedErrors} rejected rows of a job; the rest are only counted.
+     */
+    private void recordErrors(UUID id, List<ImportRowError> errors, AtomicLong errorsRecorded) {
+        if (errors.isEmpty()) {
+            return;
+        }
+        long max = properties.getMaxRecordedErrors();
+        long before = errorsRecorded.getAndAccumulate(errors.size(), (current, added) -> Math.min(max, current + added));
+        int room = (int) Math.max(0, Math.min(errors.size(), max - before));
+        if (room > 0) {
+            jobStore.recordErrors(id, errors.subList(0, room));
+        }
+    }
+
+    private ImportJobStatus requireJob(UUID id) {
+        return jobStore.find(id)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown import job " + id));
+    }
+
+    private static Chunk take(BlockingQueue<Chunk> queue) {
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return END;
+        }
+    }
+
+    private static void putUninterruptibly(BlockingQueue<Chunk> queue, Chunk chunk) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(chunk);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.dto.SearchQuery;
+import com.ecommerce.product.dto.SearchResult;
+import com.ecommerce.product.search.ProductIndexer;
+import com.ecommerce.product.search.ProductSearchIndex;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.List;
+
+@Service
+public class ProductSearchService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int DEFAULT_SUGGESTIONS = 10;
+    public static final int MAX_SUGGESTIONS = 25;
+    public static final int MAX_QUERY_LENGTH = 256;
+
+    private final ProductSearchIndex index;
+    private final ProductIndexer indexer;
+
+    public ProductSearchService(ProductSearchIndex index, ProductIndexer indexer) {
+        this.index = index;
+        this.indexer = indexer;
+    }
+
+    /**
+     * Full-text search over active products, with optional category, brand and price filters. Results are
+     * ranked by relevance and paged by offset within the first {@link ProductSearchIndex#MAX_RESULT_WINDOW}
+     * hits; {@code /products} is the listing to walk the whole catalog.
+     */
+    public SearchResult search(String text, Long categoryId, String brand, BigDecimal minPrice, BigDecimal maxPrice,
+                               Integer offset, Integer limit, boolean facets) {
+        if (text != null && text.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("q must be at most " + MAX_QUERY_LENGTH + " characters");
+        }
+        if ((minPrice != null && minPrice.signum() < 0) || (maxPrice != null && maxPrice.signum() < 0)) {
+            throw new IllegalArgumentException("prices must be non-negative");
+        }
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new IllegalArgumentException("minPrice must not exceed maxPrice");
+        }
+        int pageSize = bounded(limit, DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE, "limit");
+        int start = offset == null ? 0 : offset;
+        if (start < 0 || start + pageSize > ProductSearchIndex.MAX_RESULT_WINDOW) {
+            throw new IllegalArgumentException(
+                    "offset + limit must be between 1 and " + ProductSearchIndex.MAX_RESULT_WINDOW);
+        }
+        try {
+            return index.search(new SearchQuery(text, categoryId, brand, minPrice, maxPrice, start, pageSize, facets));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public List<String> suggest(String prefix, Integer limit) {
+        if (prefix == null || prefix.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("prefix must be at most " + MAX_QUERY_LENGTH + " characters");
+        }
+        try {
+            return index.suggest(prefix, bounded(limit, DEFAULT_SUGGESTIONS, MAX_SUGGESTIONS, "limit"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Starts a background rebuild of the search index.
+     *
+     * @return {@code false} if a rebuild is already running
+     */
+    public boolean reindex() {
+        if (indexer.isReindexing()) {
+            return false;
+        }
+        indexer.reindex();
+        return true;
+    }
+
+    private static int bounded(Integer value, int defaultValue, int max, String name) {
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value < 1 || value > max) {
+            throw new IllegalArgumentException(name + " must be between 1 and " + max);
+        }
+        return value;
+    }
+}
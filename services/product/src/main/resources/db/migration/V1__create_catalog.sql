@@ -0,0 +1,40 @@
+CREATE TABLE categories (
+    id          BIGSERIAL PRIMARY KEY,
+    parent_id   BIGINT REFERENCES categories (id),
+    slug        VARCHAR(128) NOT NULL UNIQUE,
+    name        VARCHAR(255) NOT NULL,
+    created_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_categories_parent ON categories (parent_id, id);
+
+CREATE TABLE products (
+    id           BIGSERIAL PRIMARY KEY,
+    sku          VARCHAR(64)  NOT NULL UNIQUE,
+    name         VARCHAR(255) NOT NULL,
+    description  TEXT,
+    brand        VARCHAR(128),
+    category_id  BIGINT REFERENCES categories (id),
+    status       VARCHAR(16)  NOT NULL DEFAULT 'ACTIVE',
+    created_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now(),
+    updated_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+-- Keyset browse: WHERE status = 'ACTIVE' [AND category_id = ?] AND id > ? ORDER BY id LIMIT ?
+CREATE INDEX idx_products_active_id ON products (id) WHERE status = 'ACTIVE';
+CREATE INDEX idx_products_active_category_id ON products (category_id, id) WHERE status = 'ACTIVE';
+CREATE INDEX idx_products_active_brand_id ON products (brand, id) WHERE status = 'ACTIVE';
+
+CREATE TABLE product_prices (
+    product_id  BIGINT         NOT NULL REFERENCES products (id) ON DELETE CASCADE,
+    currency    VARCHAR(3)     NOT NULL,
+    amount      NUMERIC(19, 4) NOT NULL,
+    PRIMARY KEY (product_id, currency)
+);
+
+CREATE TABLE product_attributes (
+    product_id  BIGINT       NOT NULL REFERENCES products (id) ON DELETE CASCADE,
+    name        VARCHAR(64)  NOT NULL,
+    value       VARCHAR(255) NOT NULL,
+    PRIMARY KEY (product_id, name)
+);
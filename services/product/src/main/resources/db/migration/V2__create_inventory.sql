@@ -0,0 +1,22 @@
+-- Durable side of the in-memory stock counters. The CHECK is the last line of defence against overselling:
+-- a reservation batch that would push reserved past on_hand fails instead of committing.
+CREATE TABLE inventory (
+    product_id  BIGINT PRIMARY KEY REFERENCES products (id) ON DELETE CASCADE,
+    on_hand     BIGINT NOT NULL DEFAULT 0,
+    reserved    BIGINT NOT NULL DEFAULT 0,
+    updated_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now(),
+    CONSTRAINT chk_inventory_reserved CHECK (reserved >= 0 AND reserved <= on_hand)
+);
+
+CREATE TABLE inventory_reservations (
+    id          UUID PRIMARY KEY,
+    product_id  BIGINT      NOT NULL REFERENCES inventory (product_id) ON DELETE CASCADE,
+    quantity    INTEGER     NOT NULL CHECK (quantity > 0),
+    status      VARCHAR(16) NOT NULL,
+    created_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now(),
+    expires_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    closed_at   TIMESTAMP(6) WITH TIME ZONE
+);
+
+-- Expiry sweep: WHERE status = 'RESERVED' AND expires_at < now()
+CREATE INDEX idx_inventory_reservations_open ON inventory_reservations (expires_at) WHERE status = 'RESERVED';
@@ -0,0 +1,22 @@
+CREATE TABLE import_jobs (
+    id              UUID PRIMARY KEY,
+    format          VARCHAR(16) NOT NULL,
+    status          VARCHAR(16) NOT NULL,
+    source          VARCHAR(255),
+    -- Every row up to and including this one has been written; a resumed run skips them.
+    checkpoint_row  BIGINT      NOT NULL DEFAULT 0,
+    rows_read       BIGINT      NOT NULL DEFAULT 0,
+    rows_written    BIGINT      NOT NULL DEFAULT 0,
+    rows_rejected   BIGINT      NOT NULL DEFAULT 0,
+    error           TEXT,
+    created_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now(),
+    updated_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now(),
+    finished_at     TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE TABLE import_job_errors (
+    job_id   UUID   NOT NULL REFERENCES import_jobs (id) ON DELETE CASCADE,
+    row_num  BIGINT NOT NULL,
+    message  TEXT   NOT NULL,
+    PRIMARY KEY (job_id, row_num)
+);
@@ -0,0 +1,6 @@
+-- A reservation request retried with the same Idempotency-Key gets the open reservation it already made. Once
+-- that reservation is closed the key may reserve again, e.g. when checkout releases and retries a line.
+ALTER TABLE inventory_reservations ADD COLUMN idempotency_key VARCHAR(255);
+
+CREATE UNIQUE INDEX uq_inventory_reservations_open_key ON inventory_reservations (idempotency_key)
+    WHERE status = 'RESERVED';
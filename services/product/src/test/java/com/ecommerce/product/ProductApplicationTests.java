@@ -3,7 +3,9 @@ package com.ecommerce.product;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = {"spring.flyway.enabled=false", "spring.jpa.hibernate.ddl-auto=none",
+		"product.cache.invalidation.enabled=false", "product.search.reindex-on-startup=false",
+		"security.jwt.gateway.identity-secret=testGatewayIdentitySecretThatIsAtLeast256BitsLongForHmacSha256"})
 class ProductApplicationTests {
 
 	@Test
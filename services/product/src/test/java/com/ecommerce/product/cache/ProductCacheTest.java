@@ -0,0 +1,159 @@
+package com.ecommerce.product.cache;
+
+import com.ecommerce.product.dto.ProductDetail;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCacheTest {
+
+    private ProductCacheProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ProductCacheProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_WithConcurrentMisses_ShouldLoadOnce() throws Exception {
+        ProductCache cache = new ProductCache(properties, SharedCacheTier.NONE, meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        Function<Long, Optional<ProductDetail>> slowLoader = id -> {
+            loads.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Optional.of(product(id));
+        };
+
+        List<Future<Optional<ProductDetail>>> results = new ArrayList<>();
+        try (ExecutorService callers = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(() -> cache.get(1L, slowLoader)));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<Optional<ProductDetail>> result : results) {
+                assertEquals(1L, result.get().orElseThrow().id());
+            }
+        }
+
+        assertEquals(1, loads.get());
+        cache.destroy();
+    }
+
+    @Test
+    void get_WithAbsentProduct_ShouldCacheTheMiss() {
+        ProductCache cache = new ProductCache(properties, SharedCacheTier.NONE, meterRegistry);
+        Function<Long, Optional<ProductDetail>> loader = id -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        };
+
+        assertTrue(cache.get(404L, loader).isEmpty());
+        assertTrue(cache.get(404L, loader).isEmpty());
+
+        assertEquals(1, loads.get());
+        cache.destroy();
+    }
+
+    @Test
+    void get_WithSharedTierHit_ShouldNotCallLoader() {
+        InMemorySharedCacheTier shared = new InMemorySharedCacheTier(properties.getShared());
+        shared.put(7L, product(7L));
+        ProductCache cache = new ProductCache(properties, shared, meterRegistry);
+
+        assertEquals(7L, cache.get(7L, countingLoader()).orElseThrow().id());
+
+        assertEquals(0, loads.get());
+        assertEquals(1.0, meterRegistry.get("product.cache.shared").tag("result", "hit").counter().count());
+        cache.destroy();
+    }
+
+    @Test
+    void invalidate_ShouldEvictBothTiers() {
+        InMemorySharedCacheTier shared = new InMemorySharedCacheTier(properties.getShared());
+        ProductCache cache = new ProductCache(properties, shared, meterRegistry);
+        cache.get(3L, countingLoader());
+        assertTrue(shared.get(3L).isPresent());
+
+        cache.invalidate(3L);
+        cache.get(3L, countingLoader());
+
+        assertEquals(2, loads.get());
+        cache.destroy();
+    }
+
+    @Test
+    void invalidate_DuringLoad_ShouldNotPublishStaleProductToSharedTier() {
+        InMemorySharedCacheTier shared = new InMemorySharedCacheTier(properties.getShared());
+        ProductCache cache = new ProductCache(properties, shared, meterRegistry);
+        Function<Long, Optional<ProductDetail>> racingLoader = id -> {
+            loads.incrementAndGet();
+            cache.invalidate(id);
+            return Optional.of(product(id));
+        };
+
+        assertTrue(cache.get(5L, racingLoader).isPresent());
+
+        assertTrue(shared.get(5L).isEmpty());
+        cache.destroy();
+    }
+
+    @Test
+    void invalidateLocal_ShouldKeepSharedTier() {
+        InMemorySharedCacheTier shared = new InMemorySharedCacheTier(properties.getShared());
+        ProductCache cache = new ProductCache(properties, shared, meterRegistry);
+        cache.get(3L, countingLoader());
+
+        cache.invalidateLocal(3L);
+        cache.get(3L, countingLoader());
+
+        assertEquals(1, loads.get());
+        assertTrue(shared.get(3L).isPresent());
+        cache.destroy();
+    }
+
+    @Test
+    void get_WhenNearCacheDisabled_ShouldReadThroughEveryTime() {
+        properties.setEnabled(false);
+        ProductCache cache = new ProductCache(properties, SharedCacheTier.NONE, meterRegistry);
+
+        cache.get(1L, countingLoader());
+        cache.get(1L, countingLoader());
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.estimatedSize());
+        cache.destroy();
+    }
+
+    private Function<Long, Optional<ProductDetail>> countingLoader() {
+        return id -> {
+            loads.incrementAndGet();
+            return Optional.of(product(id));
+        };
+    }
+
+    private static ProductDetail product(long id) {
+        return new ProductDetail(id, "SKU-" + id, "Product " + id, null, null, null, "ACTIVE", Map.of(), Map.of());
+    }
+}
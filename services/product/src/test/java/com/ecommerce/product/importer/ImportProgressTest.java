@@ -0,0 +1,30 @@
+package com.ecommerce.product.importer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImportProgressTest {
+
+    @Test
+    void complete_OutOfOrder_ShouldOnlyAdvanceOverContiguousChunks() {
+        ImportProgress progress = new ImportProgress(new ImportProgress.Snapshot(100, 100, 95, 5));
+
+        assertNull(progress.complete(1, 300, 100, 100, 0));
+        assertNull(progress.complete(2, 400, 100, 90, 10));
+        assertEquals(100, progress.snapshot().checkpointRow());
+
+        ImportProgress.Snapshot snapshot = progress.complete(0, 200, 100, 99, 1);
+
+        assertEquals(new ImportProgress.Snapshot(400, 400, 384, 16), snapshot);
+    }
+
+    @Test
+    void complete_InOrder_ShouldAdvanceEachTime() {
+        ImportProgress progress = new ImportProgress(new ImportProgress.Snapshot(0, 0, 0, 0));
+
+        assertEquals(50, progress.complete(0, 50, 50, 50, 0).checkpointRow());
+        assertEquals(80, progress.complete(1, 80, 30, 29, 1).checkpointRow());
+        assertEquals(new ImportProgress.Snapshot(80, 80, 79, 1), progress.snapshot());
+    }
+}
@@ -0,0 +1,99 @@
+package com.ecommerce.product.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RowReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void next_CsvWithPriceAndAttributeColumns_ShouldMapThem() throws IOException {
+        List<ParsedRow> rows = readAll(ImportFormat.CSV, """
+                sku,name,brand,categoryId,price.USD,price.EUR,attr.color
+                SKU-1,Shirt,Acme,3,19.99,,red
+                SKU-2,"Socks, wool",,,5,4.5,
+                """);
+
+        assertEquals(2, rows.size());
+        ImportRow shirt = rows.get(0).row();
+        assertEquals("SKU-1", shirt.sku());
+        assertEquals(3L, shirt.categoryId());
+        assertEquals(Map.of("USD", new BigDecimal("19.99")), shirt.prices());
+        assertEquals(Map.of("color", "red"), shirt.attributes());
+        ImportRow socks = rows.get(1).row();
+        assertEquals("Socks, wool", socks.name());
+        assertNull(socks.brand());
+        assertNull(socks.categoryId());
+        assertEquals(2, socks.prices().size());
+        assertEquals(2, rows.get(1).number());
+    }
+
+    @Test
+    void next_CsvWithBadNumber_ShouldReturnInvalidRowAndContinue() throws IOException {
+        List<ParsedRow> rows = readAll(ImportFormat.CSV, """
+                sku,name,price.USD
+                SKU-1,Shirt,cheap
+                SKU-2,Socks,5
+                """);
+
+        assertEquals(2, rows.size());
+        assertNull(rows.get(0).row());
+        assertTrue(rows.get(0).error().startsWith("Invalid number"));
+        assertEquals("SKU-2", rows.get(1).row().sku());
+    }
+
+    @Test
+    void next_NdjsonWithMalformedLine_ShouldReturnInvalidRowAndKeepLineNumbers() throws IOException {
+        List<ParsedRow> rows = readAll(ImportFormat.NDJSON, """
+                {"sku":"SKU-1","name":"Shirt","prices":{"USD":19.99},"unknown":true}
+
+                {"sku":"SKU-2",
+                {"sku":"SKU-3","name":"Hat"}
+                """);
+
+        assertEquals(3, rows.size());
+        assertEquals(new BigDecimal("19.99"), rows.get(0).row().prices().get("USD"));
+        assertEquals(3, rows.get(1).number());
+        assertTrue(rows.get(1).error().startsWith("Malformed JSON"));
+        assertEquals(4, rows.get(2).number());
+        assertEquals(Map.of(), rows.get(2).row().prices());
+    }
+
+    @Test
+    void validate_ShouldRejectUnknownCategoryAndBadCurrency() {
+        ImportRow valid = new ImportRow("SKU-1", "Shirt", null, null, 1L, Map.of("USD", BigDecimal.TEN), Map.of());
+        ImportRow unknownCategory = new ImportRow("SKU-1", "Shirt", null, null, 9L, Map.of(), Map.of());
+        ImportRow badCurrency = new ImportRow("SKU-1", "Shirt", null, null, null, Map.of("DOLLAR", BigDecimal.ONE),
+                Map.of());
+        ImportRow missingName = new ImportRow("SKU-1", " ", null, null, null, Map.of(), Map.of());
+
+        assertNull(ProductBatchWriter.validate(valid, Set.of(1L)));
+        assertEquals("Unknown category 9", ProductBatchWriter.validate(unknownCategory, Set.of(1L)));
+        assertNotNull(ProductBatchWriter.validate(badCurrency, Set.of(1L)));
+        assertNotNull(ProductBatchWriter.validate(missingName, Set.of(1L)));
+    }
+
+    private List<ParsedRow> readAll(ImportFormat format, String content) throws IOException {
+        List<ParsedRow> rows = new ArrayList<>();
+        try (RowReader reader = RowReader.open(format,
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), objectMapper)) {
+            ParsedRow row;
+            while ((row = reader.next()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,234 @@
+package com.ecommerce.product.inventory;
+
+import com.ecommerce.common.exception.ConflictException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryJournalTest {
+
+    private static final Instant EXPIRES_AT = Instant.parse("2026-01-01T00:15:00Z");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private StockCounters counters;
+    private InventoryJournal journal;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        counters = new StockCounters(StockCounters.Loader.everyProduct(productId -> 10));
+        journal = new InventoryJournal(jdbcTemplate, transactionManager, counters, new InventoryProperties());
+    }
+
+    @Test
+    void write_WithManyEntries_ShouldCommitThemInOneTransaction() throws SQLException {
+        when(jdbcTemplate.batchUpdate(contains("reserved + ?"), anyCollection(), anyInt(), any()))
+                .thenReturn(new int[][]{{1, 1}});
+        UUID closed = UUID.randomUUID();
+        closing(closed, 3L, 4);
+        JournalEntry.Reserve first = reserve(1L, 2);
+        JournalEntry.Reserve second = reserve(1L, 3);
+        JournalEntry.Reserve third = reserve(2L, 1);
+        JournalEntry.Close release = new JournalEntry.Close(closed, ReservationStatus.RELEASED,
+                new CompletableFuture<>());
+
+        journal.write(List.of(first, second, third, release), false);
+
+        verify(transactionManager).getTransaction(any());
+        verify(transactionManager).commit(any());
+        ArgumentCaptor<Collection<?>> products = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(contains("reserved + ?"), products.capture(), anyInt(), any());
+        assertEquals(2, products.getValue().size());
+        assertTrue(first.done().isDone() && second.done().isDone() && third.done().isDone());
+        assertTrue(release.done().join());
+    }
+
+    @Test
+    void write_WhenProductIsShort_ShouldRejectItsReservationsAndReturnTheirUnits() {
+        when(jdbcTemplate.batchUpdate(contains("reserved + ?"), anyCollection(), anyInt(), any()))
+                .thenReturn(new int[][]{{1, 0}});
+        JournalEntry.Reserve accepted = reserve(1L, 2);
+        JournalEntry.Reserve rejected = reserve(2L, 3);
+        JournalEntry.Reserve alsoRejected = reserve(2L, 1);
+
+        journal.write(List.of(accepted, rejected, alsoRejected), false);
+
+        accepted.done().join();
+        CompletionException thrown = assertThrows(CompletionException.class, () -> rejected.done().join());
+        assertInstanceOf(ConflictException.class, thrown.getCause());
+        assertTrue(alsoRejected.done().isCompletedExceptionally());
+        ArgumentCaptor<Collection<?>> inserted = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(contains("INSERT INTO inventory_reservations"), inserted.capture(),
+                anyInt(), any());
+        assertEquals(List.of(accepted), List.copyOf(inserted.getValue()));
+        assertEquals(8, counters.available(1L).getAsLong());
+        assertEquals(10, counters.available(2L).getAsLong());
+    }
+
+    @Test
+    void write_WithRetriedConfirm_ShouldSucceedWithoutCreditingAgain() throws SQLException {
+        UUID confirmed = UUID.randomUUID();
+        UUID released = UUID.randomUUID();
+        ResultSet row = mock(ResultSet.class);
+        when(row.getObject("id", UUID.class)).thenReturn(confirmed);
+        doNothing().doAnswer(invocation -> {
+            invocation.getArgument(1, RowCallbackHandler.class).processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        JournalEntry.Close retry = new JournalEntry.Close(confirmed, ReservationStatus.CONFIRMED,
+                new CompletableFuture<>());
+        JournalEntry.Close late = new JournalEntry.Close(released, ReservationStatus.CONFIRMED,
+                new CompletableFuture<>());
+
+        journal.write(List.of(retry, late), false);
+
+        assertTrue(retry.done().join());
+        assertFalse(late.done().join());
+        verify(jdbcTemplate, never()).batchUpdate(contains("reserved - ?"), anyCollection(), anyInt(), any());
+    }
+
+    @Test
+    void write_WithKeyOfOpenReservation_ShouldReturnItAndGiveUnitsBack() throws SQLException {
+        UUID open = UUID.randomUUID();
+        ResultSet row = mock(ResultSet.class);
+        when(row.getObject("id", UUID.class)).thenReturn(open);
+        when(row.getLong("product_id")).thenReturn(1L);
+        when(row.getInt("quantity")).thenReturn(2);
+        when(row.getTimestamp("expires_at")).thenReturn(Timestamp.from(EXPIRES_AT));
+        when(row.getString("idempotency_key")).thenReturn("key-1");
+        doAnswer(invocation -> {
+            invocation.getArgument(1, RowCallbackHandler.class).processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        JournalEntry.Reserve retry = reserve(1L, 2, "key-1");
+
+        journal.write(List.of(retry), false);
+
+        assertEquals(open, retry.done().join().id());
+        assertEquals(10, counters.available(1L).getAsLong());
+        verify(jdbcTemplate, never()).batchUpdate(contains("reserved + ?"), anyCollection(), anyInt(), any());
+    }
+
+    @Test
+    void write_WithRepeatedKeyInBatch_ShouldReserveOnce() {
+        when(jdbcTemplate.batchUpdate(contains("reserved + ?"), anyCollection(), anyInt(), any()))
+                .thenReturn(new int[][]{{1}});
+        JournalEntry.Reserve first = reserve(1L, 2, "key-1");
+        JournalEntry.Reserve repeat = reserve(1L, 2, "key-1");
+
+        journal.write(List.of(first, repeat), false);
+
+        ArgumentCaptor<Collection<?>> inserted = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(contains("INSERT INTO inventory_reservations"), inserted.capture(),
+                anyInt(), any());
+        assertEquals(List.of(first), List.copyOf(inserted.getValue()));
+        assertEquals(first.reservationId(), repeat.done().join().id());
+        assertEquals(8, counters.available(1L).getAsLong());
+    }
+
+    @Test
+    void write_WithSweep_ShouldCreditExpiredUnitsAfterCommit() throws SQLException {
+        assertEquals(10, counters.available(5L).getAsLong());
+        closing(UUID.randomUUID(), 5L, 3);
+
+        journal.write(List.of(), true);
+
+        verify(transactionManager).commit(any());
+        assertEquals(13, counters.available(5L).getAsLong());
+    }
+
+    @Test
+    void write_WhenCommitFails_ShouldNotCreditAndShouldReturnReservedUnits() throws SQLException {
+        assertEquals(10, counters.available(5L).getAsLong());
+        closing(UUID.randomUUID(), 5L, 3);
+        when(jdbcTemplate.batchUpdate(contains("reserved + ?"), anyCollection(), anyInt(), any()))
+                .thenReturn(new int[][]{{1}});
+        doThrow(new DataAccessResourceFailureException("connection lost")).when(transactionManager).commit(any());
+        JournalEntry.Reserve reserve = reserve(5L, 4);
+
+        journal.write(List.of(reserve), true);
+
+        assertTrue(reserve.done().isCompletedExceptionally());
+        assertEquals(10, counters.available(5L).getAsLong());
+    }
+
+    @Test
+    void write_WhenCounterLoadsDuringCommit_ShouldCountRestockExactlyOnce() throws Exception {
+        AtomicBoolean committed = new AtomicBoolean();
+        counters = new StockCounters(StockCounters.Loader.everyProduct(productId -> committed.get() ? 15 : 10));
+        journal = new InventoryJournal(jdbcTemplate, transactionManager, counters, new InventoryProperties());
+        when(jdbcTemplate.queryForObject(contains("INSERT INTO inventory "), eq(Long.class), any(), any()))
+                .thenReturn(15L);
+        CompletableFuture<Long> concurrentLoad = new CompletableFuture<>();
+        doAnswer(invocation -> {
+            Thread.ofVirtual().start(() -> concurrentLoad.complete(counters.available(1L).getAsLong()));
+            Thread.sleep(100);
+            assertFalse(concurrentLoad.isDone(), "counter loaded while the batch was committing");
+            committed.set(true);
+            return null;
+        }).when(transactionManager).commit(any());
+        JournalEntry.Restock restock = new JournalEntry.Restock(1L, 5, new CompletableFuture<>());
+
+        journal.write(List.of(restock), false);
+
+        assertEquals(15L, concurrentLoad.get(5, TimeUnit.SECONDS));
+        assertEquals(15, counters.available(1L).getAsLong());
+        assertEquals(15L, restock.done().join());
+    }
+
+    private JournalEntry.Reserve reserve(long productId, int quantity) {
+        return reserve(productId, quantity, null);
+    }
+
+    private JournalEntry.Reserve reserve(long productId, int quantity, String idempotencyKey) {
+        assertTrue(counters.tryReserve(productId, quantity));
+        return new JournalEntry.Reserve(UUID.randomUUID(), productId, quantity, EXPIRES_AT, idempotencyKey,
+                new CompletableFuture<>());
+    }
+
+    private void closing(UUID reservationId, long productId, long quantity) throws SQLException {
+        ResultSet row = mock(ResultSet.class);
+        when(row.getObject("id", UUID.class)).thenReturn(reservationId);
+        when(row.getLong("product_id")).thenReturn(productId);
+        when(row.getLong("quantity")).thenReturn(quantity);
+        doAnswer(invocation -> {
+            invocation.getArgument(1, RowCallbackHandler.class).processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+}
@@ -0,0 +1,122 @@
+package com.ecommerce.product.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StockCountersTest {
+
+    @Test
+    void tryReserve_UnderContention_ShouldNeverOversell() throws Exception {
+        StockCounters counters = new StockCounters(StockCounters.Loader.everyProduct(productId -> 10_000));
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        try (ExecutorService threads = Executors.newFixedThreadPool(16)) {
+            for (int t = 0; t < 16; t++) {
+                results.add(threads.submit(() -> {
+                    start.await();
+                    int granted = 0;
+                    for (int i = 0; i < 2_000; i++) {
+                        if (counters.tryReserve(1L, 1)) {
+                            granted++;
+                        }
+                    }
+                    return granted;
+                }));
+            }
+            start.countDown();
+            int granted = 0;
+            for (Future<Integer> result : results) {
+                granted += result.get();
+            }
+            assertEquals(10_000, granted);
+        }
+        assertEquals(0, counters.available(1L).getAsLong());
+    }
+
+    @Test
+    void tryReserve_WithInsufficientStock_ShouldLeaveCounterUntouched() {
+        StockCounters counters = new StockCounters(StockCounters.Loader.everyProduct(productId -> 3));
+
+        assertFalse(counters.tryReserve(1L, 4));
+        assertTrue(counters.tryReserve(1L, 3));
+        assertEquals(0, counters.available(1L).getAsLong());
+    }
+
+    @Test
+    void counter_ShouldLoadOncePerProduct() {
+        AtomicInteger loads = new AtomicInteger();
+        StockCounters counters = new StockCounters(StockCounters.Loader.everyProduct(productId -> {
+            loads.incrementAndGet();
+            return 5;
+        }));
+
+        counters.tryReserve(1L, 1);
+        counters.tryReserve(1L, 1);
+        counters.available(2L);
+
+        assertEquals(2, loads.get());
+        assertEquals(3, counters.available(1L).getAsLong());
+    }
+
+    @Test
+    void add_ToUnloadedCounter_ShouldDeferToDatabase() {
+        StockCounters counters = new StockCounters(StockCounters.Loader.everyProduct(productId -> 7));
+
+        counters.add(1L, 100);
+
+        assertEquals(7, counters.available(1L).getAsLong());
+        counters.add(1L, 3);
+        assertEquals(10, counters.available(1L).getAsLong());
+    }
+
+    @Test
+    void available_OfUnknownProduct_ShouldBeEmptyAndNotCached() {
+        StockCounters counters = new StockCounters(productIds -> Map.of());
+
+        assertTrue(counters.available(1L).isEmpty());
+        assertFalse(counters.tryReserve(1L, 1));
+        assertTrue(counters.loaded().isEmpty());
+    }
+
+    @Test
+    void reconcile_ShouldTakeChangesFromOtherInstancesButKeepPendingUnits() {
+        Map<Long, Long> database = new ConcurrentHashMap<>(Map.of(1L, 10L));
+        StockCounters counters = new StockCounters(productIds -> Map.copyOf(database));
+        counters.tryReserve(1L, 2);
+        counters.tryReserve(1L, 3);
+        counters.written(1L, 3);
+        // Another instance restocked 20 units; only the 3 written units are in the database so far.
+        database.put(1L, 27L);
+
+        counters.reconcile();
+
+        assertEquals(25, counters.available(1L).getAsLong());
+    }
+
+    @Test
+    void reconcile_ShouldDropDeletedProducts() {
+        Map<Long, Long> database = new ConcurrentHashMap<>(Map.of(1L, 10L, 2L, 10L));
+        StockCounters counters = new StockCounters(productIds -> Map.copyOf(database));
+        counters.available(1L);
+        counters.available(2L);
+        database.remove(2L);
+
+        counters.reconcile();
+
+        assertEquals(Set.of(1L), counters.loaded());
+        assertTrue(counters.available(2L).isEmpty());
+    }
+}
@@ -0,0 +1,115 @@
+package com.ecommerce.product.search;
+
+import com.ecommerce.product.dto.FacetCount;
+import com.ecommerce.product.dto.SearchHit;
+import com.ecommerce.product.dto.SearchQuery;
+import com.ecommerce.product.dto.SearchResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        index = new ProductSearchIndex("USD", List.of(new BigDecimal("25"), new BigDecimal("100")));
+        index.upsert(product(1, "Ceramic Coffee Mug", "Acme", 10L, "12.50"));
+        index.upsert(product(2, "Coffee Grinder", "Acme", 20L, "89.00"));
+        index.upsert(product(3, "Espresso Machine", "Brewco", 20L, "349.99"));
+        index.upsert(product(4, "Travel Coffee Mug", "Brewco", 10L, null));
+        index.refresh();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        index.destroy();
+    }
+
+    @Test
+    void search_WithText_ShouldMatchAllTermsAndCountFacets() throws IOException {
+        SearchResult result = index.search(query("coffee mug", null, null, null, null));
+
+        assertEquals(2, result.total());
+        assertEquals(List.of(1L, 4L), result.hits().stream().map(SearchHit::id).sorted().toList());
+        assertEquals(List.of(new FacetCount("10", 2)), result.facets().get(ProductSearchIndex.CATEGORY_FACET));
+        assertEquals(List.of(new FacetCount("0-25", 1)), result.facets().get(ProductSearchIndex.PRICE_FACET));
+    }
+
+    @Test
+    void search_WithBrandAndPriceFilters_ShouldNarrowResults() throws IOException {
+        SearchResult result = index.search(query(null, null, "Acme", new BigDecimal("50"), null));
+
+        assertEquals(1, result.total());
+        SearchHit hit = result.hits().get(0);
+        assertEquals(2L, hit.id());
+        assertEquals(new BigDecimal("89.00"), hit.price());
+        assertEquals(20L, hit.categoryId());
+    }
+
+    @Test
+    void search_WithoutText_ShouldFacetWholeCatalog() throws IOException {
+        SearchResult result = index.search(query(null, null, null, null, null));
+
+        assertEquals(4, result.total());
+        assertEquals(List.of(new FacetCount("Acme", 2), new FacetCount("Brewco", 2)),
+                result.facets().get(ProductSearchIndex.BRAND_FACET).stream()
+                        .sorted((a, b) -> a.value().compareTo(b.value())).toList());
+        assertEquals(3, result.facets().get(ProductSearchIndex.PRICE_FACET).size());
+    }
+
+    @Test
+    void search_WithOffset_ShouldSkipEarlierHits() throws IOException {
+        SearchResult result = index.search(new SearchQuery("coffee", null, null, null, null, 2, 2, false));
+
+        assertEquals(3, result.total());
+        assertEquals(1, result.hits().size());
+        assertTrue(result.facets().isEmpty());
+    }
+
+    @Test
+    void suggest_ShouldCompleteLastWord() throws IOException {
+        assertEquals(List.of("Espresso Machine"), index.suggest("espr", 10));
+        assertEquals(List.of("Travel Coffee Mug"), index.suggest("travel cof", 10));
+        assertTrue(index.suggest("e", 10).isEmpty());
+    }
+
+    @Test
+    void upsert_WithExistingProduct_ShouldReplaceDocument() throws IOException {
+        index.upsert(product(3, "Espresso Maker", "Brewco", 20L, "299.00"));
+        index.refresh();
+
+        assertEquals(4, index.size());
+        assertEquals(0, index.search(query("machine", null, null, null, null)).total());
+        assertEquals(1, index.search(query("maker", null, null, null, null)).total());
+    }
+
+    @Test
+    void deleteOlderThan_AfterRebuild_ShouldDropProductsNotRewritten() throws IOException {
+        long generation = index.beginGeneration();
+        index.upsert(product(1, "Ceramic Coffee Mug", "Acme", 10L, "12.50"));
+        index.upsert(product(2, "Coffee Grinder", "Acme", 20L, "89.00"));
+        index.deleteOlderThan(generation);
+        index.refresh();
+
+        assertEquals(2, index.size());
+        assertEquals(0, index.search(query("espresso", null, null, null, null)).total());
+    }
+
+    private static SearchQuery query(String text, Long categoryId, String brand, BigDecimal minPrice,
+                                     BigDecimal maxPrice) {
+        return new SearchQuery(text, categoryId, brand, minPrice, maxPrice, 0, 20, true);
+    }
+
+    private static ProductDocument product(long id, String name, String brand, Long categoryId, String price) {
+        return new ProductDocument(id, "SKU-" + id, name, null, brand, categoryId,
+                price == null ? null : new BigDecimal(price));
+    }
+}
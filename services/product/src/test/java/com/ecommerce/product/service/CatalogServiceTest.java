@@ -0,0 +1,136 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.cache.ProductCache;
+import com.ecommerce.product.dto.CategorySummary;
+import com.ecommerce.product.dto.CreateProductRequest;
+import com.ecommerce.product.dto.KeysetPage;
+import com.ecommerce.product.dto.ProductDetail;
+import com.ecommerce.product.dto.ProductSummary;
+import com.ecommerce.product.entity.Product;
+import com.ecommerce.product.event.ProductChangedEvent;
+import com.ecommerce.product.repository.CategoryRepository;
+import com.ecommerce.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private ProductCache productCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private CatalogService catalogService;
+
+    @BeforeEach
+    void setUp() {
+        catalogService = new CatalogService(productRepository, categoryRepository, productCache, eventPublisher);
+    }
+
+    @Test
+    void listProducts_WithMoreRowsThanLimit_ShouldReturnNextCursor() {
+        when(productRepository.findActiveAfter(0, "USD", 4)).thenReturn(summaries(1, 4));
+
+        KeysetPage<ProductSummary> page = catalogService.listProducts(null, 3, null, null, null);
+
+        assertEquals(3, page.items().size());
+        assertEquals(3L, page.nextAfter());
+    }
+
+    @Test
+    void listProducts_OnLastPage_ShouldReturnNullCursor() {
+        when(productRepository.findActiveAfter(10, "EUR", 21)).thenReturn(summaries(11, 2));
+
+        KeysetPage<ProductSummary> page = catalogService.listProducts(10L, null, null, null, "eur");
+
+        assertEquals(2, page.items().size());
+        assertNull(page.nextAfter());
+    }
+
+    @Test
+    void listProducts_WithCategory_ShouldUseCategorySeek() {
+        when(productRepository.findActiveByCategoryAfter(7, 0, "USD", 21)).thenReturn(List.of());
+
+        catalogService.listProducts(null, null, 7L, null, null);
+
+        verify(productRepository, never()).findActiveAfter(anyLong(), any(), anyInt());
+    }
+
+    @Test
+    void listProducts_WithOutOfRangeLimit_ShouldThrowIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> catalogService.listProducts(null, 0, null, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> catalogService.listProducts(null, CatalogService.MAX_PAGE_SIZE + 1, null, null, null));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void listCategories_ShouldFetchOneExtraRow() {
+        when(categoryRepository.findSummariesAfter(0, Limit.of(3))).thenReturn(List.of(
+                new CategorySummary(1L, null, "a", "A"),
+                new CategorySummary(2L, null, "b", "B"),
+                new CategorySummary(3L, null, "c", "C")));
+
+        KeysetPage<CategorySummary> page = catalogService.listCategories(null, 2);
+
+        assertEquals(2, page.items().size());
+        assertEquals(2L, page.nextAfter());
+    }
+
+    @Test
+    void createProduct_ShouldNormaliseCurrencyAndSave() {
+        when(productRepository.existsBySku("SKU-1")).thenReturn(false);
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ProductDetail detail = catalogService.createProduct(new CreateProductRequest("SKU-1", "Mug", null, "Acme",
+                null, Map.of("usd", new BigDecimal("9.99")), Map.of("color", "red")));
+
+        assertEquals(new BigDecimal("9.99"), detail.prices().get("USD"));
+        assertEquals("red", detail.attributes().get("color"));
+        assertEquals("ACTIVE", detail.status());
+        verify(eventPublisher).publishEvent(ProductChangedEvent.local(detail.id()));
+    }
+
+    @Test
+    void createProduct_WithDuplicateSku_ShouldThrowIllegalArgument() {
+        when(productRepository.existsBySku("SKU-1")).thenReturn(true);
+
+        assertThrows(IllegalArgumentException.class, () -> catalogService.createProduct(
+                new CreateProductRequest("SKU-1", "Mug", null, null, null, null, null)));
+        verify(productRepository, never()).save(any());
+    }
+
+    private static List<ProductSummary> summaries(long firstId, int count) {
+        return LongStream.range(firstId, firstId + count).mapToObj(CatalogServiceTest::summary).toList();
+    }
+
+    private static ProductSummary summary(long id) {
+        return new Row(id, "SKU-" + id, "Product " + id, null, null, BigDecimal.TEN, "USD");
+    }
+
+    private record Row(Long getId, String getSku, String getName, String getBrand, Long getCategoryId,
+                       BigDecimal getPrice, String getCurrency) implements ProductSummary {
+    }
+}
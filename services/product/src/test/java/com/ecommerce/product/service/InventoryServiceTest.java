@@ -0,0 +1,143 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.common.exception.ConflictException;
+import com.ecommerce.common.exception.ServiceOverloadedException;
+import com.ecommerce.product.dto.StockReservation;
+import com.ecommerce.product.inventory.InventoryJournal;
+import com.ecommerce.product.inventory.InventoryProperties;
+import com.ecommerce.product.inventory.JournalEntry;
+import com.ecommerce.product.inventory.StockCounters;
+import com.ecommerce.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Mock
+    private InventoryJournal journal;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private StockCounters counters;
+    private InventoryService inventoryService;
+
+    @BeforeEach
+    void setUp() {
+        counters = new StockCounters(StockCounters.Loader.everyProduct(productId -> 5));
+        inventoryService = new InventoryService(counters, journal, productRepository, new InventoryProperties(),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void reserve_WithStock_ShouldCompleteOnceJournalCommits() {
+        CompletableFuture<StockReservation> future = inventoryService.reserve(1L, 2, null);
+
+        ArgumentCaptor<JournalEntry> entry = ArgumentCaptor.forClass(JournalEntry.class);
+        verify(journal).submit(entry.capture());
+        JournalEntry.Reserve reserve = (JournalEntry.Reserve) entry.getValue();
+        assertFalse(future.isDone());
+        assertEquals(3, counters.available(1L).getAsLong());
+        assertEquals(2, reserve.quantity());
+        assertEquals(NOW.plus(Duration.ofMinutes(15)), reserve.expiresAt());
+
+        StockReservation committed = new StockReservation(reserve.reservationId(), 1L, 2, reserve.expiresAt());
+        reserve.done().complete(committed);
+
+        assertSame(committed, future.join());
+    }
+
+    @Test
+    void reserve_WithKeyOfOpenReservation_ShouldReturnItWithoutReservingAgain() {
+        StockReservation open = new StockReservation(UUID.randomUUID(), 1L, 2, NOW);
+        when(journal.findOpenReservation("key-1")).thenReturn(Optional.of(open));
+
+        assertSame(open, inventoryService.reserve(1L, 2, "key-1").join());
+
+        verify(journal, never()).submit(any());
+        assertEquals(5, counters.available(1L).getAsLong());
+    }
+
+    @Test
+    void reserve_WithKeyOfDifferentReservation_ShouldFailWithConflict() {
+        when(journal.findOpenReservation("key-1"))
+                .thenReturn(Optional.of(new StockReservation(UUID.randomUUID(), 2L, 2, NOW)));
+
+        assertThrows(ConflictException.class, () -> inventoryService.reserve(1L, 2, "key-1"));
+        verify(journal, never()).submit(any());
+    }
+
+    @Test
+    void reserve_WithNewKey_ShouldPassItToJournal() {
+        when(journal.findOpenReservation("key-1")).thenReturn(Optional.empty());
+
+        inventoryService.reserve(1L, 2, "key-1");
+
+        ArgumentCaptor<JournalEntry> entry = ArgumentCaptor.forClass(JournalEntry.class);
+        verify(journal).submit(entry.capture());
+        assertEquals("key-1", ((JournalEntry.Reserve) entry.getValue()).idempotencyKey());
+    }
+
+    @Test
+    void reserve_WithoutStock_ShouldRejectWithoutJournal() {
+        assertThrows(ConflictException.class, () -> inventoryService.reserve(1L, 6, null));
+
+        verifyNoInteractions(journal);
+        assertEquals(5, counters.available(1L).getAsLong());
+    }
+
+    @Test
+    void reserve_WhenJournalSaturated_ShouldReturnUnits() {
+        doThrow(new ServiceOverloadedException("full", Duration.ofSeconds(1))).when(journal).submit(any());
+
+        assertThrows(ServiceOverloadedException.class, () -> inventoryService.reserve(1L, 2, null));
+
+        assertEquals(5, counters.available(1L).getAsLong());
+    }
+
+    @Test
+    void reserve_WithInvalidQuantity_ShouldThrowIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> inventoryService.reserve(1L, 0, null));
+        assertThrows(IllegalArgumentException.class, () -> inventoryService.reserve(1L, 10_001, null));
+    }
+
+    @Test
+    void release_OfClosedReservation_ShouldFailWithConflict() {
+        CompletableFuture<Void> future = inventoryService.release(UUID.randomUUID());
+
+        ArgumentCaptor<JournalEntry> entry = ArgumentCaptor.forClass(JournalEntry.class);
+        verify(journal).submit(entry.capture());
+        ((JournalEntry.Close) entry.getValue()).done().complete(false);
+
+        CompletionException thrown = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(ConflictException.class, thrown.getCause());
+    }
+
+    @Test
+    void restock_OfUnknownProduct_ShouldThrowIllegalArgument() {
+        when(productRepository.existsById(9L)).thenReturn(false);
+
+        assertThrows(IllegalArgumentException.class, () -> inventoryService.restock(9L, 10L));
+        verifyNoInteractions(journal);
+    }
+}